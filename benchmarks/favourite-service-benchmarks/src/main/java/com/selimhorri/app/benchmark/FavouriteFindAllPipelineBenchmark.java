@@ -0,0 +1,98 @@
+package com.selimhorri.app.benchmark;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.selimhorri.app.domain.Favourite;
+import com.selimhorri.app.dto.FavouriteDto;
+import com.selimhorri.app.dto.ProductDto;
+import com.selimhorri.app.dto.UserDto;
+import com.selimhorri.app.helper.FavouriteMappingHelper;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class FavouriteFindAllPipelineBenchmark {
+	
+	private static final int DISTINCT_USERS = 1_000;
+	private static final int DISTINCT_PRODUCTS = 5_000;
+	
+	@Param({"10000", "100000", "1000000"})
+	private int rows;
+	
+	private List<Favourite> favourites;
+	private UserDto[] userDtos;
+	private ProductDto[] productDtos;
+	
+	@Setup
+	public void setUp() {
+		final var likeDate = LocalDateTime.now();
+		this.favourites = IntStream.range(0, this.rows)
+				.mapToObj(i -> Favourite.builder()
+						.userId(i % DISTINCT_USERS)
+						.productId(i / DISTINCT_USERS)
+						.likeDate(likeDate)
+						.build())
+				.collect(Collectors.toUnmodifiableList());
+		this.userDtos = IntStream.range(0, DISTINCT_USERS)
+				.mapToObj(i -> UserDto.builder()
+						.userId(i)
+						.firstName("first" + i)
+						.lastName("last" + i)
+						.email("user" + i + "@example.com")
+						.phone("+2160000" + i)
+						.build())
+				.toArray(UserDto[]::new);
+		this.productDtos = IntStream.range(0, DISTINCT_PRODUCTS)
+				.mapToObj(i -> ProductDto.builder()
+						.productId(i)
+						.productTitle("product" + i)
+						.sku("sku" + i)
+						.priceUnit(i * 0.5)
+						.quantity(i)
+						.build())
+				.toArray(ProductDto[]::new);
+	}
+	
+	@Benchmark
+	public List<FavouriteDto> distinctPipeline() {
+		return this.favourites.stream()
+				.map(FavouriteMappingHelper::map)
+				.map(this::enrich)
+				.distinct()
+				.collect(Collectors.toUnmodifiableList());
+	}
+	
+	@Benchmark
+	public List<FavouriteDto> primaryKeyPipeline() {
+		return this.favourites.stream()
+				.map(FavouriteMappingHelper::map)
+				.map(this::enrich)
+				.collect(Collectors.toUnmodifiableList());
+	}
+	
+	private FavouriteDto enrich(final FavouriteDto favouriteDto) {
+		favouriteDto.setUserDto(this.userDtos[favouriteDto.getUserId()]);
+		favouriteDto.setProductDto(this.productDtos[favouriteDto.getProductId() % DISTINCT_PRODUCTS]);
+		return favouriteDto;
+	}
+	
+}
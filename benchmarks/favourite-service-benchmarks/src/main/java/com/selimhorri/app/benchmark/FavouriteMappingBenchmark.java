@@ -0,0 +1,59 @@
+package com.selimhorri.app.benchmark;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.selimhorri.app.domain.Favourite;
+import com.selimhorri.app.dto.FavouriteDto;
+import com.selimhorri.app.helper.FavouriteMappingHelper;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FavouriteMappingBenchmark {
+	
+	private Favourite favourite;
+	private FavouriteDto favouriteDto;
+	private FavouriteDto reusableFavouriteDto;
+	
+	@Setup
+	public void setUp() {
+		this.favourite = Favourite.builder()
+				.userId(1)
+				.productId(1)
+				.likeDate(LocalDateTime.now())
+				.build();
+		this.favouriteDto = FavouriteMappingHelper.map(this.favourite);
+		this.reusableFavouriteDto = new FavouriteDto();
+	}
+	
+	@Benchmark
+	public FavouriteDto entityToDto() {
+		return FavouriteMappingHelper.map(this.favourite);
+	}
+	
+	@Benchmark
+	public FavouriteDto entityToReusedDto() {
+		return FavouriteMappingHelper.map(this.favourite, this.reusableFavouriteDto);
+	}
+	
+	@Benchmark
+	public Favourite dtoToEntity() {
+		return FavouriteMappingHelper.map(this.favouriteDto);
+	}
+	
+}
@@ -0,0 +1,57 @@
+package com.selimhorri.app.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.selimhorri.app.domain.Cart;
+import com.selimhorri.app.dto.CartDto;
+import com.selimhorri.app.helper.CartMappingHelper;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CartMappingBenchmark {
+	
+	private Cart cart;
+	private CartDto cartDto;
+	private CartDto reusableCartDto;
+	
+	@Setup
+	public void setUp() {
+		this.cart = Cart.builder()
+				.cartId(1)
+				.userId(1)
+				.build();
+		this.cartDto = CartMappingHelper.map(this.cart);
+		this.reusableCartDto = new CartDto();
+	}
+	
+	@Benchmark
+	public CartDto entityToDto() {
+		return CartMappingHelper.map(this.cart);
+	}
+	
+	@Benchmark
+	public CartDto entityToReusedDto() {
+		return CartMappingHelper.map(this.cart, this.reusableCartDto);
+	}
+	
+	@Benchmark
+	public Cart dtoToEntity() {
+		return CartMappingHelper.map(this.cartDto);
+	}
+	
+}
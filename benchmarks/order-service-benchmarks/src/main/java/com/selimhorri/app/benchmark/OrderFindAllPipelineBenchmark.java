@@ -0,0 +1,71 @@
+package com.selimhorri.app.benchmark;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.selimhorri.app.domain.Cart;
+import com.selimhorri.app.domain.Order;
+import com.selimhorri.app.dto.OrderDto;
+import com.selimhorri.app.helper.OrderMappingHelper;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class OrderFindAllPipelineBenchmark {
+	
+	@Param({"10000", "100000", "1000000"})
+	private int rows;
+	
+	private List<Order> orders;
+	
+	@Setup
+	public void setUp() {
+		final var orderDate = LocalDateTime.now();
+		this.orders = IntStream.rangeClosed(1, this.rows)
+				.mapToObj(i -> Order.builder()
+						.orderId(i)
+						.orderDate(orderDate)
+						.orderDesc("order " + i)
+						.orderFee(i * 1.5)
+						.cart(Cart.builder()
+								.cartId(i % 1_000)
+								.userId(i % 1_000)
+								.build())
+						.build())
+				.collect(Collectors.toUnmodifiableList());
+	}
+	
+	@Benchmark
+	public List<OrderDto> distinctPipeline() {
+		return this.orders.stream()
+				.map(OrderMappingHelper::map)
+				.distinct()
+				.collect(Collectors.toUnmodifiableList());
+	}
+	
+	@Benchmark
+	public List<OrderDto> primaryKeyPipeline() {
+		return this.orders.stream()
+				.map(OrderMappingHelper::map)
+				.collect(Collectors.toUnmodifiableList());
+	}
+	
+}
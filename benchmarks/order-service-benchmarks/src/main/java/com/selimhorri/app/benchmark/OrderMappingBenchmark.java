@@ -0,0 +1,65 @@
+package com.selimhorri.app.benchmark;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.selimhorri.app.domain.Cart;
+import com.selimhorri.app.domain.Order;
+import com.selimhorri.app.dto.OrderDto;
+import com.selimhorri.app.helper.OrderMappingHelper;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OrderMappingBenchmark {
+	
+	private Order order;
+	private OrderDto orderDto;
+	private OrderDto reusableOrderDto;
+	
+	@Setup
+	public void setUp() {
+		this.order = Order.builder()
+				.orderId(1)
+				.orderDate(LocalDateTime.now())
+				.orderDesc("init")
+				.orderFee(5000.0)
+				.cart(Cart.builder()
+						.cartId(1)
+						.userId(1)
+						.build())
+				.build();
+		this.orderDto = OrderMappingHelper.map(this.order);
+		this.reusableOrderDto = new OrderDto();
+	}
+	
+	@Benchmark
+	public OrderDto entityToDto() {
+		return OrderMappingHelper.map(this.order);
+	}
+	
+	@Benchmark
+	public OrderDto entityToReusedDto() {
+		return OrderMappingHelper.map(this.order, this.reusableOrderDto);
+	}
+	
+	@Benchmark
+	public Order dtoToEntity() {
+		return OrderMappingHelper.map(this.orderDto);
+	}
+	
+}
@@ -0,0 +1,52 @@
+package com.selimhorri.app.benchmark;
+
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import com.selimhorri.app.dto.CategoryDto;
+import com.selimhorri.app.dto.ProductDto;
+
+final class ProductCatalogue {
+	
+	private static final String[] SYLLABLES = {
+		"ka", "lo", "mi", "ne", "ru", "sa", "ti", "vo", "ze", "po", 
+		"da", "fu", "gi", "he", "ja", "bo", "ce", "wu", "xi", "yo"
+	};
+	private static final int VOCABULARY_SIZE = SYLLABLES.length * SYLLABLES.length * SYLLABLES.length;
+	private static final int CATEGORIES = 500;
+	private static final int TITLE_WORDS = 4;
+	
+	private ProductCatalogue() {
+	}
+	
+	static String word(final int i) {
+		return SYLLABLES[i % SYLLABLES.length] 
+				+ SYLLABLES[(i / SYLLABLES.length) % SYLLABLES.length] 
+				+ SYLLABLES[(i / (SYLLABLES.length * SYLLABLES.length)) % SYLLABLES.length];
+	}
+	
+	static List<ProductDto> generate(final int products) {
+		final var random = new Random(42L);
+		final var categoryDtos = IntStream.range(0, CATEGORIES)
+				.mapToObj(i -> CategoryDto.builder()
+						.categoryId(i + 1)
+						.categoryTitle(word(VOCABULARY_SIZE - 1 - i) + " department")
+						.build())
+				.collect(Collectors.toUnmodifiableList());
+		return IntStream.rangeClosed(1, products)
+				.mapToObj(i -> ProductDto.builder()
+						.productId(i)
+						.productTitle(IntStream.range(0, TITLE_WORDS)
+								.mapToObj(w -> word(random.nextInt(VOCABULARY_SIZE)))
+								.collect(Collectors.joining(" ")))
+						.sku("SKU-" + i)
+						.priceUnit(i * 0.5)
+						.quantity(i % 100)
+						.categoryDto(categoryDtos.get(i % CATEGORIES))
+						.build())
+				.collect(Collectors.toUnmodifiableList());
+	}
+	
+}
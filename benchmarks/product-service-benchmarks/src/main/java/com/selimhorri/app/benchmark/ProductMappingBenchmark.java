@@ -0,0 +1,67 @@
+package com.selimhorri.app.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.selimhorri.app.domain.Category;
+import com.selimhorri.app.domain.Product;
+import com.selimhorri.app.dto.ProductDto;
+import com.selimhorri.app.helper.ProductMappingHelper;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProductMappingBenchmark {
+	
+	private Product product;
+	private ProductDto productDto;
+	private ProductDto reusableProductDto;
+	
+	@Setup
+	public void setUp() {
+		this.product = Product.builder()
+				.productId(1)
+				.productTitle("Asus ROG Strix")
+				.imageUrl("https://example.com/products/1.png")
+				.sku("ASUS-ROG-STRIX-G15")
+				.priceUnit(1249.99)
+				.quantity(50)
+				.category(Category.builder()
+						.categoryId(3)
+						.categoryTitle("Laptops")
+						.imageUrl("https://example.com/categories/3.png")
+						.build())
+				.build();
+		this.productDto = ProductMappingHelper.map(this.product);
+		this.reusableProductDto = new ProductDto();
+	}
+	
+	@Benchmark
+	public ProductDto entityToDto() {
+		return ProductMappingHelper.map(this.product);
+	}
+	
+	@Benchmark
+	public ProductDto entityToReusedDto() {
+		return ProductMappingHelper.map(this.product, this.reusableProductDto);
+	}
+	
+	@Benchmark
+	public Product dtoToEntity() {
+		return ProductMappingHelper.map(this.productDto);
+	}
+	
+}
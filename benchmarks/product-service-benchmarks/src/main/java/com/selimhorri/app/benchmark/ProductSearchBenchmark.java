@@ -0,0 +1,84 @@
+package com.selimhorri.app.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.selimhorri.app.dto.ProductDto;
+import com.selimhorri.app.search.ProductSearchIndex;
+import com.selimhorri.app.search.SearchHits;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class ProductSearchBenchmark {
+	
+	@Param({"100000", "1000000"})
+	private int products;
+	
+	private ProductSearchIndex productSearchIndex;
+	private String term;
+	private String twoTerms;
+	private String prefix;
+	private String sku;
+	private List<ProductDto> productDtos;
+	private int next;
+	
+	@Setup
+	public void setUp() {
+		this.productDtos = ProductCatalogue.generate(this.products);
+		this.productSearchIndex = new ProductSearchIndex(50, 4);
+		this.productSearchIndex.rebuild(this.productDtos::forEach);
+		this.term = ProductCatalogue.word(1_234);
+		this.twoTerms = ProductCatalogue.word(1_234) + " " + ProductCatalogue.word(4_321);
+		this.prefix = ProductCatalogue.word(2_345).substring(0, 4);
+		this.sku = "SKU-" + (this.products / 2);
+	}
+	
+	@Benchmark
+	public SearchHits termQuery() {
+		return this.productSearchIndex.search(this.term, 0, 20);
+	}
+	
+	@Benchmark
+	public SearchHits twoTermQuery() {
+		return this.productSearchIndex.search(this.twoTerms, 0, 20);
+	}
+	
+	@Benchmark
+	public SearchHits prefixQuery() {
+		return this.productSearchIndex.search(this.prefix, 0, 20);
+	}
+	
+	@Benchmark
+	public SearchHits skuQuery() {
+		return this.productSearchIndex.search(this.sku, 0, 20);
+	}
+	
+	/**
+	 * Re-indexes one product, as after an update; the postings of its terms and prefixes are
+	 * among the longest in the index.
+	 */
+	@Benchmark
+	public int reindexProduct() {
+		final var productDto = this.productDtos.get(this.next);
+		this.next = (this.next + 7_919) % this.productDtos.size();
+		this.productSearchIndex.index(productDto);
+		return this.next;
+	}
+	
+}
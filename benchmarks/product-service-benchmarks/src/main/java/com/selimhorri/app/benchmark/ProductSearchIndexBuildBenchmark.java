@@ -0,0 +1,46 @@
+package com.selimhorri.app.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.selimhorri.app.dto.ProductDto;
+import com.selimhorri.app.search.ProductSearchIndex;
+
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class ProductSearchIndexBuildBenchmark {
+	
+	@Param({"100000", "1000000"})
+	private int products;
+	
+	private List<ProductDto> productDtos;
+	
+	@Setup
+	public void setUp() {
+		this.productDtos = ProductCatalogue.generate(this.products);
+	}
+	
+	@Benchmark
+	public ProductSearchIndex build() {
+		final var productSearchIndex = new ProductSearchIndex(50, 4);
+		productSearchIndex.rebuild(this.productDtos::forEach);
+		return productSearchIndex;
+	}
+	
+}
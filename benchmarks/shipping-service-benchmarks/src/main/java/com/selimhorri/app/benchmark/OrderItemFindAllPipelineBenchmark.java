@@ -0,0 +1,97 @@
+package com.selimhorri.app.benchmark;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.selimhorri.app.domain.OrderItem;
+import com.selimhorri.app.dto.OrderDto;
+import com.selimhorri.app.dto.OrderItemDto;
+import com.selimhorri.app.dto.ProductDto;
+import com.selimhorri.app.helper.OrderItemMappingHelper;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class OrderItemFindAllPipelineBenchmark {
+	
+	private static final int DISTINCT_PRODUCTS = 5_000;
+	private static final int ITEMS_PER_ORDER = 4;
+	
+	@Param({"10000", "100000", "1000000"})
+	private int rows;
+	
+	private List<OrderItem> orderItems;
+	private ProductDto[] productDtos;
+	private OrderDto[] orderDtos;
+	
+	@Setup
+	public void setUp() {
+		final var orderDate = LocalDateTime.now();
+		this.orderItems = IntStream.range(0, this.rows)
+				.mapToObj(i -> OrderItem.builder()
+						.productId(i % DISTINCT_PRODUCTS)
+						.orderId(i / ITEMS_PER_ORDER)
+						.orderedQuantity(1 + i % 3)
+						.build())
+				.collect(Collectors.toUnmodifiableList());
+		this.productDtos = IntStream.range(0, DISTINCT_PRODUCTS)
+				.mapToObj(i -> ProductDto.builder()
+						.productId(i)
+						.productTitle("product" + i)
+						.sku("sku" + i)
+						.priceUnit(i * 0.5)
+						.quantity(i)
+						.build())
+				.toArray(ProductDto[]::new);
+		this.orderDtos = IntStream.range(0, this.rows / ITEMS_PER_ORDER + 1)
+				.mapToObj(i -> OrderDto.builder()
+						.orderId(i)
+						.orderDate(orderDate)
+						.orderDesc("order " + i)
+						.orderFee(i * 1.5)
+						.build())
+				.toArray(OrderDto[]::new);
+	}
+	
+	@Benchmark
+	public List<OrderItemDto> distinctPipeline() {
+		return this.orderItems.stream()
+				.map(OrderItemMappingHelper::map)
+				.map(this::enrich)
+				.distinct()
+				.collect(Collectors.toUnmodifiableList());
+	}
+	
+	@Benchmark
+	public List<OrderItemDto> primaryKeyPipeline() {
+		return this.orderItems.stream()
+				.map(OrderItemMappingHelper::map)
+				.map(this::enrich)
+				.collect(Collectors.toUnmodifiableList());
+	}
+	
+	private OrderItemDto enrich(final OrderItemDto orderItemDto) {
+		orderItemDto.setProductDto(this.productDtos[orderItemDto.getProductId()]);
+		orderItemDto.setOrderDto(this.orderDtos[orderItemDto.getOrderId()]);
+		return orderItemDto;
+	}
+	
+}
@@ -0,0 +1,73 @@
+package com.selimhorri.app.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.selimhorri.app.domain.Credential;
+import com.selimhorri.app.domain.RoleBasedAuthority;
+import com.selimhorri.app.domain.User;
+import com.selimhorri.app.dto.UserDto;
+import com.selimhorri.app.helper.UserMappingHelper;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UserMappingBenchmark {
+	
+	private User user;
+	private UserDto userDto;
+	private UserDto reusableUserDto;
+	
+	@Setup
+	public void setUp() {
+		this.user = User.builder()
+				.userId(1)
+				.firstName("Selim")
+				.lastName("Horri")
+				.imageUrl("https://example.com/users/1.png")
+				.email("selim@example.com")
+				.phone("+21622125144")
+				.credential(Credential.builder()
+						.credentialId(1)
+						.username("selimhorri")
+						.password("$2a$04$mJ6v5sDOLDHQMmnLGuM5cu8I3lRGJmvtE0ijyHyaBLyhtbZnljNzG")
+						.roleBasedAuthority(RoleBasedAuthority.ROLE_USER)
+						.isEnabled(true)
+						.isAccountNonExpired(true)
+						.isAccountNonLocked(true)
+						.isCredentialsNonExpired(true)
+						.build())
+				.build();
+		this.userDto = UserMappingHelper.map(this.user);
+		this.reusableUserDto = new UserDto();
+	}
+	
+	@Benchmark
+	public UserDto entityToDto() {
+		return UserMappingHelper.map(this.user);
+	}
+	
+	@Benchmark
+	public UserDto entityToReusedDto() {
+		return UserMappingHelper.map(this.user, this.reusableUserDto);
+	}
+	
+	@Benchmark
+	public User dtoToEntity() {
+		return UserMappingHelper.map(this.userDto);
+	}
+	
+}
@@ -1,6 +1,11 @@
 package com.selimhorri.app.dto.response.collection;
 
 import java.util.Collection;
+import java.util.List;
+import java.util.function.Function;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
 
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -15,6 +20,19 @@ public class DtoCollectionResponse<T> {
 	
 	private Collection<T> collection;
 	
+	@JsonInclude(value = Include.NON_NULL)
+	private String nextCursor;
+	
+	public DtoCollectionResponse(final Collection<T> collection) {
+		this.collection = collection;
+	}
+	
+	public static <T> DtoCollectionResponse<T> page(final List<T> collection, final int limit, 
+			final Function<T, String> cursor) {
+		return new DtoCollectionResponse<>(collection, collection.size() < limit ? 
+				null : cursor.apply(collection.get(collection.size() - 1)));
+	}
+	
 }
 
 
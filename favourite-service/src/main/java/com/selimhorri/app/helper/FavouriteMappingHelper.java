@@ -8,27 +8,36 @@ import com.selimhorri.app.dto.UserDto;
 public interface FavouriteMappingHelper {
 	
 	public static FavouriteDto map(final Favourite favourite) {
-		return FavouriteDto.builder()
-				.userId(favourite.getUserId())
-				.productId(favourite.getProductId())
-				.likeDate(favourite.getLikeDate())
-				.userDto(
-						UserDto.builder()
-							.userId(favourite.getUserId())
-							.build())
-				.productDto(
-						ProductDto.builder()
-						.productId(favourite.getProductId())
-						.build())
-				.build();
+		return map(favourite, new FavouriteDto());
+	}
+	
+	public static FavouriteDto map(final Favourite favourite, final FavouriteDto favouriteDto) {
+		favouriteDto.setUserId(favourite.getUserId());
+		favouriteDto.setProductId(favourite.getProductId());
+		favouriteDto.setLikeDate(favourite.getLikeDate());
+		favouriteDto.setUserDto(mapUser(favourite.getUserId(), favouriteDto.getUserDto()));
+		favouriteDto.setProductDto(mapProduct(favourite.getProductId(), favouriteDto.getProductDto()));
+		return favouriteDto;
 	}
 	
 	public static Favourite map(final FavouriteDto favouriteDto) {
-		return Favourite.builder()
-				.userId(favouriteDto.getUserId())
-				.productId(favouriteDto.getProductId())
-				.likeDate(favouriteDto.getLikeDate())
-				.build();
+		final var favourite = new Favourite();
+		favourite.setUserId(favouriteDto.getUserId());
+		favourite.setProductId(favouriteDto.getProductId());
+		favourite.setLikeDate(favouriteDto.getLikeDate());
+		return favourite;
+	}
+	
+	private static UserDto mapUser(final Integer userId, final UserDto target) {
+		final var userDto = target != null ? target : new UserDto();
+		userDto.setUserId(userId);
+		return userDto;
+	}
+	
+	private static ProductDto mapProduct(final Integer productId, final ProductDto target) {
+		final var productDto = target != null ? target : new ProductDto();
+		productDto.setProductId(productId);
+		return productDto;
 	}
 	
 	
@@ -14,6 +14,7 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.selimhorri.app.constant.AppConstant;
@@ -34,9 +35,14 @@ public class FavouriteResource {
 	private final FavouriteService favouriteService;
 	
 	@GetMapping
-	public ResponseEntity<DtoCollectionResponse<FavouriteDto>> findAll() {
+	public ResponseEntity<DtoCollectionResponse<FavouriteDto>> findAll(
+			@RequestParam(name = "after", required = false) final String after, 
+			@RequestParam(name = "limit", required = false) final Integer limit) {
 		log.info("*** FavouriteDto List, controller; fetch all favourites *");
-		return ResponseEntity.ok(new DtoCollectionResponse<>(this.favouriteService.findAll()));
+		if (limit == null) {
+			return ResponseEntity.ok(new DtoCollectionResponse<>(this.favouriteService.findAll()));
+		}
+		return ResponseEntity.ok(this.favouriteService.findAll(after, limit));
 	}
 	
 	@GetMapping("/{userId}/{productId}/{likeDate}")
@@ -59,6 +65,12 @@ public class FavouriteResource {
 		return ResponseEntity.ok(this.favouriteService.findById(favouriteId));
 	}
 	
+	@GetMapping("/product/{productId}/count")
+	public ResponseEntity<Long> countByProductId(@PathVariable("productId") final String productId) {
+		log.info("*** Long, resource; count favourites by productId *");
+		return ResponseEntity.ok(this.favouriteService.countByProductId(Integer.parseInt(productId)));
+	}
+	
 	@PostMapping
 	public ResponseEntity<FavouriteDto> save(
 			@RequestBody 
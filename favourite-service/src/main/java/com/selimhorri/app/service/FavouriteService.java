@@ -4,11 +4,14 @@ import java.util.List;
 
 import com.selimhorri.app.domain.id.FavouriteId;
 import com.selimhorri.app.dto.FavouriteDto;
+import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
 
 public interface FavouriteService {
 	
 	List<FavouriteDto> findAll();
+	DtoCollectionResponse<FavouriteDto> findAll(final String after, final int limit);
 	FavouriteDto findById(final FavouriteId favouriteId);
+	long countByProductId(final Integer productId);
 	FavouriteDto save(final FavouriteDto favouriteDto);
 	FavouriteDto update(final FavouriteDto favouriteDto);
 	void deleteById(final FavouriteId favouriteId);
@@ -1,18 +1,26 @@
 package com.selimhorri.app.service.impl;
 
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
 import java.util.List;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 import javax.transaction.Transactional;
 
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
 
+import com.github.benmanes.caffeine.cache.LoadingCache;
 import com.selimhorri.app.constant.AppConstant;
+import com.selimhorri.app.domain.Favourite;
 import com.selimhorri.app.domain.id.FavouriteId;
 import com.selimhorri.app.dto.FavouriteDto;
 import com.selimhorri.app.dto.ProductDto;
 import com.selimhorri.app.dto.UserDto;
+import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
 import com.selimhorri.app.exception.wrapper.FavouriteNotFoundException;
 import com.selimhorri.app.helper.FavouriteMappingHelper;
 import com.selimhorri.app.repository.FavouriteRepository;
@@ -28,7 +36,8 @@ import lombok.extern.slf4j.Slf4j;
 public class FavouriteServiceImpl implements FavouriteService {
 	
 	private final FavouriteRepository favouriteRepository;
-	private final RestTemplate restTemplate;
+	private final LoadingCache<Integer, UserDto> userDtoCache;
+	private final LoadingCache<Integer, ProductDto> productDtoCache;
 	
 	@Override
 	public List<FavouriteDto> findAll() {
@@ -36,37 +45,38 @@ public class FavouriteServiceImpl implements FavouriteService {
 		return this.favouriteRepository.findAll()
 				.stream()
 					.map(FavouriteMappingHelper::map)
-					.map(f -> {
-						f.setUserDto(this.restTemplate
-								.getForObject(AppConstant.DiscoveredDomainsApi
-										.USER_SERVICE_API_URL + "/" + f.getUserId(), UserDto.class));
-						f.setProductDto(this.restTemplate
-								.getForObject(AppConstant.DiscoveredDomainsApi
-										.PRODUCT_SERVICE_API_URL + "/" + f.getProductId(), ProductDto.class));
-						return f;
-					})
-					.distinct()
+					.map(this::enrich)
 					.collect(Collectors.toUnmodifiableList());
 	}
 	
+	@Override
+	public DtoCollectionResponse<FavouriteDto> findAll(final String after, final int limit) {
+		log.info("*** FavouriteDto List, service; fetch page of favourites *");
+		final int pageSize = Math.max(1, Math.min(limit, AppConstant.MAX_PAGE_SIZE));
+		return DtoCollectionResponse.page(this.findPageAfter(after, PageRequest.of(0, pageSize))
+				.stream()
+					.map(FavouriteMappingHelper::map)
+					.map(this::enrich)
+					.collect(Collectors.toUnmodifiableList()), 
+				pageSize, FavouriteServiceImpl::toCursor);
+	}
+	
 	@Override
 	public FavouriteDto findById(final FavouriteId favouriteId) {
 		log.info("*** FavouriteDto, service; fetch favourite by id *");
 		return this.favouriteRepository.findById(favouriteId)
 				.map(FavouriteMappingHelper::map)
-				.map(f -> {
-					f.setUserDto(this.restTemplate
-							.getForObject(AppConstant.DiscoveredDomainsApi
-									.USER_SERVICE_API_URL + "/" + f.getUserId(), UserDto.class));
-					f.setProductDto(this.restTemplate
-							.getForObject(AppConstant.DiscoveredDomainsApi
-									.PRODUCT_SERVICE_API_URL + "/" + f.getProductId(), ProductDto.class));
-					return f;
-				})
+				.map(this::enrich)
 				.orElseThrow(() -> new FavouriteNotFoundException(
 						String.format("Favourite with id: [%s] not found!", favouriteId)));
 	}
 	
+	@Override
+	public long countByProductId(final Integer productId) {
+		log.info("*** Long, service; count favourites by productId *");
+		return this.favouriteRepository.countByProductId(productId);
+	}
+	
 	@Override
 	public FavouriteDto save(final FavouriteDto favouriteDto) {
 		return FavouriteMappingHelper.map(this.favouriteRepository
@@ -84,6 +94,37 @@ public class FavouriteServiceImpl implements FavouriteService {
 		this.favouriteRepository.deleteById(favouriteId);
 	}
 	
+	private FavouriteDto enrich(final FavouriteDto favouriteDto) {
+		Optional.ofNullable(this.userDtoCache.get(favouriteDto.getUserId()))
+				.ifPresent(favouriteDto::setUserDto);
+		Optional.ofNullable(this.productDtoCache.get(favouriteDto.getProductId()))
+				.ifPresent(favouriteDto::setProductDto);
+		return favouriteDto;
+	}
+	
+	private List<Favourite> findPageAfter(final String after, final Pageable pageable) {
+		if (after == null) {
+			return this.favouriteRepository.findAllByOrderByUserIdAscProductIdAscLikeDateAsc(pageable);
+		}
+		final var parts = after.split(",", -1);
+		if (parts.length != 3) {
+			throw new IllegalArgumentException(String.format("Malformed cursor: [%s]", after));
+		}
+		try {
+			return this.favouriteRepository.findPageAfter(Integer.parseInt(parts[0]), Integer.parseInt(parts[1]), 
+					LocalDateTime.parse(parts[2], DateTimeFormatter.ofPattern(AppConstant.LOCAL_DATE_TIME_FORMAT)), 
+					pageable);
+		}
+		catch (NumberFormatException | DateTimeParseException e) {
+			throw new IllegalArgumentException(String.format("Malformed cursor: [%s]", after), e);
+		}
+	}
+	
+	private static String toCursor(final FavouriteDto favouriteDto) {
+		return favouriteDto.getUserId() + "," + favouriteDto.getProductId() + "," 
+				+ favouriteDto.getLikeDate().format(DateTimeFormatter.ofPattern(AppConstant.LOCAL_DATE_TIME_FORMAT));
+	}
+	
 	
 	
 }
@@ -0,0 +1,67 @@
+package com.selimhorri.app.integration;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.selimhorri.app.dto.FavouriteDto;
+import com.selimhorri.app.dto.ProductDto;
+import com.selimhorri.app.dto.UserDto;
+import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class FavouriteServiceIntegrationTest {
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @MockBean(name = "userDtoCache")
+    private LoadingCache<Integer, UserDto> userDtoCache;
+    @MockBean(name = "productDtoCache")
+    private LoadingCache<Integer, ProductDto> productDtoCache;
+
+    @Test
+    void testKeysetPagesCoverEveryFavouriteOnce() throws Exception {
+        List<String> seen = new ArrayList<>();
+        String cursor = null;
+        do {
+            DtoCollectionResponse<FavouriteDto> page = fetch(cursor);
+            assertTrue(page.getCollection().size() <= 2);
+            seen.addAll(page.getCollection().stream()
+                    .map(f -> f.getUserId() + "," + f.getProductId())
+                    .collect(Collectors.toList()));
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+        assertEquals(List.of("1,1", "1,2", "2,2"), seen);
+    }
+    @Test
+    void testMalformedCursorIsRejectedWithBadRequest() throws Exception {
+        for (String cursor : List.of("1,2", "x,2,01-01-2020__00:00:00:000000", "1,2,yesterday", "1,2,3,4")) {
+            mockMvc.perform(get("/api/favourites").param("limit", "2").param("after", cursor))
+                .andExpect(status().isBadRequest());
+        }
+    }
+
+    private DtoCollectionResponse<FavouriteDto> fetch(String cursor) throws Exception {
+        var request = get("/api/favourites").param("limit", "2");
+        if (cursor != null) {
+            request.param("after", cursor);
+        }
+        String body = mockMvc.perform(request)
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getContentAsString();
+        return objectMapper.readValue(body, new TypeReference<DtoCollectionResponse<FavouriteDto>>() {});
+    }
+}
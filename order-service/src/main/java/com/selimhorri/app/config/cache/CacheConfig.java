@@ -0,0 +1,70 @@
+package com.selimhorri.app.config.cache;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.client.RestTemplate;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.selimhorri.app.dto.UserDto;
+
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.RequiredArgsConstructor;
+
+@Configuration
+@EnableConfigurationProperties(NearCacheProperties.class)
+@RequiredArgsConstructor
+public class CacheConfig {
+	
+	private final NearCacheProperties nearCacheProperties;
+	private final MeterRegistry meterRegistry;
+	
+	@Bean
+	public LoadingCache<Integer, UserDto> userDtoCache(final RestTemplate restTemplate, 
+			final CircuitBreakerRegistry circuitBreakerRegistry, final BulkheadRegistry bulkheadRegistry) {
+		final var userDtoCacheLoader = new UserDtoCacheLoader(restTemplate);
+		return this.monitor("userDtoCache", this.newBuilder()
+				.build(new ResilientCacheLoader<Integer, UserDto>(circuitBreakerRegistry, bulkheadRegistry, "userService", 
+						this.monitor("staleUserDtoCache", this.newStaleCache()), 
+						userDtoCacheLoader::load, userDtoCacheLoader::loadAll)));
+	}
+	
+	private Caffeine<Object, Object> newBuilder() {
+		return Caffeine.newBuilder()
+				.maximumSize(this.nearCacheProperties.getMaximumSize())
+				.expireAfterWrite(this.nearCacheProperties.getExpireAfterWrite())
+				.refreshAfterWrite(this.nearCacheProperties.getRefreshAfterWrite())
+				.recordStats();
+	}
+	
+	private <K, V> Cache<K, V> newStaleCache() {
+		return Caffeine.newBuilder()
+				.maximumSize(this.nearCacheProperties.getMaximumSize())
+				.expireAfterWrite(this.nearCacheProperties.getStaleExpireAfterWrite())
+				.recordStats()
+				.build();
+	}
+	
+	private <C extends Cache<?, ?>> C monitor(final String cacheName, final C cache) {
+		return CaffeineCacheMetrics.monitor(this.meterRegistry, cache, cacheName);
+	}
+	
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
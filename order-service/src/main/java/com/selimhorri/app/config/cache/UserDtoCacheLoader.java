@@ -0,0 +1,71 @@
+package com.selimhorri.app.config.cache;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.client.RestTemplate;
+
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.selimhorri.app.constant.AppConstant;
+import com.selimhorri.app.dto.UserDto;
+import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
+
+import lombok.RequiredArgsConstructor;
+
+@RequiredArgsConstructor
+public class UserDtoCacheLoader implements CacheLoader<Integer, UserDto> {
+	
+	private final RestTemplate restTemplate;
+	
+	@Override
+	public UserDto load(final Integer userId) {
+		return this.restTemplate.getForObject(AppConstant.DiscoveredDomainsApi
+				.USER_SERVICE_API_URL + "/{userId}", UserDto.class, userId);
+	}
+	
+	@Override
+	public Map<Integer, UserDto> loadAll(final Iterable<? extends Integer> keys) {
+		final List<Integer> userIds = StreamSupport.stream(keys.spliterator(), false)
+				.collect(Collectors.toUnmodifiableList());
+		final Map<Integer, UserDto> userDtos = new HashMap<>(userIds.size() * 2);
+		for (int from = 0; from < userIds.size(); from += AppConstant.USER_BATCH_FETCH_SIZE) {
+			final var chunk = userIds.subList(from, Math.min(from + AppConstant.USER_BATCH_FETCH_SIZE, userIds.size()));
+			this.fetchChunk(chunk).stream()
+					.filter(u -> u.getUserId() != null)
+					.forEach(u -> userDtos.put(u.getUserId(), u));
+		}
+		return userDtos;
+	}
+	
+	private List<UserDto> fetchChunk(final List<Integer> userIds) {
+		final var response = this.restTemplate.exchange(
+				AppConstant.DiscoveredDomainsApi.USER_SERVICE_API_URL + "?ids={ids}", 
+				HttpMethod.GET, 
+				null, 
+				new ParameterizedTypeReference<DtoCollectionResponse<UserDto>>() {}, 
+				userIds.stream()
+					.map(String::valueOf)
+					.collect(Collectors.joining(",")))
+				.getBody();
+		return response == null || response.getCollection() == null ? List.of() : List.copyOf(response.getCollection());
+	}
+	
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -11,6 +11,14 @@ public abstract class AppConstant {
 	public static final String ZONED_DATE_TIME_FORMAT = "dd-MM-yyyy__HH:mm:ss:SSSSSS";
 	public static final String INSTANT_FORMAT = "dd-MM-yyyy__HH:mm:ss:SSSSSS";
 	
+	public static final int USER_BATCH_FETCH_SIZE = 100;
+	public static final int MAX_PAGE_SIZE = 1000;
+	public static final int STREAM_CLEAR_INTERVAL = 1000;
+	public static final int BULK_WRITE_CHUNK_SIZE = 500;
+	public static final int MAX_BULK_SIZE = 1000;
+	public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+	public static final String ORDER_AGGREGATE_TYPE = "ORDER";
+	
 	@NoArgsConstructor(access = AccessLevel.PRIVATE)
 	public abstract class DiscoveredDomainsApi {
 		
@@ -13,6 +13,9 @@ import javax.persistence.JoinColumn;
 import javax.persistence.ManyToOne;
 import javax.persistence.Table;
 
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+
 import org.springframework.format.annotation.DateTimeFormat;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
@@ -41,7 +44,13 @@ public final class Order extends AbstractMappedEntity implements Serializable {
 	private static final long serialVersionUID = 1L;
 	
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "order_id_generator")
+	@GenericGenerator(name = "order_id_generator", strategy = "enhanced-sequence", parameters = {
+		@Parameter(name = "sequence_name", value = "orders_seq"),
+		@Parameter(name = "force_table_use", value = "true"),
+		@Parameter(name = "increment_size", value = "50"),
+		@Parameter(name = "optimizer", value = "pooled-lo")
+	})
 	@Column(name = "order_id", unique = true, nullable = false, updatable = false)
 	private Integer orderId;
 	
@@ -0,0 +1,19 @@
+package com.selimhorri.app.event;
+
+import java.util.List;
+
+import com.selimhorri.app.dto.EventDto;
+
+/**
+ * Destination of the outbox relay. Events arrive in feed position order and may be delivered
+ * more than once, so consumers have to be idempotent on the event position.
+ */
+public interface EventBroker {
+	
+	/**
+	 * Called inside the relay transaction: throwing leaves the events unpublished and the relay
+	 * retries them on its next run.
+	 */
+	void publish(final List<EventDto> events);
+	
+}
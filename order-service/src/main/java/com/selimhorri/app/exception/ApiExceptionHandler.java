@@ -13,6 +13,7 @@ import org.springframework.web.bind.annotation.ExceptionHandler;
 
 import com.selimhorri.app.exception.payload.ExceptionMsg;
 import com.selimhorri.app.exception.wrapper.CartNotFoundException;
+import com.selimhorri.app.exception.wrapper.IdempotencyKeyConflictException;
 import com.selimhorri.app.exception.wrapper.OrderNotFoundException;
 
 import lombok.RequiredArgsConstructor;
@@ -60,6 +61,23 @@ public class ApiExceptionHandler {
 					.build(), badRequest);
 	}
 	
+	@ExceptionHandler(value = {
+		IdempotencyKeyConflictException.class,
+	})
+	public <T extends RuntimeException> ResponseEntity<ExceptionMsg> handleConflictException(final T e) {
+		
+		log.info("**ApiExceptionHandler controller, handle conflict*\n");
+		final var conflict = HttpStatus.CONFLICT;
+		
+		return new ResponseEntity<>(
+				ExceptionMsg.builder()
+					.msg("#### " + e.getMessage() + "! ####")
+					.httpStatus(conflict)
+					.timestamp(ZonedDateTime
+							.now(ZoneId.systemDefault()))
+					.build(), conflict);
+	}
+	
 	
 	
 }
@@ -7,21 +7,23 @@ import com.selimhorri.app.dto.UserDto;
 public interface CartMappingHelper {
 	
 	public static CartDto map(final Cart cart) {
-		return CartDto.builder()
-				.cartId(cart.getCartId())
-				.userId(cart.getUserId())
-				.userDto(
-						UserDto.builder()
-							.userId(cart.getUserId())
-							.build())
-				.build();
+		return map(cart, new CartDto());
+	}
+	
+	public static CartDto map(final Cart cart, final CartDto cartDto) {
+		cartDto.setCartId(cart.getCartId());
+		cartDto.setUserId(cart.getUserId());
+		final var userDto = cartDto.getUserDto() != null ? cartDto.getUserDto() : new UserDto();
+		userDto.setUserId(cart.getUserId());
+		cartDto.setUserDto(userDto);
+		return cartDto;
 	}
 	
 	public static Cart map(final CartDto cartDto) {
-		return Cart.builder()
-				.cartId(cartDto.getCartId())
-				.userId(cartDto.getUserId())
-				.build();
+		final var cart = new Cart();
+		cart.setCartId(cartDto.getCartId());
+		cart.setUserId(cartDto.getUserId());
+		return cart;
 	}
 	
 	
@@ -8,29 +8,31 @@ import com.selimhorri.app.dto.OrderDto;
 public interface OrderMappingHelper {
 	
 	public static OrderDto map(final Order order) {
-		return OrderDto.builder()
-				.orderId(order.getOrderId())
-				.orderDate(order.getOrderDate())
-				.orderDesc(order.getOrderDesc())
-				.orderFee(order.getOrderFee())
-				.cartDto(
-						CartDto.builder()
-							.cartId(order.getCart().getCartId())
-							.build())
-				.build();
+		return map(order, new OrderDto());
+	}
+	
+	public static OrderDto map(final Order order, final OrderDto orderDto) {
+		orderDto.setOrderId(order.getOrderId());
+		orderDto.setOrderDate(order.getOrderDate());
+		orderDto.setOrderDesc(order.getOrderDesc());
+		orderDto.setOrderFee(order.getOrderFee());
+		final var cartDto = orderDto.getCartDto() != null ? orderDto.getCartDto() : new CartDto();
+		cartDto.setCartId(order.getCart().getCartId());
+		orderDto.setCartDto(cartDto);
+		return orderDto;
 	}
 	
 	public static Order map(final OrderDto orderDto) {
-		return Order.builder()
-				.orderId(orderDto.getOrderId())
-				.orderDate(orderDto.getOrderDate())
-				.orderDesc(orderDto.getOrderDesc())
-				.orderFee(orderDto.getOrderFee())
-				.cart(
-						Cart.builder()
-							.cartId(orderDto.getCartDto().getCartId())
-							.build())
-				.build();
+		final var cart = new Cart();
+		cart.setCartId(orderDto.getCartDto().getCartId());
+		
+		final var order = new Order();
+		order.setOrderId(orderDto.getOrderId());
+		order.setOrderDate(orderDto.getOrderDate());
+		order.setOrderDesc(orderDto.getOrderDesc());
+		order.setOrderFee(orderDto.getOrderFee());
+		order.setCart(cart);
+		return order;
 	}
 	
 	
@@ -1,11 +1,30 @@
 package com.selimhorri.app.repository;
 
+import java.util.List;
+import java.util.stream.Stream;
+
+import javax.persistence.QueryHint;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
 import com.selimhorri.app.domain.Order;
 
 public interface OrderRepository extends JpaRepository<Order, Integer> {
 	
+	@EntityGraph(attributePaths = "cart")
+	List<Order> findByOrderIdGreaterThanOrderByOrderIdAsc(final Integer orderId, final Pageable pageable);
+	
+	@QueryHints({
+		@QueryHint(name = org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE, value = "1000"),
+		@QueryHint(name = org.hibernate.jpa.QueryHints.HINT_READONLY, value = "true")
+	})
+	@Query("SELECT o FROM Order o LEFT JOIN FETCH o.cart ORDER BY o.orderId")
+	Stream<Order> streamAll();
+	
 	
 	
 }
@@ -0,0 +1,96 @@
+package com.selimhorri.app.repository;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import com.selimhorri.app.dto.EventDto;
+import com.selimhorri.app.event.EventType;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Plain JDBC so that outbox rows are inserted as one batch next to the entities they describe,
+ * and so the relay can lock the feed position counter explicitly.
+ */
+@Repository
+@RequiredArgsConstructor
+public class OutboxEventRepository {
+	
+	private static final String EVENT_COLUMNS = "SELECT event_id, feed_position, aggregate_type, aggregate_id, "
+			+ "event_type, payload, created_at FROM outbox_events ";
+	
+	private final JdbcTemplate jdbcTemplate;
+	
+	public void saveAll(final Collection<EventDto> events) {
+		this.jdbcTemplate.batchUpdate("INSERT INTO outbox_events "
+					+ "(aggregate_type, aggregate_id, event_type, payload, created_at) VALUES (?, ?, ?, ?, ?)",
+				events, events.size(), (ps, e) -> {
+					ps.setString(1, e.getAggregateType());
+					ps.setString(2, e.getAggregateId());
+					ps.setString(3, e.getEventType().name());
+					ps.setString(4, e.getPayload());
+					ps.setTimestamp(5, Timestamp.valueOf(e.getCreatedAt()));
+				});
+	}
+	
+	/**
+	 * Locks the single counter row until the end of the transaction, which serialises relay runs
+	 * across instances and makes feed positions become visible in increasing order.
+	 */
+	public long lockNextPosition() {
+		return this.jdbcTemplate.queryForObject("SELECT next_position FROM outbox_feed_positions FOR UPDATE", Long.class);
+	}
+	
+	public List<EventDto> findUnpublished(final int limit) {
+		return this.jdbcTemplate.query(EVENT_COLUMNS
+				+ "WHERE feed_position IS NULL ORDER BY event_id LIMIT ?", this::mapRow, limit);
+	}
+	
+	public List<EventDto> findPublishedAfter(final long after, final int limit) {
+		return this.jdbcTemplate.query(EVENT_COLUMNS
+				+ "WHERE feed_position > ? ORDER BY feed_position LIMIT ?", this::mapRow, after, limit);
+	}
+	
+	public void markPublished(final List<EventDto> events, final long nextPosition) {
+		final var publishedAt = Timestamp.valueOf(LocalDateTime.now());
+		this.jdbcTemplate.batchUpdate("UPDATE outbox_events SET feed_position = ?, published_at = ? WHERE event_id = ?",
+				events, events.size(), (ps, e) -> {
+					ps.setLong(1, e.getPosition());
+					ps.setTimestamp(2, publishedAt);
+					ps.setLong(3, e.getEventId());
+				});
+		this.jdbcTemplate.update("UPDATE outbox_feed_positions SET next_position = ?", nextPosition);
+	}
+	
+	private EventDto mapRow(final ResultSet rs, final int rowNum) throws SQLException {
+		return EventDto.builder()
+				.eventId(rs.getLong("event_id"))
+				.position(rs.getObject("feed_position", Long.class))
+				.aggregateType(rs.getString("aggregate_type"))
+				.aggregateId(rs.getString("aggregate_id"))
+				.eventType(EventType.valueOf(rs.getString("event_type")))
+				.payload(rs.getString("payload"))
+				.createdAt(rs.getTimestamp("created_at").toLocalDateTime())
+				.build();
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
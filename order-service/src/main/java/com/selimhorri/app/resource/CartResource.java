@@ -12,6 +12,7 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.selimhorri.app.dto.CartDto;
@@ -30,9 +31,14 @@ public class CartResource {
 	private final CartService cartService;
 	
 	@GetMapping
-	public ResponseEntity<DtoCollectionResponse<CartDto>> findAll() {
+	public ResponseEntity<DtoCollectionResponse<CartDto>> findAll(
+			@RequestParam(name = "after", required = false) final Integer after, 
+			@RequestParam(name = "limit", required = false) final Integer limit) {
 		log.info("*** CartDto List, controller; fetch all categories *");
-		return ResponseEntity.ok(new DtoCollectionResponse<>(this.cartService.findAll()));
+		if (limit == null) {
+			return ResponseEntity.ok(new DtoCollectionResponse<>(this.cartService.findAll()));
+		}
+		return ResponseEntity.ok(this.cartService.findAll(after, limit));
 	}
 	
 	@GetMapping("/{cartId}")
@@ -1,9 +1,15 @@
 package com.selimhorri.app.resource;
 
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+import javax.servlet.http.HttpServletResponse;
 import javax.validation.Valid;
 import javax.validation.constraints.NotBlank;
 import javax.validation.constraints.NotNull;
 
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -11,9 +17,14 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.selimhorri.app.constant.AppConstant;
 import com.selimhorri.app.dto.OrderDto;
 import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
 import com.selimhorri.app.service.OrderService;
@@ -28,11 +39,36 @@ import lombok.extern.slf4j.Slf4j;
 public class OrderResource {
 	
 	private final OrderService orderService;
+	private final ObjectMapper objectMapper;
 	
 	@GetMapping
-	public ResponseEntity<DtoCollectionResponse<OrderDto>> findAll() {
+	public ResponseEntity<DtoCollectionResponse<OrderDto>> findAll(
+			@RequestParam(name = "after", required = false) final Integer after, 
+			@RequestParam(name = "limit", required = false) final Integer limit) {
 		log.info("*** OrderDto List, controller; fetch all orders *");
-		return ResponseEntity.ok(new DtoCollectionResponse<>(this.orderService.findAll()));
+		if (limit == null) {
+			return ResponseEntity.ok(new DtoCollectionResponse<>(this.orderService.findAll()));
+		}
+		return ResponseEntity.ok(this.orderService.findAll(after, limit));
+	}
+	
+	@GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+	public void stream(final HttpServletResponse response) throws IOException {
+		log.info("*** OrderDto Stream, resource; stream all orders *");
+		response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+		final var writer = this.objectMapper.writerFor(OrderDto.class)
+				.without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+		final var outputStream = new BufferedOutputStream(response.getOutputStream());
+		this.orderService.streamAll(o -> {
+			try {
+				writer.writeValue(outputStream, o);
+				outputStream.write('\n');
+			}
+			catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		});
+		outputStream.flush();
 	}
 	
 	@GetMapping("/{orderId}")
@@ -48,9 +84,22 @@ public class OrderResource {
 	public ResponseEntity<OrderDto> save(
 			@RequestBody 
 			@NotNull(message = "Input must not be NULL") 
-			@Valid final OrderDto orderDto) {
+			@Valid final OrderDto orderDto, 
+			@RequestHeader(name = AppConstant.IDEMPOTENCY_KEY_HEADER, required = false) final String idempotencyKey) {
 		log.info("*** OrderDto, resource; save order *");
-		return ResponseEntity.ok(this.orderService.save(orderDto));
+		if (idempotencyKey == null) {
+			return ResponseEntity.ok(this.orderService.save(orderDto));
+		}
+		return ResponseEntity.ok(this.orderService.save(idempotencyKey, orderDto));
+	}
+	
+	@PostMapping("/bulk")
+	public ResponseEntity<DtoCollectionResponse<OrderDto>> saveAll(
+			@RequestBody 
+			@NotNull(message = "Input must not be NULL") 
+			@Valid final DtoCollectionResponse<OrderDto> orderDtos) {
+		log.info("*** OrderDto List, resource; save orders in bulk *");
+		return ResponseEntity.ok(new DtoCollectionResponse<>(this.orderService.saveAll(orderDtos.getCollection())));
 	}
 	
 	@PutMapping
@@ -74,6 +123,16 @@ public class OrderResource {
 		return ResponseEntity.ok(this.orderService.update(Integer.parseInt(orderId), orderDto));
 	}
 	
+	@DeleteMapping("/idempotency-keys/{idempotencyKey}")
+	public ResponseEntity<Boolean> cancel(
+			@PathVariable("idempotencyKey") 
+			@NotBlank(message = "Input must not be blank") 
+			@Valid final String idempotencyKey) {
+		log.info("*** Boolean, resource; cancel order created under idempotency key *");
+		this.orderService.cancel(idempotencyKey);
+		return ResponseEntity.ok(true);
+	}
+	
 	@DeleteMapping("/{orderId}")
 	public ResponseEntity<Boolean> deleteById(@PathVariable("orderId") final String orderId) {
 		log.info("*** Boolean, resource; delete order by id *");
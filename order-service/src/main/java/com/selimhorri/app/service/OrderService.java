@@ -1,14 +1,22 @@
 package com.selimhorri.app.service;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.function.Consumer;
 
 import com.selimhorri.app.dto.OrderDto;
+import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
 
 public interface OrderService {
 	
 	List<OrderDto> findAll();
+	DtoCollectionResponse<OrderDto> findAll(final Integer after, final int limit);
+	void streamAll(final Consumer<OrderDto> consumer);
 	OrderDto findById(final Integer orderId);
 	OrderDto save(final OrderDto orderDto);
+	OrderDto save(final String idempotencyKey, final OrderDto orderDto);
+	void cancel(final String idempotencyKey);
+	List<OrderDto> saveAll(final Collection<OrderDto> orderDtos);
 	OrderDto update(final OrderDto orderDto);
 	OrderDto update(final Integer orderId, final OrderDto orderDto);
 	void deleteById(final Integer orderId);
@@ -1,16 +1,20 @@
 package com.selimhorri.app.service.impl;
 
 import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 import javax.transaction.Transactional;
 
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
 
+import com.github.benmanes.caffeine.cache.LoadingCache;
 import com.selimhorri.app.constant.AppConstant;
 import com.selimhorri.app.dto.CartDto;
 import com.selimhorri.app.dto.UserDto;
+import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
 import com.selimhorri.app.exception.wrapper.CartNotFoundException;
 import com.selimhorri.app.helper.CartMappingHelper;
 import com.selimhorri.app.repository.CartRepository;
@@ -26,21 +30,27 @@ import lombok.extern.slf4j.Slf4j;
 public class CartServiceImpl implements CartService {
 	
 	private final CartRepository cartRepository;
-	private final RestTemplate restTemplate;
+	private final LoadingCache<Integer, UserDto> userDtoCache;
 	
 	@Override
 	public List<CartDto> findAll() {
 		log.info("*** CartDto List, service; fetch all carts *");
-		return this.cartRepository.findAll()
+		return this.enrich(this.cartRepository.findAll()
 				.stream()
 					.map(CartMappingHelper::map)
-					.map(c -> {
-						c.setUserDto(this.restTemplate.getForObject(AppConstant.DiscoveredDomainsApi
-								.USER_SERVICE_API_URL + "/" + c.getUserDto().getUserId(), UserDto.class));
-						return c;
-					})
-					.distinct()
-					.collect(Collectors.toUnmodifiableList());
+					.collect(Collectors.toUnmodifiableList()));
+	}
+	
+	@Override
+	public DtoCollectionResponse<CartDto> findAll(final Integer after, final int limit) {
+		log.info("*** CartDto List, service; fetch page of carts *");
+		final int pageSize = Math.max(1, Math.min(limit, AppConstant.MAX_PAGE_SIZE));
+		return DtoCollectionResponse.page(this.enrich(this.cartRepository
+					.findByCartIdGreaterThanOrderByCartIdAsc(after == null ? 0 : after, PageRequest.of(0, pageSize))
+					.stream()
+						.map(CartMappingHelper::map)
+						.collect(Collectors.toUnmodifiableList())), 
+				pageSize, c -> String.valueOf(c.getCartId()));
 	}
 	
 	@Override
@@ -49,8 +59,8 @@ public class CartServiceImpl implements CartService {
 		return this.cartRepository.findById(cartId)
 				.map(CartMappingHelper::map)
 				.map(c -> {
-					c.setUserDto(this.restTemplate.getForObject(AppConstant.DiscoveredDomainsApi
-							.USER_SERVICE_API_URL + "/" + c.getUserDto().getUserId(), UserDto.class));
+					Optional.ofNullable(this.userDtoCache.get(c.getUserDto().getUserId()))
+							.ifPresent(c::setUserDto);
 					return c;
 				})
 				.orElseThrow(() -> new CartNotFoundException(String
@@ -84,6 +94,17 @@ public class CartServiceImpl implements CartService {
 		this.cartRepository.deleteById(cartId);
 	}
 	
+	private List<CartDto> enrich(final List<CartDto> cartDtos) {
+		final var userDtos = this.userDtoCache.getAll(cartDtos.stream()
+				.map(CartDto::getUserId)
+				.filter(Objects::nonNull)
+				.distinct()
+				.collect(Collectors.toUnmodifiableList()));
+		cartDtos.forEach(c -> c.setUserDto(userDtos.getOrDefault(c.getUserId(), c.getUserDto())));
+		return cartDtos;
+	}
+	
+	
 	
 	
 }
@@ -1,17 +1,30 @@
 package com.selimhorri.app.service.impl;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
+import javax.persistence.EntityManager;
 import javax.transaction.Transactional;
 
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.util.Assert;
 
+import com.selimhorri.app.constant.AppConstant;
 import com.selimhorri.app.dto.OrderDto;
+import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
+import com.selimhorri.app.event.EventType;
+import com.selimhorri.app.exception.wrapper.IdempotencyKeyConflictException;
 import com.selimhorri.app.exception.wrapper.OrderNotFoundException;
 import com.selimhorri.app.helper.OrderMappingHelper;
+import com.selimhorri.app.repository.IdempotencyKeyRepository;
 import com.selimhorri.app.repository.OrderRepository;
 import com.selimhorri.app.service.OrderService;
+import com.selimhorri.app.service.OutboxService;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -23,6 +36,9 @@ import lombok.extern.slf4j.Slf4j;
 public class OrderServiceImpl implements OrderService {
 	
 	private final OrderRepository orderRepository;
+	private final EntityManager entityManager;
+	private final OutboxService outboxService;
+	private final IdempotencyKeyRepository idempotencyKeyRepository;
 	
 	@Override
 	public List<OrderDto> findAll() {
@@ -30,10 +46,41 @@ public class OrderServiceImpl implements OrderService {
 		return this.orderRepository.findAll()
 				.stream()
 					.map(OrderMappingHelper::map)
-					.distinct()
 					.collect(Collectors.toUnmodifiableList());
 	}
 	
+	@Override
+	public DtoCollectionResponse<OrderDto> findAll(final Integer after, final int limit) {
+		log.info("*** OrderDto List, service; fetch page of orders *");
+		final int pageSize = Math.max(1, Math.min(limit, AppConstant.MAX_PAGE_SIZE));
+		return DtoCollectionResponse.page(this.orderRepository
+				.findByOrderIdGreaterThanOrderByOrderIdAsc(after == null ? 0 : after, PageRequest.of(0, pageSize))
+				.stream()
+					.map(OrderMappingHelper::map)
+					.collect(Collectors.toUnmodifiableList()), 
+				pageSize, o -> String.valueOf(o.getOrderId()));
+	}
+	
+	/**
+	 * Clears the persistence context every {@link AppConstant#STREAM_CLEAR_INTERVAL} rows
+	 * rather than detaching each entity, since detaching does not cascade to the fetched
+	 * carts and would leave them all managed until the export ends.
+	 */
+	@Override
+	public void streamAll(final Consumer<OrderDto> consumer) {
+		log.info("*** OrderDto Stream, service; stream all orders *");
+		final var orderDto = new OrderDto();
+		final long[] streamed = { 0L };
+		try (final var orders = this.orderRepository.streamAll()) {
+			orders.forEach(o -> {
+				consumer.accept(OrderMappingHelper.map(o, orderDto));
+				if (++streamed[0] % AppConstant.STREAM_CLEAR_INTERVAL == 0) {
+					this.entityManager.clear();
+				}
+			});
+		}
+	}
+	
 	@Override
 	public OrderDto findById(final Integer orderId) {
 		log.info("*** OrderDto, service; fetch order by id *");
@@ -46,15 +93,82 @@ public class OrderServiceImpl implements OrderService {
 	@Override
 	public OrderDto save(final OrderDto orderDto) {
 		log.info("*** OrderDto, service; save order *");
-		return OrderMappingHelper.map(this.orderRepository
-				.save(OrderMappingHelper.map(orderDto)));
+		return this.recorded(EventType.CREATED, OrderMappingHelper.map(this.orderRepository
+				.save(OrderMappingHelper.map(orderDto))));
+	}
+	
+	@Override
+	public OrderDto save(final String idempotencyKey, final OrderDto orderDto) {
+		log.info("*** OrderDto, service; save order under idempotency key *");
+		final var existing = this.idempotencyKeyRepository.lock(idempotencyKey);
+		if (existing.isPresent()) {
+			if (existing.get().isCancelled()) {
+				throw new IdempotencyKeyConflictException(String
+						.format("Idempotency key: %s has been cancelled", idempotencyKey));
+			}
+			return this.findById(Integer.parseInt(existing.get().getResourceId()));
+		}
+		final var saved = this.save(orderDto);
+		try {
+			this.idempotencyKeyRepository.save(idempotencyKey, String.valueOf(saved.getOrderId()), false);
+		}
+		catch (DuplicateKeyException e) {
+			throw new IdempotencyKeyConflictException(String
+					.format("Idempotency key: %s is being used concurrently", idempotencyKey), e);
+		}
+		return saved;
+	}
+	
+	/**
+	 * Deletes the order created under the key, if any, and leaves the key cancelled either way.
+	 */
+	@Override
+	public void cancel(final String idempotencyKey) {
+		log.info("*** Void, service; cancel order created under idempotency key *");
+		final var existing = this.idempotencyKeyRepository.lock(idempotencyKey);
+		if (existing.isEmpty()) {
+			this.idempotencyKeyRepository.save(idempotencyKey, null, true);
+			return;
+		}
+		if (existing.get().isCancelled()) {
+			return;
+		}
+		final var orderId = Integer.parseInt(existing.get().getResourceId());
+		if (this.orderRepository.existsById(orderId)) {
+			this.deleteById(orderId);
+		}
+		this.idempotencyKeyRepository.cancel(idempotencyKey);
+	}
+	
+	/**
+	 * Persists in chunks and flushes and clears the persistence context after each one, so the
+	 * inserts reach the driver as JDBC batches and memory stays flat however long the list is.
+	 */
+	@Override
+	public List<OrderDto> saveAll(final Collection<OrderDto> orderDtos) {
+		log.info("*** OrderDto List, service; save orders in bulk *");
+		Assert.state(orderDtos.size() <= AppConstant.MAX_BULK_SIZE, 
+				() -> String.format("At most %d orders can be saved in bulk", AppConstant.MAX_BULK_SIZE));
+		final var saved = new ArrayList<OrderDto>(orderDtos.size());
+		for (final var orderDto : orderDtos) {
+			final var order = OrderMappingHelper.map(orderDto);
+			order.setOrderId(null);
+			this.entityManager.persist(order);
+			saved.add(OrderMappingHelper.map(order));
+			if (saved.size() % AppConstant.BULK_WRITE_CHUNK_SIZE == 0) {
+				this.entityManager.flush();
+				this.entityManager.clear();
+			}
+		}
+		this.outboxService.record(AppConstant.ORDER_AGGREGATE_TYPE, EventType.CREATED, saved, OrderDto::getOrderId);
+		return saved;
 	}
 	
 	@Override
 	public OrderDto update(final OrderDto orderDto) {
 		log.info("*** OrderDto, service; update order *");
-		return OrderMappingHelper.map(this.orderRepository
-				.save(OrderMappingHelper.map(orderDto)));
+		return this.recorded(EventType.UPDATED, OrderMappingHelper.map(this.orderRepository
+				.save(OrderMappingHelper.map(orderDto))));
 	}
 	
 	@Override
@@ -65,13 +179,21 @@ public class OrderServiceImpl implements OrderService {
 		existing.setOrderDesc(orderDto.getOrderDesc());
 		existing.setOrderFee(orderDto.getOrderFee());
 		existing.setCartDto(orderDto.getCartDto());
-		return OrderMappingHelper.map(this.orderRepository.save(OrderMappingHelper.map(existing)));
+		return this.recorded(EventType.UPDATED, OrderMappingHelper.map(this.orderRepository
+				.save(OrderMappingHelper.map(existing))));
 	}
 	
 	@Override
 	public void deleteById(final Integer orderId) {
 		log.info("*** Void, service; delete order by id *");
-		this.orderRepository.delete(OrderMappingHelper.map(this.findById(orderId)));
+		final var orderDto = this.findById(orderId);
+		this.orderRepository.delete(OrderMappingHelper.map(orderDto));
+		this.recorded(EventType.DELETED, orderDto);
+	}
+	
+	private OrderDto recorded(final EventType eventType, final OrderDto orderDto) {
+		this.outboxService.record(AppConstant.ORDER_AGGREGATE_TYPE, eventType, List.of(orderDto), OrderDto::getOrderId);
+		return orderDto;
 	}
 	
 	
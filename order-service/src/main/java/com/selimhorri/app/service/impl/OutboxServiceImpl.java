@@ -0,0 +1,109 @@
+package com.selimhorri.app.service.impl;
+
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import javax.transaction.Transactional;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.selimhorri.app.config.event.OutboxProperties;
+import com.selimhorri.app.constant.AppConstant;
+import com.selimhorri.app.dto.EventDto;
+import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
+import com.selimhorri.app.event.EventBroker;
+import com.selimhorri.app.event.EventType;
+import com.selimhorri.app.repository.OutboxEventRepository;
+import com.selimhorri.app.service.OutboxService;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@Service
+@Transactional
+@Slf4j
+@RequiredArgsConstructor
+public class OutboxServiceImpl implements OutboxService {
+	
+	private final OutboxEventRepository outboxEventRepository;
+	private final EventBroker eventBroker;
+	private final ObjectMapper objectMapper;
+	private final OutboxProperties outboxProperties;
+	private final MeterRegistry meterRegistry;
+	
+	/**
+	 * Joins the caller's transaction, so the events commit or roll back together with the change
+	 * they describe.
+	 */
+	@Override
+	public <T> void record(final String aggregateType, final EventType eventType, final Collection<T> payloads,
+			final Function<T, ?> aggregateId) {
+		final var createdAt = LocalDateTime.now();
+		this.outboxEventRepository.saveAll(payloads.stream()
+				.map(payload -> EventDto.builder()
+						.aggregateType(aggregateType)
+						.aggregateId(String.valueOf(aggregateId.apply(payload)))
+						.eventType(eventType)
+						.payload(this.toJson(payload))
+						.createdAt(createdAt)
+						.build())
+				.collect(Collectors.toUnmodifiableList()));
+	}
+	
+	@Override
+	@Scheduled(fixedDelayString = "${app.outbox.relay-interval:PT1S}")
+	public int relay() {
+		final long nextPosition = this.outboxEventRepository.lockNextPosition();
+		final var events = this.outboxEventRepository.findUnpublished(this.outboxProperties.getRelayBatchSize());
+		if (events.isEmpty()) {
+			return 0;
+		}
+		long position = nextPosition;
+		for (final var event : events) {
+			event.setPosition(position++);
+		}
+		this.outboxEventRepository.markPublished(events, position);
+		this.eventBroker.publish(events);
+		this.meterRegistry.counter("order.outbox.events.published").increment(events.size());
+		log.info("*** EventDto List, service; relayed {} outbox events *", events.size());
+		return events.size();
+	}
+	
+	@Override
+	public DtoCollectionResponse<EventDto> findAll(final Long after, final int limit) {
+		log.info("*** EventDto List, service; fetch page of published events *");
+		final int pageSize = Math.max(1, Math.min(limit, AppConstant.MAX_PAGE_SIZE));
+		return DtoCollectionResponse.page(this.outboxEventRepository
+				.findPublishedAfter(after == null ? 0 : after, pageSize),
+				pageSize, e -> String.valueOf(e.getPosition()));
+	}
+	
+	private String toJson(final Object payload) {
+		try {
+			return this.objectMapper.writeValueAsString(payload);
+		}
+		catch (JsonProcessingException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,75 @@
+package com.selimhorri.app.integration;
+
+import com.selimhorri.app.constant.AppConstant;
+import com.selimhorri.app.domain.Cart;
+import com.selimhorri.app.dto.CartDto;
+import com.selimhorri.app.dto.OrderDto;
+import com.selimhorri.app.repository.CartRepository;
+import com.selimhorri.app.repository.OrderRepository;
+import com.selimhorri.app.service.OrderService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Rows/sec for 100k order inserts, row by row through {@code save} versus {@code saveAll}.
+ * Run with {@code mvn -pl order-service test -Dtest=OrderBulkInsertBenchmarkTest -Dbulk.benchmark=true}.
+ */
+@EnabledIfSystemProperty(named = "bulk.benchmark", matches = "true")
+@SpringBootTest(properties = {
+        "spring.jpa.show-sql=false",
+        "logging.level.org.hibernate.SQL=INFO",
+        "logging.level.org.springframework=INFO"
+})
+class OrderBulkInsertBenchmarkTest {
+    private static final Logger log = LoggerFactory.getLogger(OrderBulkInsertBenchmarkTest.class);
+    private static final int ROWS = 100_000;
+    private static final int REQUEST_SIZE = AppConstant.MAX_BULK_SIZE;
+    @Autowired
+    private OrderService orderService;
+    @Autowired
+    private OrderRepository orderRepository;
+    @Autowired
+    private CartRepository cartRepository;
+
+    @Test
+    void testBulkInsertThroughput() {
+        Cart cart = cartRepository.save(Cart.builder().userId(1).build());
+        List<OrderDto> orders = IntStream.range(0, ROWS)
+                .mapToObj(i -> OrderDto.builder()
+                        .orderDate(LocalDateTime.now())
+                        .orderDesc("bulk " + i)
+                        .orderFee(i * 0.5)
+                        .cartDto(CartDto.builder().cartId(cart.getCartId()).build())
+                        .build())
+                .collect(Collectors.toUnmodifiableList());
+        long count = orderRepository.count();
+
+        long startedAt = System.nanoTime();
+        orders.forEach(orderService::save);
+        report("row by row", startedAt);
+        assertEquals(count + ROWS, orderRepository.count());
+
+        startedAt = System.nanoTime();
+        for (int from = 0; from < ROWS; from += REQUEST_SIZE) {
+            orderService.saveAll(orders.subList(from, from + REQUEST_SIZE));
+        }
+        report("bulk", startedAt);
+        assertEquals(count + 2 * ROWS, orderRepository.count());
+    }
+
+    private static void report(String mode, long startedAt) {
+        long elapsedNanos = System.nanoTime() - startedAt;
+        log.info("{}: {} rows in {} ms ({} rows/s)", mode, ROWS,
+                TimeUnit.NANOSECONDS.toMillis(elapsedNanos), Math.round(ROWS * 1e9 / elapsedNanos));
+    }
+}
@@ -15,8 +15,16 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import javax.persistence.EntityManager;
+import org.hibernate.Session;
+import com.selimhorri.app.constant.AppConstant;
+import com.selimhorri.app.service.OrderService;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @SpringBootTest
 @AutoConfigureMockMvc
@@ -29,6 +37,10 @@ class OrderServiceIntegrationTest {
     private CartRepository cartRepository;
     @Autowired
     private ObjectMapper objectMapper;
+    @Autowired
+    private OrderService orderService;
+    @Autowired
+    private EntityManager entityManager;
 
     private OrderDto buildValidOrder(int cartId) {
         CartDto cart = CartDto.builder().cartId(cartId).userId(1).build();
@@ -77,6 +89,35 @@ class OrderServiceIntegrationTest {
                 .andExpect(jsonPath("$.collection").exists());
     }
     @Test
+    void testBulkCreateOrdersAssignsIds() throws Exception {
+        Cart cart = cartRepository.save(Cart.builder().userId(1).build());
+        DtoCollectionResponse<OrderDto> orders = new DtoCollectionResponse<>(List.of(
+                buildValidOrder(cart.getCartId()), buildValidOrder(cart.getCartId()), buildValidOrder(cart.getCartId())));
+        long before = orderRepository.count();
+        mockMvc.perform(post("/api/orders/bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(orders)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.collection.length()").value(3))
+                .andExpect(jsonPath("$.collection[0].orderId").isNumber())
+                .andExpect(jsonPath("$.collection[2].orderDesc").value("Test order"));
+        assertEquals(before + 3, orderRepository.count());
+    }
+    @Test
+    void testBulkCreateOverTheCapIsRejected() throws Exception {
+        Cart cart = cartRepository.save(Cart.builder().userId(1).build());
+        List<OrderDto> orders = new ArrayList<>();
+        for (int i = 0; i <= AppConstant.MAX_BULK_SIZE; i++) {
+            orders.add(buildValidOrder(cart.getCartId()));
+        }
+        long before = orderRepository.count();
+        mockMvc.perform(post("/api/orders/bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new DtoCollectionResponse<>(orders))))
+                .andExpect(status().isBadRequest());
+        assertEquals(before, orderRepository.count());
+    }
+    @Test
     void testUpdateOrder() throws Exception {
         Cart cart = Cart.builder().cartId(4).userId(1).build();
         cartRepository.save(cart);
@@ -98,4 +139,68 @@ class OrderServiceIntegrationTest {
                 .andExpect(status().isOk())
                 .andExpect(content().string("true"));
     }
-} 
\ No newline at end of file
+    @Test
+    void testCreateUnderIdempotencyKeyIsRepeatableAndCancellable() throws Exception {
+        Cart cart = cartRepository.save(Cart.builder().userId(1).build());
+        OrderDto orderDto = buildValidOrder(cart.getCartId());
+        orderDto.setOrderId(null);
+        String body = objectMapper.writeValueAsString(orderDto);
+        String first = mockMvc.perform(post("/api/orders").header("Idempotency-Key", "checkout-7")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        Integer orderId = objectMapper.readValue(first, OrderDto.class).getOrderId();
+        long count = orderRepository.count();
+        mockMvc.perform(post("/api/orders").header("Idempotency-Key", "checkout-7")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.orderId").value(orderId));
+        assertEquals(count, orderRepository.count());
+        mockMvc.perform(delete("/api/orders/idempotency-keys/checkout-7"))
+                .andExpect(status().isOk());
+        mockMvc.perform(delete("/api/orders/idempotency-keys/checkout-7"))
+                .andExpect(status().isOk());
+        assertEquals(false, orderRepository.existsById(orderId));
+        mockMvc.perform(post("/api/orders").header("Idempotency-Key", "checkout-7")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body))
+                .andExpect(status().isConflict());
+    }
+    @Test
+    void testCreateArrivingAfterItsCancellationIsRefused() throws Exception {
+        Cart cart = cartRepository.save(Cart.builder().userId(1).build());
+        OrderDto orderDto = buildValidOrder(cart.getCartId());
+        orderDto.setOrderId(null);
+        mockMvc.perform(delete("/api/orders/idempotency-keys/checkout-8"))
+                .andExpect(status().isOk());
+        long count = orderRepository.count();
+        mockMvc.perform(post("/api/orders").header("Idempotency-Key", "checkout-8")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(orderDto)))
+                .andExpect(status().isConflict());
+        assertEquals(count, orderRepository.count());
+    }
+    @Test
+    void testStreamingKeepsThePersistenceContextBounded() {
+        List<Cart> carts = new ArrayList<>();
+        for (int i = 0; i < 2500; i++) {
+            carts.add(Cart.builder().userId(1).build());
+        }
+        carts = cartRepository.saveAll(carts);
+        List<Order> orders = new ArrayList<>();
+        for (Cart cart : carts) {
+            orders.add(Order.builder().orderDesc("streamed").cart(cart).build());
+        }
+        orderRepository.saveAll(orders);
+        long[] peak = { 0L };
+        long[] streamed = { 0L };
+        orderService.streamAll(orderDto -> {
+            streamed[0]++;
+            peak[0] = Math.max(peak[0], entityManager.unwrap(Session.class).getStatistics().getEntityCount());
+        });
+        assertTrue(streamed[0] >= 2500);
+        assertTrue(peak[0] <= 2 * AppConstant.STREAM_CLEAR_INTERVAL, "peak managed entities: " + peak[0]);
+    }
+}
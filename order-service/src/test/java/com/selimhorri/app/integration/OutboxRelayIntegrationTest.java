@@ -0,0 +1,105 @@
+package com.selimhorri.app.integration;
+
+import com.selimhorri.app.domain.Cart;
+import com.selimhorri.app.dto.CartDto;
+import com.selimhorri.app.dto.EventDto;
+import com.selimhorri.app.dto.OrderDto;
+import com.selimhorri.app.event.EventType;
+import com.selimhorri.app.event.InProcessEventBroker;
+import com.selimhorri.app.repository.CartRepository;
+import com.selimhorri.app.service.OrderService;
+import com.selimhorri.app.service.OutboxService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class OutboxRelayIntegrationTest {
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private OrderService orderService;
+    @Autowired
+    private OutboxService outboxService;
+    @Autowired
+    private InProcessEventBroker eventBroker;
+    @Autowired
+    private CartRepository cartRepository;
+
+    private OrderDto saveOrder(String desc) {
+        Cart cart = cartRepository.save(Cart.builder().userId(1).build());
+        return orderService.save(OrderDto.builder()
+            .orderDate(LocalDateTime.now())
+            .orderDesc(desc)
+            .orderFee(10.0)
+            .cartDto(CartDto.builder().cartId(cart.getCartId()).build())
+            .build());
+    }
+
+    private final List<EventDto> published = new CopyOnWriteArrayList<>();
+    private final Consumer<EventDto> subscriber = published::add;
+
+    @BeforeEach
+    void subscribe() {
+        eventBroker.subscribe(subscriber);
+    }
+
+    @AfterEach
+    void unsubscribe() {
+        eventBroker.unsubscribe(subscriber);
+    }
+
+    private List<EventDto> relayAll() {
+        while (outboxService.relay() > 0) {
+        }
+        return published;
+    }
+
+    @Test
+    void testRelayPublishesOrderChangesInFeedOrder() {
+        OrderDto saved = saveOrder("Outbox order");
+        saved.setOrderDesc("Outbox order, updated");
+        orderService.update(saved);
+        List<EventDto> published = relayAll();
+        List<EventDto> ours = published.stream()
+            .filter(e -> e.getAggregateId().equals(String.valueOf(saved.getOrderId())))
+            .collect(Collectors.toList());
+        assertEquals(List.of(EventType.CREATED, EventType.UPDATED),
+            ours.stream().map(EventDto::getEventType).collect(Collectors.toList()));
+        assertTrue(ours.get(0).getPosition() < ours.get(1).getPosition());
+        for (int i = 1; i < published.size(); i++) {
+            assertEquals(published.get(i - 1).getPosition() + 1, published.get(i).getPosition());
+        }
+        assertTrue(ours.get(1).getPayload().contains("Outbox order, updated"));
+    }
+
+    @Test
+    void testFeedServesPublishedEventsAfterCursor() throws Exception {
+        OrderDto saved = saveOrder("Feed order");
+        EventDto created = relayAll().stream()
+            .filter(e -> e.getAggregateId().equals(String.valueOf(saved.getOrderId())))
+            .findFirst()
+            .orElseThrow();
+        mockMvc.perform(get("/api/events")
+                .param("after", String.valueOf(created.getPosition() - 1))
+                .param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.collection[0].position").value(created.getPosition()))
+                .andExpect(jsonPath("$.collection[0].eventType").value("CREATED"))
+                .andExpect(jsonPath("$.collection[0].payload.orderDesc").value("Feed order"))
+                .andExpect(jsonPath("$.nextCursor").value(String.valueOf(created.getPosition())));
+    }
+}
@@ -0,0 +1,81 @@
+package com.selimhorri.app.unit;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.selimhorri.app.config.cache.UserDtoCacheLoader;
+import com.selimhorri.app.service.impl.CartServiceImpl;
+import com.selimhorri.app.domain.Cart;
+import com.selimhorri.app.dto.CartDto;
+import com.selimhorri.app.dto.UserDto;
+import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
+import com.selimhorri.app.repository.CartRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.RestTemplate;
+import java.util.List;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class CartServiceUnitTest {
+    private CartServiceImpl cartService;
+    @Mock
+    private CartRepository cartRepository;
+    @Mock
+    private RestTemplate restTemplate;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        cartService = new CartServiceImpl(cartRepository,
+                Caffeine.newBuilder().build(new UserDtoCacheLoader(restTemplate)));
+    }
+
+    private UserDto buildUser(int userId) {
+        return UserDto.builder().userId(userId).firstName("User" + userId).build();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testListCartsFetchesDistinctUsersInOneBatch() {
+        when(cartRepository.findAll()).thenReturn(List.of(
+                Cart.builder().cartId(1).userId(1).build(),
+                Cart.builder().cartId(2).userId(2).build(),
+                Cart.builder().cartId(3).userId(1).build()));
+        when(restTemplate.exchange(anyString(), eq(HttpMethod.GET), isNull(),
+                any(ParameterizedTypeReference.class), eq("1,2")))
+            .thenReturn(ResponseEntity.ok(new DtoCollectionResponse<>(List.of(buildUser(1), buildUser(2)))));
+        List<CartDto> carts = cartService.findAll();
+        assertEquals(3, carts.size());
+        assertEquals("User1", carts.get(2).getUserDto().getFirstName());
+        verify(restTemplate, times(1)).exchange(anyString(), eq(HttpMethod.GET), isNull(),
+                any(ParameterizedTypeReference.class), anyString());
+    }
+    @Test
+    @SuppressWarnings("unchecked")
+    void testListCartsKeepsUserReferenceWhenUserIsMissing() {
+        when(cartRepository.findAll()).thenReturn(List.of(Cart.builder().cartId(1).userId(7).build()));
+        when(restTemplate.exchange(anyString(), eq(HttpMethod.GET), isNull(),
+                any(ParameterizedTypeReference.class), eq("7")))
+            .thenReturn(ResponseEntity.ok(new DtoCollectionResponse<>(List.of())));
+        List<CartDto> carts = cartService.findAll();
+        assertEquals(7, carts.get(0).getUserDto().getUserId());
+    }
+    @Test
+    @SuppressWarnings("unchecked")
+    void testListCartsServesRepeatedUsersFromNearCache() {
+        when(cartRepository.findAll()).thenReturn(List.of(Cart.builder().cartId(1).userId(1).build()));
+        when(restTemplate.exchange(anyString(), eq(HttpMethod.GET), isNull(),
+                any(ParameterizedTypeReference.class), eq("1")))
+            .thenReturn(ResponseEntity.ok(new DtoCollectionResponse<>(List.of(buildUser(1)))));
+        cartService.findAll();
+        List<CartDto> carts = cartService.findAll();
+        assertEquals("User1", carts.get(0).getUserDto().getFirstName());
+        verify(restTemplate, times(1)).exchange(anyString(), eq(HttpMethod.GET), isNull(),
+                any(ParameterizedTypeReference.class), anyString());
+    }
+}
@@ -0,0 +1,129 @@
+package com.selimhorri.app.unit;
+
+import com.selimhorri.app.config.client.ClientConfig;
+import com.selimhorri.app.config.client.HttpClientProperties;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.conn.ConnectionPoolTimeoutException;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.util.EntityUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.SocketTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Every service that calls others over RestTemplate carries an identical copy of ClientConfig and
+ * HttpClientProperties; this test covers the copy of order-service and checks the others match it.
+ */
+class ClientConfigUnitTest {
+    private static final List<String> SERVICES = List.of("favourite-service", "order-service", "payment-service",
+            "product-service", "shipping-service", "user-service");
+    private static final Path CLIENT_PACKAGE = Paths.get("src/main/java/com/selimhorri/app/config/client");
+    private final CountDownLatch slowStarted = new CountDownLatch(1);
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final HttpClientProperties properties = new HttpClientProperties();
+    private ExecutorService serverExecutor;
+    private HttpServer server;
+    private CloseableHttpClient client;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/ok", exchange -> {
+            byte[] body = "ok".getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        server.createContext("/slow", exchange -> {
+            slowStarted.countDown();
+            try {
+                Thread.sleep(1_000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            exchange.sendResponseHeaders(200, -1);
+            exchange.close();
+        });
+        serverExecutor = Executors.newCachedThreadPool();
+        server.setExecutor(serverExecutor);
+        server.start();
+        properties.setMaxTotalConnections(3);
+        properties.setMaxConnectionsPerRoute(1);
+        properties.setConnectionRequestTimeout(Duration.ofMillis(100));
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        if (client != null) {
+            client.close();
+        }
+        server.stop(0);
+        serverExecutor.shutdownNow();
+    }
+
+    @Test
+    void testPoolSizeAndLeaseWaitAreMetered() throws Exception {
+        client = new ClientConfig().restTemplateHttpClient(properties, meterRegistry);
+        assertEquals("ok", get("/ok"));
+        assertEquals(1, meterRegistry.get("http.client.pool.lease.wait").tag("httpclient", "restTemplate").timer().count());
+        assertEquals(3.0, meterRegistry.get("httpcomponents.httpclient.pool.total.max")
+                .tag("httpclient", "restTemplate").gauge().value());
+    }
+    @Test
+    void testReadTimeoutFailsASlowResponse() {
+        properties.setReadTimeout(Duration.ofMillis(200));
+        client = new ClientConfig().restTemplateHttpClient(properties, meterRegistry);
+        assertThrows(SocketTimeoutException.class, () -> get("/slow"));
+    }
+    @Test
+    void testRequestBeyondTheRouteLimitFailsAfterTheLeaseTimeout() throws Exception {
+        client = new ClientConfig().restTemplateHttpClient(properties, meterRegistry);
+        CompletableFuture<String> slow = CompletableFuture.supplyAsync(() -> {
+            try {
+                return get("/slow");
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        assertTrue(slowStarted.await(5, TimeUnit.SECONDS));
+        assertThrows(ConnectionPoolTimeoutException.class, () -> get("/ok"));
+        slow.get(5, TimeUnit.SECONDS);
+        assertEquals("ok", get("/ok"));
+    }
+    @Test
+    void testEveryServiceCarriesTheSameCopy() throws IOException {
+        Path root = Paths.get("..").toAbsolutePath().normalize();
+        for (String file : List.of("ClientConfig.java", "HttpClientProperties.java")) {
+            String expected = Files.readString(CLIENT_PACKAGE.resolve(file));
+            for (String service : SERVICES) {
+                Path copy = root.resolve(service).resolve(CLIENT_PACKAGE).resolve(file);
+                assumeTrue(Files.isDirectory(root.resolve(service)), "sibling services are not checked out");
+                assertEquals(expected, Files.readString(copy), service + " has drifted from order-service's " + file);
+            }
+        }
+    }
+
+    private String get(String path) throws IOException {
+        return client.execute(new HttpGet("http://localhost:" + server.getAddress().getPort() + path),
+                response -> response.getEntity() == null ? "" : EntityUtils.toString(response.getEntity()));
+    }
+}
@@ -6,6 +6,9 @@ import com.selimhorri.app.dto.OrderDto;
 import com.selimhorri.app.dto.CartDto;
 import com.selimhorri.app.repository.OrderRepository;
 import com.selimhorri.app.helper.OrderMappingHelper;
+import com.selimhorri.app.service.OutboxService;
+import com.selimhorri.app.event.EventType;
+import com.selimhorri.app.constant.AppConstant;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
@@ -14,6 +17,7 @@ import org.mockito.MockitoAnnotations;
 import java.time.LocalDateTime;
 import java.util.Optional;
 import java.util.Collections;
+import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -22,6 +26,8 @@ class OrderServiceUnitTest {
     private OrderServiceImpl orderService;
     @Mock
     private OrderRepository orderRepository;
+    @Mock
+    private OutboxService outboxService;
 
     @BeforeEach
     void setUp() { MockitoAnnotations.openMocks(this); }
@@ -46,6 +52,13 @@ class OrderServiceUnitTest {
         assertEquals("Test order", result.getOrderDesc());
     }
     @Test
+    void testSaveOrderRecordsCreatedEvent() {
+        OrderDto orderDto = buildValidOrder();
+        when(orderRepository.save(any())).thenReturn(OrderMappingHelper.map(orderDto));
+        orderService.save(orderDto);
+        verify(outboxService).record(eq(AppConstant.ORDER_AGGREGATE_TYPE), eq(EventType.CREATED), anyCollection(), any());
+    }
+    @Test
     void testFindOrderById() {
         OrderDto orderDto = buildValidOrder();
         when(orderRepository.findById(1)).thenReturn(Optional.of(OrderMappingHelper.map(orderDto)));
@@ -0,0 +1,119 @@
+package com.selimhorri.app.unit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.selimhorri.app.config.cache.ResilientCacheLoader;
+import com.selimhorri.app.dto.UserDto;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.RestClientException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import static org.junit.jupiter.api.Assertions.*;
+
+class ResilientCacheLoaderUnitTest {
+    private CircuitBreakerRegistry circuitBreakerRegistry;
+    private BulkheadRegistry bulkheadRegistry;
+    private Cache<Integer, UserDto> staleCache;
+    private final AtomicBoolean failing = new AtomicBoolean();
+    private final AtomicInteger calls = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        circuitBreakerRegistry = CircuitBreakerRegistry.of(CircuitBreakerConfig.custom()
+                .slidingWindowSize(4)
+                .minimumNumberOfCalls(4)
+                .build());
+        bulkheadRegistry = BulkheadRegistry.of(BulkheadConfig.custom()
+                .maxConcurrentCalls(1)
+                .maxWaitDuration(Duration.ZERO)
+                .build());
+        staleCache = Caffeine.newBuilder().build();
+    }
+
+    private UserDto buildUser(int userId) {
+        return UserDto.builder().userId(userId).firstName("User" + userId).build();
+    }
+
+    private UserDto loadUser(Integer userId) {
+        calls.incrementAndGet();
+        if (failing.get()) {
+            throw new RestClientException("user-service down");
+        }
+        return buildUser(userId);
+    }
+
+    @Test
+    void testLoadServesLastKnownValueWhenServiceFails() {
+        ResilientCacheLoader<Integer, UserDto> loader =
+                new ResilientCacheLoader<>(circuitBreakerRegistry, bulkheadRegistry, "userService", staleCache, this::loadUser);
+        assertEquals("User1", loader.load(1).getFirstName());
+        failing.set(true);
+        assertEquals("User1", loader.load(1).getFirstName());
+        assertNull(loader.load(2));
+    }
+
+    @Test
+    void testLoadRunsOnTheCallingThread() {
+        Thread caller = Thread.currentThread();
+        ResilientCacheLoader<Integer, UserDto> loader =
+                new ResilientCacheLoader<>(circuitBreakerRegistry, bulkheadRegistry, "userService", staleCache, userId -> {
+                    assertSame(caller, Thread.currentThread());
+                    return buildUser(userId);
+                });
+        assertEquals("User1", loader.load(1).getFirstName());
+    }
+
+    @Test
+    void testFullBulkheadServesLastKnownValueWithoutCallingService() {
+        ResilientCacheLoader<Integer, UserDto> loader =
+                new ResilientCacheLoader<>(circuitBreakerRegistry, bulkheadRegistry, "userService", staleCache, this::loadUser);
+        loader.load(1);
+        assertTrue(bulkheadRegistry.bulkhead("userService").tryAcquirePermission());
+        assertEquals("User1", loader.load(1).getFirstName());
+        assertNull(loader.load(2));
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void testOpenBreakerStopsCallingService() {
+        ResilientCacheLoader<Integer, UserDto> loader =
+                new ResilientCacheLoader<>(circuitBreakerRegistry, bulkheadRegistry, "userService", staleCache, this::loadUser);
+        failing.set(true);
+        for (int i = 0; i < 10; i++) {
+            assertNull(loader.load(1));
+        }
+        assertEquals(4, calls.get());
+    }
+
+    @Test
+    void testLoadAllServesKnownValuesWhenServiceFails() {
+        ResilientCacheLoader<Integer, UserDto> loader = new ResilientCacheLoader<>(circuitBreakerRegistry,
+                bulkheadRegistry, "userService", staleCache, this::loadUser, userIds -> {
+                    if (failing.get()) {
+                        throw new RestClientException("user-service down");
+                    }
+                    return Map.of(1, buildUser(1));
+                });
+        assertEquals(1, loader.loadAll(List.of(1)).size());
+        failing.set(true);
+        Map<Integer, UserDto> userDtos = loader.loadAll(List.of(1, 2));
+        assertEquals("User1", userDtos.get(1).getFirstName());
+        assertFalse(userDtos.containsKey(2));
+    }
+
+    @Test
+    void testLoadAllWithoutBulkLoaderLoadsKeysOneByOne() {
+        ResilientCacheLoader<Integer, UserDto> loader =
+                new ResilientCacheLoader<>(circuitBreakerRegistry, bulkheadRegistry, "userService", staleCache, this::loadUser);
+        assertEquals(2, Caffeine.newBuilder().build(loader).getAll(List.of(1, 2)).size());
+        assertEquals(2, calls.get());
+    }
+}
@@ -0,0 +1,25 @@
+package com.selimhorri.app.config.event;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+import com.selimhorri.app.event.EventBroker;
+import com.selimhorri.app.event.InProcessEventBroker;
+
+@Configuration
+@EnableScheduling
+@EnableConfigurationProperties(OutboxProperties.class)
+public class OutboxConfig {
+	
+	@Bean
+	@ConditionalOnMissingBean(EventBroker.class)
+	public InProcessEventBroker eventBroker() {
+		return new InProcessEventBroker();
+	}
+	
+	
+	
+}
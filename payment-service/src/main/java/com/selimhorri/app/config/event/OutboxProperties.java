@@ -0,0 +1,23 @@
+package com.selimhorri.app.config.event;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+@ConfigurationProperties(prefix = "app.outbox")
+@Data
+public class OutboxProperties {
+	
+	/**
+	 * Pause between two relay runs.
+	 */
+	private Duration relayInterval = Duration.ofSeconds(1);
+	
+	/**
+	 * Maximum number of events published by a single relay run.
+	 */
+	private int relayBatchSize = 500;
+	
+}
@@ -0,0 +1,23 @@
+package com.selimhorri.app.config.projection;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+@ConfigurationProperties(prefix = "app.order-projection")
+@Data
+public class OrderProjectionProperties {
+	
+	/**
+	 * Pause between two polls of the order-service event feed.
+	 */
+	private Duration syncInterval = Duration.ofSeconds(1);
+	
+	/**
+	 * Number of events, or of orders while backfilling, fetched per request.
+	 */
+	private int batchSize = 500;
+	
+}
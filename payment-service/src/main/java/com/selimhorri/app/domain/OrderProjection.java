@@ -0,0 +1,53 @@
+package com.selimhorri.app.domain;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Local copy of the order fields payment reads return, kept in sync from the order-service
+ * event feed.
+ */
+@Entity
+@Table(name = "order_projections")
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+@Builder
+public final class OrderProjection implements Serializable {
+	
+	private static final long serialVersionUID = 1L;
+	
+	@Id
+	@Column(name = "order_id", unique = true, nullable = false, updatable = false)
+	private Integer orderId;
+	
+	@Column(name = "order_date")
+	private LocalDateTime orderDate;
+	
+	@Column(name = "order_desc")
+	private String orderDesc;
+	
+	@Column(name = "order_fee", columnDefinition = "decimal")
+	private Double orderFee;
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -11,6 +11,9 @@ import javax.persistence.GenerationType;
 import javax.persistence.Id;
 import javax.persistence.Table;
 
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -29,7 +32,13 @@ public final class Payment extends AbstractMappedEntity implements Serializable
 	private static final long serialVersionUID = 1L;
 	
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "payment_id_generator")
+	@GenericGenerator(name = "payment_id_generator", strategy = "enhanced-sequence", parameters = {
+		@Parameter(name = "sequence_name", value = "payments_seq"),
+		@Parameter(name = "force_table_use", value = "true"),
+		@Parameter(name = "increment_size", value = "50"),
+		@Parameter(name = "optimizer", value = "pooled-lo")
+	})
 	@Column(name = "payment_id", unique = true, nullable = false, updatable = false)
 	private Integer paymentId;
 	
@@ -0,0 +1,28 @@
+package com.selimhorri.app.dto;
+
+import java.io.Serializable;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.selimhorri.app.event.EventType;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+@Builder
+public class OrderEventDto implements Serializable {
+	
+	private static final long serialVersionUID = 1L;
+	
+	private Long position;
+	private String aggregateId;
+	private EventType eventType;
+	
+	@JsonProperty("payload")
+	private OrderDto orderDto;
+	
+}
@@ -0,0 +1,9 @@
+package com.selimhorri.app.event;
+
+public enum EventType {
+	
+	CREATED,
+	UPDATED,
+	DELETED;
+	
+}
@@ -0,0 +1,30 @@
+package com.selimhorri.app.event;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+import com.selimhorri.app.dto.EventDto;
+
+/**
+ * Delivers events synchronously to subscribers in this JVM. Used when no other broker is
+ * configured, and by tests.
+ */
+public class InProcessEventBroker implements EventBroker {
+	
+	private final List<Consumer<EventDto>> subscribers = new CopyOnWriteArrayList<>();
+	
+	@Override
+	public void publish(final List<EventDto> events) {
+		events.forEach(event -> this.subscribers.forEach(subscriber -> subscriber.accept(event)));
+	}
+	
+	public void subscribe(final Consumer<EventDto> subscriber) {
+		this.subscribers.add(subscriber);
+	}
+	
+	public void unsubscribe(final Consumer<EventDto> subscriber) {
+		this.subscribers.remove(subscriber);
+	}
+	
+}
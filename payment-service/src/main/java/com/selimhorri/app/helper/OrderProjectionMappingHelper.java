@@ -0,0 +1,38 @@
+package com.selimhorri.app.helper;
+
+import com.selimhorri.app.domain.OrderProjection;
+import com.selimhorri.app.dto.OrderDto;
+
+public interface OrderProjectionMappingHelper {
+	
+	public static OrderDto map(final OrderProjection orderProjection) {
+		return OrderDto.builder()
+				.orderId(orderProjection.getOrderId())
+				.orderDate(orderProjection.getOrderDate())
+				.orderDesc(orderProjection.getOrderDesc())
+				.orderFee(orderProjection.getOrderFee())
+				.build();
+	}
+	
+	public static OrderProjection map(final OrderDto orderDto) {
+		return OrderProjection.builder()
+				.orderId(orderDto.getOrderId())
+				.orderDate(orderDto.getOrderDate())
+				.orderDesc(orderDto.getOrderDesc())
+				.orderFee(orderDto.getOrderFee())
+				.build();
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
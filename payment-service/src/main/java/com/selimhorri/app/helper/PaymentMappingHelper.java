@@ -7,24 +7,26 @@ import com.selimhorri.app.dto.PaymentDto;
 public interface PaymentMappingHelper {
 	
 	public static PaymentDto map(final Payment payment) {
-		return PaymentDto.builder()
-				.paymentId(payment.getPaymentId())
-				.isPayed(payment.getIsPayed())
-				.paymentStatus(payment.getPaymentStatus())
-				.orderDto(
-						OrderDto.builder()
-							.orderId(payment.getOrderId())
-							.build())
-				.build();
+		return map(payment, new PaymentDto());
+	}
+	
+	public static PaymentDto map(final Payment payment, final PaymentDto paymentDto) {
+		paymentDto.setPaymentId(payment.getPaymentId());
+		paymentDto.setIsPayed(payment.getIsPayed());
+		paymentDto.setPaymentStatus(payment.getPaymentStatus());
+		final var orderDto = paymentDto.getOrderDto() != null ? paymentDto.getOrderDto() : new OrderDto();
+		orderDto.setOrderId(payment.getOrderId());
+		paymentDto.setOrderDto(orderDto);
+		return paymentDto;
 	}
 	
 	public static Payment map(final PaymentDto paymentDto) {
-		return Payment.builder()
-				.paymentId(paymentDto.getPaymentId())
-				.orderId(paymentDto.getOrderDto().getOrderId())
-				.isPayed(paymentDto.getIsPayed())
-				.paymentStatus(paymentDto.getPaymentStatus())
-				.build();
+		final var payment = new Payment();
+		payment.setPaymentId(paymentDto.getPaymentId());
+		payment.setIsPayed(paymentDto.getIsPayed());
+		payment.setPaymentStatus(paymentDto.getPaymentStatus());
+		payment.setOrderId(paymentDto.getOrderDto().getOrderId());
+		return payment;
 	}
 	
 	
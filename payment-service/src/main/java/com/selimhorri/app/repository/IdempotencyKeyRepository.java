@@ -0,0 +1,49 @@
+package com.selimhorri.app.repository;
+
+import java.util.Optional;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.Value;
+
+/**
+ * Remembers which payment a caller's idempotency key created. Cancelling a key that has not been
+ * used yet stores it as cancelled, and a payment posted under it later is refused.
+ */
+@Repository
+@RequiredArgsConstructor
+public class IdempotencyKeyRepository {
+	
+	private final JdbcTemplate jdbcTemplate;
+	
+	/**
+	 * Locks the key until the end of the surrounding transaction. Two callers inserting the same
+	 * new key meet on its primary key instead, the second failing with a DuplicateKeyException.
+	 */
+	public Optional<IdempotencyKey> lock(final String idempotencyKey) {
+		return this.jdbcTemplate.query("SELECT resource_id, cancelled FROM idempotency_keys "
+				+ "WHERE idempotency_key = ? FOR UPDATE", (rs, rowNum) -> new IdempotencyKey(rs.getString(1), rs.getBoolean(2)), 
+				idempotencyKey).stream()
+				.findFirst();
+	}
+	
+	public void save(final String idempotencyKey, final String resourceId, final boolean cancelled) {
+		this.jdbcTemplate.update("INSERT INTO idempotency_keys (idempotency_key, resource_id, cancelled) VALUES (?, ?, ?)", 
+				idempotencyKey, resourceId, cancelled);
+	}
+	
+	public void cancel(final String idempotencyKey) {
+		this.jdbcTemplate.update("UPDATE idempotency_keys SET cancelled = TRUE WHERE idempotency_key = ?", idempotencyKey);
+	}
+	
+	@Value
+	public static class IdempotencyKey {
+		
+		String resourceId;
+		boolean cancelled;
+	
+	}
+	
+}
@@ -0,0 +1,32 @@
+package com.selimhorri.app.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.selimhorri.app.domain.OrderProjection;
+
+public interface OrderProjectionRepository extends JpaRepository<OrderProjection, Integer> {
+	
+	@Query(value = "SELECT last_position FROM order_projection_checkpoints", nativeQuery = true)
+	long findCheckpoint();
+	
+	@Query(value = "SELECT last_position FROM order_projection_checkpoints FOR UPDATE", nativeQuery = true)
+	long lockCheckpoint();
+	
+	@Query(value = "SELECT backfilled FROM order_projection_checkpoints", nativeQuery = true)
+	boolean isBackfilled();
+	
+	@Query(value = "SELECT backfilled FROM order_projection_checkpoints FOR UPDATE", nativeQuery = true)
+	boolean lockBackfilled();
+	
+	@Modifying
+	@Query(value = "UPDATE order_projection_checkpoints SET last_position = :position", nativeQuery = true)
+	int updateCheckpoint(@Param("position") final long position);
+	
+	@Modifying
+	@Query(value = "UPDATE order_projection_checkpoints SET backfilled = TRUE", nativeQuery = true)
+	int markBackfilled();
+	
+}
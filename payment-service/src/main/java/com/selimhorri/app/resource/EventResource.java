@@ -0,0 +1,45 @@
+package com.selimhorri.app.resource;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.selimhorri.app.constant.AppConstant;
+import com.selimhorri.app.dto.EventDto;
+import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
+import com.selimhorri.app.service.OutboxService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@RestController
+@RequestMapping("/api/events")
+@Slf4j
+@RequiredArgsConstructor
+public class EventResource {
+	
+	private final OutboxService outboxService;
+	
+	@GetMapping
+	public ResponseEntity<DtoCollectionResponse<EventDto>> findAll(
+			@RequestParam(name = "after", required = false) final Long after, 
+			@RequestParam(name = "limit", required = false) final Integer limit) {
+		log.info("*** EventDto List, controller; fetch published events *");
+		return ResponseEntity.ok(this.outboxService.findAll(after, limit == null ? AppConstant.MAX_PAGE_SIZE : limit));
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
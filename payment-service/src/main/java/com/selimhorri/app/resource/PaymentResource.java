@@ -11,9 +11,12 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.selimhorri.app.constant.AppConstant;
 import com.selimhorri.app.dto.PaymentDto;
 import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
 import com.selimhorri.app.service.PaymentService;
@@ -30,9 +33,14 @@ public class PaymentResource {
 	private final PaymentService paymentService;
 	
 	@GetMapping
-	public ResponseEntity<DtoCollectionResponse<PaymentDto>> findAll() {
+	public ResponseEntity<DtoCollectionResponse<PaymentDto>> findAll(
+			@RequestParam(name = "after", required = false) final Integer after, 
+			@RequestParam(name = "limit", required = false) final Integer limit) {
 		log.info("*** PaymentDto List, controller; fetch all payments *");
-		return ResponseEntity.ok(new DtoCollectionResponse<>(this.paymentService.findAll()));
+		if (limit == null) {
+			return ResponseEntity.ok(new DtoCollectionResponse<>(this.paymentService.findAll()));
+		}
+		return ResponseEntity.ok(this.paymentService.findAll(after, limit));
 	}
 	
 	@GetMapping("/{paymentId}")
@@ -48,9 +56,22 @@ public class PaymentResource {
 	public ResponseEntity<PaymentDto> save(
 			@RequestBody 
 			@NotNull(message = "Input must not be NULL") 
-			@Valid final PaymentDto paymentDto) {
+			@Valid final PaymentDto paymentDto, 
+			@RequestHeader(name = AppConstant.IDEMPOTENCY_KEY_HEADER, required = false) final String idempotencyKey) {
 		log.info("*** PaymentDto, resource; save payment *");
-		return ResponseEntity.ok(this.paymentService.save(paymentDto));
+		if (idempotencyKey == null) {
+			return ResponseEntity.ok(this.paymentService.save(paymentDto));
+		}
+		return ResponseEntity.ok(this.paymentService.save(idempotencyKey, paymentDto));
+	}
+	
+	@PostMapping("/bulk")
+	public ResponseEntity<DtoCollectionResponse<PaymentDto>> saveAll(
+			@RequestBody 
+			@NotNull(message = "Input must not be NULL") 
+			@Valid final DtoCollectionResponse<PaymentDto> paymentDtos) {
+		log.info("*** PaymentDto List, resource; save payments in bulk *");
+		return ResponseEntity.ok(new DtoCollectionResponse<>(this.paymentService.saveAll(paymentDtos.getCollection())));
 	}
 	
 	@PutMapping
@@ -62,6 +83,16 @@ public class PaymentResource {
 		return ResponseEntity.ok(this.paymentService.update(paymentDto));
 	}
 	
+	@DeleteMapping("/idempotency-keys/{idempotencyKey}")
+	public ResponseEntity<Boolean> cancel(
+			@PathVariable("idempotencyKey") 
+			@NotBlank(message = "Input must not be blank") 
+			@Valid final String idempotencyKey) {
+		log.info("*** Boolean, resource; cancel payment created under idempotency key *");
+		this.paymentService.cancel(idempotencyKey);
+		return ResponseEntity.ok(true);
+	}
+	
 	@DeleteMapping("/{paymentId}")
 	public ResponseEntity<Boolean> deleteById(@PathVariable("paymentId") final String paymentId) {
 		log.info("*** Boolean, resource; delete payment by id *");
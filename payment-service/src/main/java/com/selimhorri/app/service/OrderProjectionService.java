@@ -0,0 +1,13 @@
+package com.selimhorri.app.service;
+
+import java.util.Collection;
+import java.util.Map;
+
+import com.selimhorri.app.dto.OrderDto;
+
+public interface OrderProjectionService {
+	
+	Map<Integer, OrderDto> findAllByOrderIds(final Collection<Integer> orderIds);
+	int sync();
+	
+}
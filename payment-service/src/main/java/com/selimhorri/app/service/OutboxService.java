@@ -0,0 +1,17 @@
+package com.selimhorri.app.service;
+
+import java.util.Collection;
+import java.util.function.Function;
+
+import com.selimhorri.app.dto.EventDto;
+import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
+import com.selimhorri.app.event.EventType;
+
+public interface OutboxService {
+	
+	<T> void record(final String aggregateType, final EventType eventType, final Collection<T> payloads, 
+			final Function<T, ?> aggregateId);
+	int relay();
+	DtoCollectionResponse<EventDto> findAll(final Long after, final int limit);
+	
+}
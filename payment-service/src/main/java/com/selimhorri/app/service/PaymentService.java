@@ -1,14 +1,20 @@
 package com.selimhorri.app.service;
 
+import java.util.Collection;
 import java.util.List;
 
 import com.selimhorri.app.dto.PaymentDto;
+import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
 
 public interface PaymentService {
 	
 	List<PaymentDto> findAll();
+	DtoCollectionResponse<PaymentDto> findAll(final Integer after, final int limit);
 	PaymentDto findById(final Integer paymentId);
 	PaymentDto save(final PaymentDto paymentDto);
+	PaymentDto save(final String idempotencyKey, final PaymentDto paymentDto);
+	void cancel(final String idempotencyKey);
+	List<PaymentDto> saveAll(final Collection<PaymentDto> paymentDtos);
 	PaymentDto update(final PaymentDto paymentDto);
 	void deleteById(final Integer paymentId);
 	
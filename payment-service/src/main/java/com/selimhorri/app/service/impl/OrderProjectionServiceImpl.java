@@ -0,0 +1,177 @@
+package com.selimhorri.app.service.impl;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpMethod;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+
+import com.selimhorri.app.config.projection.OrderProjectionProperties;
+import com.selimhorri.app.constant.AppConstant;
+import com.selimhorri.app.domain.OrderProjection;
+import com.selimhorri.app.dto.OrderDto;
+import com.selimhorri.app.dto.OrderEventDto;
+import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
+import com.selimhorri.app.event.EventType;
+import com.selimhorri.app.helper.OrderProjectionMappingHelper;
+import com.selimhorri.app.repository.OrderProjectionRepository;
+import com.selimhorri.app.service.OrderProjectionService;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Keeps order_projections in step with the order-service event feed. A fresh database is first
+ * backfilled from the paged order listing, then the feed is replayed from its start; replayed
+ * events are full-state upserts, so the projection converges on the latest state either way.
+ * Feed requests never run inside a transaction, and each page is applied together with the
+ * checkpoint, which makes applying an event at most once per position.
+ */
+@Service
+@Slf4j
+public class OrderProjectionServiceImpl implements OrderProjectionService {
+	
+	private static final ParameterizedTypeReference<DtoCollectionResponse<OrderEventDto>> EVENT_PAGE_TYPE =
+			new ParameterizedTypeReference<>() {};
+	private static final ParameterizedTypeReference<DtoCollectionResponse<OrderDto>> ORDER_PAGE_TYPE =
+			new ParameterizedTypeReference<>() {};
+	
+	private final OrderProjectionRepository orderProjectionRepository;
+	private final RestTemplate restTemplate;
+	private final TransactionTemplate transactionTemplate;
+	private final OrderProjectionProperties orderProjectionProperties;
+	private final AtomicLong checkpoint = new AtomicLong();
+	
+	public OrderProjectionServiceImpl(final OrderProjectionRepository orderProjectionRepository,
+			final RestTemplate restTemplate, final TransactionTemplate transactionTemplate,
+			final OrderProjectionProperties orderProjectionProperties, final MeterRegistry meterRegistry) {
+		this.orderProjectionRepository = orderProjectionRepository;
+		this.restTemplate = restTemplate;
+		this.transactionTemplate = transactionTemplate;
+		this.orderProjectionProperties = orderProjectionProperties;
+		Gauge.builder("payment.order.projection.position", this.checkpoint, AtomicLong::get)
+				.description("Last order-service feed position applied to the order projection")
+				.register(meterRegistry);
+	}
+	
+	@Override
+	public Map<Integer, OrderDto> findAllByOrderIds(final Collection<Integer> orderIds) {
+		final List<Integer> ids = List.copyOf(Set.copyOf(orderIds));
+		final Map<Integer, OrderDto> orderDtos = new HashMap<>(ids.size());
+		for (int from = 0; from < ids.size(); from += AppConstant.MAX_PAGE_SIZE) {
+			this.orderProjectionRepository
+					.findAllById(ids.subList(from, Math.min(ids.size(), from + AppConstant.MAX_PAGE_SIZE)))
+					.forEach(o -> orderDtos.put(o.getOrderId(), OrderProjectionMappingHelper.map(o)));
+		}
+		return orderDtos;
+	}
+	
+	@Override
+	@Scheduled(fixedDelayString = "${app.order-projection.sync-interval:PT1S}")
+	public int sync() {
+		try {
+			if (!this.orderProjectionRepository.isBackfilled()) {
+				this.backfill();
+			}
+			int applied = 0;
+			int fetched;
+			do {
+				final var events = this.restTemplate.exchange(AppConstant.DiscoveredDomainsApi.ORDER_SERVICE_HOST
+						+ "/api/events?after={after}&limit={limit}", HttpMethod.GET, null, EVENT_PAGE_TYPE,
+						this.orderProjectionRepository.findCheckpoint(), this.orderProjectionProperties.getBatchSize())
+						.getBody()
+						.getCollection();
+				fetched = events.size();
+				applied += this.transactionTemplate.execute(status -> this.apply(events));
+			} while (fetched == this.orderProjectionProperties.getBatchSize());
+			if (applied > 0) {
+				log.info("*** OrderDto List, service; applied {} order events to projection *", applied);
+			}
+			return applied;
+		}
+		catch (RestClientException | IllegalStateException e) {
+			log.warn("*** OrderDto List, service; order-service feed unavailable, projection stays at position {}: {} *",
+					this.checkpoint.get(), e.getMessage());
+			return 0;
+		}
+	}
+	
+	private void backfill() {
+		log.info("*** OrderDto List, service; backfilling order projection *");
+		String after = "0";
+		do {
+			final var page = this.restTemplate.exchange(AppConstant.DiscoveredDomainsApi.ORDER_SERVICE_API_URL
+					+ "?after={after}&limit={limit}", HttpMethod.GET, null, ORDER_PAGE_TYPE,
+					after, this.orderProjectionProperties.getBatchSize())
+					.getBody();
+			final boolean stillBackfilling = this.transactionTemplate.execute(status -> {
+				if (this.orderProjectionRepository.lockBackfilled()) {
+					return false;
+				}
+				this.orderProjectionRepository.saveAll(page.getCollection().stream()
+						.map(OrderProjectionMappingHelper::map)
+						.collect(Collectors.toUnmodifiableList()));
+				return true;
+			});
+			after = stillBackfilling ? page.getNextCursor() : null;
+		} while (after != null);
+		this.transactionTemplate.executeWithoutResult(status -> this.orderProjectionRepository.markBackfilled());
+	}
+	
+	private int apply(final Collection<OrderEventDto> events) {
+		final long from = this.orderProjectionRepository.lockCheckpoint();
+		final var pending = events.stream()
+				.filter(e -> e.getPosition() > from)
+				.collect(Collectors.toUnmodifiableList());
+		if (pending.isEmpty()) {
+			this.checkpoint.set(from);
+			return 0;
+		}
+		final Map<Integer, OrderProjection> upserts = new LinkedHashMap<>();
+		final Set<Integer> deletes = new HashSet<>();
+		for (final var event : pending) {
+			final var orderId = Integer.valueOf(event.getAggregateId());
+			if (event.getEventType() == EventType.DELETED) {
+				upserts.remove(orderId);
+				deletes.add(orderId);
+				continue;
+			}
+			final var orderProjection = OrderProjectionMappingHelper.map(event.getOrderDto());
+			orderProjection.setOrderId(orderId);
+			deletes.remove(orderId);
+			upserts.put(orderId, orderProjection);
+		}
+		this.orderProjectionRepository.deleteAll(this.orderProjectionRepository.findAllById(deletes));
+		this.orderProjectionRepository.saveAll(upserts.values());
+		final long to = pending.get(pending.size() - 1).getPosition();
+		this.orderProjectionRepository.updateCheckpoint(to);
+		this.checkpoint.set(to);
+		return pending.size();
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
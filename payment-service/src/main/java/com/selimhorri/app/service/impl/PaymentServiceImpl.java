@@ -1,19 +1,30 @@
 package com.selimhorri.app.service.impl;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Objects;
 import java.util.stream.Collectors;
 
+import javax.persistence.EntityManager;
 import javax.transaction.Transactional;
 
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
+import org.springframework.util.Assert;
 
 import com.selimhorri.app.constant.AppConstant;
-import com.selimhorri.app.dto.OrderDto;
 import com.selimhorri.app.dto.PaymentDto;
+import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
+import com.selimhorri.app.event.EventType;
+import com.selimhorri.app.exception.wrapper.IdempotencyKeyConflictException;
 import com.selimhorri.app.exception.wrapper.PaymentNotFoundException;
 import com.selimhorri.app.helper.PaymentMappingHelper;
+import com.selimhorri.app.repository.IdempotencyKeyRepository;
 import com.selimhorri.app.repository.PaymentRepository;
+import com.selimhorri.app.service.OrderProjectionService;
+import com.selimhorri.app.service.OutboxService;
 import com.selimhorri.app.service.PaymentService;
 
 import lombok.RequiredArgsConstructor;
@@ -26,21 +37,30 @@ import lombok.extern.slf4j.Slf4j;
 public class PaymentServiceImpl implements PaymentService {
 	
 	private final PaymentRepository paymentRepository;
-	private final RestTemplate restTemplate;
+	private final EntityManager entityManager;
+	private final OrderProjectionService orderProjectionService;
+	private final OutboxService outboxService;
+	private final IdempotencyKeyRepository idempotencyKeyRepository;
 	
 	@Override
 	public List<PaymentDto> findAll() {
 		log.info("*** PaymentDto List, service; fetch all payments *");
-		return this.paymentRepository.findAll()
+		return this.enrich(this.paymentRepository.findAll()
 				.stream()
 					.map(PaymentMappingHelper::map)
-					.map(p -> {
-						p.setOrderDto(this.restTemplate.getForObject(AppConstant.DiscoveredDomainsApi
-								.ORDER_SERVICE_API_URL + "/" + p.getOrderDto().getOrderId(), OrderDto.class));
-						return p;
-					})
-					.distinct()
-					.collect(Collectors.toUnmodifiableList());
+					.collect(Collectors.toUnmodifiableList()));
+	}
+	
+	@Override
+	public DtoCollectionResponse<PaymentDto> findAll(final Integer after, final int limit) {
+		log.info("*** PaymentDto List, service; fetch page of payments *");
+		final int pageSize = Math.max(1, Math.min(limit, AppConstant.MAX_PAGE_SIZE));
+		return DtoCollectionResponse.page(this.enrich(this.paymentRepository
+				.findByPaymentIdGreaterThanOrderByPaymentIdAsc(after == null ? 0 : after, PageRequest.of(0, pageSize))
+				.stream()
+					.map(PaymentMappingHelper::map)
+					.collect(Collectors.toUnmodifiableList())), 
+				pageSize, p -> String.valueOf(p.getPaymentId()));
 	}
 	
 	@Override
@@ -48,32 +68,113 @@ public class PaymentServiceImpl implements PaymentService {
 		log.info("*** PaymentDto, service; fetch payment by id *");
 		return this.paymentRepository.findById(paymentId)
 				.map(PaymentMappingHelper::map)
-				.map(p -> {
-					p.setOrderDto(this.restTemplate.getForObject(AppConstant.DiscoveredDomainsApi
-							.ORDER_SERVICE_API_URL + "/" + p.getOrderDto().getOrderId(), OrderDto.class));
-					return p;
-				})
+				.map(paymentDto -> this.enrich(List.of(paymentDto)).get(0))
 				.orElseThrow(() -> new PaymentNotFoundException(String.format("Payment with id: %d not found", paymentId)));
 	}
 	
 	@Override
 	public PaymentDto save(final PaymentDto paymentDto) {
 		log.info("*** PaymentDto, service; save payment *");
-		return PaymentMappingHelper.map(this.paymentRepository
-				.save(PaymentMappingHelper.map(paymentDto)));
+		return this.recorded(EventType.CREATED, PaymentMappingHelper.map(this.paymentRepository
+				.save(PaymentMappingHelper.map(paymentDto))));
+	}
+	
+	@Override
+	public PaymentDto save(final String idempotencyKey, final PaymentDto paymentDto) {
+		log.info("*** PaymentDto, service; save payment under idempotency key *");
+		final var existing = this.idempotencyKeyRepository.lock(idempotencyKey);
+		if (existing.isPresent()) {
+			if (existing.get().isCancelled()) {
+				throw new IdempotencyKeyConflictException(String
+						.format("Idempotency key: %s has been cancelled", idempotencyKey));
+			}
+			return this.findById(Integer.parseInt(existing.get().getResourceId()));
+		}
+		final var saved = this.save(paymentDto);
+		try {
+			this.idempotencyKeyRepository.save(idempotencyKey, String.valueOf(saved.getPaymentId()), false);
+		}
+		catch (DuplicateKeyException e) {
+			throw new IdempotencyKeyConflictException(String
+					.format("Idempotency key: %s is being used concurrently", idempotencyKey), e);
+		}
+		return saved;
+	}
+	
+	/**
+	 * Deletes the payment taken under the key, if there is one, and marks the key cancelled.
+	 */
+	@Override
+	public void cancel(final String idempotencyKey) {
+		log.info("*** Void, service; cancel payment created under idempotency key *");
+		final var existing = this.idempotencyKeyRepository.lock(idempotencyKey);
+		if (existing.isEmpty()) {
+			this.idempotencyKeyRepository.save(idempotencyKey, null, true);
+			return;
+		}
+		if (existing.get().isCancelled()) {
+			return;
+		}
+		final var paymentId = Integer.parseInt(existing.get().getResourceId());
+		if (this.paymentRepository.existsById(paymentId)) {
+			this.deleteById(paymentId);
+		}
+		this.idempotencyKeyRepository.cancel(idempotencyKey);
+	}
+	
+	@Override
+	public List<PaymentDto> saveAll(final Collection<PaymentDto> paymentDtos) {
+		log.info("*** PaymentDto List, service; save payments in bulk *");
+		Assert.state(paymentDtos.size() <= AppConstant.MAX_BULK_SIZE, 
+				() -> String.format("At most %d payments can be saved in bulk", AppConstant.MAX_BULK_SIZE));
+		final var saved = new ArrayList<PaymentDto>(paymentDtos.size());
+		for (final var paymentDto : paymentDtos) {
+			final var payment = PaymentMappingHelper.map(paymentDto);
+			payment.setPaymentId(null);
+			this.entityManager.persist(payment);
+			saved.add(PaymentMappingHelper.map(payment));
+			if (saved.size() % AppConstant.BULK_WRITE_CHUNK_SIZE == 0) {
+				this.entityManager.flush();
+				this.entityManager.clear();
+			}
+		}
+		this.outboxService.record(AppConstant.PAYMENT_AGGREGATE_TYPE, EventType.CREATED, saved, PaymentDto::getPaymentId);
+		return saved;
 	}
 	
 	@Override
 	public PaymentDto update(final PaymentDto paymentDto) {
 		log.info("*** PaymentDto, service; update payment *");
-		return PaymentMappingHelper.map(this.paymentRepository
-				.save(PaymentMappingHelper.map(paymentDto)));
+		return this.recorded(EventType.UPDATED, PaymentMappingHelper.map(this.paymentRepository
+				.save(PaymentMappingHelper.map(paymentDto))));
 	}
 	
 	@Override
 	public void deleteById(final Integer paymentId) {
 		log.info("*** Void, service; delete payment by id *");
 		this.paymentRepository.deleteById(paymentId);
+		this.recorded(EventType.DELETED, PaymentDto.builder()
+				.paymentId(paymentId)
+				.build());
+	}
+	
+	private PaymentDto recorded(final EventType eventType, final PaymentDto paymentDto) {
+		this.outboxService.record(AppConstant.PAYMENT_AGGREGATE_TYPE, eventType, List.of(paymentDto), PaymentDto::getPaymentId);
+		return paymentDto;
+	}
+	
+	/**
+	 * Fills in order details from the local order projection, so reads never wait on order-service.
+	 * A payment whose order has not reached the projection yet keeps the bare order id.
+	 */
+	private List<PaymentDto> enrich(final List<PaymentDto> paymentDtos) {
+		final var orderDtos = this.orderProjectionService.findAllByOrderIds(paymentDtos.stream()
+				.map(paymentDto -> paymentDto.getOrderDto().getOrderId())
+				.filter(Objects::nonNull)
+				.collect(Collectors.toUnmodifiableList()));
+		paymentDtos.forEach(paymentDto -> paymentDto.setOrderDto(orderDtos
+				.getOrDefault(paymentDto.getOrderDto().getOrderId(), paymentDto.getOrderDto())));
+		return paymentDtos;
 	}
 	
 	
@@ -0,0 +1,8 @@
+
+CREATE TABLE payments_seq (
+	next_val BIGINT NOT NULL
+);
+
+INSERT INTO payments_seq (next_val)
+SELECT COALESCE(MAX(payment_id), 0) + 1 FROM payments;
+
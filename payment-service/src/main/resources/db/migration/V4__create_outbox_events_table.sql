@@ -0,0 +1,20 @@
+
+CREATE TABLE outbox_events (
+	event_id BIGINT NOT NULL PRIMARY KEY AUTO_INCREMENT,
+	aggregate_type VARCHAR(32) NOT NULL,
+	aggregate_id VARCHAR(64) NOT NULL,
+	event_type VARCHAR(32) NOT NULL,
+	payload VARCHAR(4000) NOT NULL,
+	created_at TIMESTAMP NOT NULL,
+	feed_position BIGINT,
+	published_at TIMESTAMP NULL
+);
+
+CREATE UNIQUE INDEX idx_outbox_events_feed_position ON outbox_events (feed_position);
+
+CREATE TABLE outbox_feed_positions (
+	next_position BIGINT NOT NULL
+);
+
+INSERT INTO outbox_feed_positions (next_position) VALUES (1);
+
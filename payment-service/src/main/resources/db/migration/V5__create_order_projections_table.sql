@@ -0,0 +1,15 @@
+
+CREATE TABLE order_projections (
+	order_id INT(11) NOT NULL PRIMARY KEY,
+	order_date TIMESTAMP,
+	order_desc VARCHAR(255),
+	order_fee DECIMAL(7, 2)
+);
+
+CREATE TABLE order_projection_checkpoints (
+	last_position BIGINT NOT NULL,
+	backfilled BOOLEAN NOT NULL
+);
+
+INSERT INTO order_projection_checkpoints (last_position, backfilled) VALUES (0, FALSE);
+
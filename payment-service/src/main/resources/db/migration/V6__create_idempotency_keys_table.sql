@@ -0,0 +1,8 @@
+
+CREATE TABLE idempotency_keys (
+	idempotency_key VARCHAR(64) NOT NULL PRIMARY KEY,
+	resource_id VARCHAR(64),
+	cancelled BOOLEAN DEFAULT FALSE NOT NULL,
+	created_at TIMESTAMP DEFAULT LOCALTIMESTAMP NOT NULL
+);
+
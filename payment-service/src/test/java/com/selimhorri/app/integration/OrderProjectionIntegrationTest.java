@@ -0,0 +1,184 @@
+package com.selimhorri.app.integration;
+
+import com.selimhorri.app.config.projection.OrderProjectionProperties;
+import com.selimhorri.app.constant.AppConstant;
+import com.selimhorri.app.dto.OrderDto;
+import com.selimhorri.app.dto.OrderEventDto;
+import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
+import com.selimhorri.app.event.EventType;
+import com.selimhorri.app.repository.OrderProjectionRepository;
+import com.selimhorri.app.service.impl.OrderProjectionServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "app.order-projection.sync-interval=PT1H")
+class OrderProjectionIntegrationTest {
+    @Autowired
+    private OrderProjectionRepository orderProjectionRepository;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    private FakeOrderService orderService;
+    private OrderProjectionServiceImpl orderProjectionService;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("DELETE FROM order_projections");
+        jdbcTemplate.update("UPDATE order_projection_checkpoints SET last_position = 0, backfilled = FALSE");
+        OrderProjectionProperties properties = new OrderProjectionProperties();
+        properties.setBatchSize(2);
+        orderService = new FakeOrderService(properties.getBatchSize());
+        orderProjectionService = new OrderProjectionServiceImpl(orderProjectionRepository, orderService,
+                transactionTemplate, properties, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void testBackfillLoadsEveryOrderPageBeforeReplayingTheFeed() {
+        orderService.orders.addAll(List.of(order(1, "first"), order(2, "second"), order(3, "third")));
+        orderService.events.add(event(1, EventType.UPDATED, order(2, "second, updated")));
+        assertEquals(1, orderProjectionService.sync());
+        assertTrue(orderProjectionRepository.isBackfilled());
+        assertEquals(Set.of(1, 2, 3), projectedIds());
+        assertEquals("second, updated", orderProjectionRepository.findById(2).orElseThrow().getOrderDesc());
+        assertEquals(2, orderService.orderPagesServed);
+        orderService.orders.add(order(4, "never listed again"));
+        orderProjectionService.sync();
+        assertEquals(2, orderService.orderPagesServed);
+        assertFalse(orderProjectionRepository.existsById(4));
+    }
+    @Test
+    void testCheckpointAppliesEachPositionOnce() {
+        markBackfilled();
+        orderService.events.addAll(List.of(
+                event(1, EventType.CREATED, order(1, "v1")),
+                event(2, EventType.UPDATED, order(1, "v2")),
+                event(3, EventType.CREATED, order(2, "v1"))));
+        assertEquals(3, orderProjectionService.sync());
+        assertEquals(3, orderProjectionRepository.findCheckpoint());
+        assertEquals(0, orderProjectionService.sync());
+        orderService.replayFromStart = true;
+        orderService.events.add(event(4, EventType.UPDATED, order(2, "v2")));
+        assertEquals(1, orderProjectionService.sync());
+        assertEquals(4, orderProjectionRepository.findCheckpoint());
+        assertEquals("v2", orderProjectionRepository.findById(1).orElseThrow().getOrderDesc());
+        assertEquals("v2", orderProjectionRepository.findById(2).orElseThrow().getOrderDesc());
+    }
+    @Test
+    void testDeletedEventsRemoveTheProjection() {
+        markBackfilled();
+        orderService.events.addAll(List.of(
+                event(1, EventType.CREATED, order(1, "kept")),
+                event(2, EventType.CREATED, order(2, "created and deleted in one page")),
+                deleted(3, 2),
+                event(4, EventType.CREATED, order(3, "deleted in a later page")),
+                deleted(5, 3),
+                deleted(6, 99)));
+        assertEquals(6, orderProjectionService.sync());
+        assertEquals(Set.of(1), projectedIds());
+        assertEquals(6, orderProjectionRepository.findCheckpoint());
+    }
+    @Test
+    void testUnavailableFeedLeavesTheCheckpointInPlace() {
+        markBackfilled();
+        orderService.events.add(event(1, EventType.CREATED, order(1, "v1")));
+        orderProjectionService.sync();
+        orderService.unavailable = true;
+        orderService.events.add(event(2, EventType.UPDATED, order(1, "v2")));
+        assertEquals(0, orderProjectionService.sync());
+        assertEquals(1, orderProjectionRepository.findCheckpoint());
+        orderService.unavailable = false;
+        assertEquals(1, orderProjectionService.sync());
+        assertEquals("v2", orderProjectionRepository.findById(1).orElseThrow().getOrderDesc());
+    }
+
+    private void markBackfilled() {
+        jdbcTemplate.update("UPDATE order_projection_checkpoints SET backfilled = TRUE");
+    }
+
+    private Set<Integer> projectedIds() {
+        return orderProjectionRepository.findAll().stream()
+                .map(o -> o.getOrderId())
+                .collect(Collectors.toSet());
+    }
+
+    private static OrderDto order(int orderId, String orderDesc) {
+        return OrderDto.builder().orderId(orderId).orderDesc(orderDesc).orderFee(10.0).build();
+    }
+
+    private static OrderEventDto event(long position, EventType eventType, OrderDto orderDto) {
+        return OrderEventDto.builder()
+                .position(position)
+                .aggregateId(String.valueOf(orderDto.getOrderId()))
+                .eventType(eventType)
+                .orderDto(orderDto)
+                .build();
+    }
+
+    private static OrderEventDto deleted(long position, int orderId) {
+        return OrderEventDto.builder()
+                .position(position)
+                .aggregateId(String.valueOf(orderId))
+                .eventType(EventType.DELETED)
+                .build();
+    }
+
+    /**
+     * Serves the paged order listing and the event feed the way order-service does.
+     */
+    private static class FakeOrderService extends RestTemplate {
+        private final int batchSize;
+        private final List<OrderDto> orders = new ArrayList<>();
+        private final List<OrderEventDto> events = new ArrayList<>();
+        private boolean replayFromStart;
+        private boolean unavailable;
+        private int orderPagesServed;
+
+        FakeOrderService(int batchSize) {
+            this.batchSize = batchSize;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> ResponseEntity<T> exchange(String url, HttpMethod method, HttpEntity<?> requestEntity,
+                ParameterizedTypeReference<T> responseType, Object... uriVariables) {
+            if (unavailable) {
+                throw new ResourceAccessException("order-service is down");
+            }
+            assertEquals(batchSize, uriVariables[1]);
+            if (url.startsWith(AppConstant.DiscoveredDomainsApi.ORDER_SERVICE_API_URL)) {
+                orderPagesServed++;
+                int after = Integer.parseInt((String) uriVariables[0]);
+                List<OrderDto> page = orders.stream()
+                        .filter(o -> o.getOrderId() > after)
+                        .limit(batchSize)
+                        .collect(Collectors.toList());
+                return (ResponseEntity<T>) ResponseEntity.ok(DtoCollectionResponse.page(page, batchSize,
+                        o -> String.valueOf(o.getOrderId())));
+            }
+            long after = replayFromStart ? 0 : (Long) uriVariables[0];
+            replayFromStart = false;
+            List<OrderEventDto> page = events.stream()
+                    .filter(e -> e.getPosition() > after)
+                    .limit(batchSize)
+                    .collect(Collectors.toList());
+            return (ResponseEntity<T>) ResponseEntity.ok(new DtoCollectionResponse<>(page));
+        }
+    }
+}
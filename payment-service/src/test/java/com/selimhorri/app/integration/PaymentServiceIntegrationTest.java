@@ -0,0 +1,53 @@
+package com.selimhorri.app.integration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.selimhorri.app.constant.AppConstant;
+import com.selimhorri.app.domain.PaymentStatus;
+import com.selimhorri.app.dto.OrderDto;
+import com.selimhorri.app.dto.PaymentDto;
+import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
+import com.selimhorri.app.repository.PaymentRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import java.util.ArrayList;
+import java.util.List;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class PaymentServiceIntegrationTest {
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    private PaymentDto buildValidPayment(int orderId) {
+        return PaymentDto.builder()
+            .isPayed(false)
+            .paymentStatus(PaymentStatus.NOT_STARTED)
+            .orderDto(OrderDto.builder().orderId(orderId).build())
+            .build();
+    }
+
+    @Test
+    void testBulkCreateOverTheCapIsRejected() throws Exception {
+        List<PaymentDto> payments = new ArrayList<>();
+        for (int i = 0; i <= AppConstant.MAX_BULK_SIZE; i++) {
+            payments.add(buildValidPayment(1));
+        }
+        long before = paymentRepository.count();
+        mockMvc.perform(post("/api/payments/bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new DtoCollectionResponse<>(payments))))
+                .andExpect(status().isBadRequest());
+        assertEquals(before, paymentRepository.count());
+    }
+}
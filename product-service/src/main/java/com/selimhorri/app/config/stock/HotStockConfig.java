@@ -0,0 +1,39 @@
+package com.selimhorri.app.config.stock;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+import com.selimhorri.app.repository.StockJournalRepository;
+import com.selimhorri.app.stock.StockJournal;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+@Configuration
+@EnableScheduling
+@EnableConfigurationProperties(HotStockProperties.class)
+public class HotStockConfig {
+	
+	@Bean(destroyMethod = "close")
+	public StockJournal stockJournal(final StockJournalRepository stockJournalRepository, 
+			final HotStockProperties hotStockProperties, final MeterRegistry meterRegistry) {
+		final var batchSizes = DistributionSummary.builder("product.stock.hot.journal.batch")
+				.description("Stock movements written per journal commit")
+				.register(meterRegistry);
+		final var stockJournal = new StockJournal(movements -> {
+			final var refused = stockJournalRepository.saveAll(movements);
+			batchSizes.record(movements.size() - refused.size());
+			return refused;
+		}, hotStockProperties.getJournalBatchSize());
+		Gauge.builder("product.stock.hot.journal.pending", stockJournal, StockJournal::pending)
+				.description("Stock movements waiting for the next journal commit")
+				.register(meterRegistry);
+		return stockJournal;
+	}
+	
+	
+	
+}
@@ -0,0 +1,64 @@
+package com.selimhorri.app.config.stock;
+
+import java.time.Duration;
+import java.util.UUID;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+@ConfigurationProperties(prefix = "app.hot-stock")
+@Data
+public class HotStockProperties {
+	
+	/**
+	 * Stripes per hot product counter; 0 uses twice the number of available processors.
+	 */
+	private int stripes = 0;
+	
+	/**
+	 * Maximum number of stock movements written to the journal in one commit.
+	 */
+	private int journalBatchSize = 1_000;
+	
+	/**
+	 * Identifies this instance's stock allocations; must differ between replicas. Defaults to a
+	 * fresh id per start, so allocations of a previous run are reaped once their lease expires.
+	 */
+	private String instanceId = UUID.randomUUID().toString();
+	
+	/**
+	 * Units an instance takes from a hot product's untaken stock when its allocation runs dry. Other
+	 * replicas cannot sell units held here, so a rejection may happen while up to this many units
+	 * sit in another replica's allocation.
+	 */
+	private int allocationChunk = 50;
+	
+	/**
+	 * Lease of an instance's allocations. Allocations not renewed in time are handed back to the
+	 * product by any instance, and the journal refuses further movements against them.
+	 */
+	private Duration allocationLease = Duration.ofSeconds(30);
+	
+	/**
+	 * Delay between two lease renewals, which also reap expired allocations of other instances.
+	 */
+	private Duration leaseRenewInterval = Duration.ofSeconds(10);
+	
+	/**
+	 * Time a reservation waits for its journal commit. A movement not yet picked up by the journal
+	 * writer by then is withdrawn and the reservation fails; one already picked up is waited for.
+	 */
+	private Duration journalTimeout = Duration.ofSeconds(5);
+	
+	/**
+	 * Delay between two write-behind flushes, as an ISO-8601 duration (e.g. PT1S).
+	 */
+	private Duration flushInterval = Duration.ofSeconds(1);
+	
+	/**
+	 * Maximum number of journalled movements folded into allocations per flush.
+	 */
+	private int flushBatchSize = 10_000;
+	
+}
@@ -10,6 +10,13 @@ public abstract class AppConstant {
 	public static final String LOCAL_DATE_TIME_FORMAT = "dd-MM-yyyy__HH:mm:ss:SSSSSS";
 	public static final String ZONED_DATE_TIME_FORMAT = "dd-MM-yyyy__HH:mm:ss:SSSSSS";
 	public static final String INSTANT_FORMAT = "dd-MM-yyyy__HH:mm:ss:SSSSSS";
+	public static final int MAX_PAGE_SIZE = 1000;
+	public static final int STREAM_CLEAR_INTERVAL = 1000;
+	public static final int DEFAULT_SEARCH_PAGE_SIZE = 20;
+	public static final int MAX_SEARCH_PREFIX_EXPANSIONS = 50;
+	public static final int MAX_INDEXED_SEARCH_PREFIX_LENGTH = 4;
+	public static final int MAX_SEARCH_WINDOW = 10_000;
+	public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
 	
 	@NoArgsConstructor(access = AccessLevel.PRIVATE)
 	public abstract class DiscoveredDomainsApi {
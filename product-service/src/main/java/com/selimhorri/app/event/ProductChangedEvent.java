@@ -0,0 +1,17 @@
+package com.selimhorri.app.event;
+
+import java.io.Serializable;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+public class ProductChangedEvent implements Serializable {
+	
+	private static final long serialVersionUID = 1L;
+	private Integer productId;
+	
+}
@@ -13,7 +13,10 @@ import org.springframework.web.bind.annotation.ExceptionHandler;
 
 import com.selimhorri.app.exception.payload.ExceptionMsg;
 import com.selimhorri.app.exception.wrapper.CategoryNotFoundException;
+import com.selimhorri.app.exception.wrapper.HotStockQuantityException;
+import com.selimhorri.app.exception.wrapper.InsufficientStockException;
 import com.selimhorri.app.exception.wrapper.ProductNotFoundException;
+import com.selimhorri.app.exception.wrapper.ReservationConflictException;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -44,6 +47,7 @@ public class ApiExceptionHandler {
 	@ExceptionHandler(value = {
 		CategoryNotFoundException.class,
 		ProductNotFoundException.class,
+		IllegalArgumentException.class,
 	})
 	public <T extends RuntimeException> ResponseEntity<ExceptionMsg> handleApiRequestException(final T e) {
 		
@@ -59,6 +63,25 @@ public class ApiExceptionHandler {
 					.build(), badRequest);
 	}
 	
+	@ExceptionHandler(value = {
+		InsufficientStockException.class,
+		HotStockQuantityException.class,
+		ReservationConflictException.class,
+	})
+	public <T extends RuntimeException> ResponseEntity<ExceptionMsg> handleConflictException(final T e) {
+		
+		log.info("**ApiExceptionHandler controller, handle conflict*\n");
+		final var conflict = HttpStatus.CONFLICT;
+		
+		return new ResponseEntity<>(
+				ExceptionMsg.builder()
+					.msg("#### " + e.getMessage() + "! ####")
+					.httpStatus(conflict)
+					.timestamp(ZonedDateTime
+							.now(ZoneId.systemDefault()))
+					.build(), conflict);
+	}
+	
 	
 	
 }
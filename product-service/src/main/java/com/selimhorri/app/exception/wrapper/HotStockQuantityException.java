@@ -0,0 +1,35 @@
+package com.selimhorri.app.exception.wrapper;
+
+public class HotStockQuantityException extends RuntimeException {
+	
+	private static final long serialVersionUID = 1L;
+	
+	public HotStockQuantityException() {
+		super();
+	}
+	
+	public HotStockQuantityException(String message, Throwable cause) {
+		super(message, cause);
+	}
+	
+	public HotStockQuantityException(String message) {
+		super(message);
+	}
+	
+	public HotStockQuantityException(Throwable cause) {
+		super(cause);
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
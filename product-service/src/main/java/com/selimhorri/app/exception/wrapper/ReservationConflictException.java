@@ -0,0 +1,35 @@
+package com.selimhorri.app.exception.wrapper;
+
+public class ReservationConflictException extends RuntimeException {
+	
+	private static final long serialVersionUID = 1L;
+	
+	public ReservationConflictException() {
+		super();
+	}
+	
+	public ReservationConflictException(String message, Throwable cause) {
+		super(message, cause);
+	}
+	
+	public ReservationConflictException(String message) {
+		super(message);
+	}
+	
+	public ReservationConflictException(Throwable cause) {
+		super(cause);
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -8,39 +8,42 @@ import com.selimhorri.app.dto.CategoryDto;
 public interface CategoryMappingHelper {
 	
 	public static CategoryDto map(final Category category) {
-		
-		final var parentCategory = Optional.ofNullable(category
-				.getParentCategory()).orElseGet(() -> new Category());
-		
-		return CategoryDto.builder()
-				.categoryId(category.getCategoryId())
-				.categoryTitle(category.getCategoryTitle())
-				.imageUrl(category.getImageUrl())
-				.parentCategoryDto(
-						CategoryDto.builder()
-							.categoryId(parentCategory.getCategoryId())
-							.categoryTitle(parentCategory.getCategoryTitle())
-							.imageUrl(parentCategory.getImageUrl())
-							.build())
-				.build();
+		return map(category, new CategoryDto());
+	}
+	
+	public static CategoryDto map(final Category category, final CategoryDto categoryDto) {
+		categoryDto.setCategoryId(category.getCategoryId());
+		categoryDto.setCategoryTitle(category.getCategoryTitle());
+		categoryDto.setImageUrl(category.getImageUrl());
+		categoryDto.setParentCategoryDto(mapParent(Optional.ofNullable(category
+				.getParentCategory()).orElseGet(Category::new), categoryDto.getParentCategoryDto()));
+		return categoryDto;
 	}
 	
 	public static Category map(final CategoryDto categoryDto) {
-		
-		final var parentCategoryDto = Optional.ofNullable(categoryDto
-				.getParentCategoryDto()).orElseGet(() -> new CategoryDto());
-		
-		return Category.builder()
-				.categoryId(categoryDto.getCategoryId())
-				.categoryTitle(categoryDto.getCategoryTitle())
-				.imageUrl(categoryDto.getImageUrl())
-				.parentCategory(
-						Category.builder()
-							.categoryId(parentCategoryDto.getCategoryId())
-							.categoryTitle(parentCategoryDto.getCategoryTitle())
-							.imageUrl(parentCategoryDto.getImageUrl())
-							.build())
-				.build();
+		final var category = new Category();
+		category.setCategoryId(categoryDto.getCategoryId());
+		category.setCategoryTitle(categoryDto.getCategoryTitle());
+		category.setImageUrl(categoryDto.getImageUrl());
+		category.setParentCategory(mapParent(Optional.ofNullable(categoryDto
+				.getParentCategoryDto()).orElseGet(CategoryDto::new), new Category()));
+		return category;
+	}
+	
+	private static CategoryDto mapParent(final Category category, final CategoryDto target) {
+		final var parentCategoryDto = target != null ? target : new CategoryDto();
+		parentCategoryDto.setCategoryId(category.getCategoryId());
+		parentCategoryDto.setCategoryTitle(category.getCategoryTitle());
+		parentCategoryDto.setImageUrl(category.getImageUrl());
+		return parentCategoryDto;
+	}
+	
+	private static Category mapParent(final CategoryDto categoryDto, final Category target) {
+		final var parentCategory = target != null ? target : new Category();
+		parentCategory.setCategoryId(categoryDto.getCategoryId());
+		parentCategory.setCategoryTitle(categoryDto.getCategoryTitle());
+		parentCategory.setImageUrl(categoryDto.getImageUrl());
+		return parentCategory;
 	}
 	
 	
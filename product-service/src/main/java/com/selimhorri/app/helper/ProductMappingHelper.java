@@ -8,37 +8,46 @@ import com.selimhorri.app.dto.ProductDto;
 public interface ProductMappingHelper {
 	
 	public static ProductDto map(final Product product) {
-		return ProductDto.builder()
-				.productId(product.getProductId())
-				.productTitle(product.getProductTitle())
-				.imageUrl(product.getImageUrl())
-				.sku(product.getSku())
-				.priceUnit(product.getPriceUnit())
-				.quantity(product.getQuantity())
-				.categoryDto(
-						CategoryDto.builder()
-							.categoryId(product.getCategory().getCategoryId())
-							.categoryTitle(product.getCategory().getCategoryTitle())
-							.imageUrl(product.getCategory().getImageUrl())
-							.build())
-				.build();
+		return map(product, new ProductDto());
+	}
+	
+	public static ProductDto map(final Product product, final ProductDto productDto) {
+		productDto.setProductId(product.getProductId());
+		productDto.setProductTitle(product.getProductTitle());
+		productDto.setImageUrl(product.getImageUrl());
+		productDto.setSku(product.getSku());
+		productDto.setPriceUnit(product.getPriceUnit());
+		productDto.setQuantity(product.getQuantity());
+		productDto.setCategoryDto(mapCategory(product.getCategory(), productDto.getCategoryDto()));
+		return productDto;
 	}
 	
 	public static Product map(final ProductDto productDto) {
-		return Product.builder()
-				.productId(productDto.getProductId())
-				.productTitle(productDto.getProductTitle())
-				.imageUrl(productDto.getImageUrl())
-				.sku(productDto.getSku())
-				.priceUnit(productDto.getPriceUnit())
-				.quantity(productDto.getQuantity())
-				.category(
-						Category.builder()
-							.categoryId(productDto.getCategoryDto().getCategoryId())
-							.categoryTitle(productDto.getCategoryDto().getCategoryTitle())
-							.imageUrl(productDto.getCategoryDto().getImageUrl())
-							.build())
-				.build();
+		final var product = new Product();
+		product.setProductId(productDto.getProductId());
+		product.setProductTitle(productDto.getProductTitle());
+		product.setImageUrl(productDto.getImageUrl());
+		product.setSku(productDto.getSku());
+		product.setPriceUnit(productDto.getPriceUnit());
+		product.setQuantity(productDto.getQuantity());
+		product.setCategory(mapCategory(productDto.getCategoryDto(), new Category()));
+		return product;
+	}
+	
+	private static CategoryDto mapCategory(final Category category, final CategoryDto target) {
+		final var categoryDto = target != null ? target : new CategoryDto();
+		categoryDto.setCategoryId(category.getCategoryId());
+		categoryDto.setCategoryTitle(category.getCategoryTitle());
+		categoryDto.setImageUrl(category.getImageUrl());
+		return categoryDto;
+	}
+	
+	private static Category mapCategory(final CategoryDto categoryDto, final Category target) {
+		final var category = target != null ? target : new Category();
+		category.setCategoryId(categoryDto.getCategoryId());
+		category.setCategoryTitle(categoryDto.getCategoryTitle());
+		category.setImageUrl(categoryDto.getImageUrl());
+		return category;
 	}
 	
 	
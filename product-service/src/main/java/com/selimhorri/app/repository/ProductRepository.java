@@ -1,11 +1,64 @@
 package com.selimhorri.app.repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import javax.persistence.QueryHint;
+import javax.transaction.Transactional;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
 import com.selimhorri.app.domain.Product;
 
 public interface ProductRepository extends JpaRepository<Product, Integer> {
 	
+	@EntityGraph(attributePaths = "category")
+	List<Product> findByProductIdGreaterThanOrderByProductIdAsc(final Integer productId, final Pageable pageable);
+	
+	@EntityGraph(attributePaths = "category")
+	List<Product> findAllByProductIdIn(final Collection<Integer> productIds);
+	
+	@EntityGraph(attributePaths = "category")
+	List<Product> findAllByCategoryCategoryId(final Integer categoryId);
+	
+	@QueryHints({
+		@QueryHint(name = org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE, value = "1000"),
+		@QueryHint(name = org.hibernate.jpa.QueryHints.HINT_READONLY, value = "true")
+	})
+	@Query("SELECT p FROM Product p LEFT JOIN FETCH p.category ORDER BY p.productId")
+	Stream<Product> streamAll();
+	
+	@Transactional
+	@Modifying(flushAutomatically = true, clearAutomatically = true)
+	@Query(value = "UPDATE products SET quantity = quantity - :quantity "
+			+ "WHERE product_id = :productId AND quantity >= :quantity AND hot_stock = FALSE", nativeQuery = true)
+	int reserveStock(@Param("productId") final Integer productId, @Param("quantity") final int quantity);
+	
+	@Transactional
+	@Modifying(flushAutomatically = true, clearAutomatically = true)
+	@Query(value = "UPDATE products SET quantity = COALESCE(quantity, 0) + :quantity "
+			+ "WHERE product_id = :productId AND hot_stock = FALSE", nativeQuery = true)
+	int releaseStock(@Param("productId") final Integer productId, @Param("quantity") final int quantity);
+	
+	@Query(value = "SELECT hot_stock FROM products WHERE product_id = :productId", nativeQuery = true)
+	Optional<Boolean> findHotStockById(@Param("productId") final Integer productId);
+	
+	@Query(value = "SELECT product_id FROM products WHERE hot_stock = TRUE", nativeQuery = true)
+	List<Integer> findHotStockProductIds();
+	
+	@Transactional
+	@Modifying
+	@Query(value = "UPDATE products SET hot_stock = :hotStock WHERE product_id = :productId", nativeQuery = true)
+	int updateHotStock(@Param("productId") final Integer productId, @Param("hotStock") final boolean hotStock);
+	
 	
 	
 }
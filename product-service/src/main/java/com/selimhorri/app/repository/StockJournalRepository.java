@@ -0,0 +1,210 @@
+package com.selimhorri.app.repository;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+import javax.transaction.Transactional;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import com.selimhorri.app.stock.StockJournal.Movement;
+
+import lombok.RequiredArgsConstructor;
+import lombok.Value;
+
+/**
+ * Plain JDBC rather than Spring Data: journal inserts have to be batched and the flush is a
+ * set-based fold of many rows, neither of which needs managed entities.
+ *
+ * The stock of a hot product is partitioned: products.quantity holds the units no counter has
+ * taken yet, and every in-memory counter owns a leased allocation it reserves from. Journal rows are
+ * movements against an allocation. Every statement touching an allocation locks its row first, so
+ * the journal writer, the flush and the reaper of an expired lease never interleave on it. Where
+ * both are needed the product row is locked before the allocation row.
+ */
+@Repository
+@RequiredArgsConstructor
+public class StockJournalRepository {
+	
+	private static final String LOCK_ALLOCATION = "SELECT quantity, expires_at FROM stock_allocations "
+			+ "WHERE allocation_id = ? FOR UPDATE";
+	private static final String ALLOCATION_COLUMNS = "SELECT a.allocation_id, a.product_id, COALESCE(p.hot_stock, FALSE) "
+			+ "FROM stock_allocations a LEFT JOIN products p ON p.product_id = a.product_id ";
+	
+	private final JdbcTemplate jdbcTemplate;
+	
+	/**
+	 * Inserts the movements whose allocation is still leased and returns the others, which must be
+	 * treated as never written: their allocation has been handed back to the product.
+	 */
+	@Transactional
+	public List<Movement> saveAll(final List<Movement> movements) {
+		final var now = System.currentTimeMillis();
+		final Set<String> leased = new TreeSet<>();
+		movements.stream()
+				.map(Movement::getAllocationId)
+				.collect(Collectors.toCollection(TreeSet::new))
+				.forEach(allocationId -> this.jdbcTemplate.query(LOCK_ALLOCATION, (ResultSet rs) -> {
+					if (rs.next() && rs.getLong(2) >= now) {
+						leased.add(allocationId);
+					}
+					return null;
+				}, allocationId));
+		final var accepted = movements.stream()
+				.filter(m -> leased.contains(m.getAllocationId()))
+				.collect(Collectors.toList());
+		if (!accepted.isEmpty()) {
+			this.jdbcTemplate.batchUpdate("INSERT INTO stock_journal (allocation_id, product_id, delta, created_at) VALUES (?, ?, ?, ?)",
+					accepted, accepted.size(), (ps, m) -> {
+						ps.setString(1, m.getAllocationId());
+						ps.setInt(2, m.getProductId());
+						ps.setInt(3, m.getDelta());
+						ps.setLong(4, m.getCreatedAt());
+					});
+		}
+		return movements.stream()
+				.filter(m -> !leased.contains(m.getAllocationId()))
+				.collect(Collectors.toList());
+	}
+	
+	/**
+	 * Moves up to max(quantity, chunk) untaken units of a hot product into an allocation and extends
+	 * its lease. The allocation row is created when the caller holds none yet; a caller whose
+	 * allocation has disappeared was reaped and must start over with a new one.
+	 *
+	 * @return the units moved, possibly 0, or empty when the product is not in hot stock mode or
+	 *         the allocation was reaped
+	 */
+	@Transactional
+	public OptionalLong allocate(final String allocationId, final Integer productId, final String instanceId,
+			final int quantity, final int chunk, final boolean existing, final long expiresAt) {
+		final var untaken = this.jdbcTemplate.queryForList("SELECT COALESCE(quantity, 0) FROM products "
+				+ "WHERE product_id = ? AND hot_stock = TRUE FOR UPDATE", Long.class, productId);
+		final var allocation = this.jdbcTemplate.queryForList(LOCK_ALLOCATION, allocationId);
+		if (untaken.isEmpty() || allocation.isEmpty() == existing) {
+			return OptionalLong.empty();
+		}
+		final long taken = Math.max(0, Math.min(untaken.get(0), Math.max(quantity, chunk)));
+		this.jdbcTemplate.update("UPDATE products SET quantity = COALESCE(quantity, 0) - ? WHERE product_id = ?", taken, productId);
+		if (existing) {
+			this.jdbcTemplate.update("UPDATE stock_allocations SET quantity = quantity + ?, expires_at = ? WHERE allocation_id = ?",
+					taken, expiresAt, allocationId);
+		}
+		else {
+			this.jdbcTemplate.update("INSERT INTO stock_allocations (allocation_id, product_id, instance_id, quantity, expires_at) "
+					+ "VALUES (?, ?, ?, ?, ?)", allocationId, productId, instanceId, taken, expiresAt);
+		}
+		return OptionalLong.of(taken);
+	}
+	
+	public int renewAllocation(final String allocationId, final long expiresAt) {
+		return this.jdbcTemplate.update("UPDATE stock_allocations SET expires_at = ? WHERE allocation_id = ?", expiresAt, allocationId);
+	}
+	
+	public List<Allocation> findAllocations(final String instanceId) {
+		return this.jdbcTemplate.query(ALLOCATION_COLUMNS + "WHERE a.instance_id = ?", this::mapAllocation, instanceId);
+	}
+	
+	public List<Allocation> findExpiredAllocations(final long now) {
+		return this.jdbcTemplate.query(ALLOCATION_COLUMNS + "WHERE a.expires_at < ?", this::mapAllocation, now);
+	}
+	
+	/**
+	 * Hands an allocation back to products.quantity together with its unflushed journal, provided
+	 * its lease expired before the given time; pass Long.MAX_VALUE for an allocation one holds.
+	 * Returns the units handed back, empty when there was no such allocation.
+	 */
+	@Transactional
+	public OptionalLong returnAllocation(final String allocationId, final long expiredBefore) {
+		final var productId = this.jdbcTemplate.queryForList("SELECT product_id FROM stock_allocations WHERE allocation_id = ?",
+				Integer.class, allocationId);
+		if (productId.isEmpty()) {
+			return OptionalLong.empty();
+		}
+		this.jdbcTemplate.queryForList("SELECT product_id FROM products WHERE product_id = ? FOR UPDATE", Integer.class, productId.get(0));
+		final var allocation = this.jdbcTemplate.query(LOCK_ALLOCATION, (rs, rowNum) -> new long[] { rs.getLong(1), rs.getLong(2) },
+				allocationId);
+		if (allocation.isEmpty() || allocation.get(0)[1] >= expiredBefore) {
+			return OptionalLong.empty();
+		}
+		final long journalled = this.jdbcTemplate.queryForObject("SELECT COALESCE(SUM(delta), 0) FROM stock_journal "
+				+ "WHERE allocation_id = ?", Long.class, allocationId);
+		final long remaining = allocation.get(0)[0] + journalled;
+		this.jdbcTemplate.update("UPDATE products SET quantity = COALESCE(quantity, 0) + ? WHERE product_id = ?", remaining, productId.get(0));
+		this.jdbcTemplate.update("DELETE FROM stock_journal WHERE allocation_id = ?", allocationId);
+		this.jdbcTemplate.update("DELETE FROM stock_allocations WHERE allocation_id = ?", allocationId);
+		return OptionalLong.of(remaining);
+	}
+	
+	/**
+	 * Available quantity of a hot product across all instances: its untaken units plus every
+	 * allocation and the movements journalled against them. Empty when the product does not exist
+	 * or is not in hot stock mode.
+	 */
+	public OptionalLong findAvailable(final Integer productId) {
+		return this.jdbcTemplate.queryForList("SELECT COALESCE(p.quantity, 0) "
+					+ "+ COALESCE((SELECT SUM(a.quantity) FROM stock_allocations a WHERE a.product_id = p.product_id), 0) "
+					+ "+ COALESCE((SELECT SUM(j.delta) FROM stock_journal j WHERE j.product_id = p.product_id), 0) "
+					+ "FROM products p WHERE p.product_id = ? AND p.hot_stock = TRUE", Long.class, productId)
+				.stream()
+					.mapToLong(Long::longValue)
+					.findFirst();
+	}
+	
+	/**
+	 * Folds the oldest movements journalled against the instance's allocations into them and
+	 * deletes them in the same transaction. Returns the creation time of the oldest movement
+	 * applied, if any.
+	 */
+	@Transactional
+	public OptionalLong applyPending(final String instanceId, final int limit) {
+		this.jdbcTemplate.queryForList("SELECT allocation_id FROM stock_allocations WHERE instance_id = ? "
+				+ "ORDER BY allocation_id FOR UPDATE", String.class, instanceId);
+		final List<Object[]> rows = this.jdbcTemplate.query("SELECT j.journal_id, j.allocation_id, j.delta, j.created_at "
+				+ "FROM stock_journal j JOIN stock_allocations a ON a.allocation_id = j.allocation_id "
+				+ "WHERE a.instance_id = ? ORDER BY j.journal_id LIMIT ?", this::mapRow, instanceId, limit);
+		if (rows.isEmpty()) {
+			return OptionalLong.empty();
+		}
+		final Map<String, Long> deltas = new TreeMap<>();
+		final var journalIds = new ArrayList<Object[]>(rows.size());
+		long oldest = Long.MAX_VALUE;
+		for (final Object[] row : rows) {
+			journalIds.add(new Object[] { row[0] });
+			deltas.merge((String) row[1], (Long) row[2], Long::sum);
+			oldest = Math.min(oldest, (Long) row[3]);
+		}
+		final var updates = new ArrayList<Object[]>(deltas.size());
+		deltas.forEach((allocationId, delta) -> updates.add(new Object[] { delta, allocationId }));
+		this.jdbcTemplate.batchUpdate("UPDATE stock_allocations SET quantity = quantity + ? WHERE allocation_id = ?", updates);
+		this.jdbcTemplate.batchUpdate("DELETE FROM stock_journal WHERE journal_id = ?", journalIds);
+		return OptionalLong.of(oldest);
+	}
+	
+	private Object[] mapRow(final ResultSet rs, final int rowNum) throws SQLException {
+		return new Object[] { rs.getLong(1), rs.getString(2), rs.getLong(3), rs.getLong(4) };
+	}
+	
+	private Allocation mapAllocation(final ResultSet rs, final int rowNum) throws SQLException {
+		return new Allocation(rs.getString(1), rs.getInt(2), rs.getBoolean(3));
+	}
+	
+	@Value
+	public static class Allocation {
+		
+		String allocationId;
+		Integer productId;
+		boolean hotStock;
+	
+	}
+	
+}
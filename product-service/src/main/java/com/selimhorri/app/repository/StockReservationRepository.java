@@ -0,0 +1,72 @@
+package com.selimhorri.app.repository;
+
+import java.util.List;
+import java.util.Optional;
+
+import javax.transaction.Transactional;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import com.selimhorri.app.dto.StockReservationDto;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Reservations made under a caller-chosen id, so a caller that lost the response can release
+ * exactly what was reserved. Releasing an unknown id leaves a released row behind, which makes a
+ * reservation still on its way under that id fail instead of leaking stock.
+ */
+@Repository
+@RequiredArgsConstructor
+public class StockReservationRepository {
+	
+	private final JdbcTemplate jdbcTemplate;
+	
+	public Optional<Boolean> findReleasedById(final String reservationId) {
+		return this.jdbcTemplate.queryForList("SELECT released FROM stock_reservations WHERE reservation_id = ?", 
+				Boolean.class, reservationId).stream()
+				.findFirst();
+	}
+	
+	public List<StockReservationDto> findLinesById(final String reservationId) {
+		return this.jdbcTemplate.query("SELECT product_id, quantity FROM stock_reservation_lines "
+				+ "WHERE reservation_id = ? ORDER BY product_id", (rs, rowNum) -> new StockReservationDto(rs.getInt(1), rs.getInt(2)), 
+				reservationId);
+	}
+	
+	/**
+	 * Fails with a DuplicateKeyException when the id was used or released meanwhile.
+	 */
+	@Transactional
+	public void save(final String reservationId, final List<StockReservationDto> lines) {
+		this.jdbcTemplate.update("INSERT INTO stock_reservations (reservation_id) VALUES (?)", reservationId);
+		this.jdbcTemplate.batchUpdate("INSERT INTO stock_reservation_lines (reservation_id, product_id, quantity) VALUES (?, ?, ?)", 
+				lines, lines.size(), (ps, line) -> {
+					ps.setString(1, reservationId);
+					ps.setInt(2, line.getProductId());
+					ps.setInt(3, line.getQuantity());
+				});
+	}
+	
+	/**
+	 * Marks the reservation released and returns its lines, which the caller must put back in
+	 * stock. Returns nothing when it was already released, and records the release of an unknown
+	 * id; fails with a DuplicateKeyException when a reservation under that id commits meanwhile.
+	 */
+	@Transactional
+	public List<StockReservationDto> release(final String reservationId) {
+		final var released = this.jdbcTemplate.queryForList("SELECT released FROM stock_reservations "
+				+ "WHERE reservation_id = ? FOR UPDATE", Boolean.class, reservationId);
+		if (released.isEmpty()) {
+			this.jdbcTemplate.update("INSERT INTO stock_reservations (reservation_id, released) VALUES (?, TRUE)", reservationId);
+			return List.of();
+		}
+		if (released.get(0)) {
+			return List.of();
+		}
+		this.jdbcTemplate.update("UPDATE stock_reservations SET released = TRUE WHERE reservation_id = ?", reservationId);
+		return this.findLinesById(reservationId);
+	}
+	
+}
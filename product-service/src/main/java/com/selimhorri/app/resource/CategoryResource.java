@@ -17,6 +17,7 @@ import org.springframework.web.bind.annotation.RestController;
 import com.selimhorri.app.dto.CategoryDto;
 import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
 import com.selimhorri.app.service.CategoryService;
+import com.selimhorri.app.service.CategoryTreeService;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -28,6 +29,7 @@ import lombok.extern.slf4j.Slf4j;
 public class CategoryResource {
 	
 	private final CategoryService categoryService;
+	private final CategoryTreeService categoryTreeService;
 	
 	@GetMapping
 	public ResponseEntity<DtoCollectionResponse<CategoryDto>> findAll() {
@@ -35,6 +37,30 @@ public class CategoryResource {
 		return ResponseEntity.ok(new DtoCollectionResponse<>(this.categoryService.findAll()));
 	}
 	
+	@GetMapping("/tree")
+	public ResponseEntity<DtoCollectionResponse<CategoryDto>> findTree() {
+		log.info("*** CategoryDto List, controller; fetch category tree *");
+		return ResponseEntity.ok(new DtoCollectionResponse<>(this.categoryTreeService.findTree()));
+	}
+	
+	@GetMapping("/{categoryId}/ancestors")
+	public ResponseEntity<DtoCollectionResponse<CategoryDto>> findAncestors(
+			@PathVariable("categoryId") 
+			@NotBlank(message = "Input must not be blank") 
+			@Valid final String categoryId) {
+		log.info("*** CategoryDto List, controller; fetch category ancestors *");
+		return ResponseEntity.ok(new DtoCollectionResponse<>(this.categoryTreeService.findAncestors(Integer.parseInt(categoryId))));
+	}
+	
+	@GetMapping("/{categoryId}/descendants")
+	public ResponseEntity<DtoCollectionResponse<CategoryDto>> findDescendants(
+			@PathVariable("categoryId") 
+			@NotBlank(message = "Input must not be blank") 
+			@Valid final String categoryId) {
+		log.info("*** CategoryDto List, controller; fetch category descendants *");
+		return ResponseEntity.ok(new DtoCollectionResponse<>(this.categoryTreeService.findDescendants(Integer.parseInt(categoryId))));
+	}
+	
 	@GetMapping("/{categoryId}")
 	public ResponseEntity<CategoryDto> findById(
 			@PathVariable("categoryId") 
@@ -1,9 +1,15 @@
 package com.selimhorri.app.resource;
 
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+import javax.servlet.http.HttpServletResponse;
 import javax.validation.Valid;
 import javax.validation.constraints.NotBlank;
 import javax.validation.constraints.NotNull;
 
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -11,12 +17,21 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.selimhorri.app.constant.AppConstant;
 import com.selimhorri.app.dto.ProductDto;
+import com.selimhorri.app.dto.StockReservationDto;
 import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
+import com.selimhorri.app.service.HotStockService;
+import com.selimhorri.app.service.ProductSearchService;
 import com.selimhorri.app.service.ProductService;
+import com.selimhorri.app.service.ProductStockService;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -28,11 +43,52 @@ import lombok.extern.slf4j.Slf4j;
 public class ProductResource {
 	
 	private final ProductService productService;
+	private final ProductSearchService productSearchService;
+	private final ProductStockService productStockService;
+	private final HotStockService hotStockService;
+	private final ObjectMapper objectMapper;
 	
 	@GetMapping
-	public ResponseEntity<DtoCollectionResponse<ProductDto>> findAll() {
+	public ResponseEntity<DtoCollectionResponse<ProductDto>> findAll(
+			@RequestParam(name = "after", required = false) final Integer after, 
+			@RequestParam(name = "limit", required = false) final Integer limit) {
 		log.info("*** ProductDto List, controller; fetch all categories *");
-		return ResponseEntity.ok(new DtoCollectionResponse<>(this.productService.findAll()));
+		if (limit == null) {
+			return ResponseEntity.ok(new DtoCollectionResponse<>(this.productService.findAll()));
+		}
+		return ResponseEntity.ok(this.productService.findAll(after, limit));
+	}
+	
+	@GetMapping("/search")
+	public ResponseEntity<DtoCollectionResponse<ProductDto>> search(
+			@RequestParam("q") 
+			@NotBlank(message = "Input must not be blank") 
+			@Valid final String query, 
+			@RequestParam(name = "offset", required = false) final Integer offset, 
+			@RequestParam(name = "limit", required = false) final Integer limit) {
+		log.info("*** ProductDto List, resource; search products *");
+		return ResponseEntity.ok(this.productSearchService.search(query, 
+				offset == null ? 0 : offset, 
+				limit == null ? AppConstant.DEFAULT_SEARCH_PAGE_SIZE : limit));
+	}
+	
+	@GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+	public void stream(final HttpServletResponse response) throws IOException {
+		log.info("*** ProductDto Stream, resource; stream all products *");
+		response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+		final var writer = this.objectMapper.writerFor(ProductDto.class)
+				.without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+		final var outputStream = new BufferedOutputStream(response.getOutputStream());
+		this.productService.streamAll(p -> {
+			try {
+				writer.writeValue(outputStream, p);
+				outputStream.write('\n');
+			}
+			catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		});
+		outputStream.flush();
 	}
 	
 	@GetMapping("/{productId}")
@@ -74,6 +130,70 @@ public class ProductResource {
 		return ResponseEntity.ok(this.productService.update(Integer.parseInt(productId), productDto));
 	}
 	
+	@PostMapping("/reserve")
+	public ResponseEntity<DtoCollectionResponse<StockReservationDto>> reserveAll(
+			@RequestBody 
+			@NotNull(message = "Input must not be NULL!") 
+			@Valid final DtoCollectionResponse<StockReservationDto> stockReservations, 
+			@RequestHeader(name = AppConstant.IDEMPOTENCY_KEY_HEADER, required = false) final String reservationId) {
+		log.info("*** StockReservationDto List, resource; reserve stock of several products *");
+		if (reservationId == null) {
+			return ResponseEntity.ok(new DtoCollectionResponse<>(
+					this.productStockService.reserveAll(stockReservations.getCollection())));
+		}
+		return ResponseEntity.ok(new DtoCollectionResponse<>(
+				this.productStockService.reserveAll(reservationId, stockReservations.getCollection())));
+	}
+	
+	@DeleteMapping("/reservations/{reservationId}")
+	public ResponseEntity<DtoCollectionResponse<StockReservationDto>> releaseReservation(
+			@PathVariable("reservationId") 
+			@NotBlank(message = "Input must not be blank!") 
+			@Valid final String reservationId) {
+		log.info("*** StockReservationDto List, resource; release stock reserved under an id *");
+		return ResponseEntity.ok(new DtoCollectionResponse<>(this.productStockService.releaseReservation(reservationId)));
+	}
+	
+	@PostMapping("/{productId}/reserve")
+	public ResponseEntity<StockReservationDto> reserve(
+			@PathVariable("productId") 
+			@NotBlank(message = "Input must not be blank!") 
+			@Valid final String productId, 
+			@RequestBody 
+			@NotNull(message = "Input must not be NULL!") 
+			@Valid final StockReservationDto stockReservationDto) {
+		log.info("*** StockReservationDto, resource; reserve product stock *");
+		return ResponseEntity.ok(this.productStockService.reserve(Integer.parseInt(productId), 
+				stockReservationDto.getQuantity()));
+	}
+	
+	@PostMapping("/{productId}/release")
+	public ResponseEntity<StockReservationDto> release(
+			@PathVariable("productId") 
+			@NotBlank(message = "Input must not be blank!") 
+			@Valid final String productId, 
+			@RequestBody 
+			@NotNull(message = "Input must not be NULL!") 
+			@Valid final StockReservationDto stockReservationDto) {
+		log.info("*** StockReservationDto, resource; release product stock *");
+		return ResponseEntity.ok(this.productStockService.release(Integer.parseInt(productId), 
+				stockReservationDto.getQuantity()));
+	}
+	
+	@PutMapping("/{productId}/hot-stock")
+	public ResponseEntity<Boolean> enableHotStock(@PathVariable("productId") final String productId) {
+		log.info("*** Boolean, resource; enable hot stock for product *");
+		this.hotStockService.enable(Integer.parseInt(productId));
+		return ResponseEntity.ok(true);
+	}
+	
+	@DeleteMapping("/{productId}/hot-stock")
+	public ResponseEntity<Boolean> disableHotStock(@PathVariable("productId") final String productId) {
+		log.info("*** Boolean, resource; disable hot stock for product *");
+		this.hotStockService.disable(Integer.parseInt(productId));
+		return ResponseEntity.ok(true);
+	}
+	
 	@DeleteMapping("/{productId}")
 	public ResponseEntity<Boolean> deleteById(@PathVariable("productId") final String productId) {
 		log.info("*** Boolean, resource; delete product by id *");
@@ -0,0 +1,598 @@
+package com.selimhorri.app.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import com.selimhorri.app.dto.ProductDto;
+
+/**
+ * Inverted index over product titles, SKUs and category titles.
+ * <p>
+ * Each term maps to an immutable posting list of product ids sorted ascending with the
+ * field weight of the term in that product. Every proper prefix of a term between
+ * {@link #MIN_INDEXED_PREFIX_LENGTH} and {@code maxIndexedPrefixLength} characters has a
+ * posting list of its own holding the best weight of any term it starts, so a short prefix
+ * query reads one list instead of merging the lists of every term it expands to. Shorter and
+ * longer prefixes, which match very many or very few terms, are still expanded term by term.
+ * <p>
+ * Readers never lock; writers are serialized and replace the posting lists they touch. A
+ * replaced list shares its arrays with the previous one and only copies a small sorted delta,
+ * which is folded into new arrays once it outgrows the square root of their length, so a
+ * write to a list of n products copies O(sqrt(n)) entries on average instead of n.
+ * <p>
+ * Queries use AND semantics across terms, match each term exactly and as a prefix, and rank
+ * hits by field weight times inverse document frequency.
+ */
+public class ProductSearchIndex {
+	
+	private static final Pattern TOKEN_SEPARATOR = Pattern.compile("[^\\p{Alnum}]+");
+	private static final float SKU_WEIGHT = 4.0f;
+	private static final float TITLE_WEIGHT = 2.0f;
+	private static final float CATEGORY_WEIGHT = 1.0f;
+	private static final float PREFIX_MATCH_FACTOR = 0.5f;
+	private static final int MIN_INDEXED_PREFIX_LENGTH = 2;
+	
+	private final int maxPrefixExpansions;
+	private final int maxIndexedPrefixLength;
+	private volatile ConcurrentSkipListMap<String, Postings> postings = new ConcurrentSkipListMap<>();
+	private volatile ConcurrentSkipListMap<String, Postings> prefixPostings = new ConcurrentSkipListMap<>();
+	private volatile ConcurrentHashMap<Integer, Document> documents = new ConcurrentHashMap<>();
+	private List<Runnable> pendingWhileBuilding;
+	
+	public ProductSearchIndex(final int maxPrefixExpansions, final int maxIndexedPrefixLength) {
+		this.maxPrefixExpansions = maxPrefixExpansions;
+		this.maxIndexedPrefixLength = maxIndexedPrefixLength;
+	}
+	
+	public int size() {
+		return this.documents.size();
+	}
+	
+	/**
+	 * Replaces the whole index with the products handed to the loader. Products passed to
+	 * the consumer are copied, so the loader may reuse one {@link ProductDto} for every row.
+	 * Writes made through {@link #index} or {@link #remove} while the load runs are replayed
+	 * on top of the loaded snapshot.
+	 */
+	public void rebuild(final Consumer<Consumer<ProductDto>> loader) {
+		synchronized (this) {
+			this.pendingWhileBuilding = new ArrayList<>();
+		}
+		final Map<String, PostingsBuilder> builders = new HashMap<>();
+		final Map<String, PostingsBuilder> prefixBuilders = new HashMap<>();
+		final var loadedDocuments = new ConcurrentHashMap<Integer, Document>();
+		try {
+			loader.accept(p -> {
+				final var document = Document.of(p);
+				loadedDocuments.put(p.getProductId(), document);
+				document.forEachTerm((term, weight) -> builders
+						.computeIfAbsent(term, k -> new PostingsBuilder())
+						.add(p.getProductId(), weight));
+				document.forEachPrefix(this.maxIndexedPrefixLength, (prefix, weight) -> prefixBuilders
+						.computeIfAbsent(prefix, k -> new PostingsBuilder())
+						.add(p.getProductId(), weight));
+			});
+		}
+		catch (RuntimeException e) {
+			synchronized (this) {
+				this.pendingWhileBuilding = null;
+			}
+			throw e;
+		}
+		final var loadedPostings = new ConcurrentSkipListMap<String, Postings>();
+		builders.forEach((term, builder) -> loadedPostings.put(term, builder.build()));
+		final var loadedPrefixPostings = new ConcurrentSkipListMap<String, Postings>();
+		prefixBuilders.forEach((prefix, builder) -> loadedPrefixPostings.put(prefix, builder.build()));
+		
+		synchronized (this) {
+			this.postings = loadedPostings;
+			this.prefixPostings = loadedPrefixPostings;
+			this.documents = loadedDocuments;
+			final var pending = this.pendingWhileBuilding;
+			this.pendingWhileBuilding = null;
+			pending.forEach(Runnable::run);
+		}
+	}
+	
+	public synchronized void index(final ProductDto productDto) {
+		final var document = Document.of(productDto);
+		if (this.pendingWhileBuilding != null) {
+			this.pendingWhileBuilding.add(() -> this.index(productDto.getProductId(), document));
+		}
+		this.index(productDto.getProductId(), document);
+	}
+	
+	public synchronized void remove(final Integer productId) {
+		if (this.pendingWhileBuilding != null) {
+			this.pendingWhileBuilding.add(() -> this.removeDocument(productId));
+		}
+		this.removeDocument(productId);
+	}
+	
+	public Set<Integer> findByCategoryId(final Integer categoryId) {
+		return this.documents.entrySet().stream()
+				.filter(e -> categoryId.equals(e.getValue().categoryId))
+				.map(Map.Entry::getKey)
+				.collect(Collectors.toSet());
+	}
+	
+	/**
+	 * Ranks hits and returns those from offset to offset + limit. The caller bounds the window:
+	 * the top offset + limit hits are held on a heap while the candidates are scanned.
+	 */
+	public SearchHits search(final String query, final int offset, final int limit) {
+		if (offset < 0) {
+			throw new IllegalArgumentException("Offset must not be negative");
+		}
+		final var snapshot = this.postings;
+		final var prefixSnapshot = this.prefixPostings;
+		final var documentCount = Math.max(1, this.documents.size());
+		final var terms = tokenize(query);
+		if (terms.isEmpty() || limit <= 0) {
+			return SearchHits.empty();
+		}
+		
+		final List<List<Match>> clauses = new ArrayList<>(terms.size());
+		for (final var term : terms) {
+			final var clause = this.expand(snapshot, prefixSnapshot, term, documentCount);
+			if (clause.isEmpty()) {
+				return SearchHits.empty();
+			}
+			clauses.add(clause);
+		}
+		final var driver = clauses.stream()
+				.min(Comparator.comparingLong(ProductSearchIndex::candidateCount))
+				.orElseThrow();
+		
+		final var topK = Math.addExact(offset, limit);
+		final var heap = new PriorityQueue<ScoredProduct>(topK + 1, ScoredProduct.WORST_FIRST);
+		final long[] total = { 0L };
+		mergeCandidates(driver, (productId, driverScore) -> {
+			float score = driverScore;
+			for (final var clause : clauses) {
+				if (clause == driver) {
+					continue;
+				}
+				final var clauseScore = score(clause, productId);
+				if (clauseScore == 0.0f) {
+					return;
+				}
+				score += clauseScore;
+			}
+			total[0]++;
+			if (heap.size() < topK || ScoredProduct.WORST_FIRST.compare(heap.peek(), productId, score) < 0) {
+				heap.add(new ScoredProduct(productId, score));
+				if (heap.size() > topK) {
+					heap.poll();
+				}
+			}
+		});
+		
+		final var ranked = new ArrayList<ScoredProduct>(heap);
+		ranked.sort(ScoredProduct.WORST_FIRST.reversed());
+		return new SearchHits(total[0], ranked.stream()
+				.skip(offset)
+				.map(s -> s.productId)
+				.collect(Collectors.toUnmodifiableList()));
+	}
+	
+	static List<String> tokenize(final String text) {
+		if (text == null || text.isBlank()) {
+			return List.of();
+		}
+		return List.copyOf(Arrays.stream(TOKEN_SEPARATOR.split(text.toLowerCase(Locale.ROOT)))
+				.filter(t -> !t.isEmpty())
+				.collect(Collectors.toCollection(LinkedHashSet::new)));
+	}
+	
+	private void index(final Integer productId, final Document document) {
+		this.removeDocument(productId);
+		this.documents.put(productId, document);
+		document.forEachTerm((term, weight) -> this.postings.compute(term, 
+				(k, p) -> p == null ? Postings.of(productId, weight) : p.with(productId, weight)));
+		document.forEachPrefix(this.maxIndexedPrefixLength, (prefix, weight) -> this.prefixPostings.compute(prefix, 
+				(k, p) -> p == null ? Postings.of(productId, weight) : p.with(productId, weight)));
+	}
+	
+	private void removeDocument(final Integer productId) {
+		final var document = this.documents.remove(productId);
+		if (document != null) {
+			document.forEachTerm((term, weight) -> this.postings.computeIfPresent(term, 
+					(k, p) -> p.without(productId)));
+			document.forEachPrefix(this.maxIndexedPrefixLength, (prefix, weight) -> this.prefixPostings.computeIfPresent(prefix, 
+					(k, p) -> p.without(productId)));
+		}
+	}
+	
+	private List<Match> expand(final ConcurrentSkipListMap<String, Postings> snapshot, 
+			final ConcurrentSkipListMap<String, Postings> prefixSnapshot, final String term, final int documentCount) {
+		final List<Match> clause = new ArrayList<>();
+		final var exact = snapshot.get(term);
+		if (exact != null) {
+			clause.add(new Match(exact, idf(exact, documentCount)));
+		}
+		if (term.length() >= MIN_INDEXED_PREFIX_LENGTH && term.length() <= this.maxIndexedPrefixLength) {
+			final var prefix = prefixSnapshot.get(term);
+			if (prefix != null) {
+				clause.add(new Match(prefix, idf(prefix, documentCount) * PREFIX_MATCH_FACTOR));
+			}
+			return clause;
+		}
+		int expansions = 0;
+		for (final var entry : snapshot.subMap(term, false, term + Character.MAX_VALUE, false).entrySet()) {
+			if (expansions++ == this.maxPrefixExpansions) {
+				break;
+			}
+			clause.add(new Match(entry.getValue(), idf(entry.getValue(), documentCount) * PREFIX_MATCH_FACTOR));
+		}
+		return clause;
+	}
+	
+	private static float idf(final Postings postings, final int documentCount) {
+		return (float) Math.log(1.0 + (double) documentCount / postings.size);
+	}
+	
+	private static long candidateCount(final List<Match> clause) {
+		return clause.stream()
+				.mapToLong(m -> m.postings.size)
+				.sum();
+	}
+	
+	private static float score(final List<Match> clause, final int productId) {
+		float best = 0.0f;
+		for (final var match : clause) {
+			final var weight = match.postings.weightOf(productId);
+			if (weight > 0.0f) {
+				best = Math.max(best, weight * match.factor);
+			}
+		}
+		return best;
+	}
+	
+	/**
+	 * Hands every product of the clause to the consumer once, in product id order, with its
+	 * score for the clause, so the driving clause needs no lookups.
+	 */
+	private static void mergeCandidates(final List<Match> clause, final ScoredConsumer consumer) {
+		if (clause.size() == 1) {
+			final var factor = clause.get(0).factor;
+			final var cursor = clause.get(0).postings.cursor();
+			while (cursor.next()) {
+				consumer.accept(cursor.productId, cursor.weight * factor);
+			}
+			return;
+		}
+		final var cursors = new PriorityQueue<int[]>(clause.size(), Comparator.comparingInt(c -> c[1]));
+		final var open = new Cursor[clause.size()];
+		for (int i = 0; i < clause.size(); i++) {
+			open[i] = clause.get(i).postings.cursor();
+			if (open[i].next()) {
+				cursors.add(new int[] { i, open[i].productId });
+			}
+		}
+		int current = 0;
+		float best = 0.0f;
+		while (!cursors.isEmpty()) {
+			final var head = cursors.poll();
+			final var cursor = open[head[0]];
+			if (best > 0.0f && cursor.productId != current) {
+				consumer.accept(current, best);
+				best = 0.0f;
+			}
+			current = cursor.productId;
+			best = Math.max(best, cursor.weight * clause.get(head[0]).factor);
+			if (cursor.next()) {
+				head[1] = cursor.productId;
+				cursors.add(head);
+			}
+		}
+		if (best > 0.0f) {
+			consumer.accept(current, best);
+		}
+	}
+	
+	@FunctionalInterface
+	private interface ScoredConsumer {
+		void accept(int productId, float score);
+	}
+	
+	@FunctionalInterface
+	private interface TermConsumer {
+		void accept(String term, float weight);
+	}
+	
+	private static final class Match {
+		
+		private final Postings postings;
+		private final float factor;
+		
+		private Match(final Postings postings, final float factor) {
+			this.postings = postings;
+			this.factor = factor;
+		}
+		
+	}
+	
+	private static final class Document {
+		
+		private final Integer categoryId;
+		private final String[] terms;
+		private final float[] weights;
+		
+		private Document(final Integer categoryId, final String[] terms, final float[] weights) {
+			this.categoryId = categoryId;
+			this.terms = terms;
+			this.weights = weights;
+		}
+		
+		private static Document of(final ProductDto productDto) {
+			final Map<String, Float> termWeights = new HashMap<>();
+			addTerms(termWeights, productDto.getProductTitle(), TITLE_WEIGHT);
+			addTerms(termWeights, productDto.getSku(), SKU_WEIGHT);
+			final var categoryDto = productDto.getCategoryDto();
+			if (categoryDto != null) {
+				addTerms(termWeights, categoryDto.getCategoryTitle(), CATEGORY_WEIGHT);
+			}
+			final var terms = new String[termWeights.size()];
+			final var weights = new float[termWeights.size()];
+			int i = 0;
+			for (final var entry : termWeights.entrySet()) {
+				terms[i] = entry.getKey();
+				weights[i++] = entry.getValue();
+			}
+			return new Document(categoryDto == null ? null : categoryDto.getCategoryId(), terms, weights);
+		}
+		
+		private static void addTerms(final Map<String, Float> termWeights, final String text, final float weight) {
+			tokenize(text).forEach(t -> termWeights.merge(t, weight, Math::max));
+		}
+		
+		private void forEachTerm(final TermConsumer consumer) {
+			for (int i = 0; i < this.terms.length; i++) {
+				consumer.accept(this.terms[i], this.weights[i]);
+			}
+		}
+		
+		/**
+		 * Proper prefixes of the terms that have posting lists of their own, each with the best
+		 * weight of the terms it starts. Computed on demand, as documents are only walked on writes.
+		 */
+		private void forEachPrefix(final int maxPrefixLength, final TermConsumer consumer) {
+			final Map<String, Float> prefixWeights = new HashMap<>();
+			for (int i = 0; i < this.terms.length; i++) {
+				final var term = this.terms[i];
+				for (int length = MIN_INDEXED_PREFIX_LENGTH; length < term.length() && length <= maxPrefixLength; length++) {
+					prefixWeights.merge(term.substring(0, length), this.weights[i], Math::max);
+				}
+			}
+			prefixWeights.forEach(consumer::accept);
+		}
+		
+	}
+	
+	/**
+	 * Sorted base arrays plus a sorted delta whose entries replace base entries of the same
+	 * product; a delta weight of 0 marks a product removed from the base.
+	 */
+	private static final class Postings {
+		
+		private static final int[] NO_PRODUCT_IDS = new int[0];
+		private static final float[] NO_WEIGHTS = new float[0];
+		private static final int MIN_DELTA_CAPACITY = 32;
+		
+		private final int[] productIds;
+		private final float[] weights;
+		private final int[] deltaProductIds;
+		private final float[] deltaWeights;
+		private final int size;
+		
+		private Postings(final int[] productIds, final float[] weights, 
+				final int[] deltaProductIds, final float[] deltaWeights, final int size) {
+			this.productIds = productIds;
+			this.weights = weights;
+			this.deltaProductIds = deltaProductIds;
+			this.deltaWeights = deltaWeights;
+			this.size = size;
+		}
+		
+		private Postings(final int[] productIds, final float[] weights) {
+			this(productIds, weights, NO_PRODUCT_IDS, NO_WEIGHTS, productIds.length);
+		}
+		
+		private static Postings of(final int productId, final float weight) {
+			return new Postings(new int[] { productId }, new float[] { weight });
+		}
+		
+		private float weightOf(final int productId) {
+			final var d = Arrays.binarySearch(this.deltaProductIds, productId);
+			if (d >= 0) {
+				return this.deltaWeights[d];
+			}
+			final var i = Arrays.binarySearch(this.productIds, productId);
+			return i < 0 ? 0.0f : this.weights[i];
+		}
+		
+		private Cursor cursor() {
+			return new Cursor(this);
+		}
+		
+		private Postings with(final int productId, final float weight) {
+			final var size = this.weightOf(productId) > 0.0f ? this.size : this.size + 1;
+			return this.withDelta(productId, weight, size);
+		}
+		
+		private Postings without(final int productId) {
+			if (this.weightOf(productId) == 0.0f) {
+				return this;
+			}
+			if (this.size == 1) {
+				return null;
+			}
+			if (Arrays.binarySearch(this.productIds, productId) >= 0) {
+				return this.withDelta(productId, 0.0f, this.size - 1);
+			}
+			final var d = Arrays.binarySearch(this.deltaProductIds, productId);
+			final var deltaProductIds = new int[this.deltaProductIds.length - 1];
+			final var deltaWeights = new float[this.deltaWeights.length - 1];
+			System.arraycopy(this.deltaProductIds, 0, deltaProductIds, 0, d);
+			System.arraycopy(this.deltaWeights, 0, deltaWeights, 0, d);
+			System.arraycopy(this.deltaProductIds, d + 1, deltaProductIds, d, deltaProductIds.length - d);
+			System.arraycopy(this.deltaWeights, d + 1, deltaWeights, d, deltaWeights.length - d);
+			return new Postings(this.productIds, this.weights, deltaProductIds, deltaWeights, this.size - 1);
+		}
+		
+		private Postings withDelta(final int productId, final float weight, final int size) {
+			final var d = Arrays.binarySearch(this.deltaProductIds, productId);
+			final int[] deltaProductIds;
+			final float[] deltaWeights;
+			if (d >= 0) {
+				deltaProductIds = this.deltaProductIds;
+				deltaWeights = this.deltaWeights.clone();
+				deltaWeights[d] = weight;
+			}
+			else {
+				final var at = -d - 1;
+				deltaProductIds = new int[this.deltaProductIds.length + 1];
+				deltaWeights = new float[this.deltaWeights.length + 1];
+				System.arraycopy(this.deltaProductIds, 0, deltaProductIds, 0, at);
+				System.arraycopy(this.deltaWeights, 0, deltaWeights, 0, at);
+				deltaProductIds[at] = productId;
+				deltaWeights[at] = weight;
+				System.arraycopy(this.deltaProductIds, at, deltaProductIds, at + 1, this.deltaProductIds.length - at);
+				System.arraycopy(this.deltaWeights, at, deltaWeights, at + 1, this.deltaWeights.length - at);
+			}
+			final var postings = new Postings(this.productIds, this.weights, deltaProductIds, deltaWeights, size);
+			return deltaProductIds.length > Math.max(MIN_DELTA_CAPACITY, (int) Math.sqrt(this.productIds.length)) 
+					? postings.compact() 
+					: postings;
+		}
+		
+		private Postings compact() {
+			final var productIds = new int[this.size];
+			final var weights = new float[this.size];
+			final var cursor = this.cursor();
+			int i = 0;
+			while (cursor.next()) {
+				productIds[i] = cursor.productId;
+				weights[i++] = cursor.weight;
+			}
+			return new Postings(productIds, weights);
+		}
+		
+	}
+	
+	/**
+	 * Walks a posting list in product id order, merging its delta into its base arrays.
+	 */
+	private static final class Cursor {
+		
+		private final Postings postings;
+		private int base;
+		private int delta;
+		private int productId;
+		private float weight;
+		
+		private Cursor(final Postings postings) {
+			this.postings = postings;
+		}
+		
+		private boolean next() {
+			final var productIds = this.postings.productIds;
+			final var deltaProductIds = this.postings.deltaProductIds;
+			while (this.base < productIds.length || this.delta < deltaProductIds.length) {
+				if (this.delta < deltaProductIds.length 
+						&& (this.base == productIds.length || deltaProductIds[this.delta] <= productIds[this.base])) {
+					if (this.base < productIds.length && deltaProductIds[this.delta] == productIds[this.base]) {
+						this.base++;
+					}
+					this.productId = deltaProductIds[this.delta];
+					this.weight = this.postings.deltaWeights[this.delta++];
+					if (this.weight > 0.0f) {
+						return true;
+					}
+				}
+				else {
+					this.productId = productIds[this.base];
+					this.weight = this.postings.weights[this.base++];
+					return true;
+				}
+			}
+			return false;
+		}
+		
+	}
+	
+	private static final class PostingsBuilder {
+		
+		private long[] entries = new long[4];
+		private int size;
+		
+		private void add(final int productId, final float weight) {
+			if (this.size == this.entries.length) {
+				this.entries = Arrays.copyOf(this.entries, this.size * 2);
+			}
+			this.entries[this.size++] = ((long) productId << 32) | (Float.floatToRawIntBits(weight) & 0xFFFFFFFFL);
+		}
+		
+		private Postings build() {
+			Arrays.sort(this.entries, 0, this.size);
+			final var productIds = new int[this.size];
+			final var weights = new float[this.size];
+			int unique = 0;
+			for (int i = 0; i < this.size; i++) {
+				final var productId = (int) (this.entries[i] >>> 32);
+				if (unique > 0 && productIds[unique - 1] == productId) {
+					unique--;
+				}
+				productIds[unique] = productId;
+				weights[unique++] = Float.intBitsToFloat((int) this.entries[i]);
+			}
+			return new Postings(Arrays.copyOf(productIds, unique), Arrays.copyOf(weights, unique));
+		}
+		
+	}
+	
+	private static final class ScoredProduct {
+		
+		private static final ScoredComparator WORST_FIRST = new ScoredComparator();
+		
+		private final int productId;
+		private final float score;
+		
+		private ScoredProduct(final int productId, final float score) {
+			this.productId = productId;
+			this.score = score;
+		}
+		
+	}
+	
+	private static final class ScoredComparator implements Comparator<ScoredProduct> {
+		
+		@Override
+		public int compare(final ScoredProduct left, final ScoredProduct right) {
+			return this.compare(left, right.productId, right.score);
+		}
+		
+		private int compare(final ScoredProduct left, final int productId, final float score) {
+			final var byScore = Float.compare(left.score, score);
+			return byScore != 0 ? byScore : Integer.compare(productId, left.productId);
+		}
+		
+	}
+	
+	
+	
+}
@@ -0,0 +1,21 @@
+package com.selimhorri.app.search;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@AllArgsConstructor
+@Data
+public class SearchHits {
+	
+	private static final SearchHits EMPTY = new SearchHits(0, List.of());
+	
+	private final long total;
+	private final List<Integer> productIds;
+	
+	public static SearchHits empty() {
+		return EMPTY;
+	}
+	
+}
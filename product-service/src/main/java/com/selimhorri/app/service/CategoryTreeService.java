@@ -0,0 +1,15 @@
+package com.selimhorri.app.service;
+
+import java.util.List;
+
+import com.selimhorri.app.dto.CategoryDto;
+import com.selimhorri.app.event.CategoryChangedEvent;
+
+public interface CategoryTreeService {
+	
+	List<CategoryDto> findTree();
+	List<CategoryDto> findAncestors(final Integer categoryId);
+	List<CategoryDto> findDescendants(final Integer categoryId);
+	void rebuild(final CategoryChangedEvent categoryChangedEvent);
+	
+}
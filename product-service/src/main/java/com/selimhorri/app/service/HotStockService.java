@@ -0,0 +1,15 @@
+package com.selimhorri.app.service;
+
+public interface HotStockService {
+	
+	enum Outcome { RESERVED, REJECTED, NOT_HOT }
+	
+	void enable(final Integer productId);
+	void disable(final Integer productId);
+	void load(final Integer productId);
+	Outcome tryReserve(final Integer productId, final int quantity);
+	boolean tryRelease(final Integer productId, final int quantity);
+	void flush();
+	void renewLeases();
+	
+}
@@ -0,0 +1,15 @@
+package com.selimhorri.app.service;
+
+import com.selimhorri.app.dto.ProductDto;
+import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
+import com.selimhorri.app.event.CategoryChangedEvent;
+import com.selimhorri.app.event.ProductChangedEvent;
+
+public interface ProductSearchService {
+	
+	DtoCollectionResponse<ProductDto> search(final String query, final int offset, final int limit);
+	void buildIndex();
+	void onProductChanged(final ProductChangedEvent productChangedEvent);
+	void onCategoryChanged(final CategoryChangedEvent categoryChangedEvent);
+	
+}
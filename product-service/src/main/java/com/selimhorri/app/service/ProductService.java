@@ -1,12 +1,16 @@
 package com.selimhorri.app.service;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 import com.selimhorri.app.dto.ProductDto;
+import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
 
 public interface ProductService {
 	
 	List<ProductDto> findAll();
+	DtoCollectionResponse<ProductDto> findAll(final Integer after, final int limit);
+	void streamAll(final Consumer<ProductDto> consumer);
 	ProductDto findById(final Integer productId);
 	ProductDto save(final ProductDto productDto);
 	ProductDto update(final ProductDto productDto);
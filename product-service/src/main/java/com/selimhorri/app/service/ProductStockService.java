@@ -0,0 +1,16 @@
+package com.selimhorri.app.service;
+
+import java.util.Collection;
+import java.util.List;
+
+import com.selimhorri.app.dto.StockReservationDto;
+
+public interface ProductStockService {
+	
+	StockReservationDto reserve(final Integer productId, final int quantity);
+	List<StockReservationDto> reserveAll(final Collection<StockReservationDto> stockReservationDtos);
+	List<StockReservationDto> reserveAll(final String reservationId, final Collection<StockReservationDto> stockReservationDtos);
+	List<StockReservationDto> releaseReservation(final String reservationId);
+	StockReservationDto release(final Integer productId, final int quantity);
+	
+}
@@ -5,9 +5,11 @@ import java.util.stream.Collectors;
 
 import javax.transaction.Transactional;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import com.selimhorri.app.dto.CategoryDto;
+import com.selimhorri.app.event.CategoryChangedEvent;
 import com.selimhorri.app.exception.wrapper.CategoryNotFoundException;
 import com.selimhorri.app.helper.CategoryMappingHelper;
 import com.selimhorri.app.repository.CategoryRepository;
@@ -23,6 +25,7 @@ import lombok.extern.slf4j.Slf4j;
 public class CategoryServiceImpl implements CategoryService {
 	
 	private final CategoryRepository categoryRepository;
+	private final ApplicationEventPublisher applicationEventPublisher;
 	
 	@Override
 	public List<CategoryDto> findAll() {
@@ -30,7 +33,6 @@ public class CategoryServiceImpl implements CategoryService {
 		return this.categoryRepository.findAll()
 				.stream()
 					.map(CategoryMappingHelper::map)
-					.distinct()
 					.collect(Collectors.toUnmodifiableList());
 	}
 	
@@ -45,28 +47,34 @@ public class CategoryServiceImpl implements CategoryService {
 	@Override
 	public CategoryDto save(final CategoryDto categoryDto) {
 		log.info("*** CategoryDto, service; save category *");
-		return CategoryMappingHelper.map(this.categoryRepository
-				.save(CategoryMappingHelper.map(categoryDto)));
+		return this.publishChanged(CategoryMappingHelper.map(this.categoryRepository
+				.save(CategoryMappingHelper.map(categoryDto))));
 	}
 	
 	@Override
 	public CategoryDto update(final CategoryDto categoryDto) {
 		log.info("*** CategoryDto, service; update category *");
-		return CategoryMappingHelper.map(this.categoryRepository
-				.save(CategoryMappingHelper.map(categoryDto)));
+		return this.publishChanged(CategoryMappingHelper.map(this.categoryRepository
+				.save(CategoryMappingHelper.map(categoryDto))));
 	}
 	
 	@Override
 	public CategoryDto update(final Integer categoryId, final CategoryDto categoryDto) {
 		log.info("*** CategoryDto, service; update category with categoryId *");
-		return CategoryMappingHelper.map(this.categoryRepository
-				.save(CategoryMappingHelper.map(this.findById(categoryId))));
+		return this.publishChanged(CategoryMappingHelper.map(this.categoryRepository
+				.save(CategoryMappingHelper.map(this.findById(categoryId)))));
 	}
 	
 	@Override
 	public void deleteById(final Integer categoryId) {
 		log.info("*** Void, service; delete category by id *");
 		this.categoryRepository.deleteById(categoryId);
+		this.applicationEventPublisher.publishEvent(new CategoryChangedEvent(categoryId));
+	}
+	
+	private CategoryDto publishChanged(final CategoryDto categoryDto) {
+		this.applicationEventPublisher.publishEvent(new CategoryChangedEvent(categoryDto.getCategoryId()));
+		return categoryDto;
 	}
 	
 	
@@ -0,0 +1,183 @@
+package com.selimhorri.app.service.impl;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.selimhorri.app.domain.Category;
+import com.selimhorri.app.dto.CategoryDto;
+import com.selimhorri.app.event.CategoryChangedEvent;
+import com.selimhorri.app.exception.wrapper.CategoryNotFoundException;
+import com.selimhorri.app.repository.CategoryRepository;
+import com.selimhorri.app.service.CategoryTreeService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class CategoryTreeServiceImpl implements CategoryTreeService {
+	
+	private final CategoryRepository categoryRepository;
+	private final AtomicReference<CategoryTree> snapshot = new AtomicReference<>();
+	
+	@Override
+	public List<CategoryDto> findTree() {
+		log.info("*** CategoryDto List, service; fetch category tree *");
+		return this.snapshot().roots;
+	}
+	
+	@Override
+	public List<CategoryDto> findAncestors(final Integer categoryId) {
+		log.info("*** CategoryDto List, service; fetch category ancestors *");
+		final var categoryTree = this.snapshot();
+		categoryTree.require(categoryId);
+		final List<CategoryDto> ancestors = new ArrayList<>();
+		Integer parentId = categoryTree.parentIds.get(categoryId);
+		while (parentId != null) {
+			ancestors.add(categoryTree.summaries.get(parentId));
+			parentId = categoryTree.parentIds.get(parentId);
+		}
+		return Collections.unmodifiableList(ancestors);
+	}
+	
+	@Override
+	public List<CategoryDto> findDescendants(final Integer categoryId) {
+		log.info("*** CategoryDto List, service; fetch category descendants *");
+		return List.copyOf(this.snapshot().require(categoryId).getSubCategoriesDtos());
+	}
+	
+	@Override
+	@TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+	public synchronized void rebuild(final CategoryChangedEvent categoryChangedEvent) {
+		log.info("*** Void, service; rebuild category tree after change of category {} *", 
+				categoryChangedEvent.getCategoryId());
+		this.snapshot.set(CategoryTree.of(this.categoryRepository.findAllWithParent()));
+	}
+	
+	private CategoryTree snapshot() {
+		final var categoryTree = this.snapshot.get();
+		if (categoryTree != null) {
+			return categoryTree;
+		}
+		synchronized (this) {
+			if (this.snapshot.get() == null) {
+				this.snapshot.set(CategoryTree.of(this.categoryRepository.findAllWithParent()));
+			}
+			return this.snapshot.get();
+		}
+	}
+	
+	private static final class CategoryTree {
+		
+		private final List<CategoryDto> roots;
+		private final Map<Integer, CategoryDto> nodes;
+		private final Map<Integer, CategoryDto> summaries;
+		private final Map<Integer, Integer> parentIds;
+		
+		private CategoryTree(final List<CategoryDto> roots, final Map<Integer, CategoryDto> nodes, 
+				final Map<Integer, CategoryDto> summaries, final Map<Integer, Integer> parentIds) {
+			this.roots = roots;
+			this.nodes = nodes;
+			this.summaries = summaries;
+			this.parentIds = parentIds;
+		}
+		
+		private static CategoryTree of(final List<Category> categories) {
+			final Map<Integer, Category> byId = new LinkedHashMap<>();
+			categories.forEach(c -> byId.put(c.getCategoryId(), c));
+			
+			final Map<Integer, Integer> parentIds = new HashMap<>();
+			byId.values().forEach(c -> parentIds.put(c.getCategoryId(), parentIdOf(c, byId)));
+			
+			final Map<Integer, Integer> depths = new HashMap<>();
+			final Map<Integer, List<Integer>> childIds = new HashMap<>();
+			byId.keySet().forEach(id -> {
+				int depth = 0;
+				for (var parentId = parentIds.get(id); parentId != null; parentId = parentIds.get(parentId)) {
+					if (++depth > byId.size()) {
+						log.warn("*** Category {} is part of a parent cycle, serving it as a root *", id);
+						parentIds.put(id, null);
+						depth = 0;
+						break;
+					}
+				}
+				depths.put(id, depth);
+			});
+			byId.keySet().forEach(id -> {
+				childIds.put(id, new ArrayList<>());
+				Optional.ofNullable(parentIds.get(id)).ifPresent(parentId -> childIds
+						.computeIfAbsent(parentId, k -> new ArrayList<>()).add(id));
+			});
+			
+			final Map<Integer, CategoryDto> nodes = new HashMap<>();
+			final Map<Integer, CategoryDto> summaries = new HashMap<>();
+			byId.keySet().stream()
+					.sorted(Comparator.comparing((Integer id) -> depths.get(id)).reversed())
+					.forEach(id -> {
+						final Set<CategoryDto> subCategoriesDtos = new LinkedHashSet<>();
+						childIds.get(id).forEach(childId -> subCategoriesDtos.add(nodes.get(childId)));
+						nodes.put(id, summary(byId.get(id), Collections.unmodifiableSet(subCategoriesDtos)));
+						summaries.put(id, summary(byId.get(id), null));
+					});
+			
+			final List<CategoryDto> roots = new ArrayList<>();
+			byId.keySet().stream()
+					.filter(id -> parentIds.get(id) == null)
+					.forEach(id -> roots.add(nodes.get(id)));
+			
+			return new CategoryTree(Collections.unmodifiableList(roots), Map.copyOf(nodes), 
+					Map.copyOf(summaries), Collections.unmodifiableMap(parentIds));
+		}
+		
+		private static Integer parentIdOf(final Category category, final Map<Integer, Category> byId) {
+			final var parentCategory = category.getParentCategory();
+			return parentCategory == null || !byId.containsKey(parentCategory.getCategoryId()) ? 
+					null : parentCategory.getCategoryId();
+		}
+		
+		private static CategoryDto summary(final Category category, final Set<CategoryDto> subCategoriesDtos) {
+			final var categoryDto = new CategoryDto();
+			categoryDto.setCategoryId(category.getCategoryId());
+			categoryDto.setCategoryTitle(category.getCategoryTitle());
+			categoryDto.setImageUrl(category.getImageUrl());
+			categoryDto.setSubCategoriesDtos(subCategoriesDtos);
+			return categoryDto;
+		}
+		
+		private CategoryDto require(final Integer categoryId) {
+			final var categoryDto = this.nodes.get(categoryId);
+			if (categoryDto == null) {
+				throw new CategoryNotFoundException(String.format("Category with id: %d not found", categoryId));
+			}
+			return categoryDto;
+		}
+		
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,334 @@
+package com.selimhorri.app.service.impl;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.selimhorri.app.config.stock.HotStockProperties;
+import com.selimhorri.app.exception.wrapper.ProductNotFoundException;
+import com.selimhorri.app.repository.ProductRepository;
+import com.selimhorri.app.repository.StockJournalRepository;
+import com.selimhorri.app.service.HotStockService;
+import com.selimhorri.app.stock.StockJournal;
+import com.selimhorri.app.stock.StockJournal.MovementRefusedException;
+import com.selimhorri.app.stock.StripedStockCounter;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Keeps the stock of hot products in striped in-memory counters. The stock is partitioned between
+ * replicas: each instance leases an allocation of a product's untaken units and its counter only
+ * ever holds units of that allocation, taking another chunk when it runs dry, so two replicas never
+ * sell the same unit. A reservation is decided by the counter alone and acknowledged once its
+ * movement is in the stock journal; a scheduled write-behind flush then folds journalled movements
+ * into the allocation in batches. Allocations whose lease is not renewed are handed back to the
+ * product together with their journal, so an acknowledged reservation survives a crash.
+ *
+ * Nothing here runs in a transaction: callers waiting on the journal must not hold a pooled
+ * connection the journal writer needs.
+ */
+@Service
+@Slf4j
+public class HotStockServiceImpl implements HotStockService {
+	
+	private final ProductRepository productRepository;
+	private final StockJournalRepository stockJournalRepository;
+	private final StockJournal stockJournal;
+	private final HotStockProperties hotStockProperties;
+	private final Map<Integer, HotProduct> hotProducts = new ConcurrentHashMap<>();
+	private final Counter reservedCounter;
+	private final Counter rejectedCounter;
+	private final Timer flushLagTimer;
+	
+	public HotStockServiceImpl(final ProductRepository productRepository,
+			final StockJournalRepository stockJournalRepository, final StockJournal stockJournal,
+			final HotStockProperties hotStockProperties, final MeterRegistry meterRegistry) {
+		this.productRepository = productRepository;
+		this.stockJournalRepository = stockJournalRepository;
+		this.stockJournal = stockJournal;
+		this.hotStockProperties = hotStockProperties;
+		this.reservedCounter = Counter.builder("product.stock.hot.reservations")
+				.tag("outcome", "reserved")
+				.register(meterRegistry);
+		this.rejectedCounter = Counter.builder("product.stock.hot.reservations")
+				.tag("outcome", "rejected")
+				.register(meterRegistry);
+		this.flushLagTimer = Timer.builder("product.stock.hot.flush.lag")
+				.description("Age of the oldest journalled stock movement when it was flushed")
+				.register(meterRegistry);
+		Gauge.builder("product.stock.hot.products", this.hotProducts, Map::size)
+				.register(meterRegistry);
+	}
+	
+	@EventListener(ApplicationReadyEvent.class)
+	public void loadAll() {
+		log.info("*** Void, service; load hot stock counters *");
+		this.productRepository.findHotStockProductIds().forEach(this::load);
+	}
+	
+	@Override
+	public void enable(final Integer productId) {
+		log.info("*** Void, service; enable hot stock for product {} *", productId);
+		if (this.productRepository.updateHotStock(productId, true) == 0) {
+			throw new ProductNotFoundException(String.format("Product with id: %d not found", productId));
+		}
+		this.load(productId);
+	}
+	
+	/**
+	 * Hands the product back to conditional row updates, closes the counter, waits for reservations
+	 * already past it to be journalled and returns this instance's allocation. Other replicas return
+	 * theirs on their next lease renewal; until then their units are only sold through them.
+	 */
+	@Override
+	public void disable(final Integer productId) {
+		log.info("*** Void, service; disable hot stock for product {} *", productId);
+		if (this.productRepository.updateHotStock(productId, false) == 0) {
+			throw new ProductNotFoundException(String.format("Product with id: %d not found", productId));
+		}
+		final var hotProduct = this.hotProducts.get(productId);
+		if (hotProduct == null) {
+			return;
+		}
+		synchronized (hotProduct) {
+			hotProduct.closed = true;
+			while (hotProduct.inFlight.sum() != 0) {
+				LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(100));
+			}
+			this.drop(productId, hotProduct);
+		}
+	}
+	
+	/**
+	 * Counters start empty and fill from the product's untaken units on the first reservation.
+	 */
+	@Override
+	public void load(final Integer productId) {
+		this.hotProducts.computeIfAbsent(productId, id -> this.productRepository.findHotStockById(id).orElse(false) ?
+				new HotProduct(new StripedStockCounter(0, this.stripes())) : null);
+	}
+	
+	@Override
+	public Outcome tryReserve(final Integer productId, final int quantity) {
+		for (HotProduct hotProduct = this.hotProducts.get(productId); hotProduct != null;
+				hotProduct = this.awaitSwitch(productId, hotProduct)) {
+			hotProduct.inFlight.increment();
+			try {
+				if (!hotProduct.closed) {
+					if (!this.acquire(productId, hotProduct, quantity)) {
+						if (hotProduct.closed) {
+							continue;
+						}
+						this.rejectedCounter.increment();
+						return Outcome.REJECTED;
+					}
+					try {
+						this.journal(hotProduct, productId, -quantity);
+					}
+					catch (MovementRefusedException e) {
+						this.drop(productId, hotProduct);
+						continue;
+					}
+					catch (RuntimeException e) {
+						hotProduct.counter.release(quantity);
+						throw e;
+					}
+					this.reservedCounter.increment();
+					return Outcome.RESERVED;
+				}
+			}
+			finally {
+				hotProduct.inFlight.decrement();
+			}
+		}
+		return Outcome.NOT_HOT;
+	}
+	
+	@Override
+	public boolean tryRelease(final Integer productId, final int quantity) {
+		for (HotProduct hotProduct = this.hotProducts.get(productId); hotProduct != null;
+				hotProduct = this.awaitSwitch(productId, hotProduct)) {
+			hotProduct.inFlight.increment();
+			try {
+				if (!hotProduct.closed && (hotProduct.allocated || this.allocate(productId, hotProduct, 0, 0) >= 0)) {
+					try {
+						this.journal(hotProduct, productId, quantity);
+					}
+					catch (MovementRefusedException e) {
+						this.drop(productId, hotProduct);
+						continue;
+					}
+					hotProduct.counter.release(quantity);
+					return true;
+				}
+			}
+			finally {
+				hotProduct.inFlight.decrement();
+			}
+		}
+		return false;
+	}
+	
+	@Override
+	@Scheduled(fixedDelayString = "${app.hot-stock.flush-interval:PT1S}")
+	public synchronized void flush() {
+		this.stockJournalRepository.applyPending(this.hotStockProperties.getInstanceId(), this.hotStockProperties.getFlushBatchSize())
+				.ifPresent(oldest -> this.flushLagTimer.record(
+						Math.max(0, System.currentTimeMillis() - oldest), TimeUnit.MILLISECONDS));
+	}
+	
+	/**
+	 * Extends the lease of every allocation this instance holds, returns allocations of products
+	 * no longer in hot stock mode, and hands back allocations of instances that stopped renewing.
+	 * A counter whose allocation was reaped meanwhile is dropped; its unsold units went back with it.
+	 */
+	@Override
+	@Scheduled(fixedDelayString = "${app.hot-stock.lease-renew-interval:PT10S}")
+	public void renewLeases() {
+		final long now = System.currentTimeMillis();
+		final long expiresAt = now + this.hotStockProperties.getAllocationLease().toMillis();
+		this.hotProducts.forEach((productId, hotProduct) -> {
+			if (hotProduct.allocated && this.stockJournalRepository.renewAllocation(hotProduct.allocationId, expiresAt) == 0) {
+				log.warn("*** Void, service; stock allocation of product {} was reaped, dropping counter *", productId);
+				this.drop(productId, hotProduct);
+			}
+		});
+		this.stockJournalRepository.findAllocations(this.hotStockProperties.getInstanceId()).stream()
+				.filter(allocation -> !allocation.isHotStock())
+				.forEach(allocation -> {
+					final var hotProduct = this.hotProducts.get(allocation.getProductId());
+					if (hotProduct != null && allocation.getAllocationId().equals(hotProduct.allocationId)) {
+						this.drop(allocation.getProductId(), hotProduct);
+					}
+					else {
+						this.stockJournalRepository.returnAllocation(allocation.getAllocationId(), Long.MAX_VALUE);
+					}
+				});
+		this.stockJournalRepository.findExpiredAllocations(now).forEach(allocation -> this.stockJournalRepository
+				.returnAllocation(allocation.getAllocationId(), now)
+				.ifPresent(returned -> log.info("*** Void, service; reaped expired stock allocation of product {}: {} units returned *",
+						allocation.getProductId(), returned)));
+	}
+	
+	private boolean acquire(final Integer productId, final HotProduct hotProduct, final int quantity) {
+		while (!hotProduct.counter.tryAcquire(quantity)) {
+			if (hotProduct.counter.available() < quantity
+					&& this.allocate(productId, hotProduct, quantity, this.hotStockProperties.getAllocationChunk()) <= 0) {
+				return false;
+			}
+		}
+		return true;
+	}
+	
+	/**
+	 * Takes up to max(quantity, chunk) more units into the allocation. Returns the units taken, or
+	 * -1 after dropping the counter when the product left hot stock mode or the allocation was reaped.
+	 */
+	private long allocate(final Integer productId, final HotProduct hotProduct, final int quantity, final int chunk) {
+		synchronized (hotProduct.allocation) {
+			if (hotProduct.closed) {
+				return -1;
+			}
+			if (hotProduct.allocated && hotProduct.counter.available() >= quantity) {
+				return quantity;
+			}
+			final var taken = this.stockJournalRepository.allocate(hotProduct.allocationId, productId,
+					this.hotStockProperties.getInstanceId(), quantity, chunk, hotProduct.allocated,
+					System.currentTimeMillis() + this.hotStockProperties.getAllocationLease().toMillis());
+			if (taken.isEmpty()) {
+				this.drop(productId, hotProduct);
+				return -1;
+			}
+			hotProduct.allocated = true;
+			hotProduct.counter.release(Math.toIntExact(taken.getAsLong()));
+			return taken.getAsLong();
+		}
+	}
+	
+	/**
+	 * Retires a counter: reservers move on to a fresh one or to row updates, and the allocation goes
+	 * back to the product. Movements still in flight against it are refused by the journal.
+	 */
+	private void drop(final Integer productId, final HotProduct hotProduct) {
+		synchronized (hotProduct.allocation) {
+			hotProduct.closed = true;
+			this.hotProducts.remove(productId, hotProduct);
+			if (hotProduct.allocated) {
+				this.stockJournalRepository.returnAllocation(hotProduct.allocationId, Long.MAX_VALUE);
+				hotProduct.allocated = false;
+			}
+		}
+	}
+	
+	/**
+	 * Fails only when the movement was not written: a movement the journal writer already picked up
+	 * is waited for rather than withdrawn, so the caller may safely undo its counter update.
+	 */
+	private void journal(final HotProduct hotProduct, final Integer productId, final int delta) {
+		try {
+			this.stockJournal.append(hotProduct.allocationId, productId, delta)
+					.await(this.hotStockProperties.getJournalTimeout());
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while journalling stock movement", e);
+		}
+		catch (ExecutionException e) {
+			if (e.getCause() instanceof MovementRefusedException) {
+				throw (MovementRefusedException) e.getCause();
+			}
+			throw new IllegalStateException(String.format("Could not journal stock movement of product with id: %d", productId), e);
+		}
+		catch (TimeoutException e) {
+			throw new IllegalStateException(String.format("Could not journal stock movement of product with id: %d", productId), e);
+		}
+	}
+	
+	private HotProduct awaitSwitch(final Integer productId, final HotProduct hotProduct) {
+		final long deadline = System.nanoTime() + this.hotStockProperties.getJournalTimeout().toNanos();
+		while (hotProduct.closed && this.hotProducts.get(productId) == hotProduct) {
+			if (System.nanoTime() > deadline) {
+				throw new IllegalStateException(String.format("Product with id: %d is switching stock mode", productId));
+			}
+			LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(100));
+		}
+		return this.hotProducts.get(productId);
+	}
+	
+	private int stripes() {
+		return this.hotStockProperties.getStripes() > 0 ?
+				this.hotStockProperties.getStripes() : 2 * Runtime.getRuntime().availableProcessors();
+	}
+	
+	private static final class HotProduct {
+		
+		private final String allocationId = UUID.randomUUID().toString();
+		private final StripedStockCounter counter;
+		private final LongAdder inFlight = new LongAdder();
+		private final Object allocation = new Object();
+		private volatile boolean allocated;
+		private volatile boolean closed;
+		
+		private HotProduct(final StripedStockCounter counter) {
+			this.counter = counter;
+		}
+	
+	}
+	
+	
+	
+}
@@ -0,0 +1,112 @@
+package com.selimhorri.app.service.impl;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.selimhorri.app.constant.AppConstant;
+import com.selimhorri.app.dto.ProductDto;
+import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
+import com.selimhorri.app.event.CategoryChangedEvent;
+import com.selimhorri.app.event.ProductChangedEvent;
+import com.selimhorri.app.helper.ProductMappingHelper;
+import com.selimhorri.app.repository.ProductRepository;
+import com.selimhorri.app.search.ProductSearchIndex;
+import com.selimhorri.app.service.ProductSearchService;
+import com.selimhorri.app.service.ProductService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class ProductSearchServiceImpl implements ProductSearchService {
+	
+	private final ProductService productService;
+	private final ProductRepository productRepository;
+	private final ProductSearchIndex productSearchIndex = new ProductSearchIndex(
+			AppConstant.MAX_SEARCH_PREFIX_EXPANSIONS, AppConstant.MAX_INDEXED_SEARCH_PREFIX_LENGTH);
+	
+	/**
+	 * Pages deeper than {@link AppConstant#MAX_SEARCH_WINDOW} hits are refused: every hit up to
+	 * the end of the page is ranked and kept in memory to answer it.
+	 */
+	@Override
+	public DtoCollectionResponse<ProductDto> search(final String query, final int offset, final int limit) {
+		log.info("*** ProductDto List, service; search products *");
+		final int from = Math.max(0, offset);
+		final int pageSize = Math.max(1, Math.min(limit, AppConstant.MAX_PAGE_SIZE));
+		if ((long) from + pageSize > AppConstant.MAX_SEARCH_WINDOW) {
+			throw new IllegalArgumentException(String.format("Search results beyond the first %d hits cannot be paged to", 
+					AppConstant.MAX_SEARCH_WINDOW));
+		}
+		final var searchHits = this.productSearchIndex.search(query, from, pageSize);
+		final Map<Integer, ProductDto> productDtos = this.productRepository
+				.findAllByProductIdIn(searchHits.getProductIds())
+				.stream()
+					.map(ProductMappingHelper::map)
+					.collect(Collectors.toMap(ProductDto::getProductId, Function.identity()));
+		return new DtoCollectionResponse<>(searchHits.getProductIds().stream()
+					.map(productDtos::get)
+					.filter(Objects::nonNull)
+					.collect(Collectors.toUnmodifiableList()), 
+				searchHits.getTotal() > from + pageSize ? String.valueOf(from + pageSize) : null);
+	}
+	
+	@Override
+	@EventListener(ApplicationReadyEvent.class)
+	public void buildIndex() {
+		log.info("*** Void, service; build product search index *");
+		final long start = System.nanoTime();
+		this.productSearchIndex.rebuild(this.productService::streamAll);
+		log.info("*** Void, service; indexed {} products in {} ms *", this.productSearchIndex.size(), 
+				(System.nanoTime() - start) / 1_000_000);
+	}
+	
+	@Override
+	@TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+	public void onProductChanged(final ProductChangedEvent productChangedEvent) {
+		log.info("*** Void, service; reindex product {} *", productChangedEvent.getProductId());
+		final var products = this.productRepository.findAllByProductIdIn(List.of(productChangedEvent.getProductId()));
+		if (products.isEmpty()) {
+			this.productSearchIndex.remove(productChangedEvent.getProductId());
+			return;
+		}
+		products.forEach(p -> this.productSearchIndex.index(ProductMappingHelper.map(p)));
+	}
+	
+	@Override
+	@TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+	public void onCategoryChanged(final CategoryChangedEvent categoryChangedEvent) {
+		log.info("*** Void, service; reindex products of category {} *", categoryChangedEvent.getCategoryId());
+		final var stale = this.productSearchIndex.findByCategoryId(categoryChangedEvent.getCategoryId());
+		this.productRepository.findAllByCategoryCategoryId(categoryChangedEvent.getCategoryId())
+				.forEach(p -> {
+					stale.remove(p.getProductId());
+					this.productSearchIndex.index(ProductMappingHelper.map(p));
+				});
+		stale.forEach(this.productSearchIndex::remove);
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -1,13 +1,23 @@
 package com.selimhorri.app.service.impl;
 
 import java.util.List;
+import java.util.Objects;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
+import javax.persistence.EntityManager;
 import javax.transaction.Transactional;
 
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
+import com.selimhorri.app.constant.AppConstant;
+import com.selimhorri.app.domain.Product;
 import com.selimhorri.app.dto.ProductDto;
+import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
+import com.selimhorri.app.event.ProductChangedEvent;
+import com.selimhorri.app.exception.wrapper.HotStockQuantityException;
 import com.selimhorri.app.exception.wrapper.ProductNotFoundException;
 import com.selimhorri.app.helper.ProductMappingHelper;
 import com.selimhorri.app.repository.ProductRepository;
@@ -23,6 +33,8 @@ import lombok.extern.slf4j.Slf4j;
 public class ProductServiceImpl implements ProductService {
 	
 	private final ProductRepository productRepository;
+	private final EntityManager entityManager;
+	private final ApplicationEventPublisher applicationEventPublisher;
 	
 	@Override
 	public List<ProductDto> findAll() {
@@ -30,10 +42,40 @@ public class ProductServiceImpl implements ProductService {
 		return this.productRepository.findAll()
 				.stream()
 					.map(ProductMappingHelper::map)
-					.distinct()
 					.collect(Collectors.toUnmodifiableList());
 	}
 	
+	@Override
+	public DtoCollectionResponse<ProductDto> findAll(final Integer after, final int limit) {
+		log.info("*** ProductDto List, service; fetch page of products *");
+		final int pageSize = Math.max(1, Math.min(limit, AppConstant.MAX_PAGE_SIZE));
+		return DtoCollectionResponse.page(this.productRepository
+				.findByProductIdGreaterThanOrderByProductIdAsc(after == null ? 0 : after, PageRequest.of(0, pageSize))
+				.stream()
+					.map(ProductMappingHelper::map)
+					.collect(Collectors.toUnmodifiableList()), 
+				pageSize, p -> String.valueOf(p.getProductId()));
+	}
+	
+	/**
+	 * The fetched categories stay managed when a product is detached, so the context is
+	 * cleared in chunks of {@link AppConstant#STREAM_CLEAR_INTERVAL} rows instead.
+	 */
+	@Override
+	public void streamAll(final Consumer<ProductDto> consumer) {
+		log.info("*** ProductDto Stream, service; stream all products *");
+		final var productDto = new ProductDto();
+		final long[] streamed = { 0L };
+		try (final var products = this.productRepository.streamAll()) {
+			products.forEach(p -> {
+				consumer.accept(ProductMappingHelper.map(p, productDto));
+				if (++streamed[0] % AppConstant.STREAM_CLEAR_INTERVAL == 0) {
+					this.entityManager.clear();
+				}
+			});
+		}
+	}
+	
 	@Override
 	public ProductDto findById(final Integer productId) {
 		log.info("*** ProductDto, service; fetch product by id *");
@@ -45,28 +87,31 @@ public class ProductServiceImpl implements ProductService {
 	@Override
 	public ProductDto save(final ProductDto productDto) {
 		log.info("*** ProductDto, service; save product *");
-		return ProductMappingHelper.map(this.productRepository
-				.save(ProductMappingHelper.map(productDto)));
+		this.checkHotStockQuantity(productDto.getProductId(), productDto.getQuantity());
+		return this.publishChanged(ProductMappingHelper.map(this.productRepository
+				.save(ProductMappingHelper.map(productDto))));
 	}
 	
 	@Override
 	public ProductDto update(final ProductDto productDto) {
 		log.info("*** ProductDto, service; update product *");
-		return ProductMappingHelper.map(this.productRepository
-				.save(ProductMappingHelper.map(productDto)));
+		this.checkHotStockQuantity(productDto.getProductId(), productDto.getQuantity());
+		return this.publishChanged(ProductMappingHelper.map(this.productRepository
+				.save(ProductMappingHelper.map(productDto))));
 	}
 	
 	@Override
 	public ProductDto update(final Integer productId, final ProductDto productDto) {
 		log.info("*** ProductDto, service; update product with productId *");
 		ProductDto existing = this.findById(productId);
+		this.checkHotStockQuantity(productId, productDto.getQuantity());
 		existing.setProductTitle(productDto.getProductTitle());
 		existing.setImageUrl(productDto.getImageUrl());
 		existing.setSku(productDto.getSku());
 		existing.setPriceUnit(productDto.getPriceUnit());
 		existing.setQuantity(productDto.getQuantity());
 		existing.setCategoryDto(productDto.getCategoryDto());
-		return ProductMappingHelper.map(this.productRepository.save(ProductMappingHelper.map(existing)));
+		return this.publishChanged(ProductMappingHelper.map(this.productRepository.save(ProductMappingHelper.map(existing))));
 	}
 	
 	@Override
@@ -74,6 +119,29 @@ public class ProductServiceImpl implements ProductService {
 		log.info("*** Void, service; delete product by id *");
 		this.productRepository.delete(ProductMappingHelper
 				.map(this.findById(productId)));
+		this.applicationEventPublisher.publishEvent(new ProductChangedEvent(productId));
+	}
+	
+	/**
+	 * Stock of a hot product is split between its row and the allocations of in-memory counters and
+	 * only moves through reservations; overwriting the row would put units back on sale twice.
+	 */
+	private void checkHotStockQuantity(final Integer productId, final Integer quantity) {
+		if (productId == null || !this.productRepository.findHotStockById(productId).orElse(false)) {
+			return;
+		}
+		final var current = this.productRepository.findById(productId)
+				.map(Product::getQuantity)
+				.orElse(null);
+		if (!Objects.equals(current, quantity)) {
+			throw new HotStockQuantityException(String
+					.format("Product with id: %d is in hot stock mode, its quantity only changes through reservations", productId));
+		}
+	}
+	
+	private ProductDto publishChanged(final ProductDto productDto) {
+		this.applicationEventPublisher.publishEvent(new ProductChangedEvent(productDto.getProductId()));
+		return productDto;
 	}
 	
 	
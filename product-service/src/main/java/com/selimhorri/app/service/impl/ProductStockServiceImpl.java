@@ -0,0 +1,237 @@
+package com.selimhorri.app.service.impl;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.Assert;
+
+import com.selimhorri.app.dto.StockReservationDto;
+import com.selimhorri.app.exception.wrapper.InsufficientStockException;
+import com.selimhorri.app.exception.wrapper.ProductNotFoundException;
+import com.selimhorri.app.exception.wrapper.ReservationConflictException;
+import com.selimhorri.app.repository.ProductRepository;
+import com.selimhorri.app.repository.StockReservationRepository;
+import com.selimhorri.app.service.HotStockService;
+import com.selimhorri.app.service.HotStockService.Outcome;
+import com.selimhorri.app.service.ProductStockService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Moves stock with single conditional UPDATE statements instead of reading and
+ * saving the whole product, so concurrent reservations on the same SKU neither
+ * lose updates nor hold the row for longer than one statement. Products in hot
+ * stock mode are reserved in memory by {@link HotStockService} instead.
+ * 
+ * Not transactional at class level: a hot reservation waits on the stock journal
+ * and must not hold a pooled connection meanwhile. Each cold statement commits on
+ * its own; batches open their transaction explicitly.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class ProductStockServiceImpl implements ProductStockService {
+	
+	/** A product switching stock mode rejects both paths for a moment; retry that often. */
+	private static final int MAX_MODE_SWITCH_RETRIES = 3;
+	
+	private final ProductRepository productRepository;
+	private final HotStockService hotStockService;
+	private final TransactionTemplate transactionTemplate;
+	private final StockReservationRepository stockReservationRepository;
+	
+	@Override
+	public StockReservationDto reserve(final Integer productId, final int quantity) {
+		log.info("*** StockReservationDto, service; reserve product stock *");
+		Assert.isTrue(quantity > 0, "Quantity must be positive");
+		for (int attempt = 0; attempt < MAX_MODE_SWITCH_RETRIES; attempt++) {
+			final var outcome = this.hotStockService.tryReserve(productId, quantity);
+			if (outcome == Outcome.REJECTED) {
+				throw insufficientStock(productId, quantity);
+			}
+			if (outcome == Outcome.RESERVED || this.reserveCold(productId, quantity)) {
+				return new StockReservationDto(productId, quantity);
+			}
+			this.hotStockService.load(productId);
+		}
+		throw switchingStockMode(productId);
+	}
+	
+	/**
+	 * All-or-nothing: lines for the same product are merged and reserved in
+	 * ascending product id order, so two overlapping batches always lock rows in
+	 * the same order. Row updates share one transaction; hot reservations made
+	 * before a failing line are released again.
+	 */
+	@Override
+	public List<StockReservationDto> reserveAll(final Collection<StockReservationDto> stockReservationDtos) {
+		log.info("*** StockReservationDto List, service; reserve stock of several products *");
+		Assert.notEmpty(stockReservationDtos, "Reservations must not be empty");
+		final var quantities = new TreeMap<Integer, Integer>();
+		stockReservationDtos.forEach(r -> {
+			Assert.notNull(r.getProductId(), "Product id must not be NULL");
+			Assert.isTrue(r.getQuantity() != null && r.getQuantity() > 0, "Quantity must be positive");
+			quantities.merge(r.getProductId(), r.getQuantity(), Math::addExact);
+		});
+		final var hotReservations = new ArrayList<StockReservationDto>();
+		final var coldQuantities = new TreeMap<Integer, Integer>();
+		try {
+			quantities.forEach((productId, quantity) -> {
+				final var outcome = this.hotStockService.tryReserve(productId, quantity);
+				if (outcome == Outcome.REJECTED) {
+					throw insufficientStock(productId, quantity);
+				}
+				if (outcome == Outcome.RESERVED) {
+					hotReservations.add(new StockReservationDto(productId, quantity));
+					return;
+				}
+				coldQuantities.put(productId, quantity);
+			});
+			this.transactionTemplate.executeWithoutResult(status -> coldQuantities.forEach((productId, quantity) -> {
+				if (!this.reserveCold(productId, quantity)) {
+					throw switchingStockMode(productId);
+				}
+			}));
+		}
+		catch (RuntimeException e) {
+			hotReservations.forEach(r -> {
+				try {
+					this.hotStockService.tryRelease(r.getProductId(), r.getQuantity());
+				}
+				catch (RuntimeException suppressed) {
+					e.addSuppressed(suppressed);
+				}
+			});
+			throw e;
+		}
+		return quantities.entrySet().stream()
+				.map(e -> new StockReservationDto(e.getKey(), e.getValue()))
+				.collect(Collectors.toUnmodifiableList());
+	}
+	
+	/**
+	 * Idempotent under the reservation id: a retry returns the lines reserved the first time, and
+	 * a reservation released, or released before it arrived, is refused.
+	 */
+	@Override
+	public List<StockReservationDto> reserveAll(final String reservationId, 
+			final Collection<StockReservationDto> stockReservationDtos) {
+		log.info("*** StockReservationDto List, service; reserve stock of several products under an id *");
+		Assert.hasText(reservationId, "Reservation id must not be blank");
+		final var existing = this.findReservation(reservationId);
+		if (existing != null) {
+			return existing;
+		}
+		final var reserved = this.reserveAll(stockReservationDtos);
+		try {
+			this.stockReservationRepository.save(reservationId, reserved);
+			return reserved;
+		}
+		catch (DuplicateKeyException e) {
+			reserved.forEach(r -> this.release(r.getProductId(), r.getQuantity()));
+			final var concurrent = this.findReservation(reservationId);
+			if (concurrent == null) {
+				throw e;
+			}
+			return concurrent;
+		}
+	}
+	
+	/**
+	 * Puts the stock of a reservation back once. Releasing an id nothing was reserved under yet
+	 * is recorded, so a reservation still in flight under it is refused when it arrives.
+	 */
+	@Override
+	public List<StockReservationDto> releaseReservation(final String reservationId) {
+		log.info("*** StockReservationDto List, service; release stock reserved under an id *");
+		Assert.hasText(reservationId, "Reservation id must not be blank");
+		List<StockReservationDto> lines;
+		try {
+			lines = this.stockReservationRepository.release(reservationId);
+		}
+		catch (DuplicateKeyException e) {
+			lines = this.stockReservationRepository.release(reservationId);
+		}
+		lines.forEach(r -> this.release(r.getProductId(), r.getQuantity()));
+		return lines;
+	}
+	
+	@Override
+	public StockReservationDto release(final Integer productId, final int quantity) {
+		log.info("*** StockReservationDto, service; release product stock *");
+		Assert.isTrue(quantity > 0, "Quantity must be positive");
+		for (int attempt = 0; attempt < MAX_MODE_SWITCH_RETRIES; attempt++) {
+			if (this.hotStockService.tryRelease(productId, quantity) 
+					|| this.productRepository.releaseStock(productId, quantity) > 0) {
+				return new StockReservationDto(productId, quantity);
+			}
+			if (this.isHotStock(productId)) {
+				this.hotStockService.load(productId);
+			}
+		}
+		throw switchingStockMode(productId);
+	}
+	
+	/**
+	 * Returns false when the product is in hot stock mode and must be reserved in memory.
+	 */
+	private boolean reserveCold(final Integer productId, final int quantity) {
+		if (this.productRepository.reserveStock(productId, quantity) > 0) {
+			return true;
+		}
+		if (!this.isHotStock(productId)) {
+			throw insufficientStock(productId, quantity);
+		}
+		return false;
+	}
+	
+	/**
+	 * Returns the lines of a live reservation, null when there is none under that id.
+	 */
+	private List<StockReservationDto> findReservation(final String reservationId) {
+		final var released = this.stockReservationRepository.findReleasedById(reservationId);
+		if (released.isEmpty()) {
+			return null;
+		}
+		if (released.get()) {
+			throw new ReservationConflictException(
+					String.format("Reservation with id: %s has already been released", reservationId));
+		}
+		return this.stockReservationRepository.findLinesById(reservationId);
+	}
+	
+	private boolean isHotStock(final Integer productId) {
+		return this.productRepository.findHotStockById(productId)
+				.orElseThrow(() -> new ProductNotFoundException(String.format("Product with id: %d not found", productId)));
+	}
+	
+	private static InsufficientStockException insufficientStock(final Integer productId, final int quantity) {
+		return new InsufficientStockException(
+				String.format("Product with id: %d has less than %d units in stock", productId, quantity));
+	}
+	
+	private static InsufficientStockException switchingStockMode(final Integer productId) {
+		return new InsufficientStockException(
+				String.format("Product with id: %d is switching stock mode, retry", productId));
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,165 @@
+package com.selimhorri.app.stock;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Group-commit journal of stock movements decided in memory. Callers enqueue a movement and wait
+ * on it; a single writer thread hands everything queued while the previous batch was being written
+ * to the sink in one go, so a burst of reservations costs one commit instead of one each. A wait
+ * succeeds only after the sink returned without refusing the movement, i.e. once it is durable.
+ * 
+ * A caller that gives up withdraws its movement, unless the writer already claimed it for a batch:
+ * a failed wait therefore always means the movement was not written.
+ */
+@Slf4j
+public class StockJournal implements AutoCloseable {
+	
+	private final Function<List<Movement>, Collection<Movement>> sink;
+	private final int maxBatchSize;
+	private final BlockingQueue<Movement> queue = new LinkedBlockingQueue<>();
+	private final Thread writer;
+	private volatile boolean running = true;
+	
+	/**
+	 * @param sink writes a batch in one transaction and returns the movements it refused to write
+	 */
+	public StockJournal(final Function<List<Movement>, Collection<Movement>> sink, final int maxBatchSize) {
+		this.sink = sink;
+		this.maxBatchSize = Math.max(1, maxBatchSize);
+		this.writer = new Thread(this::write, "stock-journal");
+		this.writer.setDaemon(true);
+		this.writer.start();
+	}
+	
+	public Movement append(final String allocationId, final Integer productId, final int delta) {
+		final var movement = new Movement(allocationId, productId, delta, System.currentTimeMillis());
+		if (!this.running) {
+			movement.claimed.set(true);
+			movement.committed.completeExceptionally(new IllegalStateException("Stock journal is closed"));
+			return movement;
+		}
+		this.queue.add(movement);
+		return movement;
+	}
+	
+	public int pending() {
+		return this.queue.size();
+	}
+	
+	@Override
+	public void close() throws InterruptedException {
+		this.running = false;
+		this.writer.join(TimeUnit.SECONDS.toMillis(10));
+		final var exception = new IllegalStateException("Stock journal is closed");
+		this.queue.stream()
+				.filter(m -> m.claimed.compareAndSet(false, true))
+				.forEach(m -> m.committed.completeExceptionally(exception));
+	}
+	
+	private void write() {
+		final var batch = new ArrayList<Movement>(this.maxBatchSize);
+		while (this.running || !this.queue.isEmpty()) {
+			try {
+				final var first = this.queue.poll(100, TimeUnit.MILLISECONDS);
+				if (first == null) {
+					continue;
+				}
+				batch.add(first);
+				this.queue.drainTo(batch, this.maxBatchSize - 1);
+				batch.removeIf(m -> !m.claimed.compareAndSet(false, true));
+				if (batch.isEmpty()) {
+					continue;
+				}
+				final var refused = this.sink.apply(batch);
+				refused.forEach(m -> m.committed.completeExceptionally(new MovementRefusedException(String
+						.format("Stock allocation of product with id: %d is no longer held", m.getProductId()))));
+				batch.forEach(m -> m.committed.complete(null));
+			}
+			catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return;
+			}
+			catch (RuntimeException e) {
+				log.error("*** StockJournal; failed to write {} stock movements *", batch.size(), e);
+				batch.forEach(m -> m.committed.completeExceptionally(e));
+			}
+			finally {
+				batch.clear();
+			}
+		}
+	}
+	
+	@RequiredArgsConstructor
+	@Getter
+	public static final class Movement {
+		
+		private final String allocationId;
+		private final Integer productId;
+		private final int delta;
+		private final long createdAt;
+		@Getter(AccessLevel.NONE)
+		private final CompletableFuture<Void> committed = new CompletableFuture<>();
+		@Getter(AccessLevel.NONE)
+		private final AtomicBoolean claimed = new AtomicBoolean();
+		
+		/**
+		 * Waits for the movement to be written. On timeout or interrupt the movement is withdrawn
+		 * from the queue; if the writer claimed it first, its batch is already on the way to the
+		 * database and the wait continues until the batch outcome is known.
+		 */
+		public void await(final Duration timeout) throws InterruptedException, ExecutionException, TimeoutException {
+			try {
+				this.committed.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+			}
+			catch (InterruptedException | TimeoutException e) {
+				if (this.claimed.compareAndSet(false, true)) {
+					throw e;
+				}
+				log.warn("*** StockJournal; movement of product {} already claimed, waiting for its batch *", this.productId);
+				try {
+					this.committed.join();
+				}
+				catch (CompletionException ce) {
+					throw new ExecutionException(ce.getCause());
+				}
+				finally {
+					if (e instanceof InterruptedException) {
+						Thread.currentThread().interrupt();
+					}
+				}
+			}
+		}
+		
+	}
+	
+	/**
+	 * The sink refused the movement because the allocation it was made against is gone.
+	 */
+	public static class MovementRefusedException extends IllegalStateException {
+		
+		private static final long serialVersionUID = 1L;
+		
+		public MovementRefusedException(final String message) {
+			super(message);
+		}
+		
+	}
+	
+}
@@ -0,0 +1,80 @@
+package com.selimhorri.app.stock;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Available quantity of one product, split across padded stripes so that concurrent reservers
+ * mostly compare-and-set their own cache line. A reservation only ever takes units from a single
+ * stripe that holds enough of them, so the total can never go negative. When no stripe holds enough,
+ * the stripes are drained and re-spread under a lock, which makes a rejection authoritative.
+ */
+public final class StripedStockCounter {
+	
+	/** Longs per stripe: 16 x 8 bytes keeps neighbouring stripes on different cache lines. */
+	private static final int PADDING = 16;
+	
+	private final AtomicLongArray cells;
+	private final int mask;
+	
+	public StripedStockCounter(final long available, final int stripes) {
+		final int size = stripes <= 1 ? 1 : Integer.highestOneBit(stripes - 1) << 1;
+		this.cells = new AtomicLongArray(size * PADDING);
+		this.mask = size - 1;
+		this.spread(Math.max(0, available));
+	}
+	
+	public boolean tryAcquire(final int quantity) {
+		final int home = this.home();
+		for (int i = 0; i <= this.mask; i++) {
+			final int index = ((home + i) & this.mask) * PADDING;
+			for (long current = this.cells.get(index); current >= quantity; current = this.cells.get(index)) {
+				if (this.cells.compareAndSet(index, current, current - quantity)) {
+					return true;
+				}
+			}
+		}
+		return this.acquireConsolidated(quantity);
+	}
+	
+	public void release(final int quantity) {
+		this.cells.getAndAdd(this.home() * PADDING, quantity);
+	}
+	
+	public long available() {
+		long available = 0;
+		for (int i = 0; i <= this.mask; i++) {
+			available += this.cells.get(i * PADDING);
+		}
+		return available;
+	}
+	
+	public int stripes() {
+		return this.mask + 1;
+	}
+	
+	private synchronized boolean acquireConsolidated(final int quantity) {
+		long available = 0;
+		for (int i = 0; i <= this.mask; i++) {
+			available += this.cells.getAndSet(i * PADDING, 0);
+		}
+		final boolean acquired = available >= quantity;
+		this.spread(acquired ? available - quantity : available);
+		return acquired;
+	}
+	
+	/**
+	 * Adds rather than sets, so units released into a stripe while it was drained are kept.
+	 */
+	private void spread(final long available) {
+		final long share = available / (this.mask + 1);
+		this.cells.getAndAdd(0, available - share * this.mask);
+		for (int i = 1; i <= this.mask; i++) {
+			this.cells.getAndAdd(i * PADDING, share);
+		}
+	}
+	
+	private int home() {
+		return (int) ((Thread.currentThread().getId() * 0x9E3779B97F4A7C15L) >>> 32) & this.mask;
+	}
+	
+}
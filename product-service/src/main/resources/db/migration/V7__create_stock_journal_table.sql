@@ -0,0 +1,13 @@
+
+ALTER TABLE products
+  ADD hot_stock BOOLEAN DEFAULT FALSE NOT NULL;
+
+CREATE TABLE stock_journal (
+	journal_id BIGINT NOT NULL PRIMARY KEY AUTO_INCREMENT,
+	product_id INT(11) NOT NULL,
+	delta INT(11) NOT NULL,
+	created_at BIGINT NOT NULL
+);
+
+CREATE INDEX idx_stock_journal_product_id ON stock_journal (product_id);
+
@@ -0,0 +1,23 @@
+
+UPDATE products
+  SET quantity = COALESCE(quantity, 0) + COALESCE((SELECT SUM(j.delta) FROM stock_journal j WHERE j.product_id = products.product_id), 0)
+  WHERE hot_stock = TRUE;
+
+DELETE FROM stock_journal;
+
+ALTER TABLE stock_journal
+  ADD allocation_id VARCHAR(36) NOT NULL;
+
+CREATE INDEX idx_stock_journal_allocation_id ON stock_journal (allocation_id);
+
+CREATE TABLE stock_allocations (
+	allocation_id VARCHAR(36) NOT NULL PRIMARY KEY,
+	product_id INT(11) NOT NULL,
+	instance_id VARCHAR(64) NOT NULL,
+	quantity BIGINT NOT NULL,
+	expires_at BIGINT NOT NULL
+);
+
+CREATE INDEX idx_stock_allocations_instance_id ON stock_allocations (instance_id);
+CREATE INDEX idx_stock_allocations_expires_at ON stock_allocations (expires_at);
+
@@ -0,0 +1,14 @@
+
+CREATE TABLE stock_reservations (
+	reservation_id VARCHAR(64) NOT NULL PRIMARY KEY,
+	released BOOLEAN DEFAULT FALSE NOT NULL,
+	created_at TIMESTAMP DEFAULT LOCALTIMESTAMP NOT NULL
+);
+
+CREATE TABLE stock_reservation_lines (
+	reservation_id VARCHAR(64) NOT NULL,
+	product_id INT(11) NOT NULL,
+	quantity INT(11) NOT NULL,
+	PRIMARY KEY (reservation_id, product_id)
+);
+
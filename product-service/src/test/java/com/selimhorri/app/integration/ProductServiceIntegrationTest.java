@@ -2,6 +2,7 @@ package com.selimhorri.app.integration;
 
 import com.selimhorri.app.dto.ProductDto;
 import com.selimhorri.app.dto.CategoryDto;
+import com.selimhorri.app.dto.StockReservationDto;
 import com.selimhorri.app.repository.ProductRepository;
 import com.selimhorri.app.domain.Product;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -14,8 +15,10 @@ import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+import static org.junit.jupiter.api.Assertions.*;
 import com.selimhorri.app.repository.CategoryRepository;
 import com.selimhorri.app.domain.Category;
+import java.util.List;
 
 @SpringBootTest
 @AutoConfigureMockMvc
@@ -78,6 +81,99 @@ class ProductServiceIntegrationTest {
                 .andExpect(jsonPath("$.collection").exists());
     }
     @Test
+    void testListProductsPageByCursor() throws Exception {
+        Category category = categoryRepository.save(Category.builder().categoryTitle("Cat6").build());
+        Product first = productRepository.save(Product.builder().category(category).build());
+        Product second = productRepository.save(Product.builder().category(category).build());
+        productRepository.save(Product.builder().category(category).build());
+        mockMvc.perform(get("/api/products")
+                .param("after", String.valueOf(first.getProductId() - 1))
+                .param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.collection.length()").value(2))
+                .andExpect(jsonPath("$.collection[0].productId").value(first.getProductId()))
+                .andExpect(jsonPath("$.nextCursor").value(String.valueOf(second.getProductId())));
+    }
+    @Test
+    void testStreamProductsAsNdjson() throws Exception {
+        Category category = categoryRepository.save(Category.builder().categoryTitle("Cat7").build());
+        productRepository.save(Product.builder().productTitle("Streamed").category(category).build());
+        String body = mockMvc.perform(get("/api/products/stream"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString();
+        String[] lines = body.split("\n");
+        assertEquals(productRepository.count(), lines.length);
+        assertTrue(body.contains("\"productTitle\":\"Streamed\""));
+    }
+    @Test
+    void testSearchProductsAfterCreate() throws Exception {
+        Category category = categoryRepository.save(Category.builder().categoryTitle("Kitchen").build());
+        ProductDto productDto = buildValidProduct("Quantum Toaster", category.getCategoryId());
+        productDto.setProductId(null);
+        mockMvc.perform(post("/api/products")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(productDto)))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/products/search").param("q", "quantum toast"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.collection.length()").value(1))
+                .andExpect(jsonPath("$.collection[0].productTitle").value("Quantum Toaster"));
+    }
+    @Test
+    void testSearchPagesBeyondTheWindowAreRejected() throws Exception {
+        mockMvc.perform(get("/api/products/search").param("q", "shoe").param("offset", "9990").param("limit", "10"))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/products/search").param("q", "shoe").param("offset", "9991").param("limit", "10"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/products/search").param("q", "shoe").param("offset", String.valueOf(Integer.MAX_VALUE)))
+                .andExpect(status().isBadRequest());
+    }
+    @Test
+    void testReserveAndReleaseStock() throws Exception {
+        Category category = categoryRepository.save(Category.builder().categoryTitle("Cat8").build());
+        Product product = productRepository.save(Product.builder().quantity(3).category(category).build());
+        String reservation = objectMapper.writeValueAsString(StockReservationDto.builder().quantity(2).build());
+        mockMvc.perform(post("/api/products/" + product.getProductId() + "/reserve")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(reservation))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.quantity").value(2));
+        mockMvc.perform(post("/api/products/" + product.getProductId() + "/reserve")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(reservation))
+                .andExpect(status().isConflict());
+        mockMvc.perform(post("/api/products/" + product.getProductId() + "/release")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(reservation))
+                .andExpect(status().isOk());
+        assertEquals(3, productRepository.findById(product.getProductId()).orElseThrow().getQuantity());
+    }
+    @Test
+    void testReserveStockOfSeveralProductsIsAllOrNothing() throws Exception {
+        Category category = categoryRepository.save(Category.builder().categoryTitle("Cat9").build());
+        Product plenty = productRepository.save(Product.builder().quantity(10).category(category).build());
+        Product scarce = productRepository.save(Product.builder().quantity(1).category(category).build());
+        DtoCollectionResponse<StockReservationDto> reservations = new DtoCollectionResponse<>(List.of(
+                new StockReservationDto(plenty.getProductId(), 4),
+                new StockReservationDto(scarce.getProductId(), 2)));
+        mockMvc.perform(post("/api/products/reserve")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(reservations)))
+                .andExpect(status().isConflict());
+        assertEquals(10, productRepository.findById(plenty.getProductId()).orElseThrow().getQuantity());
+        reservations.setCollection(List.of(
+                new StockReservationDto(scarce.getProductId(), 1),
+                new StockReservationDto(plenty.getProductId(), 4)));
+        mockMvc.perform(post("/api/products/reserve")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(reservations)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.collection[0].productId").value(plenty.getProductId()));
+        assertEquals(6, productRepository.findById(plenty.getProductId()).orElseThrow().getQuantity());
+        assertEquals(0, productRepository.findById(scarce.getProductId()).orElseThrow().getQuantity());
+    }
+    @Test
     void testUpdateProduct() throws Exception {
         Category category = Category.builder().categoryId(4).categoryTitle("Cat4").build();
         categoryRepository.save(category);
@@ -0,0 +1,204 @@
+package com.selimhorri.app.integration;
+
+import com.selimhorri.app.config.stock.HotStockProperties;
+import com.selimhorri.app.domain.Category;
+import com.selimhorri.app.domain.Product;
+import com.selimhorri.app.dto.ProductDto;
+import com.selimhorri.app.exception.wrapper.HotStockQuantityException;
+import com.selimhorri.app.dto.StockReservationDto;
+import com.selimhorri.app.exception.wrapper.InsufficientStockException;
+import com.selimhorri.app.exception.wrapper.ReservationConflictException;
+import com.selimhorri.app.repository.CategoryRepository;
+import com.selimhorri.app.repository.ProductRepository;
+import com.selimhorri.app.repository.StockJournalRepository;
+import com.selimhorri.app.service.HotStockService;
+import com.selimhorri.app.service.ProductService;
+import com.selimhorri.app.service.ProductStockService;
+import com.selimhorri.app.service.impl.HotStockServiceImpl;
+import com.selimhorri.app.stock.StockJournal;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "spring.jpa.show-sql=false",
+        "logging.level.org.hibernate.SQL=INFO",
+        "spring.datasource.hikari.maximum-pool-size=16"
+})
+class ProductStockConcurrencyIntegrationTest {
+    private static final Logger log = LoggerFactory.getLogger(ProductStockConcurrencyIntegrationTest.class);
+    private static final int RESERVERS = 64;
+    private static final int ATTEMPTS_PER_RESERVER = 25;
+    private static final int STOCK = 1000;
+    @Autowired
+    private ProductStockService productStockService;
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private CategoryRepository categoryRepository;
+    @Autowired
+    private HotStockService hotStockService;
+    @Autowired
+    private StockJournalRepository stockJournalRepository;
+    @Autowired
+    private ProductService productService;
+
+    @Test
+    void testConcurrentReservationsNeverOversell() throws Exception {
+        Category category = categoryRepository.save(Category.builder().categoryTitle("Hot").build());
+        Product product = productRepository.save(Product.builder().quantity(STOCK).category(category).build());
+        assertEquals(STOCK, reserveConcurrently(product.getProductId(), "row updates"));
+        assertEquals(0, productRepository.findById(product.getProductId()).orElseThrow().getQuantity());
+    }
+    @Test
+    void testConcurrentHotStockReservationsNeverOversell() throws Exception {
+        Category category = categoryRepository.save(Category.builder().categoryTitle("Flash").build());
+        Product product = productRepository.save(Product.builder().quantity(STOCK).category(category).build());
+        hotStockService.enable(product.getProductId());
+        assertEquals(STOCK, reserveConcurrently(product.getProductId(), "hot stock"));
+        assertEquals(0, stockJournalRepository.findAvailable(product.getProductId()).orElseThrow());
+        productStockService.release(product.getProductId(), 5);
+        hotStockService.disable(product.getProductId());
+        assertEquals(5, productRepository.findById(product.getProductId()).orElseThrow().getQuantity());
+        productStockService.reserve(product.getProductId(), 5);
+        assertThrows(InsufficientStockException.class, () -> productStockService.reserve(product.getProductId(), 1));
+    }
+    @Test
+    void testHotStockSurvivesRestartBeforeFlush() {
+        Category category = categoryRepository.save(Category.builder().categoryTitle("Restart").build());
+        Product product = productRepository.save(Product.builder().quantity(10).category(category).build());
+        hotStockService.enable(product.getProductId());
+        productStockService.reserve(product.getProductId(), 4);
+        assertEquals(6, stockJournalRepository.findAvailable(product.getProductId()).orElseThrow());
+        hotStockService.flush();
+        assertEquals(6, stockJournalRepository.findAvailable(product.getProductId()).orElseThrow());
+        // the allocation's lease runs out as if the instance had crashed: it is reaped with its journal
+        stockJournalRepository.findExpiredAllocations(Long.MAX_VALUE).forEach(a -> stockJournalRepository
+                .returnAllocation(a.getAllocationId(), Long.MAX_VALUE));
+        assertEquals(6, productRepository.findById(product.getProductId()).orElseThrow().getQuantity());
+        // the counter of the reaped allocation is dropped, reservations move on to a fresh one
+        productStockService.reserve(product.getProductId(), 6);
+        assertThrows(InsufficientStockException.class, () -> productStockService.reserve(product.getProductId(), 1));
+        hotStockService.disable(product.getProductId());
+        assertEquals(0, productRepository.findById(product.getProductId()).orElseThrow().getQuantity());
+    }
+    @Test
+    void testHotStockReplicasNeverOversell() throws Exception {
+        Category category = categoryRepository.save(Category.builder().categoryTitle("Replicas").build());
+        Product product = productRepository.save(Product.builder().quantity(STOCK).category(category).build());
+        hotStockService.enable(product.getProductId());
+        HotStockProperties replicaProperties = new HotStockProperties();
+        replicaProperties.setAllocationChunk(7);
+        try (StockJournal replicaJournal = new StockJournal(stockJournalRepository::saveAll, 100)) {
+            HotStockService replica = new HotStockServiceImpl(productRepository, stockJournalRepository, replicaJournal,
+                    replicaProperties, new SimpleMeterRegistry());
+            replica.load(product.getProductId());
+            AtomicInteger reserved = new AtomicInteger();
+            ExecutorService executor = Executors.newFixedThreadPool(8);
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                HotStockService instance = i % 2 == 0 ? hotStockService : replica;
+                futures.add(executor.submit(() -> {
+                    for (int a = 0; a < STOCK / 4; a++) {
+                        if (instance.tryReserve(product.getProductId(), 1) == HotStockService.Outcome.RESERVED) {
+                            reserved.incrementAndGet();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(2, TimeUnit.MINUTES);
+            }
+            executor.shutdown();
+            assertEquals(STOCK, reserved.get());
+            assertEquals(0, stockJournalRepository.findAvailable(product.getProductId()).orElseThrow());
+            assertTrue(replica.tryRelease(product.getProductId(), 3));
+            hotStockService.disable(product.getProductId());
+            replica.renewLeases();
+            assertEquals(3, productRepository.findById(product.getProductId()).orElseThrow().getQuantity());
+        }
+    }
+    @Test
+    void testQuantityOfHotProductCannotBeOverwritten() {
+        Category category = categoryRepository.save(Category.builder().categoryTitle("Overwrite").build());
+        Product product = productRepository.save(Product.builder().quantity(10).category(category).build());
+        hotStockService.enable(product.getProductId());
+        ProductDto productDto = productService.findById(product.getProductId());
+        productDto.setQuantity(100);
+        assertThrows(HotStockQuantityException.class, () -> productService.update(product.getProductId(), productDto));
+        productDto.setQuantity(10);
+        productDto.setProductTitle("Renamed");
+        assertEquals("Renamed", productService.update(product.getProductId(), productDto).getProductTitle());
+        hotStockService.disable(product.getProductId());
+    }
+
+    @Test
+    void testReservationUnderIdIsIdempotentAndReleasedOnce() {
+        Category category = categoryRepository.save(Category.builder().categoryTitle("Checkout").build());
+        Product product = productRepository.save(Product.builder().quantity(10).category(category).build());
+        List<StockReservationDto> lines = List.of(new StockReservationDto(product.getProductId(), 3));
+        productStockService.reserveAll("checkout-1", lines);
+        productStockService.reserveAll("checkout-1", lines);
+        assertEquals(7, productRepository.findById(product.getProductId()).orElseThrow().getQuantity());
+        assertEquals(lines, productStockService.releaseReservation("checkout-1"));
+        assertEquals(List.of(), productStockService.releaseReservation("checkout-1"));
+        assertEquals(10, productRepository.findById(product.getProductId()).orElseThrow().getQuantity());
+        assertThrows(ReservationConflictException.class, () -> productStockService.reserveAll("checkout-1", lines));
+    }
+    @Test
+    void testReservationArrivingAfterItsReleaseIsRefused() {
+        Category category = categoryRepository.save(Category.builder().categoryTitle("Late").build());
+        Product product = productRepository.save(Product.builder().quantity(10).category(category).build());
+        assertEquals(List.of(), productStockService.releaseReservation("checkout-2"));
+        assertThrows(ReservationConflictException.class,
+                () -> productStockService.reserveAll("checkout-2", List.of(new StockReservationDto(product.getProductId(), 3))));
+        assertEquals(10, productRepository.findById(product.getProductId()).orElseThrow().getQuantity());
+    }
+
+    private int reserveConcurrently(Integer productId, String mode) throws Exception {
+        AtomicInteger reserved = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(RESERVERS);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < RESERVERS; i++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int a = 0; a < ATTEMPTS_PER_RESERVER; a++) {
+                    try {
+                        productStockService.reserve(productId, 1);
+                        reserved.incrementAndGet();
+                    } catch (InsufficientStockException e) {
+                        rejected.incrementAndGet();
+                    }
+                }
+                return null;
+            }));
+        }
+        long startedAt = System.nanoTime();
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(2, TimeUnit.MINUTES);
+        }
+        long elapsedNanos = System.nanoTime() - startedAt;
+        executor.shutdown();
+        int attempts = RESERVERS * ATTEMPTS_PER_RESERVER;
+        log.info("{}: {} reservers, {} attempts in {} ms ({} reservations/s)", mode, RESERVERS, attempts,
+                TimeUnit.NANOSECONDS.toMillis(elapsedNanos), Math.round(attempts * 1e9 / elapsedNanos));
+        assertEquals(attempts - reserved.get(), rejected.get());
+        return reserved.get();
+    }
+}
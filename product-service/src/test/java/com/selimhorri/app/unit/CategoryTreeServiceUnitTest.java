@@ -0,0 +1,77 @@
+package com.selimhorri.app.unit;
+
+import com.selimhorri.app.service.impl.CategoryTreeServiceImpl;
+import com.selimhorri.app.domain.Category;
+import com.selimhorri.app.dto.CategoryDto;
+import com.selimhorri.app.event.CategoryChangedEvent;
+import com.selimhorri.app.exception.wrapper.CategoryNotFoundException;
+import com.selimhorri.app.repository.CategoryRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import java.util.List;
+import java.util.stream.Collectors;
+import static org.mockito.Mockito.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class CategoryTreeServiceUnitTest {
+    @InjectMocks
+    private CategoryTreeServiceImpl categoryTreeService;
+    @Mock
+    private CategoryRepository categoryRepository;
+
+    private Category root;
+    private Category child;
+    private Category grandChild;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        root = Category.builder().categoryId(1).categoryTitle("Root").build();
+        child = Category.builder().categoryId(2).categoryTitle("Child").parentCategory(root).build();
+        grandChild = Category.builder().categoryId(3).categoryTitle("GrandChild").parentCategory(child).build();
+        when(categoryRepository.findAllWithParent()).thenReturn(List.of(root, child, grandChild));
+    }
+
+    @Test
+    void testTreeNestsSubCategoriesUnderRoots() {
+        List<CategoryDto> tree = categoryTreeService.findTree();
+        assertEquals(1, tree.size());
+        CategoryDto childDto = tree.get(0).getSubCategoriesDtos().iterator().next();
+        assertEquals("Child", childDto.getCategoryTitle());
+        assertEquals("GrandChild", childDto.getSubCategoriesDtos().iterator().next().getCategoryTitle());
+    }
+    @Test
+    void testAncestorsAreServedNearestFirstFromOneSnapshot() {
+        List<Integer> ancestorIds = categoryTreeService.findAncestors(3).stream()
+            .map(CategoryDto::getCategoryId)
+            .collect(Collectors.toList());
+        assertEquals(List.of(2, 1), ancestorIds);
+        categoryTreeService.findDescendants(1);
+        verify(categoryRepository, times(1)).findAllWithParent();
+    }
+    @Test
+    void testUnknownCategoryIsNotFound() {
+        assertThrows(CategoryNotFoundException.class, () -> categoryTreeService.findDescendants(42));
+    }
+    @Test
+    void testRebuildPicksUpCategoryChanges() {
+        assertEquals(1, categoryTreeService.findDescendants(1).size());
+        Category sibling = Category.builder().categoryId(4).categoryTitle("Sibling").parentCategory(root).build();
+        when(categoryRepository.findAllWithParent()).thenReturn(List.of(root, child, grandChild, sibling));
+        categoryTreeService.rebuild(new CategoryChangedEvent(4));
+        assertEquals(2, categoryTreeService.findDescendants(1).size());
+    }
+    @Test
+    void testParentCycleIsServedWithoutLooping() {
+        Category first = Category.builder().categoryId(5).categoryTitle("First").build();
+        Category second = Category.builder().categoryId(6).categoryTitle("Second").parentCategory(first).build();
+        first.setParentCategory(second);
+        when(categoryRepository.findAllWithParent()).thenReturn(List.of(first, second));
+        categoryTreeService.rebuild(new CategoryChangedEvent(5));
+        assertEquals(1, categoryTreeService.findTree().size());
+        assertEquals(1, categoryTreeService.findAncestors(6).size());
+    }
+}
@@ -0,0 +1,101 @@
+package com.selimhorri.app.unit;
+
+import com.selimhorri.app.dto.CategoryDto;
+import com.selimhorri.app.dto.ProductDto;
+import com.selimhorri.app.search.ProductSearchIndex;
+import com.selimhorri.app.search.SearchHits;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProductSearchIndexTest {
+    private ProductSearchIndex index;
+
+    private ProductDto buildProduct(int productId, String title, String sku, int categoryId, String categoryTitle) {
+        return ProductDto.builder()
+            .productId(productId)
+            .productTitle(title)
+            .sku(sku)
+            .categoryDto(CategoryDto.builder().categoryId(categoryId).categoryTitle(categoryTitle).build())
+            .build();
+    }
+
+    @BeforeEach
+    void setUp() {
+        index = new ProductSearchIndex(50, 4);
+        index.rebuild(consumer -> List.of(
+                buildProduct(1, "Red running shoe", "SKU-RUN-1", 1, "Shoes"),
+                buildProduct(2, "Blue running shirt", "SKU-RUN-2", 2, "Shirts"),
+                buildProduct(3, "Red rain jacket", "SKU-RAIN-3", 3, "Jackets"))
+            .forEach(consumer));
+    }
+
+    @Test
+    void testTermsAreMatchedWithAndSemantics() {
+        SearchHits hits = index.search("red running", 0, 10);
+        assertEquals(1, hits.getTotal());
+        assertEquals(List.of(1), hits.getProductIds());
+    }
+    @Test
+    void testPrefixMatchesRankBelowExactMatches() {
+        index.index(buildProduct(4, "Runner socks", "SKU-SOCK-4", 1, "Socks"));
+        SearchHits hits = index.search("run", 0, 10);
+        assertEquals(3, hits.getTotal());
+        assertEquals(List.of(1, 2), hits.getProductIds().subList(0, 2));
+    }
+    @Test
+    void testOffsetPagesThroughRankedHits() {
+        SearchHits firstPage = index.search("r", 0, 2);
+        SearchHits secondPage = index.search("r", 2, 2);
+        assertEquals(3, firstPage.getTotal());
+        assertEquals(2, firstPage.getProductIds().size());
+        assertEquals(1, secondPage.getProductIds().size());
+        assertFalse(firstPage.getProductIds().contains(secondPage.getProductIds().get(0)));
+    }
+    @Test
+    void testUpdateAndRemoveAreVisibleToQueries() {
+        index.index(buildProduct(3, "Green rain jacket", "SKU-RAIN-3", 3, "Jackets"));
+        assertEquals(0, index.search("red jacket", 0, 10).getTotal());
+        assertEquals(1, index.search("green", 0, 10).getTotal());
+        index.remove(3);
+        assertEquals(0, index.search("jacket", 0, 10).getTotal());
+        assertEquals(2, index.size());
+    }
+    @Test
+    void testIndexedAndExpandedPrefixesMatchTheSameProducts() {
+        assertEquals(List.of(1, 2), index.search("runn", 0, 10).getProductIds());
+        assertEquals(List.of(1, 2), index.search("runni", 0, 10).getProductIds());
+        assertEquals(List.of(1, 2), index.search("ru", 0, 10).getProductIds());
+        assertEquals(1, index.search("re ja", 0, 10).getTotal());
+    }
+    @Test
+    void testIncrementalWritesMatchAFullRebuild() {
+        Map<Integer, ProductDto> current = new TreeMap<>();
+        current.put(1, buildProduct(1, "Red running shoe", "SKU-RUN-1", 1, "Shoes"));
+        current.put(2, buildProduct(2, "Blue running shirt", "SKU-RUN-2", 2, "Shirts"));
+        current.put(3, buildProduct(3, "Red rain jacket", "SKU-RAIN-3", 3, "Jackets"));
+        for (int i = 10; i < 400; i++) {
+            current.put(i, buildProduct(i, "Trail shoe " + i, "SKU-TRAIL-" + i, 1, "Shoes"));
+            index.index(current.get(i));
+        }
+        for (int i = 10; i < 400; i += 3) {
+            current.remove(i);
+            index.remove(i);
+        }
+        for (int i = 11; i < 400; i += 3) {
+            current.put(i, buildProduct(i, "Road shoe " + i, "SKU-ROAD-" + i, 1, "Shoes"));
+            index.index(current.get(i));
+        }
+        ProductSearchIndex rebuilt = new ProductSearchIndex(50, 4);
+        rebuilt.rebuild(current.values()::forEach);
+        for (String query : List.of("shoe", "trail", "tra", "road", "ro", "sku", "sh", "r")) {
+            SearchHits expected = rebuilt.search(query, 0, 1000);
+            SearchHits actual = index.search(query, 0, 1000);
+            assertEquals(expected.getTotal(), actual.getTotal(), query);
+            assertEquals(expected.getProductIds(), actual.getProductIds(), query);
+        }
+    }
+}
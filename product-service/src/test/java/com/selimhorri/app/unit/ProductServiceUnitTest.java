@@ -11,6 +11,7 @@ import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
 import java.util.Optional;
 import java.util.Collections;
 import static org.mockito.Mockito.*;
@@ -21,6 +22,8 @@ class ProductServiceUnitTest {
     private ProductServiceImpl productService;
     @Mock
     private ProductRepository productRepository;
+    @Mock
+    private ApplicationEventPublisher applicationEventPublisher;
 
     @BeforeEach
     void setUp() { MockitoAnnotations.openMocks(this); }
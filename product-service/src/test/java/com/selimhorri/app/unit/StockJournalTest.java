@@ -0,0 +1,85 @@
+package com.selimhorri.app.unit;
+
+import com.selimhorri.app.stock.StockJournal;
+import com.selimhorri.app.stock.StockJournal.Movement;
+import com.selimhorri.app.stock.StockJournal.MovementRefusedException;
+import org.junit.jupiter.api.Test;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
+import static org.junit.jupiter.api.Assertions.*;
+
+class StockJournalTest {
+
+    @Test
+    void testTimedOutMovementIsWithdrawnBeforeItIsWritten() throws Exception {
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch proceed = new CountDownLatch(1);
+        List<Integer> written = new CopyOnWriteArrayList<>();
+        try (StockJournal journal = new StockJournal(batch -> {
+            writing.countDown();
+            await(proceed);
+            batch.forEach(m -> written.add(m.getDelta()));
+            return List.of();
+        }, 10)) {
+            Movement first = journal.append("a", 1, -1);
+            assertTrue(writing.await(5, TimeUnit.SECONDS));
+            Movement second = journal.append("a", 1, -2);
+            assertThrows(TimeoutException.class, () -> second.await(Duration.ofMillis(50)));
+            proceed.countDown();
+            first.await(Duration.ofSeconds(5));
+            journal.append("a", 1, -3).await(Duration.ofSeconds(5));
+            assertEquals(List.of(-1, -3), written);
+        }
+    }
+    @Test
+    void testTimedOutMovementAlreadyClaimedWaitsForItsBatch() throws Exception {
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch proceed = new CountDownLatch(1);
+        try (StockJournal journal = new StockJournal(batch -> {
+            writing.countDown();
+            await(proceed);
+            return List.of();
+        }, 10)) {
+            Movement movement = journal.append("a", 1, -1);
+            assertTrue(writing.await(5, TimeUnit.SECONDS));
+            CompletableFuture<Void> waiting = CompletableFuture.runAsync(() -> {
+                try {
+                    movement.await(Duration.ofMillis(50));
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+            Thread.sleep(200);
+            assertFalse(waiting.isDone());
+            proceed.countDown();
+            waiting.get(5, TimeUnit.SECONDS);
+        }
+    }
+    @Test
+    void testRefusedMovementsFailWithoutFailingTheBatch() throws Exception {
+        try (StockJournal journal = new StockJournal(batch -> batch.stream()
+                .filter(m -> m.getAllocationId().equals("reaped"))
+                .collect(Collectors.toList()), 10)) {
+            Movement accepted = journal.append("leased", 1, -1);
+            Movement refused = journal.append("reaped", 2, -1);
+            accepted.await(Duration.ofSeconds(5));
+            ExecutionException e = assertThrows(ExecutionException.class, () -> refused.await(Duration.ofSeconds(5)));
+            assertTrue(e.getCause() instanceof MovementRefusedException);
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
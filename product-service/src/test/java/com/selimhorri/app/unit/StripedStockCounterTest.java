@@ -0,0 +1,66 @@
+package com.selimhorri.app.unit;
+
+import com.selimhorri.app.stock.StripedStockCounter;
+import org.junit.jupiter.api.Test;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import static org.junit.jupiter.api.Assertions.*;
+
+class StripedStockCounterTest {
+
+    @Test
+    void testSpreadsStockAcrossPowerOfTwoStripes() {
+        StripedStockCounter counter = new StripedStockCounter(103, 6);
+        assertEquals(8, counter.stripes());
+        assertEquals(103, counter.available());
+    }
+    @Test
+    void testAcquiresFromOtherStripesWhenHomeStripeIsShort() {
+        StripedStockCounter counter = new StripedStockCounter(8, 8);
+        assertTrue(counter.tryAcquire(5));
+        assertTrue(counter.tryAcquire(3));
+        assertFalse(counter.tryAcquire(1));
+        assertEquals(0, counter.available());
+    }
+    @Test
+    void testReleasedStockCanBeReservedAgain() {
+        StripedStockCounter counter = new StripedStockCounter(1, 4);
+        assertTrue(counter.tryAcquire(1));
+        counter.release(2);
+        assertTrue(counter.tryAcquire(2));
+        assertFalse(counter.tryAcquire(1));
+    }
+    @Test
+    void testConcurrentAcquiresNeverOversell() throws Exception {
+        StripedStockCounter counter = new StripedStockCounter(10_000, 16);
+        AtomicInteger acquired = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < 16; i++) {
+            int quantity = 1 + i % 3;
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int a = 0; a < 2_000; a++) {
+                    if (counter.tryAcquire(quantity)) {
+                        acquired.addAndGet(quantity);
+                    }
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(1, TimeUnit.MINUTES);
+        }
+        executor.shutdown();
+        assertEquals(10_000, acquired.get() + counter.available());
+        assertTrue(counter.available() >= 0);
+    }
+}
@@ -1,9 +1,12 @@
 package com.selimhorri.app.business.auth.controller;
 
+import java.util.concurrent.CompletableFuture;
+
 import javax.validation.Valid;
 import javax.validation.constraints.NotNull;
 
 import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
@@ -25,20 +28,23 @@ import lombok.extern.slf4j.Slf4j;
 public class AuthenticationController {
 	
 	private final AuthenticationService authenticationService;
+	private final ThreadPoolTaskExecutor proxyExecutor;
 	
 	@PostMapping
-	public ResponseEntity<AuthenticationResponse> authenticate(
+	public CompletableFuture<ResponseEntity<AuthenticationResponse>> authenticate(
 			@RequestBody 
 			@NotNull(message = "") 
 			@Valid final AuthenticationRequest authenticationRequest) {
 		log.info("**Authentication controller, proceed with the request*\n");
-		return ResponseEntity.ok(this.authenticationService.authenticate(authenticationRequest));
+		return CompletableFuture.supplyAsync(() -> ResponseEntity.ok(this.authenticationService.authenticate(authenticationRequest)), 
+				this.proxyExecutor);
 	}
 	
 	@GetMapping("/jwt/{jwt}")
-	public ResponseEntity<Boolean> authenticate(@PathVariable("jwt") final String jwt) {
+	public CompletableFuture<ResponseEntity<Boolean>> authenticate(@PathVariable("jwt") final String jwt) {
 		log.info("**Authentication controller, proceed with the request*\n");
-		return ResponseEntity.ok(this.authenticationService.authenticate(jwt));
+		return CompletableFuture.supplyAsync(() -> ResponseEntity.ok(this.authenticationService.authenticate(jwt)), 
+				this.proxyExecutor);
 	}
 	
 	
@@ -0,0 +1,8 @@
+package com.selimhorri.app.business.auth.service;
+
+public interface UserDetailsCacheService {
+	
+	void evictByCredentialId(final String credentialId);
+	void evictByUserId(final String userId);
+	
+}
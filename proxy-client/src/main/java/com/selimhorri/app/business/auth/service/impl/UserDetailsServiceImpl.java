@@ -6,25 +6,69 @@ import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.selimhorri.app.business.auth.service.UserDetailsCacheService;
 import com.selimhorri.app.business.user.model.CredentialDto;
 import com.selimhorri.app.business.user.model.UserDetailsImpl;
+import com.selimhorri.app.config.cache.CredentialIndex;
 import com.selimhorri.app.constant.AppConstant;
 
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 @Service
 @Slf4j
 @RequiredArgsConstructor
-public class UserDetailsServiceImpl implements UserDetailsService {
+public class UserDetailsServiceImpl implements UserDetailsService, UserDetailsCacheService {
 	
 	private static final String API_URL = AppConstant.DiscoveredDomainsApi.USER_SERVICE_HOST + "/api/credentials";
 	private final RestTemplate restTemplate;
+	private final Cache<String, CredentialDto> credentialDtoCache;
+	private final CircuitBreakerRegistry circuitBreakerRegistry;
+	private final BulkheadRegistry bulkheadRegistry;
+	private final CredentialIndex credentialIndex;
 	
+	/**
+	 * Guarded by the user-service circuit breaker and bulkhead on the calling thread, but never
+	 * answered from stale data: a credential that cannot be loaded fails the authentication.
+	 */
 	@Override
 	public UserDetails loadUserByUsername(final String username) throws UsernameNotFoundException {
 		log.info("**UserDetails, load user by username*\n");
-		return new UserDetailsImpl(this.restTemplate.getForObject(API_URL + "/username/" + username, CredentialDto.class));
+		return new UserDetailsImpl(this.credentialDtoCache.get(username, u -> {
+			final var credentialDto = CircuitBreaker.decorateSupplier(this.circuitBreakerRegistry.circuitBreaker("userService"), 
+					Bulkhead.decorateSupplier(this.bulkheadRegistry.bulkhead("userService"), () -> this.restTemplate
+							.getForObject(API_URL + "/username/{username}", CredentialDto.class, u)))
+					.get();
+			if (credentialDto != null) {
+				this.credentialIndex.add(u, credentialDto);
+			}
+			return credentialDto;
+		}));
+	}
+	
+	@Override
+	public void evictByCredentialId(final String credentialId) {
+		log.info("**UserDetails, evict cached credential by credentialId*\n");
+		this.credentialIndex.findByCredentialId(credentialId).forEach(this::evict);
+	}
+	
+	@Override
+	public void evictByUserId(final String userId) {
+		log.info("**UserDetails, evict cached credential by userId*\n");
+		this.credentialIndex.findByUserId(userId).forEach(this::evict);
+	}
+	
+	private void evict(final String username) {
+		this.credentialDtoCache.asMap().computeIfPresent(username, (u, credentialDto) -> {
+			this.credentialIndex.remove(u, credentialDto);
+			return null;
+		});
 	}
 	
 	
@@ -0,0 +1,50 @@
+package com.selimhorri.app.business.checkout.controller;
+
+import java.util.concurrent.CompletableFuture;
+
+import javax.validation.Valid;
+import javax.validation.constraints.NotNull;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.selimhorri.app.business.checkout.model.CheckoutDto;
+import com.selimhorri.app.business.checkout.model.CheckoutRequestDto;
+import com.selimhorri.app.business.checkout.service.CheckoutService;
+
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/api/checkout")
+@RequiredArgsConstructor
+public class CheckoutController {
+	
+	private final CheckoutService checkoutService;
+	private final ThreadPoolTaskExecutor proxyExecutor;
+	
+	@PostMapping
+	public CompletableFuture<ResponseEntity<CheckoutDto>> checkout(
+			@RequestBody 
+			@NotNull(message = "Input must not be NULL!") 
+			@Valid final CheckoutRequestDto checkoutRequestDto) {
+		return CompletableFuture.supplyAsync(() -> ResponseEntity.ok(this.checkoutService.checkout(checkoutRequestDto)), 
+				this.proxyExecutor);
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
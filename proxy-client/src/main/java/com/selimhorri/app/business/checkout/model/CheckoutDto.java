@@ -0,0 +1,33 @@
+package com.selimhorri.app.business.checkout.model;
+
+import java.io.Serializable;
+import java.util.Collection;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.selimhorri.app.business.order.model.OrderDto;
+import com.selimhorri.app.business.orderItem.model.OrderItemDto;
+import com.selimhorri.app.business.payment.model.PaymentDto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+@Builder
+public class CheckoutDto implements Serializable {
+	
+	private static final long serialVersionUID = 1L;
+	
+	@JsonProperty("order")
+	private OrderDto orderDto;
+	
+	@JsonProperty("orderItems")
+	private Collection<OrderItemDto> orderItemDtos;
+	
+	@JsonProperty("payment")
+	private PaymentDto paymentDto;
+	
+}
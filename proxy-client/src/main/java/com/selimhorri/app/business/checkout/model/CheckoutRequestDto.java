@@ -0,0 +1,32 @@
+package com.selimhorri.app.business.checkout.model;
+
+import java.io.Serializable;
+import java.util.List;
+
+import javax.validation.Valid;
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.NotNull;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+@Builder
+public class CheckoutRequestDto implements Serializable {
+	
+	private static final long serialVersionUID = 1L;
+	
+	@NotNull(message = "Cart must not be NULL!")
+	private Integer cartId;
+	private String orderDesc;
+	private Double orderFee;
+	
+	@NotEmpty(message = "Checkout must contain at least one line!")
+	@Valid
+	private List<CheckoutLineDto> lines;
+	
+}
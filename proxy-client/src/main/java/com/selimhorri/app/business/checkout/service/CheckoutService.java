@@ -0,0 +1,10 @@
+package com.selimhorri.app.business.checkout.service;
+
+import com.selimhorri.app.business.checkout.model.CheckoutDto;
+import com.selimhorri.app.business.checkout.model.CheckoutRequestDto;
+
+public interface CheckoutService {
+	
+	CheckoutDto checkout(final CheckoutRequestDto checkoutRequestDto);
+	
+}
@@ -0,0 +1,258 @@
+package com.selimhorri.app.business.checkout.service.impl;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import com.selimhorri.app.business.checkout.model.CheckoutDto;
+import com.selimhorri.app.business.checkout.model.CheckoutLineDto;
+import com.selimhorri.app.business.checkout.model.CheckoutRequestDto;
+import com.selimhorri.app.business.checkout.service.CheckoutService;
+import com.selimhorri.app.business.order.model.CartDto;
+import com.selimhorri.app.business.order.model.OrderDto;
+import com.selimhorri.app.business.order.service.OrderClientService;
+import com.selimhorri.app.business.orderItem.model.OrderItemDto;
+import com.selimhorri.app.business.orderItem.model.response.OrderItemOrderItemServiceDtoCollectionResponse;
+import com.selimhorri.app.business.orderItem.service.OrderItemClientService;
+import com.selimhorri.app.business.payment.model.PaymentDto;
+import com.selimhorri.app.business.payment.model.PaymentStatus;
+import com.selimhorri.app.business.payment.service.PaymentClientService;
+import com.selimhorri.app.business.product.model.StockReservationDto;
+import com.selimhorri.app.business.product.model.response.StockReservationProductServiceCollectionDtoResponse;
+import com.selimhorri.app.business.product.service.ProductClientService;
+import com.selimhorri.app.config.client.CheckoutProperties;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Runs a checkout as a saga over the product, order, shipping and payment services.
+ * Stock reservation and order creation start together; order items and payment
+ * start together as soon as the order id is known. Any failure undoes every step
+ * that went through, newest first.
+ * 
+ * Every call carries an idempotency key derived from the checkout id, and its undo
+ * is registered before the call is made and cancels by that key. A call that fails
+ * or times out after the downstream service committed is therefore undone as well,
+ * and one that has not arrived yet is refused when it does.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class CheckoutServiceImpl implements CheckoutService {
+	
+	private final ProductClientService productClientService;
+	private final OrderClientService orderClientService;
+	private final OrderItemClientService orderItemClientService;
+	private final PaymentClientService paymentClientService;
+	private final ThreadPoolTaskExecutor checkoutExecutor;
+	private final CheckoutProperties checkoutProperties;
+	
+	@Override
+	public CheckoutDto checkout(final CheckoutRequestDto checkoutRequestDto) {
+		log.info("**CheckoutDto, service; checkout cart*\n");
+		final Map<Integer, Integer> quantities = this.mergeLines(checkoutRequestDto.getLines());
+		final var checkoutId = UUID.randomUUID().toString();
+		final var compensations = new Compensations(this.checkoutProperties.getCompensationAttempts());
+		
+		final var reservationFuture = this.step(() -> this.reserve(checkoutId, quantities, compensations));
+		final var orderFuture = this.step(() -> this.createOrder(checkoutId, checkoutRequestDto, compensations));
+		final var orderItemsFuture = orderFuture
+				.thenCompose(orderDto -> this.step(() -> this.createOrderItems(checkoutId, orderDto, quantities, compensations)));
+		final var paymentFuture = orderFuture
+				.thenCompose(orderDto -> this.step(() -> this.createPayment(checkoutId, orderDto, compensations)));
+		
+		try {
+			CompletableFuture.allOf(reservationFuture, orderItemsFuture, paymentFuture).join();
+		}
+		catch (CompletionException e) {
+			compensations.compensate();
+			throw this.failure(reservationFuture, orderFuture, orderItemsFuture, paymentFuture);
+		}
+		
+		return CheckoutDto.builder()
+				.orderDto(orderFuture.join())
+				.orderItemDtos(orderItemsFuture.join())
+				.paymentDto(paymentFuture.join())
+				.build();
+	}
+	
+	private Map<Integer, Integer> mergeLines(final List<CheckoutLineDto> lines) {
+		return lines.stream()
+				.collect(Collectors.toMap(CheckoutLineDto::getProductId, CheckoutLineDto::getQuantity,
+						Integer::sum, LinkedHashMap::new));
+	}
+	
+	private StockReservationProductServiceCollectionDtoResponse reserve(final String checkoutId, 
+			final Map<Integer, Integer> quantities, final Compensations compensations) {
+		final var reservations = quantities.entrySet().stream()
+				.map(line -> StockReservationDto.builder()
+						.productId(line.getKey())
+						.quantity(line.getValue())
+						.build())
+				.collect(Collectors.toUnmodifiableList());
+		final var reservationId = checkoutId + ":stock";
+		compensations.register("stock reservation " + reservationId, () ->
+				this.productClientService.releaseReservation(reservationId));
+		return this.productClientService
+				.reserveAll(new StockReservationProductServiceCollectionDtoResponse(reservations), reservationId).getBody();
+	}
+	
+	private OrderDto createOrder(final String checkoutId, final CheckoutRequestDto checkoutRequestDto, 
+			final Compensations compensations) {
+		final var idempotencyKey = checkoutId + ":order";
+		compensations.register("order " + idempotencyKey, () -> this.orderClientService.cancel(idempotencyKey));
+		return this.orderClientService.save(OrderDto.builder()
+				.orderDesc(checkoutRequestDto.getOrderDesc())
+				.orderFee(checkoutRequestDto.getOrderFee())
+				.cartDto(CartDto.builder()
+						.cartId(checkoutRequestDto.getCartId())
+						.build())
+				.build(), idempotencyKey).getBody();
+	}
+	
+	private List<OrderItemDto> createOrderItems(final String checkoutId, final OrderDto orderDto, 
+			final Map<Integer, Integer> quantities, final Compensations compensations) {
+		final var orderItemDtos = quantities.entrySet().stream()
+				.map(line -> OrderItemDto.builder()
+						.productId(line.getKey())
+						.orderId(orderDto.getOrderId())
+						.orderedQuantity(line.getValue())
+						.build())
+				.collect(Collectors.toUnmodifiableList());
+		final var idempotencyKey = checkoutId + ":items";
+		compensations.register("order items " + idempotencyKey, () -> this.orderItemClientService.cancel(idempotencyKey));
+		final var saved = this.orderItemClientService
+				.saveAll(new OrderItemOrderItemServiceDtoCollectionResponse(orderItemDtos, null), idempotencyKey).getBody();
+		return List.copyOf(saved.getCollection());
+	}
+	
+	private PaymentDto createPayment(final String checkoutId, final OrderDto orderDto, final Compensations compensations) {
+		final var idempotencyKey = checkoutId + ":payment";
+		compensations.register("payment " + idempotencyKey, () -> this.paymentClientService.cancel(idempotencyKey));
+		return this.paymentClientService.save(PaymentDto.builder()
+				.isPayed(false)
+				.paymentStatus(PaymentStatus.NOT_STARTED)
+				.orderDto(com.selimhorri.app.business.payment.model.OrderDto.builder()
+						.orderId(orderDto.getOrderId())
+						.build())
+				.build(), idempotencyKey).getBody();
+	}
+	
+	/**
+	 * The step timeout starts when the step begins rather than when it is queued, so a step still
+	 * waiting for a checkout thread cannot time out and roll the checkout back before it has called
+	 * anything. One that begins after the checkout was rolled back is refused by its registration.
+	 */
+	private <T> CompletableFuture<T> step(final Supplier<T> call) {
+		final var step = new CompletableFuture<T>();
+		try {
+			this.checkoutExecutor.execute(() -> {
+				step.orTimeout(this.checkoutProperties.getStepTimeout().toMillis(), TimeUnit.MILLISECONDS);
+				try {
+					step.complete(call.get());
+				}
+				catch (RuntimeException e) {
+					step.completeExceptionally(e);
+				}
+			});
+		}
+		catch (RejectedExecutionException e) {
+			step.completeExceptionally(e);
+		}
+		return step;
+	}
+	
+	/**
+	 * Reports the failure of the earliest step in checkout order, so a rejected
+	 * reservation wins over the order steps it raced with.
+	 */
+	private RuntimeException failure(final CompletableFuture<?>... futures) {
+		final Throwable cause = Stream.of(futures)
+				.filter(CompletableFuture::isCompletedExceptionally)
+				.map(future -> future.handle((result, e) -> e).join())
+				.map(e -> e instanceof CompletionException && e.getCause() != null ? e.getCause() : e)
+				.findFirst()
+				.orElseThrow();
+		return cause instanceof RuntimeException ? (RuntimeException) cause :
+				new IllegalStateException("Checkout could not be completed, all steps were rolled back", cause);
+	}
+	
+	/**
+	 * Undo actions of the steps that were attempted, whether or not they went through.
+	 * A step starting once compensation has begun is not made at all: its key is
+	 * cancelled right away and the step fails.
+	 */
+	private static final class Compensations {
+		
+		private final Deque<Map.Entry<String, Runnable>> compensations = new ArrayDeque<>();
+		private final int attempts;
+		private boolean compensating;
+		
+		Compensations(final int attempts) {
+			this.attempts = Math.max(1, attempts);
+		}
+		
+		void register(final String step, final Runnable compensation) {
+			synchronized (this) {
+				if (!this.compensating) {
+					this.compensations.push(Map.entry(step, compensation));
+					return;
+				}
+			}
+			this.undo(step, compensation);
+			throw new IllegalStateException("Checkout is being rolled back, " + step + " was not attempted");
+		}
+		
+		void compensate() {
+			final List<Map.Entry<String, Runnable>> pending;
+			synchronized (this) {
+				this.compensating = true;
+				pending = List.copyOf(this.compensations);
+				this.compensations.clear();
+			}
+			pending.forEach(entry -> this.undo(entry.getKey(), entry.getValue()));
+		}
+		
+		private void undo(final String step, final Runnable compensation) {
+			for (int attempt = 1; attempt <= this.attempts; attempt++) {
+				try {
+					log.info("**CheckoutDto, service; rolling back {}*\n", step);
+					compensation.run();
+					return;
+				}
+				catch (RuntimeException e) {
+					log.error("**CheckoutDto, service; could not roll back {} (attempt {} of {}): {}*", 
+							step, attempt, this.attempts, e.getMessage());
+				}
+			}
+		}
+	
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
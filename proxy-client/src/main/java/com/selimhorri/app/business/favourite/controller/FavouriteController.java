@@ -1,6 +1,9 @@
 package com.selimhorri.app.business.favourite.controller;
 
+import java.util.concurrent.CompletableFuture;
+
 import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -8,6 +11,7 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.selimhorri.app.business.favourite.model.FavouriteDto;
@@ -23,48 +27,60 @@ import lombok.RequiredArgsConstructor;
 public class FavouriteController {
 	
 	private final FavouriteClientService favouriteClientService;
+	private final ThreadPoolTaskExecutor proxyExecutor;
 	
 	@GetMapping
-	public ResponseEntity<FavouriteFavouriteServiceCollectionDtoResponse> findAll() {
-		return ResponseEntity.ok(this.favouriteClientService.findAll().getBody());
+	public CompletableFuture<ResponseEntity<FavouriteFavouriteServiceCollectionDtoResponse>> findAll(
+			@RequestParam(name = "after", required = false) final String after, 
+			@RequestParam(name = "limit", required = false) final Integer limit) {
+		return CompletableFuture.supplyAsync(() -> ResponseEntity.ok(this.favouriteClientService.findAll(after, limit).getBody()), 
+				this.proxyExecutor);
 	}
 	
 	@GetMapping("/{userId}/{productId}/{likeDate}")
-	public ResponseEntity<FavouriteDto> findById(
+	public CompletableFuture<ResponseEntity<FavouriteDto>> findById(
 			@PathVariable("userId") final String userId, 
 			@PathVariable("productId") final String productId, 
 			@PathVariable("likeDate") final String likeDate) {
-		return ResponseEntity.ok(this.favouriteClientService.findById(userId, productId, likeDate).getBody());
+		return CompletableFuture.supplyAsync(() -> ResponseEntity.ok(this.favouriteClientService.findById(userId, productId, likeDate).getBody()), 
+				this.proxyExecutor);
 	}
 	
 	@GetMapping("/find")
-	public ResponseEntity<FavouriteDto> findById(@RequestBody final FavouriteId favouriteId) {
-		return ResponseEntity.ok(this.favouriteClientService.findById(favouriteId).getBody());
+	public CompletableFuture<ResponseEntity<FavouriteDto>> findById(@RequestBody final FavouriteId favouriteId) {
+		return CompletableFuture.supplyAsync(() -> ResponseEntity.ok(this.favouriteClientService.findById(favouriteId).getBody()), 
+				this.proxyExecutor);
 	}
 	
 	@PostMapping
-	public ResponseEntity<FavouriteDto> save(@RequestBody final FavouriteDto favouriteDto) {
-		return ResponseEntity.ok(this.favouriteClientService.save(favouriteDto).getBody());
+	public CompletableFuture<ResponseEntity<FavouriteDto>> save(@RequestBody final FavouriteDto favouriteDto) {
+		return CompletableFuture.supplyAsync(() -> ResponseEntity.ok(this.favouriteClientService.save(favouriteDto).getBody()), 
+				this.proxyExecutor);
 	}
 	
 	@PutMapping
-	public ResponseEntity<FavouriteDto> update(@RequestBody final FavouriteDto favouriteDto) {
-		return ResponseEntity.ok(this.favouriteClientService.update(favouriteDto).getBody());
+	public CompletableFuture<ResponseEntity<FavouriteDto>> update(@RequestBody final FavouriteDto favouriteDto) {
+		return CompletableFuture.supplyAsync(() -> ResponseEntity.ok(this.favouriteClientService.update(favouriteDto).getBody()), 
+				this.proxyExecutor);
 	}
 	
 	@DeleteMapping("/{userId}/{productId}/{likeDate}")
-	public ResponseEntity<Boolean> deleteById(
+	public CompletableFuture<ResponseEntity<Boolean>> deleteById(
 			@PathVariable("userId") final String userId, 
 			@PathVariable("productId") final String productId, 
 			@PathVariable("likeDate") final String likeDate) {
-		this.favouriteClientService.deleteById(userId, productId, likeDate).getBody();
-		return ResponseEntity.ok(true);
+		return CompletableFuture.supplyAsync(() -> {
+			this.favouriteClientService.deleteById(userId, productId, likeDate).getBody();
+			return ResponseEntity.ok(true);
+		}, this.proxyExecutor);
 	}
 	
 	@DeleteMapping("/delete")
-	public ResponseEntity<Boolean> deleteById(@RequestBody final FavouriteId favouriteId) {
-		this.favouriteClientService.deleteById(favouriteId).getBody();
-		return ResponseEntity.ok(true);
+	public CompletableFuture<ResponseEntity<Boolean>> deleteById(@RequestBody final FavouriteId favouriteId) {
+		return CompletableFuture.supplyAsync(() -> {
+			this.favouriteClientService.deleteById(favouriteId).getBody();
+			return ResponseEntity.ok(true);
+		}, this.proxyExecutor);
 	}
 	
 	
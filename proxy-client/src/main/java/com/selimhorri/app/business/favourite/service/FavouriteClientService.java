@@ -11,6 +11,7 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
 
 import com.selimhorri.app.business.favourite.model.FavouriteDto;
 import com.selimhorri.app.business.favourite.model.FavouriteId;
@@ -20,7 +21,9 @@ import com.selimhorri.app.business.favourite.model.response.FavouriteFavouriteSe
 public interface FavouriteClientService {
 	
 	@GetMapping
-	ResponseEntity<FavouriteFavouriteServiceCollectionDtoResponse> findAll();
+	ResponseEntity<FavouriteFavouriteServiceCollectionDtoResponse> findAll(
+			@RequestParam(name = "after", required = false) final String after, 
+			@RequestParam(name = "limit", required = false) final Integer limit);
 	
 	@GetMapping("/{userId}/{productId}/{likeDate}")
 	public ResponseEntity<FavouriteDto> findById(
@@ -28,6 +31,9 @@ public interface FavouriteClientService {
 			@PathVariable("productId") final String productId, 
 			@PathVariable("likeDate") final String likeDate);
 	
+	@GetMapping("/product/{productId}/count")
+	public ResponseEntity<Long> countByProductId(@PathVariable("productId") final String productId);
+	
 	@GetMapping("/find")
 	public ResponseEntity<FavouriteDto> findById(
 			@RequestBody 
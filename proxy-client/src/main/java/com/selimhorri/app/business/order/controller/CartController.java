@@ -1,10 +1,13 @@
 package com.selimhorri.app.business.order.controller;
 
+import java.util.concurrent.CompletableFuture;
+
 import javax.validation.Valid;
 import javax.validation.constraints.NotBlank;
 import javax.validation.constraints.NotNull;
 
 import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -12,6 +15,7 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.selimhorri.app.business.order.model.CartDto;
@@ -26,51 +30,61 @@ import lombok.RequiredArgsConstructor;
 public class CartController {
 	
 	private final CartClientService cartClientService;
+	private final ThreadPoolTaskExecutor proxyExecutor;
 	
 	@GetMapping
-	public ResponseEntity<CartOrderServiceDtoCollectionResponse> findAll() {
-		return ResponseEntity.ok(this.cartClientService.findAll().getBody());
+	public CompletableFuture<ResponseEntity<CartOrderServiceDtoCollectionResponse>> findAll(
+			@RequestParam(name = "after", required = false) final String after, 
+			@RequestParam(name = "limit", required = false) final Integer limit) {
+		return CompletableFuture.supplyAsync(() -> ResponseEntity.ok(this.cartClientService.findAll(after, limit).getBody()), 
+				this.proxyExecutor);
 	}
 	
 	@GetMapping("/{cartId}")
-	public ResponseEntity<CartDto> findById(
+	public CompletableFuture<ResponseEntity<CartDto>> findById(
 			@PathVariable("cartId") 
 			@NotBlank(message = "Input must not be blank!") 
 			@Valid final String cartId) {
-		return ResponseEntity.ok(this.cartClientService.findById(cartId).getBody());
+		return CompletableFuture.supplyAsync(() -> ResponseEntity.ok(this.cartClientService.findById(cartId).getBody()), 
+				this.proxyExecutor);
 	}
 	
 	@PostMapping
-	public ResponseEntity<CartDto> save(
+	public CompletableFuture<ResponseEntity<CartDto>> save(
 			@RequestBody 
 			@NotNull(message = "Input must not be NULL!") 
 			@Valid final CartDto cartDto) {
-		return ResponseEntity.ok(this.cartClientService.save(cartDto).getBody());
+		return CompletableFuture.supplyAsync(() -> ResponseEntity.ok(this.cartClientService.save(cartDto).getBody()), 
+				this.proxyExecutor);
 	}
 	
 	@PutMapping
-	public ResponseEntity<CartDto> update(
+	public CompletableFuture<ResponseEntity<CartDto>> update(
 			@RequestBody 
 			@NotNull(message = "Input must not be NULL!") 
 			@Valid final CartDto cartDto) {
-		return ResponseEntity.ok(this.cartClientService.update(cartDto).getBody());
+		return CompletableFuture.supplyAsync(() -> ResponseEntity.ok(this.cartClientService.update(cartDto).getBody()), 
+				this.proxyExecutor);
 	}
 	
 	@PutMapping("/{cartId}")
-	public ResponseEntity<CartDto> update(
+	public CompletableFuture<ResponseEntity<CartDto>> update(
 			@PathVariable("cartId")
 			@NotBlank(message = "Input must not be blank!")
 			@Valid final String cartId,
 			@RequestBody 
 			@NotNull(message = "Input must not be NULL!") 
 			@Valid final CartDto cartDto) {
-		return ResponseEntity.ok(this.cartClientService.update(cartId, cartDto).getBody());
+		return CompletableFuture.supplyAsync(() -> ResponseEntity.ok(this.cartClientService.update(cartId, cartDto).getBody()), 
+				this.proxyExecutor);
 	}
 	
 	@DeleteMapping("/{cartId}")
-	public ResponseEntity<Boolean> deleteById(@PathVariable("cartId") final String cartId) {
-		this.cartClientService.deleteById(cartId).getBody();
-		return ResponseEntity.ok(true);
+	public CompletableFuture<ResponseEntity<Boolean>> deleteById(@PathVariable("cartId") final String cartId) {
+		return CompletableFuture.supplyAsync(() -> {
+			this.cartClientService.deleteById(cartId).getBody();
+			return ResponseEntity.ok(true);
+		}, this.proxyExecutor);
 	}
 	
 	
@@ -1,10 +1,13 @@
 package com.selimhorri.app.business.order.controller;
 
+import java.util.concurrent.CompletableFuture;
+
 import javax.validation.Valid;
 import javax.validation.constraints.NotBlank;
 import javax.validation.constraints.NotNull;
 
 import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -12,6 +15,7 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.selimhorri.app.business.order.model.OrderDto;
@@ -26,51 +30,61 @@ import lombok.RequiredArgsConstructor;
 public class OrderController {
 	
 	private final OrderClientService orderClientService;
+	private final ThreadPoolTaskExecutor proxyExecutor;
 	
 	@GetMapping
-	public ResponseEntity<OrderOrderServiceDtoCollectionResponse> findAll() {
-		return ResponseEntity.ok(this.orderClientService.findAll().getBody());
+	public CompletableFuture<ResponseEntity<OrderOrderServiceDtoCollectionResponse>> findAll(
+			@RequestParam(name = "after", required = false) final String after, 
+			@RequestParam(name = "limit", required = false) final Integer limit) {
+		return CompletableFuture.supplyAsync(() -> ResponseEntity.ok(this.orderClientService.findAll(after, limit).getBody()), 
+				this.proxyExecutor);
 	}
 	
 	@GetMapping("/{orderId}")
-	public ResponseEntity<OrderDto> findById(
+	public CompletableFuture<ResponseEntity<OrderDto>> findById(
 			@PathVariable("orderId") 
 			@NotBlank(message = "Input must not be blank!") 
 			@Valid final String orderId) {
-		return ResponseEntity.ok(this.orderClientService.findById(orderId).getBody());
+		return CompletableFuture.supplyAsync(() -> ResponseEntity.ok(this.orderClientService.findById(orderId).getBody()), 
+				this.proxyExecutor);
 	}
 	
 	@PostMapping
-	public ResponseEntity<OrderDto> save(
+	public CompletableFuture<ResponseEntity<OrderDto>> save(
 			@RequestBody 
 			@NotNull(message = "Input must not be NULL!") 
 			@Valid final OrderDto orderDto) {
-		return ResponseEntity.ok(this.orderClientService.save(orderDto).getBody());
+		return CompletableFuture.supplyAsync(() -> ResponseEntity.ok(this.orderClientService.save(orderDto).getBody()), 
+				this.proxyExecutor);
 	}
 	
 	@PutMapping
-	public ResponseEntity<OrderDto> update(
+	public CompletableFuture<ResponseEntity<OrderDto>> update(
 			@RequestBody 
 			@NotNull(message = "Input must not be NULL!") 
 			@Valid final OrderDto orderDto) {
-		return ResponseEntity.ok(this.orderClientService.update(orderDto).getBody());
+		return CompletableFuture.supplyAsync(() -> ResponseEntity.ok(this.orderClientService.update(orderDto).getBody()), 
+				this.proxyExecutor);
 	}
 	
 	@PutMapping("/{orderId}")
-	public ResponseEntity<OrderDto> update(
+	public CompletableFuture<ResponseEntity<OrderDto>> update(
 			@PathVariable("orderId")
 			@NotBlank(message = "Input must not be blank!")
 			@Valid final String orderId,
 			@RequestBody 
 			@NotNull(message = "Input must not be NULL!") 
 			@Valid final OrderDto orderDto) {
-		return ResponseEntity.ok(this.orderClientService.update(orderId, orderDto).getBody());
+		return CompletableFuture.supplyAsync(() -> ResponseEntity.ok(this.orderClientService.update(orderId, orderDto).getBody()), 
+				this.proxyExecutor);
 	}
 	
 	@DeleteMapping("/{orderId}")
-	public ResponseEntity<Boolean> deleteById(@PathVariable("orderId") final String orderId) {
-		this.orderClientService.deleteById(orderId).getBody();
-		return ResponseEntity.ok(true);
+	public CompletableFuture<ResponseEntity<Boolean>> deleteById(@PathVariable("orderId") final String orderId) {
+		return CompletableFuture.supplyAsync(() -> {
+			this.orderClientService.deleteById(orderId).getBody();
+			return ResponseEntity.ok(true);
+		}, this.proxyExecutor);
 	}
 	
 	
@@ -3,6 +3,8 @@ package com.selimhorri.app.business.order.model.response;
 import java.io.Serializable;
 import java.util.Collection;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
 import com.selimhorri.app.business.order.model.OrderDto;
 
 import lombok.AllArgsConstructor;
@@ -19,4 +21,7 @@ public class OrderOrderServiceDtoCollectionResponse implements Serializable {
 	private static final long serialVersionUID = 1L;
 	private Collection<OrderDto> collection;
 	
+	@JsonInclude(value = Include.NON_NULL)
+	private String nextCursor;
+	
 }
@@ -12,7 +12,10 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
 
+import com.selimhorri.app.constant.AppConstant;
 import com.selimhorri.app.business.order.model.OrderDto;
 import com.selimhorri.app.business.order.model.response.OrderOrderServiceDtoCollectionResponse;
 
@@ -20,7 +23,9 @@ import com.selimhorri.app.business.order.model.response.OrderOrderServiceDtoColl
 public interface OrderClientService {
 	
 	@GetMapping
-	public ResponseEntity<OrderOrderServiceDtoCollectionResponse> findAll();
+	public ResponseEntity<OrderOrderServiceDtoCollectionResponse> findAll(
+			@RequestParam(name = "after", required = false) final String after, 
+			@RequestParam(name = "limit", required = false) final Integer limit);
 	
 	@GetMapping("/{orderId}")
 	public ResponseEntity<OrderDto> findById(
@@ -34,6 +39,19 @@ public interface OrderClientService {
 			@NotNull(message = "Input must not be NULL!") 
 			@Valid final OrderDto orderDto);
 	
+	@PostMapping
+	public ResponseEntity<OrderDto> save(
+			@RequestBody 
+			@NotNull(message = "Input must not be NULL!") 
+			@Valid final OrderDto orderDto, 
+			@RequestHeader(AppConstant.IDEMPOTENCY_KEY_HEADER) final String idempotencyKey);
+	
+	@DeleteMapping("/idempotency-keys/{idempotencyKey}")
+	public ResponseEntity<Boolean> cancel(
+			@PathVariable("idempotencyKey") 
+			@NotBlank(message = "Input must not be blank!") 
+			@Valid final String idempotencyKey);
+	
 	@PutMapping
 	public ResponseEntity<OrderDto> update(
 			@RequestBody 
@@ -1,6 +1,9 @@
 package com.selimhorri.app.business.orderItem.controller;
 
+import java.util.concurrent.CompletableFuture;
+
 import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -8,6 +11,7 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.selimhorri.app.business.orderItem.model.OrderItemDto;
@@ -23,48 +27,72 @@ import lombok.RequiredArgsConstructor;
 public class OrderItemController {
 	
 	private final OrderItemClientService orderItemClientService;
+	private final ThreadPoolTaskExecutor proxyExecutor;
 	
 	@GetMapping
-	public ResponseEntity<OrderItemOrderItemServiceDtoCollectionResponse> findAll() {
-		return ResponseEntity.ok(this.orderItemClientService.findAll().getBody());
+	public CompletableFuture<ResponseEntity<OrderItemOrderItemServiceDtoCollectionResponse>> findAll(
+			@RequestParam(name = "after", required = false) final String after, 
+			@RequestParam(name = "limit", required = false) final Integer limit) {
+		return CompletableFuture.supplyAsync(() -> ResponseEntity.ok(this.orderItemClientService.findAll(after, limit).getBody()), 
+				this.proxyExecutor);
 	}
 	
 	@GetMapping("/{orderId}/{productId}")
-	public ResponseEntity<OrderItemDto> findById(
+	public CompletableFuture<ResponseEntity<OrderItemDto>> findById(
 			@PathVariable("orderId") final String orderId, 
 			@PathVariable("productId") final String productId) {
-		return ResponseEntity.ok(this.orderItemClientService.findById(new OrderItemId(Integer.parseInt(productId), 
-				Integer.parseInt(orderId))).getBody());
+		return CompletableFuture.supplyAsync(() -> ResponseEntity.ok(this.orderItemClientService.findById(orderId, productId).getBody()), 
+				this.proxyExecutor);
+	}
+	
+	@GetMapping("/order/{orderId}")
+	public CompletableFuture<ResponseEntity<OrderItemOrderItemServiceDtoCollectionResponse>> findAllByOrderId(
+			@PathVariable("orderId") final String orderId) {
+		return CompletableFuture.supplyAsync(() -> ResponseEntity.ok(this.orderItemClientService.findAllByOrderId(orderId).getBody()), 
+				this.proxyExecutor);
+	}
+	
+	@GetMapping("/product/{productId}")
+	public CompletableFuture<ResponseEntity<OrderItemOrderItemServiceDtoCollectionResponse>> findAllByProductId(
+			@PathVariable("productId") final String productId) {
+		return CompletableFuture.supplyAsync(() -> ResponseEntity.ok(this.orderItemClientService.findAllByProductId(productId).getBody()), 
+				this.proxyExecutor);
 	}
 	
 	@GetMapping("/find")
-	public ResponseEntity<OrderItemDto> findById(@RequestBody final OrderItemId orderItemId) {
-		return ResponseEntity.ok(this.orderItemClientService.findById(orderItemId).getBody());
+	public CompletableFuture<ResponseEntity<OrderItemDto>> findById(@RequestBody final OrderItemId orderItemId) {
+		return CompletableFuture.supplyAsync(() -> ResponseEntity.ok(this.orderItemClientService.findById(orderItemId).getBody()), 
+				this.proxyExecutor);
 	}
 	
 	@PostMapping
-	public ResponseEntity<OrderItemDto> save(@RequestBody final OrderItemDto orderItemDto) {
-		return ResponseEntity.ok(this.orderItemClientService.save(orderItemDto).getBody());
+	public CompletableFuture<ResponseEntity<OrderItemDto>> save(@RequestBody final OrderItemDto orderItemDto) {
+		return CompletableFuture.supplyAsync(() -> ResponseEntity.ok(this.orderItemClientService.save(orderItemDto).getBody()), 
+				this.proxyExecutor);
 	}
 	
 	@PutMapping
-	public ResponseEntity<OrderItemDto> update(@RequestBody final OrderItemDto orderItemDto) {
-		return ResponseEntity.ok(this.orderItemClientService.update(orderItemDto).getBody());
+	public CompletableFuture<ResponseEntity<OrderItemDto>> update(@RequestBody final OrderItemDto orderItemDto) {
+		return CompletableFuture.supplyAsync(() -> ResponseEntity.ok(this.orderItemClientService.update(orderItemDto).getBody()), 
+				this.proxyExecutor);
 	}
 	
 	@DeleteMapping("/{orderId}/{productId}")
-	public ResponseEntity<Boolean> deleteById(
+	public CompletableFuture<ResponseEntity<Boolean>> deleteById(
 			@PathVariable("orderId") final String orderId, 
 			@PathVariable("productId") final String productId) {
-		this.orderItemClientService.deleteById(new OrderItemId(Integer.parseInt(orderId), 
-				Integer.parseInt(productId))).getBody();
-		return ResponseEntity.ok(true);
+		return CompletableFuture.supplyAsync(() -> {
+			this.orderItemClientService.deleteById(orderId, productId).getBody();
+			return ResponseEntity.ok(true);
+		}, this.proxyExecutor);
 	}
 	
 	@DeleteMapping("/delete")
-	public ResponseEntity<Boolean> deleteById(@RequestBody final OrderItemId orderItemId) {
-		this.orderItemClientService.deleteById(orderItemId).getBody();
-		return ResponseEntity.ok(true);
+	public CompletableFuture<ResponseEntity<Boolean>> deleteById(@RequestBody final OrderItemId orderItemId) {
+		return CompletableFuture.supplyAsync(() -> {
+			this.orderItemClientService.deleteById(orderItemId).getBody();
+			return ResponseEntity.ok(true);
+		}, this.proxyExecutor);
 	}
 	
 	
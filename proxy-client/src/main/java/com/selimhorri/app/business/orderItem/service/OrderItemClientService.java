@@ -1,6 +1,7 @@
 package com.selimhorri.app.business.orderItem.service;
 
 import javax.validation.Valid;
+import javax.validation.constraints.NotBlank;
 import javax.validation.constraints.NotNull;
 
 import org.springframework.cloud.openfeign.FeignClient;
@@ -11,7 +12,10 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
 
+import com.selimhorri.app.constant.AppConstant;
 import com.selimhorri.app.business.orderItem.model.OrderItemDto;
 import com.selimhorri.app.business.orderItem.model.OrderItemId;
 import com.selimhorri.app.business.orderItem.model.response.OrderItemOrderItemServiceDtoCollectionResponse;
@@ -20,13 +24,23 @@ import com.selimhorri.app.business.orderItem.model.response.OrderItemOrderItemSe
 public interface OrderItemClientService {
 	
 	@GetMapping
-	ResponseEntity<OrderItemOrderItemServiceDtoCollectionResponse> findAll();
+	ResponseEntity<OrderItemOrderItemServiceDtoCollectionResponse> findAll(
+			@RequestParam(name = "after", required = false) final String after, 
+			@RequestParam(name = "limit", required = false) final Integer limit);
 	
 	@GetMapping("/{orderId}/{productId}")
 	ResponseEntity<OrderItemDto> findById(
 			@PathVariable("orderId") final String orderId, 
 			@PathVariable("productId") final String productId);
 	
+	@GetMapping("/order/{orderId}")
+	ResponseEntity<OrderItemOrderItemServiceDtoCollectionResponse> findAllByOrderId(
+			@PathVariable("orderId") final String orderId);
+	
+	@GetMapping("/product/{productId}")
+	ResponseEntity<OrderItemOrderItemServiceDtoCollectionResponse> findAllByProductId(
+			@PathVariable("productId") final String productId);
+	
 	@GetMapping("/find")
 	ResponseEntity<OrderItemDto> findById(
 			@RequestBody 
@@ -39,6 +53,19 @@ public interface OrderItemClientService {
 			@NotNull(message = "Input must not be NULL") 
 			@Valid final OrderItemDto orderItemDto);
 	
+	@PostMapping("/bulk")
+	ResponseEntity<OrderItemOrderItemServiceDtoCollectionResponse> saveAll(
+			@RequestBody 
+			@NotNull(message = "Input must not be NULL") 
+			@Valid final OrderItemOrderItemServiceDtoCollectionResponse orderItemDtos, 
+			@RequestHeader(AppConstant.IDEMPOTENCY_KEY_HEADER) final String idempotencyKey);
+	
+	@DeleteMapping("/idempotency-keys/{idempotencyKey}")
+	ResponseEntity<Boolean> cancel(
+			@PathVariable("idempotencyKey") 
+			@NotBlank(message = "Input must not be blank") 
+			@Valid final String idempotencyKey);
+	
 	@PutMapping
 	ResponseEntity<OrderItemDto> update(
 			@RequestBody 
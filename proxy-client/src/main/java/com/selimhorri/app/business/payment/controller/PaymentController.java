@@ -1,6 +1,9 @@
 package com.selimhorri.app.business.payment.controller;
 
+import java.util.concurrent.CompletableFuture;
+
 import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -8,6 +11,7 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.selimhorri.app.business.payment.model.PaymentDto;
@@ -22,30 +26,38 @@ import lombok.RequiredArgsConstructor;
 public class PaymentController {
 	
 	private final PaymentClientService paymentClientService;
+	private final ThreadPoolTaskExecutor proxyExecutor;
 	
 	@GetMapping
-	public ResponseEntity<PaymentPaymentServiceDtoCollectionResponse> findAll() {
-		return ResponseEntity.ok(this.paymentClientService.findAll().getBody());
+	public CompletableFuture<ResponseEntity<PaymentPaymentServiceDtoCollectionResponse>> findAll(
+			@RequestParam(name = "after", required = false) final String after, 
+			@RequestParam(name = "limit", required = false) final Integer limit) {
+		return CompletableFuture.supplyAsync(() -> ResponseEntity.ok(this.paymentClientService.findAll(after, limit).getBody()), 
+				this.proxyExecutor);
 	}
 	
 	@GetMapping("/{paymentId}")
-	public ResponseEntity<PaymentDto> findById(@PathVariable("paymentId") final String paymentId) {
-		return ResponseEntity.ok(this.paymentClientService.findById(paymentId).getBody());
+	public CompletableFuture<ResponseEntity<PaymentDto>> findById(@PathVariable("paymentId") final String paymentId) {
+		return CompletableFuture.supplyAsync(() -> ResponseEntity.ok(this.paymentClientService.findById(paymentId).getBody()), 
+				this.proxyExecutor);
 	}
 	
 	@PostMapping
-	public ResponseEntity<PaymentDto> save(@RequestBody final PaymentDto paymentDto) {
-		return ResponseEntity.ok(this.paymentClientService.save(paymentDto).getBody());
+	public CompletableFuture<ResponseEntity<PaymentDto>> save(@RequestBody final PaymentDto paymentDto) {
+		return CompletableFuture.supplyAsync(() -> ResponseEntity.ok(this.paymentClientService.save(paymentDto).getBody()), 
+				this.proxyExecutor);
 	}
 	
 	@PutMapping
-	public ResponseEntity<PaymentDto> update(@RequestBody final PaymentDto paymentDto) {
-		return ResponseEntity.ok(this.paymentClientService.update(paymentDto).getBody());
+	public CompletableFuture<ResponseEntity<PaymentDto>> update(@RequestBody final PaymentDto paymentDto) {
+		return CompletableFuture.supplyAsync(() -> ResponseEntity.ok(this.paymentClientService.update(paymentDto).getBody()), 
+				this.proxyExecutor);
 	}
 	
 	@DeleteMapping("/{paymentId}")
-	public ResponseEntity<Boolean> deleteById(@PathVariable("paymentId") final String paymentId) {
-		return ResponseEntity.ok(this.paymentClientService.deleteById(paymentId).getBody());
+	public CompletableFuture<ResponseEntity<Boolean>> deleteById(@PathVariable("paymentId") final String paymentId) {
+		return CompletableFuture.supplyAsync(() -> ResponseEntity.ok(this.paymentClientService.deleteById(paymentId).getBody()), 
+				this.proxyExecutor);
 	}
 	
 	
@@ -12,7 +12,10 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
 
+import com.selimhorri.app.constant.AppConstant;
 import com.selimhorri.app.business.payment.model.PaymentDto;
 import com.selimhorri.app.business.payment.model.response.PaymentPaymentServiceDtoCollectionResponse;
 
@@ -20,7 +23,9 @@ import com.selimhorri.app.business.payment.model.response.PaymentPaymentServiceD
 public interface PaymentClientService {
 	
 	@GetMapping
-	public ResponseEntity<PaymentPaymentServiceDtoCollectionResponse> findAll();
+	public ResponseEntity<PaymentPaymentServiceDtoCollectionResponse> findAll(
+			@RequestParam(name = "after", required = false) final String after, 
+			@RequestParam(name = "limit", required = false) final Integer limit);
 	
 	@GetMapping("/{paymentId}")
 	public ResponseEntity<PaymentDto> findById(
@@ -34,6 +39,19 @@ public interface PaymentClientService {
 			@NotNull(message = "Input must not be NULL!") 
 			@Valid final PaymentDto paymentDto);
 	
+	@PostMapping
+	public ResponseEntity<PaymentDto> save(
+			@RequestBody 
+			@NotNull(message = "Input must not be NULL!") 
+			@Valid final PaymentDto paymentDto, 
+			@RequestHeader(AppConstant.IDEMPOTENCY_KEY_HEADER) final String idempotencyKey);
+	
+	@DeleteMapping("/idempotency-keys/{idempotencyKey}")
+	public ResponseEntity<Boolean> cancel(
+			@PathVariable("idempotencyKey") 
+			@NotBlank(message = "Input must not be blank!") 
+			@Valid final String idempotencyKey);
+	
 	@PutMapping
 	public ResponseEntity<PaymentDto> update(
 			@RequestBody 
@@ -1,6 +1,9 @@
 package com.selimhorri.app.business.product.controller;
 
+import java.util.concurrent.CompletableFuture;
+
 import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -22,36 +25,61 @@ import lombok.RequiredArgsConstructor;
 public class CategoryController {
 	
 	private final CategoryClientService categoryClientService;
+	private final ThreadPoolTaskExecutor proxyExecutor;
 	
 	@GetMapping
-	public ResponseEntity<CategoryProductServiceCollectionDtoResponse> findAll() {
-		return ResponseEntity.ok(this.categoryClientService.findAll().getBody());
+	public CompletableFuture<ResponseEntity<CategoryProductServiceCollectionDtoResponse>> findAll() {
+		return CompletableFuture.supplyAsync(() -> ResponseEntity.ok(this.categoryClientService.findAll().getBody()), 
+				this.proxyExecutor);
+	}
+	
+	@GetMapping("/tree")
+	public CompletableFuture<ResponseEntity<CategoryProductServiceCollectionDtoResponse>> findTree() {
+		return CompletableFuture.supplyAsync(() -> ResponseEntity.ok(this.categoryClientService.findTree().getBody()), 
+				this.proxyExecutor);
+	}
+	
+	@GetMapping("/{categoryId}/ancestors")
+	public CompletableFuture<ResponseEntity<CategoryProductServiceCollectionDtoResponse>> findAncestors(@PathVariable("categoryId") final String categoryId) {
+		return CompletableFuture.supplyAsync(() -> ResponseEntity.ok(this.categoryClientService.findAncestors(categoryId).getBody()), 
+				this.proxyExecutor);
+	}
+	
+	@GetMapping("/{categoryId}/descendants")
+	public CompletableFuture<ResponseEntity<CategoryProductServiceCollectionDtoResponse>> findDescendants(@PathVariable("categoryId") final String categoryId) {
+		return CompletableFuture.supplyAsync(() -> ResponseEntity.ok(this.categoryClientService.findDescendants(categoryId).getBody()), 
+				this.proxyExecutor);
 	}
 	
 	@GetMapping("/{categoryId}")
-	public ResponseEntity<CategoryDto> findById(@PathVariable("categoryId") final String categoryId) {
-		return ResponseEntity.ok(this.categoryClientService.findById(categoryId).getBody());
+	public CompletableFuture<ResponseEntity<CategoryDto>> findById(@PathVariable("categoryId") final String categoryId) {
+		return CompletableFuture.supplyAsync(() -> ResponseEntity.ok(this.categoryClientService.findById(categoryId).getBody()), 
+				this.proxyExecutor);
 	}
 	
 	@PostMapping
-	public ResponseEntity<CategoryDto> save(@RequestBody final CategoryDto categoryDto) {
-		return ResponseEntity.ok(this.categoryClientService.save(categoryDto).getBody());
+	public CompletableFuture<ResponseEntity<CategoryDto>> save(@RequestBody final CategoryDto categoryDto) {
+		return CompletableFuture.supplyAsync(() -> ResponseEntity.ok(this.categoryClientService.save(categoryDto).getBody()), 
+				this.proxyExecutor);
 	}
 	
 	@PutMapping
-	public ResponseEntity<CategoryDto> update(@RequestBody final CategoryDto categoryDto) {
-		return ResponseEntity.ok(this.categoryClientService.update(categoryDto).getBody());
+	public CompletableFuture<ResponseEntity<CategoryDto>> update(@RequestBody final CategoryDto categoryDto) {
+		return CompletableFuture.supplyAsync(() -> ResponseEntity.ok(this.categoryClientService.update(categoryDto).getBody()), 
+				this.proxyExecutor);
 	}
 	
 	@PutMapping("/{categoryId}")
-	public ResponseEntity<CategoryDto> update(@PathVariable("categoryId") final String categoryId, 
+	public CompletableFuture<ResponseEntity<CategoryDto>> update(@PathVariable("categoryId") final String categoryId, 
 			@RequestBody final CategoryDto categoryDto) {
-		return ResponseEntity.ok(this.categoryClientService.update(categoryId, categoryDto).getBody());
+		return CompletableFuture.supplyAsync(() -> ResponseEntity.ok(this.categoryClientService.update(categoryId, categoryDto).getBody()), 
+				this.proxyExecutor);
 	}
 	
 	@DeleteMapping("/{categoryId}")
-	public ResponseEntity<Boolean> deleteById(@PathVariable("categoryId") final String categoryId) {
-		return ResponseEntity.ok(this.categoryClientService.deleteById(categoryId).getBody());
+	public CompletableFuture<ResponseEntity<Boolean>> deleteById(@PathVariable("categoryId") final String categoryId) {
+		return CompletableFuture.supplyAsync(() -> ResponseEntity.ok(this.categoryClientService.deleteById(categoryId).getBody()), 
+				this.proxyExecutor);
 	}
 	
 	
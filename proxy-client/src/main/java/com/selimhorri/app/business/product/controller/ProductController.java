@@ -1,6 +1,9 @@
 package com.selimhorri.app.business.product.controller;
 
+import java.util.concurrent.CompletableFuture;
+
 import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -8,11 +11,14 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.selimhorri.app.business.product.model.ProductDto;
+import com.selimhorri.app.business.product.model.ProductViewDto;
 import com.selimhorri.app.business.product.model.response.ProductProductServiceCollectionDtoResponse;
 import com.selimhorri.app.business.product.service.ProductClientService;
+import com.selimhorri.app.business.product.service.ProductViewService;
 
 import lombok.RequiredArgsConstructor;
 
@@ -22,36 +28,51 @@ import lombok.RequiredArgsConstructor;
 public class ProductController {
 	
 	private final ProductClientService productClientService;
+	private final ProductViewService productViewService;
+	private final ThreadPoolTaskExecutor proxyExecutor;
 	
 	@GetMapping
-	public ResponseEntity<ProductProductServiceCollectionDtoResponse> findAll() {
-		return ResponseEntity.ok(this.productClientService.findAll().getBody());
+	public CompletableFuture<ResponseEntity<ProductProductServiceCollectionDtoResponse>> findAll(
+			@RequestParam(name = "after", required = false) final String after, 
+			@RequestParam(name = "limit", required = false) final Integer limit) {
+		return CompletableFuture.supplyAsync(() -> ResponseEntity.ok(this.productClientService.findAll(after, limit).getBody()), 
+				this.proxyExecutor);
 	}
 	
 	@GetMapping("/{productId}")
-	public ResponseEntity<ProductDto> findById(@PathVariable("productId") final String productId) {
-		return ResponseEntity.ok(this.productClientService.findById(productId).getBody());
+	public CompletableFuture<ResponseEntity<ProductDto>> findById(@PathVariable("productId") final String productId) {
+		return CompletableFuture.supplyAsync(() -> ResponseEntity.ok(this.productClientService.findById(productId).getBody()), 
+				this.proxyExecutor);
+	}
+	
+	@GetMapping("/{productId}/view")
+	public CompletableFuture<ResponseEntity<ProductViewDto>> findViewById(@PathVariable("productId") final String productId) {
+		return this.productViewService.findById(productId).thenApply(ResponseEntity::ok);
 	}
 	
 	@PostMapping
-	public ResponseEntity<ProductDto> save(@RequestBody final ProductDto productDto) {
-		return ResponseEntity.ok(this.productClientService.save(productDto).getBody());
+	public CompletableFuture<ResponseEntity<ProductDto>> save(@RequestBody final ProductDto productDto) {
+		return CompletableFuture.supplyAsync(() -> ResponseEntity.ok(this.productClientService.save(productDto).getBody()), 
+				this.proxyExecutor);
 	}
 	
 	@PutMapping
-	public ResponseEntity<ProductDto> update(@RequestBody final ProductDto productDto) {
-		return ResponseEntity.ok(this.productClientService.update(productDto).getBody());
+	public CompletableFuture<ResponseEntity<ProductDto>> update(@RequestBody final ProductDto productDto) {
+		return CompletableFuture.supplyAsync(() -> ResponseEntity.ok(this.productClientService.update(productDto).getBody()), 
+				this.proxyExecutor);
 	}
 	
 	@PutMapping("/{productId}")
-	public ResponseEntity<ProductDto> update(@PathVariable("productId") final String productId, 
+	public CompletableFuture<ResponseEntity<ProductDto>> update(@PathVariable("productId") final String productId, 
 			@RequestBody final ProductDto productDto) {
-		return ResponseEntity.ok(this.productClientService.update(productId, productDto).getBody());
+		return CompletableFuture.supplyAsync(() -> ResponseEntity.ok(this.productClientService.update(productId, productDto).getBody()), 
+				this.proxyExecutor);
 	}
 	
 	@DeleteMapping("/{productId}")
-	public ResponseEntity<Boolean> deleteById(@PathVariable("productId") final String productId) {
-		return ResponseEntity.ok(this.productClientService.deleteById(productId).getBody());
+	public CompletableFuture<ResponseEntity<Boolean>> deleteById(@PathVariable("productId") final String productId) {
+		return CompletableFuture.supplyAsync(() -> ResponseEntity.ok(this.productClientService.deleteById(productId).getBody()), 
+				this.proxyExecutor);
 	}
 	
 	
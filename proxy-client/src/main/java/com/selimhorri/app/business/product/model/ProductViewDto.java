@@ -0,0 +1,46 @@
+package com.selimhorri.app.business.product.model;
+
+import java.io.Serializable;
+import java.util.List;
+import java.util.Set;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+@Builder
+public class ProductViewDto implements Serializable {
+	
+	private static final long serialVersionUID = 1L;
+	
+	@JsonProperty("product")
+	private ProductDto productDto;
+	
+	@JsonProperty("categoryChain")
+	private List<CategoryDto> categoryChainDtos;
+	
+	@JsonInclude(Include.NON_NULL)
+	private Long favouriteCount;
+	
+	@JsonInclude(Include.NON_EMPTY)
+	private Set<String> unavailable;
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -22,6 +22,21 @@ public interface CategoryClientService {
 	@GetMapping
 	ResponseEntity<CategoryProductServiceCollectionDtoResponse> findAll();
 	
+	@GetMapping("/tree")
+	ResponseEntity<CategoryProductServiceCollectionDtoResponse> findTree();
+	
+	@GetMapping("/{categoryId}/ancestors")
+	ResponseEntity<CategoryProductServiceCollectionDtoResponse> findAncestors(
+			@PathVariable("categoryId") 
+			@NotBlank(message = "Input must not be blank!") 
+			@Valid final String categoryId);
+	
+	@GetMapping("/{categoryId}/descendants")
+	ResponseEntity<CategoryProductServiceCollectionDtoResponse> findDescendants(
+			@PathVariable("categoryId") 
+			@NotBlank(message = "Input must not be blank!") 
+			@Valid final String categoryId);
+	
 	@GetMapping("/{categoryId}")
 	ResponseEntity<CategoryDto> findById(
 			@PathVariable("categoryId") 
@@ -12,15 +12,22 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
 
+import com.selimhorri.app.constant.AppConstant;
 import com.selimhorri.app.business.product.model.ProductDto;
+import com.selimhorri.app.business.product.model.StockReservationDto;
 import com.selimhorri.app.business.product.model.response.ProductProductServiceCollectionDtoResponse;
+import com.selimhorri.app.business.product.model.response.StockReservationProductServiceCollectionDtoResponse;
 
 @FeignClient(name = "PRODUCT-SERVICE", contextId = "productClientService", path = "/product-service/api/products")
 public interface ProductClientService {
 	
 	@GetMapping
-	ResponseEntity<ProductProductServiceCollectionDtoResponse> findAll();
+	ResponseEntity<ProductProductServiceCollectionDtoResponse> findAll(
+			@RequestParam(name = "after", required = false) final String after, 
+			@RequestParam(name = "limit", required = false) final Integer limit);
 	
 	@GetMapping("/{productId}")
 	ResponseEntity<ProductDto> findById(
@@ -52,6 +59,28 @@ public interface ProductClientService {
 	@DeleteMapping("/{productId}")
 	ResponseEntity<Boolean> deleteById(@PathVariable("productId") final String productId);
 	
+	@PostMapping("/reserve")
+	ResponseEntity<StockReservationProductServiceCollectionDtoResponse> reserveAll(
+			@RequestBody 
+			@NotNull(message = "Input must not be NULL!") 
+			@Valid final StockReservationProductServiceCollectionDtoResponse stockReservations, 
+			@RequestHeader(AppConstant.IDEMPOTENCY_KEY_HEADER) final String reservationId);
+	
+	@DeleteMapping("/reservations/{reservationId}")
+	ResponseEntity<StockReservationProductServiceCollectionDtoResponse> releaseReservation(
+			@PathVariable("reservationId") 
+			@NotBlank(message = "Input must not be blank!") 
+			@Valid final String reservationId);
+	
+	@PostMapping("/{productId}/release")
+	ResponseEntity<StockReservationDto> release(
+			@PathVariable("productId") 
+			@NotBlank(message = "Input must not be blank!") 
+			@Valid final String productId, 
+			@RequestBody 
+			@NotNull(message = "Input must not be NULL!") 
+			@Valid final StockReservationDto stockReservationDto);
+	
 }
 
 
@@ -0,0 +1,11 @@
+package com.selimhorri.app.business.product.service;
+
+import java.util.concurrent.CompletableFuture;
+
+import com.selimhorri.app.business.product.model.ProductViewDto;
+
+public interface ProductViewService {
+	
+	CompletableFuture<ProductViewDto> findById(final String productId);
+	
+}
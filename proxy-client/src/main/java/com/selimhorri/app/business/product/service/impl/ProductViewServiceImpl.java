@@ -0,0 +1,120 @@
+package com.selimhorri.app.business.product.service.impl;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import com.selimhorri.app.business.favourite.service.FavouriteClientService;
+import com.selimhorri.app.business.product.model.CategoryDto;
+import com.selimhorri.app.business.product.model.ProductDto;
+import com.selimhorri.app.business.product.model.ProductViewDto;
+import com.selimhorri.app.business.product.service.CategoryClientService;
+import com.selimhorri.app.business.product.service.ProductClientService;
+import com.selimhorri.app.business.product.service.ProductViewService;
+import com.selimhorri.app.config.client.ProductViewProperties;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class ProductViewServiceImpl implements ProductViewService {
+	
+	private final ProductClientService productClientService;
+	private final CategoryClientService categoryClientService;
+	private final FavouriteClientService favouriteClientService;
+	private final ThreadPoolTaskExecutor productViewExecutor;
+	private final ProductViewProperties productViewProperties;
+	
+	/**
+	 * Completes once every part has arrived or been dropped, without blocking the calling thread.
+	 */
+	@Override
+	public CompletableFuture<ProductViewDto> findById(final String productId) {
+		log.info("**ProductViewDto, service; aggregate product view by id*\n");
+		final Set<String> unavailable = ConcurrentHashMap.newKeySet();
+		
+		final var productFuture = this.fetch(() -> this.productClientService.findById(productId).getBody(), 
+				this.productViewProperties.getProductTimeout());
+		final var favouriteCountFuture = this.fetch(() -> this.favouriteClientService.countByProductId(productId).getBody(), 
+				this.productViewProperties.getFavouriteTimeout())
+				.exceptionally(e -> this.fallback("favouriteCount", e, unavailable, null));
+		final var categoryChainFuture = productFuture
+				.thenCompose(this::fetchCategoryChain)
+				.exceptionally(e -> this.fallback("categoryChain", e, unavailable, List.of()));
+		
+		return productFuture
+				.handle((productDto, e) -> {
+					if (e != null) {
+						final var cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+						throw cause instanceof RuntimeException ? (RuntimeException) cause : 
+								new IllegalStateException(String.format("Product with id: %s is unavailable", productId), cause);
+					}
+					return ProductViewDto.builder()
+							.productDto(productDto);
+				})
+				.thenCombine(categoryChainFuture, (productViewDto, categoryChainDtos) -> productViewDto
+						.categoryChainDtos(categoryChainDtos))
+				.thenCombine(favouriteCountFuture, (productViewDto, favouriteCount) -> productViewDto
+						.favouriteCount(favouriteCount)
+						.unavailable(unavailable)
+						.build());
+	}
+	
+	private CompletableFuture<List<CategoryDto>> fetchCategoryChain(final ProductDto productDto) {
+		if (productDto == null || productDto.getCategoryDto() == null || productDto.getCategoryDto().getCategoryId() == null) {
+			return CompletableFuture.completedFuture(List.of());
+		}
+		final var categoryDto = productDto.getCategoryDto();
+		return this.fetch(() -> {
+			final List<CategoryDto> categoryChainDtos = new ArrayList<>();
+			categoryChainDtos.add(categoryDto);
+			final var ancestors = this.categoryClientService
+					.findAncestors(String.valueOf(categoryDto.getCategoryId())).getBody();
+			if (ancestors != null && ancestors.getCollection() != null) {
+				categoryChainDtos.addAll(ancestors.getCollection());
+			}
+			return List.copyOf(categoryChainDtos);
+		}, this.productViewProperties.getCategoryTimeout());
+	}
+	
+	private <T> CompletableFuture<T> fetch(final Supplier<T> lookup, final Duration timeout) {
+		try {
+			return CompletableFuture.supplyAsync(lookup, this.productViewExecutor)
+					.orTimeout(timeout.toMillis(), TimeUnit.MILLISECONDS);
+		}
+		catch (RejectedExecutionException e) {
+			return CompletableFuture.failedFuture(e);
+		}
+	}
+	
+	private <T> T fallback(final String part, final Throwable e, final Set<String> unavailable, final T fallback) {
+		log.warn("**ProductViewDto, service; {} unavailable, serving partial view: {}*", part, e.getMessage());
+		unavailable.add(part);
+		return fallback;
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -1,6 +1,9 @@
 package com.selimhorri.app.business.user.controller;
 
+import java.util.concurrent.CompletableFuture;
+
 import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -22,35 +25,42 @@ import lombok.RequiredArgsConstructor;
 public class AddressController {
 	
 	private final AddressClientService addressClientService;
+	private final ThreadPoolTaskExecutor proxyExecutor;
 	
 	@GetMapping
-	public ResponseEntity<AddressUserServiceCollectionDtoResponse> findAll() {
-		return ResponseEntity.ok(this.addressClientService.findAll().getBody());
+	public CompletableFuture<ResponseEntity<AddressUserServiceCollectionDtoResponse>> findAll() {
+		return CompletableFuture.supplyAsync(() -> ResponseEntity.ok(this.addressClientService.findAll().getBody()), 
+				this.proxyExecutor);
 	}
 	
 	@GetMapping("/{addressId}")
-	public ResponseEntity<AddressDto> findById(@PathVariable("addressId") final String addressId) {
-		return ResponseEntity.ok(this.addressClientService.findById(addressId).getBody());
+	public CompletableFuture<ResponseEntity<AddressDto>> findById(@PathVariable("addressId") final String addressId) {
+		return CompletableFuture.supplyAsync(() -> ResponseEntity.ok(this.addressClientService.findById(addressId).getBody()), 
+				this.proxyExecutor);
 	}
 	
 	@PostMapping
-	public ResponseEntity<AddressDto> save(@RequestBody final AddressDto addressDto) {
-		return ResponseEntity.ok(this.addressClientService.save(addressDto).getBody());
+	public CompletableFuture<ResponseEntity<AddressDto>> save(@RequestBody final AddressDto addressDto) {
+		return CompletableFuture.supplyAsync(() -> ResponseEntity.ok(this.addressClientService.save(addressDto).getBody()), 
+				this.proxyExecutor);
 	}
 	
 	@PutMapping
-	public ResponseEntity<AddressDto> update(@RequestBody final AddressDto addressDto) {
-		return ResponseEntity.ok(this.addressClientService.update(addressDto).getBody());
+	public CompletableFuture<ResponseEntity<AddressDto>> update(@RequestBody final AddressDto addressDto) {
+		return CompletableFuture.supplyAsync(() -> ResponseEntity.ok(this.addressClientService.update(addressDto).getBody()), 
+				this.proxyExecutor);
 	}
 	
 	@PutMapping("/{addressId}")
-	public ResponseEntity<AddressDto> update(@PathVariable("addressId") final String addressId, @RequestBody final AddressDto addressDto) {
-		return ResponseEntity.ok(this.addressClientService.update(addressDto).getBody());
+	public CompletableFuture<ResponseEntity<AddressDto>> update(@PathVariable("addressId") final String addressId, @RequestBody final AddressDto addressDto) {
+		return CompletableFuture.supplyAsync(() -> ResponseEntity.ok(this.addressClientService.update(addressDto).getBody()), 
+				this.proxyExecutor);
 	}
 	
 	@DeleteMapping("/{addressId}")
-	public ResponseEntity<Boolean> deleteById(@PathVariable("addressId") final String addressId) {
-		return ResponseEntity.ok(this.addressClientService.deleteById(addressId).getBody());
+	public CompletableFuture<ResponseEntity<Boolean>> deleteById(@PathVariable("addressId") final String addressId) {
+		return CompletableFuture.supplyAsync(() -> ResponseEntity.ok(this.addressClientService.deleteById(addressId).getBody()), 
+				this.proxyExecutor);
 	}
 	
 	
@@ -1,6 +1,9 @@
 package com.selimhorri.app.business.user.controller;
 
+import java.util.concurrent.CompletableFuture;
+
 import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -10,6 +13,7 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.selimhorri.app.business.auth.service.UserDetailsCacheService;
 import com.selimhorri.app.business.user.model.CredentialDto;
 import com.selimhorri.app.business.user.model.response.CredentialUserServiceCollectionDtoResponse;
 import com.selimhorri.app.business.user.service.CredentialClientService;
@@ -22,40 +26,58 @@ import lombok.RequiredArgsConstructor;
 public class CredentialController {
 	
 	private final CredentialClientService credentialClientService;
+	private final UserDetailsCacheService userDetailsCacheService;
+	private final ThreadPoolTaskExecutor proxyExecutor;
 	
 	@GetMapping
-	public ResponseEntity<CredentialUserServiceCollectionDtoResponse> findAll() {
-		return ResponseEntity.ok(this.credentialClientService.findAll().getBody());
+	public CompletableFuture<ResponseEntity<CredentialUserServiceCollectionDtoResponse>> findAll() {
+		return CompletableFuture.supplyAsync(() -> ResponseEntity.ok(this.credentialClientService.findAll().getBody()), 
+				this.proxyExecutor);
 	}
 	
 	@GetMapping("/{credentialId}")
-	public ResponseEntity<CredentialDto> findById(@PathVariable("credentialId") final String credentialId) {
-		return ResponseEntity.ok(this.credentialClientService.findById(credentialId).getBody());
+	public CompletableFuture<ResponseEntity<CredentialDto>> findById(@PathVariable("credentialId") final String credentialId) {
+		return CompletableFuture.supplyAsync(() -> ResponseEntity.ok(this.credentialClientService.findById(credentialId).getBody()), 
+				this.proxyExecutor);
 	}
 	
 	@GetMapping("/username/{username}")
-	public ResponseEntity<CredentialDto> findByCredentialname(@PathVariable("username") final String username) {
-		return ResponseEntity.ok(this.credentialClientService.findByUsername(username).getBody());
+	public CompletableFuture<ResponseEntity<CredentialDto>> findByCredentialname(@PathVariable("username") final String username) {
+		return CompletableFuture.supplyAsync(() -> ResponseEntity.ok(this.credentialClientService.findByUsername(username).getBody()), 
+				this.proxyExecutor);
 	}
 	
 	@PostMapping
-	public ResponseEntity<CredentialDto> save(@RequestBody final CredentialDto credentialDto) {
-		return ResponseEntity.ok(this.credentialClientService.save(credentialDto).getBody());
+	public CompletableFuture<ResponseEntity<CredentialDto>> save(@RequestBody final CredentialDto credentialDto) {
+		return CompletableFuture.supplyAsync(() -> ResponseEntity.ok(this.credentialClientService.save(credentialDto).getBody()), 
+				this.proxyExecutor);
 	}
 	
 	@PutMapping
-	public ResponseEntity<CredentialDto> update(@RequestBody final CredentialDto credentialDto) {
-		return ResponseEntity.ok(this.credentialClientService.update(credentialDto).getBody());
+	public CompletableFuture<ResponseEntity<CredentialDto>> update(@RequestBody final CredentialDto credentialDto) {
+		return CompletableFuture.supplyAsync(() -> {
+			final var updated = this.credentialClientService.update(credentialDto).getBody();
+			this.userDetailsCacheService.evictByCredentialId(String.valueOf(credentialDto.getCredentialId()));
+			return ResponseEntity.ok(updated);
+		}, this.proxyExecutor);
 	}
 	
 	@PutMapping("/{credentialId}")
-	public ResponseEntity<CredentialDto> update(@PathVariable("credentialId") final String credentialId, @RequestBody final CredentialDto credentialDto) {
-		return ResponseEntity.ok(this.credentialClientService.update(credentialDto).getBody());
+	public CompletableFuture<ResponseEntity<CredentialDto>> update(@PathVariable("credentialId") final String credentialId, @RequestBody final CredentialDto credentialDto) {
+		return CompletableFuture.supplyAsync(() -> {
+			final var updated = this.credentialClientService.update(credentialDto).getBody();
+			this.userDetailsCacheService.evictByCredentialId(credentialId);
+			return ResponseEntity.ok(updated);
+		}, this.proxyExecutor);
 	}
 	
 	@DeleteMapping("/{credentialId}")
-	public ResponseEntity<Boolean> deleteById(@PathVariable("credentialId") final String credentialId) {
-		return ResponseEntity.ok(this.credentialClientService.deleteById(credentialId).getBody());
+	public CompletableFuture<ResponseEntity<Boolean>> deleteById(@PathVariable("credentialId") final String credentialId) {
+		return CompletableFuture.supplyAsync(() -> {
+			final var deleted = this.credentialClientService.deleteById(credentialId).getBody();
+			this.userDetailsCacheService.evictByCredentialId(credentialId);
+			return ResponseEntity.ok(deleted);
+		}, this.proxyExecutor);
 	}
 	
 	
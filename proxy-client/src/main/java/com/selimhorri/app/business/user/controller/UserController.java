@@ -1,6 +1,9 @@
 package com.selimhorri.app.business.user.controller;
 
+import java.util.concurrent.CompletableFuture;
+
 import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -8,8 +11,10 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.selimhorri.app.business.auth.service.UserDetailsCacheService;
 import com.selimhorri.app.business.user.model.UserDto;
 import com.selimhorri.app.business.user.model.response.UserUserServiceCollectionDtoResponse;
 import com.selimhorri.app.business.user.service.UserClientService;
@@ -22,40 +27,60 @@ import lombok.RequiredArgsConstructor;
 public class UserController {
 	
 	private final UserClientService userClientService;
+	private final UserDetailsCacheService userDetailsCacheService;
+	private final ThreadPoolTaskExecutor proxyExecutor;
 	
 	@GetMapping
-	public ResponseEntity<UserUserServiceCollectionDtoResponse> findAll() {
-		return ResponseEntity.ok(this.userClientService.findAll().getBody());
+	public CompletableFuture<ResponseEntity<UserUserServiceCollectionDtoResponse>> findAll(
+			@RequestParam(name = "after", required = false) final String after, 
+			@RequestParam(name = "limit", required = false) final Integer limit) {
+		return CompletableFuture.supplyAsync(() -> ResponseEntity.ok(this.userClientService.findAll(after, limit).getBody()), 
+				this.proxyExecutor);
 	}
 	
 	@GetMapping("/{userId}")
-	public ResponseEntity<UserDto> findById(@PathVariable("userId") final String userId) {
-		return ResponseEntity.ok(this.userClientService.findById(userId).getBody());
+	public CompletableFuture<ResponseEntity<UserDto>> findById(@PathVariable("userId") final String userId) {
+		return CompletableFuture.supplyAsync(() -> ResponseEntity.ok(this.userClientService.findById(userId).getBody()), 
+				this.proxyExecutor);
 	}
 	
 	@GetMapping("/username/{username}")
-	public ResponseEntity<UserDto> findByUsername(@PathVariable("username") final String username) {
-		return ResponseEntity.ok(this.userClientService.findByUsername(username).getBody());
+	public CompletableFuture<ResponseEntity<UserDto>> findByUsername(@PathVariable("username") final String username) {
+		return CompletableFuture.supplyAsync(() -> ResponseEntity.ok(this.userClientService.findByUsername(username).getBody()), 
+				this.proxyExecutor);
 	}
 	
 	@PostMapping
-	public ResponseEntity<UserDto> save(@RequestBody final UserDto userDto) {
-		return ResponseEntity.ok(this.userClientService.save(userDto).getBody());
+	public CompletableFuture<ResponseEntity<UserDto>> save(@RequestBody final UserDto userDto) {
+		return CompletableFuture.supplyAsync(() -> ResponseEntity.ok(this.userClientService.save(userDto).getBody()), 
+				this.proxyExecutor);
 	}
 	
 	@PutMapping
-	public ResponseEntity<UserDto> update(@RequestBody final UserDto userDto) {
-		return ResponseEntity.ok(this.userClientService.update(userDto).getBody());
+	public CompletableFuture<ResponseEntity<UserDto>> update(@RequestBody final UserDto userDto) {
+		return CompletableFuture.supplyAsync(() -> {
+			final var updated = this.userClientService.update(userDto).getBody();
+			this.userDetailsCacheService.evictByUserId(String.valueOf(userDto.getUserId()));
+			return ResponseEntity.ok(updated);
+		}, this.proxyExecutor);
 	}
 	
 	@PutMapping("/{userId}")
-	public ResponseEntity<UserDto> update(@PathVariable("userId") final String userId, @RequestBody final UserDto userDto) {
-		return ResponseEntity.ok(this.userClientService.update(userDto).getBody());
+	public CompletableFuture<ResponseEntity<UserDto>> update(@PathVariable("userId") final String userId, @RequestBody final UserDto userDto) {
+		return CompletableFuture.supplyAsync(() -> {
+			final var updated = this.userClientService.update(userDto).getBody();
+			this.userDetailsCacheService.evictByUserId(userId);
+			return ResponseEntity.ok(updated);
+		}, this.proxyExecutor);
 	}
 	
 	@DeleteMapping("/{userId}")
-	public ResponseEntity<Boolean> deleteById(@PathVariable("userId") final String userId) {
-		return ResponseEntity.ok(this.userClientService.deleteById(userId).getBody());
+	public CompletableFuture<ResponseEntity<Boolean>> deleteById(@PathVariable("userId") final String userId) {
+		return CompletableFuture.supplyAsync(() -> {
+			final var deleted = this.userClientService.deleteById(userId).getBody();
+			this.userDetailsCacheService.evictByUserId(userId);
+			return ResponseEntity.ok(deleted);
+		}, this.proxyExecutor);
 	}
 	
 	
@@ -1,6 +1,9 @@
 package com.selimhorri.app.business.user.controller;
 
+import java.util.concurrent.CompletableFuture;
+
 import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -22,35 +25,42 @@ import lombok.RequiredArgsConstructor;
 public class VerificationTokenController {
 	
 	private final VerificationTokenClientService verificationTokenClientService;
+	private final ThreadPoolTaskExecutor proxyExecutor;
 	
 	@GetMapping
-	public ResponseEntity<VerificationUserTokenServiceCollectionDtoResponse> findAll() {
-		return ResponseEntity.ok(this.verificationTokenClientService.findAll().getBody());
+	public CompletableFuture<ResponseEntity<VerificationUserTokenServiceCollectionDtoResponse>> findAll() {
+		return CompletableFuture.supplyAsync(() -> ResponseEntity.ok(this.verificationTokenClientService.findAll().getBody()), 
+				this.proxyExecutor);
 	}
 	
 	@GetMapping("/{verificationTokenId}")
-	public ResponseEntity<VerificationTokenDto> findById(@PathVariable("verificationTokenId") final String verificationTokenId) {
-		return ResponseEntity.ok(this.verificationTokenClientService.findById(verificationTokenId).getBody());
+	public CompletableFuture<ResponseEntity<VerificationTokenDto>> findById(@PathVariable("verificationTokenId") final String verificationTokenId) {
+		return CompletableFuture.supplyAsync(() -> ResponseEntity.ok(this.verificationTokenClientService.findById(verificationTokenId).getBody()), 
+				this.proxyExecutor);
 	}
 	
 	@PostMapping
-	public ResponseEntity<VerificationTokenDto> save(@RequestBody final VerificationTokenDto verificationTokenDto) {
-		return ResponseEntity.ok(this.verificationTokenClientService.save(verificationTokenDto).getBody());
+	public CompletableFuture<ResponseEntity<VerificationTokenDto>> save(@RequestBody final VerificationTokenDto verificationTokenDto) {
+		return CompletableFuture.supplyAsync(() -> ResponseEntity.ok(this.verificationTokenClientService.save(verificationTokenDto).getBody()), 
+				this.proxyExecutor);
 	}
 	
 	@PutMapping
-	public ResponseEntity<VerificationTokenDto> update(@RequestBody final VerificationTokenDto verificationTokenDto) {
-		return ResponseEntity.ok(this.verificationTokenClientService.update(verificationTokenDto).getBody());
+	public CompletableFuture<ResponseEntity<VerificationTokenDto>> update(@RequestBody final VerificationTokenDto verificationTokenDto) {
+		return CompletableFuture.supplyAsync(() -> ResponseEntity.ok(this.verificationTokenClientService.update(verificationTokenDto).getBody()), 
+				this.proxyExecutor);
 	}
 	
 	@PutMapping("/{verificationTokenId}")
-	public ResponseEntity<VerificationTokenDto> update(@PathVariable("verificationTokenId") final String verificationTokenId, @RequestBody final VerificationTokenDto verificationTokenDto) {
-		return ResponseEntity.ok(this.verificationTokenClientService.update(verificationTokenDto).getBody());
+	public CompletableFuture<ResponseEntity<VerificationTokenDto>> update(@PathVariable("verificationTokenId") final String verificationTokenId, @RequestBody final VerificationTokenDto verificationTokenDto) {
+		return CompletableFuture.supplyAsync(() -> ResponseEntity.ok(this.verificationTokenClientService.update(verificationTokenDto).getBody()), 
+				this.proxyExecutor);
 	}
 	
 	@DeleteMapping("/{verificationTokenId}")
-	public ResponseEntity<Boolean> deleteById(@PathVariable("verificationTokenId") final String verificationTokenId) {
-		return ResponseEntity.ok(this.verificationTokenClientService.deleteById(verificationTokenId).getBody());
+	public CompletableFuture<ResponseEntity<Boolean>> deleteById(@PathVariable("verificationTokenId") final String verificationTokenId) {
+		return CompletableFuture.supplyAsync(() -> ResponseEntity.ok(this.verificationTokenClientService.deleteById(verificationTokenId).getBody()), 
+				this.proxyExecutor);
 	}
 	
 	
@@ -0,0 +1,72 @@
+package com.selimhorri.app.config.async;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.concurrent.DelegatingSecurityContextRunnable;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Proxy controllers hand their downstream calls to the proxy executor and return at once, so the
+ * Tomcat worker goes back to the pool while the call is in flight. Requests beyond the executor's
+ * concurrency wait in its queue rather than in Tomcat threads.
+ *
+ * This does not raise throughput: Feign still blocks one proxy thread per call, so the proxy
+ * serves no more concurrent calls than the executor has threads. What it changes is overload,
+ * which is shed with 503 once the queue is full instead of piling up in Tomcat's accept queue,
+ * and the workers left free for endpoints that are not proxied. A request that times out while
+ * queued is answered with 503 and its call is never made.
+ */
+@Configuration
+@EnableConfigurationProperties(AsyncRequestProperties.class)
+@RequiredArgsConstructor
+public class AsyncConfig implements WebMvcConfigurer {
+	
+	private final AsyncRequestProperties asyncRequestProperties;
+	
+	@Bean
+	public TimedOutRequestGuard timedOutRequestGuard() {
+		return new TimedOutRequestGuard();
+	}
+	
+	/**
+	 * Carries the caller's security context into the task, captured when the task is submitted, and
+	 * drops the task if its request times out before it starts.
+	 */
+	@Bean
+	public ThreadPoolTaskExecutor proxyExecutor() {
+		final var executor = new ThreadPoolTaskExecutor();
+		executor.setCorePoolSize(this.asyncRequestProperties.getMaxConcurrentRequests());
+		executor.setMaxPoolSize(this.asyncRequestProperties.getMaxConcurrentRequests());
+		executor.setQueueCapacity(this.asyncRequestProperties.getQueueCapacity());
+		executor.setThreadNamePrefix("proxy-");
+		executor.setAllowCoreThreadTimeOut(true);
+		executor.setTaskDecorator(runnable -> this.timedOutRequestGuard()
+				.decorate(DelegatingSecurityContextRunnable.create(runnable, null)));
+		return executor;
+	}
+	
+	@Override
+	public void configureAsyncSupport(final AsyncSupportConfigurer configurer) {
+		configurer.setTaskExecutor(this.proxyExecutor());
+		configurer.setDefaultTimeout(this.asyncRequestProperties.getTimeout().toMillis());
+		configurer.registerDeferredResultInterceptors(this.timedOutRequestGuard());
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
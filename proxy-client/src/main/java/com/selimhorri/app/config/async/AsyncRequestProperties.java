@@ -0,0 +1,32 @@
+package com.selimhorri.app.config.async;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+@ConfigurationProperties(prefix = "app.async-request")
+@Data
+public class AsyncRequestProperties {
+	
+	/**
+	 * Maximum number of proxied requests waiting on downstream services at the same time. Feign
+	 * blocks a thread per call, so this is the proxy's downstream concurrency; the default matches
+	 * the Tomcat workers that carried the calls before controllers went asynchronous.
+	 */
+	private int maxConcurrentRequests = 200;
+	
+	/**
+	 * Number of proxied requests allowed to wait for a free slot before being rejected with 503.
+	 * Keep it small enough that a queued request still gets its call within the timeout.
+	 */
+	private int queueCapacity = 1_000;
+	
+	/**
+	 * Time after which an asynchronous request is answered with 503; the Feign connect and read
+	 * timeouts plus the wait for a pooled connection.
+	 */
+	private Duration timeout = Duration.ofSeconds(8);
+	
+}
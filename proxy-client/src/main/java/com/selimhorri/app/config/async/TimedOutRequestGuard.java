@@ -0,0 +1,66 @@
+package com.selimhorri.app.config.async;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.context.request.async.DeferredResultProcessingInterceptor;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Drops proxy tasks whose request timed out while they were queued. Once the timeout has answered
+ * the client with 503 the task must not make its downstream call, or a write reported as failed
+ * could still be committed. A task that had already started when the timeout fired runs to the end.
+ */
+@Slf4j
+public class TimedOutRequestGuard implements TaskDecorator, DeferredResultProcessingInterceptor {
+	
+	private static final String TIMED_OUT_ATTRIBUTE = TimedOutRequestGuard.class.getName() + ".TIMED_OUT";
+	
+	@Override
+	public Runnable decorate(final Runnable runnable) {
+		final var requestAttributes = RequestContextHolder.getRequestAttributes();
+		if (requestAttributes == null) {
+			return runnable;
+		}
+		var timedOut = (AtomicBoolean) requestAttributes.getAttribute(TIMED_OUT_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+		if (timedOut == null) {
+			timedOut = new AtomicBoolean();
+			requestAttributes.setAttribute(TIMED_OUT_ATTRIBUTE, timedOut, RequestAttributes.SCOPE_REQUEST);
+		}
+		final var abandoned = timedOut;
+		return () -> {
+			if (abandoned.get()) {
+				log.warn("**Proxy request timed out while queued, skipping its downstream call*\n");
+				return;
+			}
+			runnable.run();
+		};
+	}
+	
+	@Override
+	public <T> boolean handleTimeout(final NativeWebRequest request, final DeferredResult<T> deferredResult) {
+		final var timedOut = (AtomicBoolean) request.getAttribute(TIMED_OUT_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+		if (timedOut != null) {
+			timedOut.set(true);
+		}
+		return true;
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
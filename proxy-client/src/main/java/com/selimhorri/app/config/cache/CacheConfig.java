@@ -0,0 +1,70 @@
+package com.selimhorri.app.config.cache;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.selimhorri.app.business.user.model.CredentialDto;
+
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.RequiredArgsConstructor;
+
+@Configuration
+@EnableConfigurationProperties({ JwtCacheProperties.class, UserDetailsCacheProperties.class })
+@RequiredArgsConstructor
+public class CacheConfig {
+	
+	private final JwtCacheProperties jwtCacheProperties;
+	private final UserDetailsCacheProperties userDetailsCacheProperties;
+	private final MeterRegistry meterRegistry;
+	
+	@Bean
+	public Cache<String, Claims> jwtClaimsCache() {
+		return this.monitor("jwtClaimsCache", Caffeine.newBuilder()
+				.maximumSize(this.jwtCacheProperties.getMaximumSize())
+				.expireAfter(new ClaimsExpiry())
+				.recordStats()
+				.<String, Claims>build());
+	}
+	
+	@Bean
+	public CredentialIndex credentialIndex() {
+		return new CredentialIndex();
+	}
+	
+	/**
+	 * The eviction listener runs under the entry's lock, so an evicted credential leaves the index
+	 * before the same username can be loaded again.
+	 */
+	@Bean
+	public Cache<String, CredentialDto> credentialDtoCache(final CredentialIndex credentialIndex) {
+		return this.monitor("credentialDtoCache", Caffeine.newBuilder()
+				.maximumSize(this.userDetailsCacheProperties.getMaximumSize())
+				.expireAfterWrite(this.userDetailsCacheProperties.getExpireAfterWrite())
+				.<String, CredentialDto>evictionListener((username, credentialDto, cause) -> credentialIndex.remove(username, credentialDto))
+				.recordStats()
+				.<String, CredentialDto>build());
+	}
+	
+	private <C extends Cache<?, ?>> C monitor(final String cacheName, final C cache) {
+		return CaffeineCacheMetrics.monitor(this.meterRegistry, cache, cacheName);
+	}
+	
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,40 @@
+package com.selimhorri.app.config.cache;
+
+import java.util.concurrent.TimeUnit;
+
+import com.github.benmanes.caffeine.cache.Expiry;
+
+import io.jsonwebtoken.Claims;
+
+public class ClaimsExpiry implements Expiry<String, Claims> {
+	
+	@Override
+	public long expireAfterCreate(final String tokenHash, final Claims claims, final long currentTime) {
+		final var expiration = claims.getExpiration();
+		return expiration == null ? 0L : TimeUnit.MILLISECONDS
+				.toNanos(Math.max(0L, expiration.getTime() - System.currentTimeMillis()));
+	}
+	
+	@Override
+	public long expireAfterUpdate(final String tokenHash, final Claims claims, final long currentTime, final long currentDuration) {
+		return this.expireAfterCreate(tokenHash, claims, currentTime);
+	}
+	
+	@Override
+	public long expireAfterRead(final String tokenHash, final Claims claims, final long currentTime, final long currentDuration) {
+		return currentDuration;
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,78 @@
+package com.selimhorri.app.config.cache;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.selimhorri.app.business.user.model.CredentialDto;
+
+/**
+ * Usernames of the cached credentials by credential id and by user id, so a change to a credential
+ * or a user evicts its entries without scanning the cache. It is only updated while the cache holds
+ * the entry's lock, when the credential is loaded and when it is evicted or invalidated, which keeps
+ * it in step with the cache.
+ */
+public class CredentialIndex {
+	
+	private final Map<String, Set<String>> usernamesByCredentialId = new ConcurrentHashMap<>();
+	private final Map<String, Set<String>> usernamesByUserId = new ConcurrentHashMap<>();
+	
+	public void add(final String username, final CredentialDto credentialDto) {
+		add(this.usernamesByCredentialId, credentialId(credentialDto), username);
+		add(this.usernamesByUserId, userId(credentialDto), username);
+	}
+	
+	public void remove(final String username, final CredentialDto credentialDto) {
+		remove(this.usernamesByCredentialId, credentialId(credentialDto), username);
+		remove(this.usernamesByUserId, userId(credentialDto), username);
+	}
+	
+	public Set<String> findByCredentialId(final String credentialId) {
+		return Set.copyOf(this.usernamesByCredentialId.getOrDefault(credentialId, Set.of()));
+	}
+	
+	public Set<String> findByUserId(final String userId) {
+		return Set.copyOf(this.usernamesByUserId.getOrDefault(userId, Set.of()));
+	}
+	
+	private static String credentialId(final CredentialDto credentialDto) {
+		return credentialDto.getCredentialId() == null ? null : String.valueOf(credentialDto.getCredentialId());
+	}
+	
+	private static String userId(final CredentialDto credentialDto) {
+		return credentialDto.getUserDto() == null || credentialDto.getUserDto().getUserId() == null ? 
+				null : String.valueOf(credentialDto.getUserDto().getUserId());
+	}
+	
+	private static void add(final Map<String, Set<String>> index, final String key, final String username) {
+		if (key != null) {
+			index.compute(key, (k, usernames) -> {
+				final var updated = usernames == null ? ConcurrentHashMap.<String>newKeySet() : usernames;
+				updated.add(username);
+				return updated;
+			});
+		}
+	}
+	
+	private static void remove(final Map<String, Set<String>> index, final String key, final String username) {
+		if (key != null) {
+			index.computeIfPresent(key, (k, usernames) -> {
+				usernames.remove(username);
+				return usernames.isEmpty() ? null : usernames;
+			});
+		}
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,16 @@
+package com.selimhorri.app.config.cache;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+@ConfigurationProperties(prefix = "app.jwt-cache")
+@Data
+public class JwtCacheProperties {
+	
+	/**
+	 * Maximum number of verified tokens whose claims are kept until the token expires.
+	 */
+	private long maximumSize = 10_000;
+	
+}
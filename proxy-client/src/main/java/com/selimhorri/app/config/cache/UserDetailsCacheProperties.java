@@ -0,0 +1,23 @@
+package com.selimhorri.app.config.cache;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+@ConfigurationProperties(prefix = "app.user-details-cache")
+@Data
+public class UserDetailsCacheProperties {
+	
+	/**
+	 * Maximum number of credentials kept for authenticated usernames.
+	 */
+	private long maximumSize = 10_000;
+	
+	/**
+	 * Upper bound on how long a credential changed outside this proxy keeps authenticating.
+	 */
+	private Duration expireAfterWrite = Duration.ofMinutes(1);
+	
+}
@@ -0,0 +1,35 @@
+package com.selimhorri.app.config.client;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+@ConfigurationProperties(prefix = "app.checkout")
+@Data
+public class CheckoutProperties {
+	
+	/**
+	 * Maximum number of downstream checkout calls in flight across all checkouts.
+	 */
+	private int maxConcurrentRequests = 32;
+	
+	/**
+	 * Number of downstream checkout calls allowed to wait for a free slot before being rejected.
+	 */
+	private int queueCapacity = 1_000;
+	
+	/**
+	 * Time after which a running checkout step is abandoned and the checkout is rolled back, counted
+	 * from when the step starts; time spent queued for a free slot does not count.
+	 */
+	private Duration stepTimeout = Duration.ofSeconds(5);
+	
+	/**
+	 * Times a step is cancelled before giving up on it. Cancellations are keyed, so repeating one
+	 * that went through is harmless.
+	 */
+	private int compensationAttempts = 3;
+	
+}
@@ -0,0 +1,98 @@
+package com.selimhorri.app.config.client;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cloud.client.loadbalancer.LoadBalancerClient;
+import org.springframework.cloud.client.loadbalancer.LoadBalancerProperties;
+import org.springframework.cloud.loadbalancer.support.LoadBalancerClientFactory;
+import org.springframework.cloud.openfeign.loadbalancer.FeignBlockingLoadBalancerClient;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import feign.Capability;
+import feign.Client;
+import feign.Response;
+import feign.micrometer.MicrometerCapability;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+@Configuration
+@EnableConfigurationProperties({ ProductViewProperties.class, CheckoutProperties.class, FeignTransportProperties.class })
+public class ClientConfig {
+	
+	@Bean(destroyMethod = "close")
+	public FeignConnectionPools feignConnectionPools(final FeignTransportProperties feignTransportProperties, 
+			final MeterRegistry meterRegistry) {
+		return new FeignConnectionPools(feignTransportProperties, meterRegistry);
+	}
+	
+	@Bean
+	public Client feignClient(final FeignConnectionPools feignConnectionPools, final LoadBalancerClient loadBalancerClient, 
+			final LoadBalancerProperties loadBalancerProperties, final LoadBalancerClientFactory loadBalancerClientFactory) {
+		return new FeignBlockingLoadBalancerClient(feignConnectionPools::execute, loadBalancerClient, 
+				loadBalancerProperties, loadBalancerClientFactory);
+	}
+	
+	/**
+	 * Times every Feign method, plus request encoding, transport and response decoding separately.
+	 */
+	@Bean
+	public Capability micrometerCapability(final MeterRegistry meterRegistry) {
+		return new MicrometerCapability(meterRegistry);
+	}
+	
+	@Bean
+	public Capability resilientFeignCapability(final CircuitBreakerRegistry circuitBreakerRegistry, 
+			final BulkheadRegistry bulkheadRegistry, final FeignTransportProperties feignTransportProperties, 
+			final MeterRegistry meterRegistry) {
+		final var staleResponses = feignTransportProperties.getStaleResponses();
+		return new ResilientFeignCapability(circuitBreakerRegistry, bulkheadRegistry, CaffeineCacheMetrics.monitor(meterRegistry, 
+				Caffeine.newBuilder()
+						.maximumWeight(staleResponses.getMaximumSize().toBytes())
+						.<String, Response>weigher((url, response) -> url.length() 
+								+ (response.body() == null ? 0 : response.body().length()))
+						.expireAfterWrite(staleResponses.getExpireAfterWrite())
+						.recordStats()
+						.build(), 
+				"staleResponseCache"), staleResponses.getExcludedPaths());
+	}
+	
+	@Bean
+	public ThreadPoolTaskExecutor productViewExecutor(final ProductViewProperties productViewProperties) {
+		final var executor = new ThreadPoolTaskExecutor();
+		executor.setCorePoolSize(productViewProperties.getMaxConcurrentRequests());
+		executor.setMaxPoolSize(productViewProperties.getMaxConcurrentRequests());
+		executor.setQueueCapacity(productViewProperties.getQueueCapacity());
+		executor.setThreadNamePrefix("product-view-");
+		executor.setAllowCoreThreadTimeOut(true);
+		return executor;
+	}
+	
+	@Bean
+	public ThreadPoolTaskExecutor checkoutExecutor(final CheckoutProperties checkoutProperties) {
+		final var executor = new ThreadPoolTaskExecutor();
+		executor.setCorePoolSize(checkoutProperties.getMaxConcurrentRequests());
+		executor.setMaxPoolSize(checkoutProperties.getMaxConcurrentRequests());
+		executor.setQueueCapacity(checkoutProperties.getQueueCapacity());
+		executor.setThreadNamePrefix("checkout-");
+		executor.setAllowCoreThreadTimeOut(true);
+		return executor;
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
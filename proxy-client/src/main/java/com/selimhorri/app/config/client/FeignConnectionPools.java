@@ -0,0 +1,100 @@
+package com.selimhorri.app.config.client;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+
+import feign.Client;
+import feign.Request;
+import feign.Response;
+import feign.httpclient.ApacheHttpClient;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.httpcomponents.PoolingHttpClientConnectionManagerMetricsBinder;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * One Apache connection pool per downstream service, so a slow service can only exhaust its own
+ * connections. Runs underneath the load balancer: the service name is taken from the Feign target,
+ * since the request url already points at the chosen instance. Connect and read timeouts come from
+ * the feign.client.config options of each call.
+ */
+@RequiredArgsConstructor
+public class FeignConnectionPools implements Closeable {
+	
+	private static final String DEFAULT_POOL = "default";
+	
+	private final FeignTransportProperties feignTransportProperties;
+	private final MeterRegistry meterRegistry;
+	private final Map<String, Client> clients = new ConcurrentHashMap<>();
+	private final List<CloseableHttpClient> httpClients = new CopyOnWriteArrayList<>();
+	
+	public Response execute(final Request request, final Request.Options options) throws IOException {
+		return this.clients.computeIfAbsent(serviceName(request), this::createClient).execute(request, options);
+	}
+	
+	@Override
+	public void close() throws IOException {
+		for (final var httpClient : this.httpClients) {
+			httpClient.close();
+		}
+	}
+	
+	private static String serviceName(final Request request) {
+		final var requestTemplate = request.requestTemplate();
+		if (requestTemplate == null || requestTemplate.feignTarget() == null) {
+			return DEFAULT_POOL;
+		}
+		return requestTemplate.feignTarget().name().toLowerCase(Locale.ROOT);
+	}
+	
+	private Client createClient(final String serviceName) {
+		final var pool = this.feignTransportProperties.getClients()
+				.getOrDefault(serviceName, this.feignTransportProperties.getDefaults());
+		final var connectionManager = new PoolingHttpClientConnectionManager();
+		connectionManager.setMaxTotal(pool.getMaxConnections());
+		connectionManager.setDefaultMaxPerRoute(pool.getMaxConnectionsPerRoute());
+		connectionManager.setValidateAfterInactivity((int) pool.getValidateAfterInactivity().toMillis());
+		new PoolingHttpClientConnectionManagerMetricsBinder(connectionManager, "feign-" + serviceName)
+				.bindTo(this.meterRegistry);
+		
+		final long keepAlive = pool.getKeepAlive().toMillis();
+		final var httpClient = HttpClients.custom()
+				.setConnectionManager(connectionManager)
+				.setDefaultRequestConfig(RequestConfig.custom()
+						.setConnectionRequestTimeout((int) pool.getConnectionRequestTimeout().toMillis())
+						.build())
+				.setKeepAliveStrategy((response, context) -> {
+					final long announced = DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(response, context);
+					return announced > 0 ? Math.min(announced, keepAlive) : keepAlive;
+				})
+				.evictExpiredConnections()
+				.evictIdleConnections(keepAlive, TimeUnit.MILLISECONDS)
+				.build();
+		this.httpClients.add(httpClient);
+		return new ApacheHttpClient(httpClient);
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,84 @@
+package com.selimhorri.app.config.client;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import lombok.Data;
+
+@ConfigurationProperties(prefix = "app.feign")
+@Data
+public class FeignTransportProperties {
+	
+	/**
+	 * Connection pool used for every downstream service without an entry under clients.
+	 */
+	private Pool defaults = new Pool();
+	
+	/**
+	 * Connection pools per downstream service, keyed by lower-case service name, e.g. product-service.
+	 */
+	private Map<String, Pool> clients = new HashMap<>();
+	
+	/**
+	 * Successful GET responses kept to answer calls to a service that is failing.
+	 */
+	private StaleResponses staleResponses = new StaleResponses();
+	
+	@Data
+	public static class Pool {
+		
+		/**
+		 * Maximum number of pooled connections to all instances of the service.
+		 */
+		private int maxConnections = 100;
+		
+		/**
+		 * Maximum number of pooled connections to a single instance of the service.
+		 */
+		private int maxConnectionsPerRoute = 50;
+		
+		/**
+		 * Time a call may wait for a free pooled connection before failing.
+		 */
+		private Duration connectionRequestTimeout = Duration.ofSeconds(1);
+		
+		/**
+		 * Idle time after which a pooled connection is closed, unless the service announces a shorter keep-alive.
+		 */
+		private Duration keepAlive = Duration.ofSeconds(30);
+		
+		/**
+		 * Idle time after which a pooled connection is checked before being reused.
+		 */
+		private Duration validateAfterInactivity = Duration.ofSeconds(2);
+	
+	}
+	
+	@Data
+	public static class StaleResponses {
+		
+		/**
+		 * Maximum total size of the kept response bodies.
+		 */
+		private DataSize maximumSize = DataSize.ofMegabytes(64);
+		
+		/**
+		 * Time a response is kept after it was received.
+		 */
+		private Duration expireAfterWrite = Duration.ofHours(1);
+		
+		/**
+		 * Ant-style request paths whose responses are never kept, because they carry secrets or must
+		 * not be answered from old data. Every user-service resource returns users or credentials
+		 * together with their password hash, so none of them is kept.
+		 */
+		private List<String> excludedPaths = List.of("/user-service/**");
+		
+	}
+	
+}
@@ -0,0 +1,38 @@
+package com.selimhorri.app.config.client;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+@ConfigurationProperties(prefix = "app.product-view")
+@Data
+public class ProductViewProperties {
+	
+	/**
+	 * Maximum number of downstream calls in flight across all product view requests.
+	 */
+	private int maxConcurrentRequests = 32;
+	
+	/**
+	 * Number of downstream calls allowed to wait for a free slot before being rejected.
+	 */
+	private int queueCapacity = 1_000;
+	
+	/**
+	 * Time after which the product lookup is abandoned and the view fails.
+	 */
+	private Duration productTimeout = Duration.ofSeconds(2);
+	
+	/**
+	 * Time after which the category chain is dropped from the view.
+	 */
+	private Duration categoryTimeout = Duration.ofSeconds(1);
+	
+	/**
+	 * Time after which the favourite count is dropped from the view.
+	 */
+	private Duration favouriteTimeout = Duration.ofMillis(500);
+	
+}
@@ -0,0 +1,145 @@
+package com.selimhorri.app.config.client;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.StringUtils;
+
+import com.github.benmanes.caffeine.cache.Cache;
+
+import feign.Capability;
+import feign.Client;
+import feign.Request;
+import feign.Response;
+import feign.RetryableException;
+import feign.Util;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Sends Feign GET calls through the circuit breaker and semaphore bulkhead of their downstream
+ * service, on the calling thread; the Feign read timeout bounds how long such a call may take.
+ * Server errors count as failures. Successful GET responses are kept, except those of excluded
+ * paths, and while a service is failing the last response for the same url is served instead;
+ * without one the call fails as it would have without the breaker.
+ * 
+ * Other methods are not idempotent and go straight through: failing them fast or giving up on
+ * them early could report a write as failed that the service still commits.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class ResilientFeignCapability implements Capability {
+	
+	private final CircuitBreakerRegistry circuitBreakerRegistry;
+	private final BulkheadRegistry bulkheadRegistry;
+	private final Cache<String, Response> staleResponseCache;
+	private final List<String> staleResponseExcludedPaths;
+	private final AntPathMatcher pathMatcher = new AntPathMatcher();
+	
+	@Override
+	public Client enrich(final Client client) {
+		return (request, options) -> this.execute(client, request, options);
+	}
+	
+	private Response execute(final Client client, final Request request, final Request.Options options) throws IOException {
+		if (request.httpMethod() != Request.HttpMethod.GET) {
+			return client.execute(request, options);
+		}
+		final var url = URI.create(request.url());
+		final var serviceName = url.getHost();
+		final var cacheable = this.staleResponseExcludedPaths.stream()
+				.noneMatch(pattern -> this.pathMatcher.match(pattern, url.getPath()));
+		final var id = circuitBreakerId(serviceName);
+		try {
+			return CircuitBreaker.decorateSupplier(this.circuitBreakerRegistry.circuitBreaker(id), 
+					Bulkhead.decorateSupplier(this.bulkheadRegistry.bulkhead(id), () -> {
+						final var response = buffer(client, request, options);
+						if (response.status() >= 500) {
+							throw new ServerErrorException(response);
+						}
+						if (cacheable && response.status() < 300) {
+							this.staleResponseCache.put(request.url(), response);
+						}
+						return response;
+					}))
+					.get();
+		}
+		catch (RuntimeException e) {
+			return this.fallback(serviceName, request, cacheable, e);
+		}
+	}
+	
+	private Response fallback(final String serviceName, final Request request, final boolean cacheable, final Throwable e) {
+		final var cause = e instanceof UncheckedIOException ? e.getCause() : e;
+		final var staleResponse = cacheable ? this.staleResponseCache.getIfPresent(request.url()) : null;
+		if (staleResponse != null) {
+			log.warn("**{} call failed, serving last known response of {}: {}*", serviceName, request.url(), cause.toString());
+			return staleResponse.toBuilder()
+					.request(request)
+					.build();
+		}
+		if (cause instanceof ServerErrorException) {
+			return ((ServerErrorException) cause).getResponse();
+		}
+		throw new RetryableException(-1, String.format("%s unavailable: %s", serviceName, cause.getMessage()),
+				request.httpMethod(), cause, null, request);
+	}
+	
+	private static Response buffer(final Client client, final Request request, final Request.Options options) {
+		try (var response = client.execute(request, options)) {
+			return response.toBuilder()
+					.body(response.body() == null ? null : Util.toByteArray(response.body().asInputStream()))
+					.build();
+		}
+		catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+	
+	private static String circuitBreakerId(final String serviceName) {
+		final var words = serviceName.toLowerCase(Locale.ROOT).split("-");
+		return words[0] + Arrays.stream(words, 1, words.length)
+				.map(StringUtils::capitalize)
+				.collect(Collectors.joining());
+	}
+	
+	private static final class ServerErrorException extends RuntimeException {
+		
+		private static final long serialVersionUID = 1L;
+		
+		private final transient Response response;
+		
+		ServerErrorException(final Response response) {
+			super("Server error " + response.status());
+			this.response = response;
+		}
+		
+		Response getResponse() {
+			return this.response;
+		}
+	
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,220 @@
+package com.selimhorri.app.config.filter;
+
+import java.io.IOException;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.UrlPathHelper;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.netflix.concurrency.limits.Limit;
+import com.netflix.concurrency.limits.Limiter;
+import com.netflix.concurrency.limits.limit.Gradient2Limit;
+import com.netflix.concurrency.limits.limit.VegasLimit;
+import com.netflix.concurrency.limits.limiter.SimpleLimiter;
+import com.selimhorri.app.exception.payload.ExceptionMsg;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Caps the requests in flight per route group with a limit that adapts to observed latency, and
+ * answers requests over the limit with 503 and Retry-After instead of queueing them. Runs ahead of
+ * the security chain, so rejected requests cost no token parsing or credential lookup. A request
+ * handled asynchronously keeps its slot until the async response completes.
+ */
+@Slf4j
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+	
+	private final ConcurrencyLimitProperties concurrencyLimitProperties;
+	private final ObjectMapper objectMapper;
+	private final List<RouteGroup> routeGroups;
+	private final AntPathMatcher pathMatcher = new AntPathMatcher();
+	private final UrlPathHelper urlPathHelper = new UrlPathHelper();
+	
+	public ConcurrencyLimitFilter(final ConcurrencyLimitProperties concurrencyLimitProperties,
+			final MeterRegistry meterRegistry, final ObjectMapper objectMapper) {
+		this.concurrencyLimitProperties = concurrencyLimitProperties;
+		this.objectMapper = objectMapper;
+		this.routeGroups = concurrencyLimitProperties.getGroups().entrySet().stream()
+				.map(group -> new RouteGroup(group.getKey(), group.getValue(), meterRegistry))
+				.collect(Collectors.toUnmodifiableList());
+	}
+	
+	@Override
+	protected void doFilterInternal(final HttpServletRequest request, final HttpServletResponse response, final FilterChain filterChain)
+			throws ServletException, IOException {
+		
+		final var path = this.urlPathHelper.getPathWithinApplication(request);
+		final var routeGroup = this.routeGroups.stream()
+				.filter(group -> group.paths.stream().anyMatch(pattern -> this.pathMatcher.match(pattern, path)))
+				.findFirst();
+		if (routeGroup.isEmpty()) {
+			filterChain.doFilter(request, response);
+			return;
+		}
+		
+		final var listener = routeGroup.get().limiter.acquire(null);
+		if (listener.isEmpty()) {
+			routeGroup.get().rejected.increment();
+			log.debug("**ConcurrencyLimitFilter, {} limit reached, rejecting {}*\n", routeGroup.get().name, path);
+			this.reject(response);
+			return;
+		}
+		routeGroup.get().accepted.increment();
+		
+		try {
+			filterChain.doFilter(request, response);
+		}
+		catch (IOException | ServletException | RuntimeException e) {
+			listener.get().onIgnore();
+			throw e;
+		}
+		
+		if (request.isAsyncStarted()) {
+			request.getAsyncContext().addListener(new ReleasingAsyncListener(listener.get()));
+		}
+		else {
+			listener.get().onSuccess();
+		}
+	}
+	
+	private void reject(final HttpServletResponse response) throws IOException {
+		final var serviceUnavailable = HttpStatus.SERVICE_UNAVAILABLE;
+		response.setStatus(serviceUnavailable.value());
+		response.setHeader(HttpHeaders.RETRY_AFTER,
+				String.valueOf(Math.max(1, this.concurrencyLimitProperties.getRetryAfter().toSeconds())));
+		response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+		this.objectMapper.writeValue(response.getOutputStream(), ExceptionMsg.builder()
+				.msg("Proxy is overloaded, please retry later")
+				.httpStatus(serviceUnavailable)
+				.timestamp(ZonedDateTime
+						.now(ZoneId.systemDefault()))
+				.build());
+	}
+	
+	private static Limit limit(final ConcurrencyLimitProperties.Group group) {
+		switch (group.getAlgorithm()) {
+			case VEGAS:
+				return VegasLimit.newBuilder()
+						.initialLimit(group.getInitialLimit())
+						.maxConcurrency(group.getMaxLimit())
+						.build();
+			case GRADIENT:
+			default:
+				return Gradient2Limit.newBuilder()
+						.initialLimit(group.getInitialLimit())
+						.minLimit(group.getMinLimit())
+						.maxConcurrency(group.getMaxLimit())
+						.build();
+		}
+	}
+	
+	private static final class RouteGroup {
+		
+		private final String name;
+		private final List<String> paths;
+		private final SimpleLimiter<Void> limiter;
+		private final Counter accepted;
+		private final Counter rejected;
+		
+		RouteGroup(final String name, final ConcurrencyLimitProperties.Group group, final MeterRegistry meterRegistry) {
+			this.name = name;
+			this.paths = List.copyOf(group.getPaths());
+			this.limiter = SimpleLimiter.newBuilder()
+					.named(name)
+					.limit(limit(group))
+					.build();
+			Gauge.builder("proxy.concurrency.limit", this.limiter, SimpleLimiter::getLimit)
+					.description("Current adaptive concurrency limit of the route group")
+					.tag("group", name)
+					.register(meterRegistry);
+			Gauge.builder("proxy.concurrency.inflight", this.limiter, SimpleLimiter::getInflight)
+					.description("Requests of the route group currently in flight")
+					.tag("group", name)
+					.register(meterRegistry);
+			this.accepted = this.requests(meterRegistry, "accepted");
+			this.rejected = this.requests(meterRegistry, "rejected");
+		}
+		
+		private Counter requests(final MeterRegistry meterRegistry, final String outcome) {
+			return Counter.builder("proxy.concurrency.requests")
+					.description("Requests admitted or rejected by the concurrency limit")
+					.tag("group", this.name)
+					.tag("outcome", outcome)
+					.register(meterRegistry);
+		}
+	
+	}
+	
+	/**
+	 * Reports the outcome once: a completed request is a latency sample, a timed out one signals
+	 * overload, and a failed one is left out of the estimate.
+	 */
+	private static final class ReleasingAsyncListener implements AsyncListener {
+		
+		private final Limiter.Listener listener;
+		private final AtomicBoolean released = new AtomicBoolean();
+		
+		ReleasingAsyncListener(final Limiter.Listener listener) {
+			this.listener = listener;
+		}
+		
+		@Override
+		public void onComplete(final AsyncEvent event) {
+			if (this.released.compareAndSet(false, true)) {
+				this.listener.onSuccess();
+			}
+		}
+		
+		@Override
+		public void onTimeout(final AsyncEvent event) {
+			if (this.released.compareAndSet(false, true)) {
+				this.listener.onDropped();
+			}
+		}
+		
+		@Override
+		public void onError(final AsyncEvent event) {
+			if (this.released.compareAndSet(false, true)) {
+				this.listener.onIgnore();
+			}
+		}
+		
+		@Override
+		public void onStartAsync(final AsyncEvent event) {
+			event.getAsyncContext().addListener(this);
+		}
+	
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
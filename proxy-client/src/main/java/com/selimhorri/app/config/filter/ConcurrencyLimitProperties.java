@@ -0,0 +1,72 @@
+package com.selimhorri.app.config.filter;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+@ConfigurationProperties(prefix = "app.concurrency-limit")
+@Data
+public class ConcurrencyLimitProperties {
+	
+	/**
+	 * Delay announced to rejected clients in the Retry-After header.
+	 */
+	private Duration retryAfter = Duration.ofSeconds(1);
+	
+	/**
+	 * Route groups, each with its own limit. A request counts against the first group with a
+	 * matching path; requests matching no group are not limited.
+	 */
+	private Map<String, Group> groups = new LinkedHashMap<>();
+	
+	@Data
+	public static class Group {
+		
+		/**
+		 * Ant-style paths within the application, e.g. /api/products/**.
+		 */
+		private List<String> paths = new ArrayList<>();
+		
+		/**
+		 * How the limit follows observed latency.
+		 */
+		private Algorithm algorithm = Algorithm.GRADIENT;
+		
+		/**
+		 * Limit used until enough latency samples have been observed.
+		 */
+		private int initialLimit = 20;
+		
+		/**
+		 * Lowest limit the gradient algorithm may shrink to.
+		 */
+		private int minLimit = 4;
+		
+		/**
+		 * Highest limit either algorithm may grow to.
+		 */
+		private int maxLimit = 200;
+	
+	}
+	
+	public enum Algorithm {
+		
+		/**
+		 * Shrinks the limit as the short-term latency rises above the long-term latency.
+		 */
+		GRADIENT,
+		
+		/**
+		 * Estimates the queue from the gap between observed and minimum latency and keeps it small.
+		 */
+		VEGAS
+	
+	}
+	
+}
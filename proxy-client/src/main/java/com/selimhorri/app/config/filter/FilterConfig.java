@@ -0,0 +1,42 @@
+package com.selimhorri.app.config.filter;
+
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+@Configuration
+@EnableConfigurationProperties(ConcurrencyLimitProperties.class)
+public class FilterConfig {
+	
+	/**
+	 * Ordered just before the Spring Security chain, which runs the JwtRequestFilter.
+	 */
+	@Bean
+	public FilterRegistrationBean<ConcurrencyLimitFilter> concurrencyLimitFilter(
+			final ConcurrencyLimitProperties concurrencyLimitProperties, final MeterRegistry meterRegistry, 
+			final ObjectMapper objectMapper) {
+		final var registration = new FilterRegistrationBean<>(
+				new ConcurrencyLimitFilter(concurrencyLimitProperties, meterRegistry, objectMapper));
+		registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER - 1);
+		return registration;
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
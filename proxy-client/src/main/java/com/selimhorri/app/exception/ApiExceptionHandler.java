@@ -2,6 +2,7 @@ package com.selimhorri.app.exception;
 
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
+import java.util.concurrent.RejectedExecutionException;
 
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -10,6 +11,7 @@ import org.springframework.validation.BindException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.context.request.async.AsyncRequestTimeoutException;
 
 import com.selimhorri.app.exception.payload.ExceptionMsg;
 import com.selimhorri.app.exception.wrapper.CredentialNotFoundException;
@@ -20,6 +22,9 @@ import com.selimhorri.app.exception.wrapper.VerificationTokenNotFoundException;
 import feign.FeignException;
 import feign.FeignException.FeignClientException;
 import feign.FeignException.FeignServerException;
+import feign.RetryableException;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
@@ -47,6 +52,29 @@ public class ApiExceptionHandler {
 					.build(), badRequest);
 	}
 	
+	/**
+	 * A downstream service that failed, is shedding load or sits behind an open circuit breaker is
+	 * not the client's fault, unlike the Feign errors above.
+	 */
+	@ExceptionHandler(value = {
+		RetryableException.class,
+		CallNotPermittedException.class,
+		BulkheadFullException.class
+	})
+	public <T extends RuntimeException> ResponseEntity<ExceptionMsg> handleUnavailableException(final T e) {
+		
+		log.info("**ApiExceptionHandler controller, handle unavailable service exception*\n");
+		final var serviceUnavailable = HttpStatus.SERVICE_UNAVAILABLE;
+		
+		return new ResponseEntity<>(
+				ExceptionMsg.builder()
+					.msg("Service is unavailable, please retry later")
+					.httpStatus(serviceUnavailable)
+					.timestamp(ZonedDateTime
+							.now(ZoneId.systemDefault()))
+					.build(), serviceUnavailable);
+	}
+	
 	@ExceptionHandler(value = {
 		MethodArgumentNotValidException.class,
 		HttpMessageNotReadableException.class
@@ -86,6 +114,24 @@ public class ApiExceptionHandler {
 					.build(), badRequest);
 	}
 	
+	@ExceptionHandler(value = {
+		RejectedExecutionException.class,
+		AsyncRequestTimeoutException.class
+	})
+	public <T extends Exception> ResponseEntity<ExceptionMsg> handleOverloadException(final T e) {
+		
+		log.info("**ApiExceptionHandler controller, handle overload exception*\n");
+		final var serviceUnavailable = HttpStatus.SERVICE_UNAVAILABLE;
+		
+		return new ResponseEntity<>(
+				ExceptionMsg.builder()
+					.msg("Proxy is overloaded, please retry later")
+					.httpStatus(serviceUnavailable)
+					.timestamp(ZonedDateTime
+							.now(ZoneId.systemDefault()))
+					.build(), serviceUnavailable);
+	}
+	
 	
 	
 }
@@ -1,5 +1,9 @@
 package com.selimhorri.app.jwt.util.impl;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
@@ -8,17 +12,24 @@ import java.util.function.Function;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
+import com.github.benmanes.caffeine.cache.Cache;
 import com.selimhorri.app.jwt.util.JwtUtil;
 
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
 
 @Component
+@RequiredArgsConstructor
 public class JwtUtilImpl implements JwtUtil {
 	
 	private static final String SECRET_KEY = "secret";
 	
+	private final Cache<String, Claims> jwtClaimsCache;
+	private final MeterRegistry meterRegistry;
+	
 	@Override
 	public String extractUsername(final String token) {
 		return this.extractClaims(token, Claims::getSubject);
@@ -36,11 +47,18 @@ public class JwtUtilImpl implements JwtUtil {
 	}
 	
 	private Claims extractAllClaims(final String token) {
-		return Jwts.parser().setSigningKey(SECRET_KEY).parseClaimsJws(token).getBody();
+		return this.jwtClaimsCache.get(this.hash(token), k -> this.meterRegistry.timer("jwt.verification")
+				.record(() -> Jwts.parser().setSigningKey(SECRET_KEY).parseClaimsJws(token).getBody()));
 	}
 	
-	private Boolean isTokenExpired(final String token) {
-		return this.extractExpiration(token).before(new Date());
+	private String hash(final String token) {
+		try {
+			return Base64.getEncoder().withoutPadding().encodeToString(MessageDigest
+					.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8)));
+		}
+		catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+		}
 	}
 	
 	@Override
@@ -61,9 +79,9 @@ public class JwtUtilImpl implements JwtUtil {
 	
 	@Override
 	public Boolean validateToken(final String token, final UserDetails userDetails) {
-		final String username = this.extractUsername(token);
+		final Claims claims = this.extractAllClaims(token);
 		return (
-			username.equals(userDetails.getUsername()) && !isTokenExpired(token)
+			claims.getSubject().equals(userDetails.getUsername()) && !claims.getExpiration().before(new Date())
 		);
 	}
 	
@@ -0,0 +1,85 @@
+package com.selimhorri.app.unit;
+
+import com.selimhorri.app.exception.ApiExceptionHandler;
+import feign.FeignException;
+import feign.Request;
+import feign.RetryableException;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+class ApiExceptionHandlerUnitTest {
+    private static final Request REQUEST = Request.create(Request.HttpMethod.GET,
+            "http://PRODUCT-SERVICE/product-service/api/products", Map.of(), null, StandardCharsets.UTF_8, null);
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.standaloneSetup(new FailingController())
+                .setControllerAdvice(new ApiExceptionHandler())
+                .build();
+    }
+
+    @Test
+    void testRetryableFeignFailureIsServiceUnavailable() throws Exception {
+        perform("/retryable")
+            .andExpect(status().isServiceUnavailable())
+            .andExpect(jsonPath("$.httpStatus").value("SERVICE_UNAVAILABLE"));
+    }
+    @Test
+    void testOpenCircuitBreakerIsServiceUnavailable() throws Exception {
+        perform("/open").andExpect(status().isServiceUnavailable());
+    }
+    @Test
+    void testFullBulkheadIsServiceUnavailable() throws Exception {
+        perform("/full").andExpect(status().isServiceUnavailable());
+    }
+    @Test
+    void testOtherFeignFailuresStayBadRequest() throws Exception {
+        perform("/not-found").andExpect(status().isBadRequest());
+    }
+
+    private ResultActions perform(String path) throws Exception {
+        MvcResult result = mockMvc.perform(get(path))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+        return mockMvc.perform(asyncDispatch(result));
+    }
+
+    @RestController
+    static class FailingController {
+        @GetMapping("/retryable")
+        CompletableFuture<String> retryable() {
+            return CompletableFuture.failedFuture(new RetryableException(-1, "PRODUCT-SERVICE unavailable",
+                    Request.HttpMethod.GET, null, REQUEST));
+        }
+        @GetMapping("/open")
+        CompletableFuture<String> open() {
+            return CompletableFuture.failedFuture(CallNotPermittedException.createCallNotPermittedException(
+                    CircuitBreaker.ofDefaults("productService")));
+        }
+        @GetMapping("/full")
+        CompletableFuture<String> full() {
+            return CompletableFuture.failedFuture(BulkheadFullException.createBulkheadFullException(
+                    Bulkhead.ofDefaults("productService")));
+        }
+        @GetMapping("/not-found")
+        CompletableFuture<String> notFound() {
+            return CompletableFuture.failedFuture(new FeignException.NotFound("not found", REQUEST, null));
+        }
+    }
+}
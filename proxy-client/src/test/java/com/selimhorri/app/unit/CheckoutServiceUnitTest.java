@@ -0,0 +1,119 @@
+package com.selimhorri.app.unit;
+
+import com.selimhorri.app.business.checkout.model.CheckoutLineDto;
+import com.selimhorri.app.business.checkout.model.CheckoutRequestDto;
+import com.selimhorri.app.business.checkout.service.impl.CheckoutServiceImpl;
+import com.selimhorri.app.business.order.model.OrderDto;
+import com.selimhorri.app.business.order.service.OrderClientService;
+import com.selimhorri.app.business.orderItem.model.response.OrderItemOrderItemServiceDtoCollectionResponse;
+import com.selimhorri.app.business.orderItem.service.OrderItemClientService;
+import com.selimhorri.app.business.payment.model.PaymentDto;
+import com.selimhorri.app.business.payment.service.PaymentClientService;
+import com.selimhorri.app.business.product.model.response.StockReservationProductServiceCollectionDtoResponse;
+import com.selimhorri.app.business.product.service.ProductClientService;
+import com.selimhorri.app.config.client.CheckoutProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import java.time.Duration;
+import java.util.List;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class CheckoutServiceUnitTest {
+    private final ProductClientService productClientService = mock(ProductClientService.class);
+    private final OrderClientService orderClientService = mock(OrderClientService.class);
+    private final OrderItemClientService orderItemClientService = mock(OrderItemClientService.class);
+    private final PaymentClientService paymentClientService = mock(PaymentClientService.class);
+    private final ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+    private CheckoutServiceImpl checkoutService;
+
+    @BeforeEach
+    void setUp() {
+        executor.initialize();
+        checkoutService = new CheckoutServiceImpl(productClientService, orderClientService, orderItemClientService,
+                paymentClientService, executor, new CheckoutProperties());
+        when(productClientService.reserveAll(any(), anyString()))
+                .thenReturn(ResponseEntity.ok(new StockReservationProductServiceCollectionDtoResponse(List.of())));
+        when(orderClientService.save(any(OrderDto.class), anyString()))
+                .thenReturn(ResponseEntity.ok(OrderDto.builder().orderId(7).build()));
+        when(orderItemClientService.saveAll(any(), anyString()))
+                .thenReturn(ResponseEntity.ok(new OrderItemOrderItemServiceDtoCollectionResponse(List.of(), null)));
+    }
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    void testStepFailingAfterTheDownstreamCommitIsCancelledByItsKey() {
+        when(paymentClientService.save(any(PaymentDto.class), anyString())).thenThrow(new IllegalStateException("read timed out"));
+        assertThrows(IllegalStateException.class, () -> checkoutService.checkout(request()));
+        ArgumentCaptor<String> paymentKey = ArgumentCaptor.forClass(String.class);
+        verify(paymentClientService).save(any(PaymentDto.class), paymentKey.capture());
+        verify(paymentClientService).cancel(paymentKey.getValue());
+        ArgumentCaptor<String> orderKey = ArgumentCaptor.forClass(String.class);
+        verify(orderClientService).save(any(OrderDto.class), orderKey.capture());
+        verify(orderClientService).cancel(orderKey.getValue());
+        ArgumentCaptor<String> reservationId = ArgumentCaptor.forClass(String.class);
+        verify(productClientService).reserveAll(any(), reservationId.capture());
+        verify(productClientService).releaseReservation(reservationId.getValue());
+        verify(orderItemClientService).cancel(anyString());
+        assertEquals(1, List.of(paymentKey.getValue(), orderKey.getValue(), reservationId.getValue()).stream()
+                .map(key -> key.substring(0, key.indexOf(':')))
+                .distinct()
+                .count());
+    }
+    @Test
+    void testFailedCancellationIsRetried() {
+        when(paymentClientService.save(any(PaymentDto.class), anyString())).thenThrow(new IllegalStateException("down"));
+        when(orderClientService.cancel(anyString()))
+                .thenThrow(new IllegalStateException("unavailable"))
+                .thenReturn(ResponseEntity.ok(true));
+        assertThrows(IllegalStateException.class, () -> checkoutService.checkout(request()));
+        verify(orderClientService, times(2)).cancel(anyString());
+    }
+    @Test
+    void testSuccessfulCheckoutCancelsNothing() {
+        when(paymentClientService.save(any(PaymentDto.class), anyString()))
+                .thenReturn(ResponseEntity.ok(PaymentDto.builder().paymentId(3).build()));
+        assertEquals(7, checkoutService.checkout(request()).getOrderDto().getOrderId());
+        verify(productClientService, never()).releaseReservation(anyString());
+        verify(orderClientService, never()).cancel(anyString());
+        verify(orderItemClientService, never()).cancel(anyString());
+        verify(paymentClientService, never()).cancel(anyString());
+    }
+
+    @Test
+    void testStepTimeoutDoesNotCountTimeSpentQueued() {
+        executor.setCorePoolSize(1);
+        CheckoutProperties properties = new CheckoutProperties();
+        properties.setStepTimeout(Duration.ofMillis(300));
+        checkoutService = new CheckoutServiceImpl(productClientService, orderClientService, orderItemClientService,
+                paymentClientService, executor, properties);
+        when(productClientService.reserveAll(any(), anyString())).thenAnswer(invocation -> {
+            Thread.sleep(200);
+            return ResponseEntity.ok(new StockReservationProductServiceCollectionDtoResponse(List.of()));
+        });
+        when(orderClientService.save(any(OrderDto.class), anyString())).thenAnswer(invocation -> {
+            Thread.sleep(200);
+            return ResponseEntity.ok(OrderDto.builder().orderId(7).build());
+        });
+        when(paymentClientService.save(any(PaymentDto.class), anyString()))
+                .thenReturn(ResponseEntity.ok(PaymentDto.builder().paymentId(3).build()));
+        assertEquals(7, checkoutService.checkout(request()).getOrderDto().getOrderId());
+        verify(orderClientService, never()).cancel(anyString());
+    }
+
+    private static CheckoutRequestDto request() {
+        return CheckoutRequestDto.builder()
+                .cartId(1)
+                .lines(List.of(new CheckoutLineDto(1, 2), new CheckoutLineDto(2, 1)))
+                .build();
+    }
+}
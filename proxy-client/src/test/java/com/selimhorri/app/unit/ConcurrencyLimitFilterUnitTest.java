@@ -0,0 +1,122 @@
+package com.selimhorri.app.unit;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.selimhorri.app.config.filter.ConcurrencyLimitFilter;
+import com.selimhorri.app.config.filter.ConcurrencyLimitProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockAsyncContext;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConcurrencyLimitFilterUnitTest {
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private final AtomicInteger forwarded = new AtomicInteger();
+    private MeterRegistry meterRegistry;
+    private ConcurrencyLimitFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        ConcurrencyLimitProperties.Group orders = new ConcurrencyLimitProperties.Group();
+        orders.setPaths(List.of("/api/orders/**", "/api/carts/**"));
+        orders.setInitialLimit(1);
+        orders.setMinLimit(1);
+        orders.setMaxLimit(1);
+        ConcurrencyLimitProperties properties = new ConcurrencyLimitProperties();
+        properties.setRetryAfter(Duration.ofSeconds(3));
+        properties.getGroups().put("orders", orders);
+        meterRegistry = new SimpleMeterRegistry();
+        filter = new ConcurrencyLimitFilter(properties, meterRegistry, objectMapper);
+    }
+
+    @Test
+    void testAsyncRequestKeepsItsSlotUntilItCompletes() throws Exception {
+        MockHttpServletRequest request = request("/app/api/orders/1");
+        filter.doFilter(request, new MockHttpServletResponse(), startingAsync());
+        assertEquals(1, inflight());
+        assertEquals(503, send("/app/api/carts").getStatus());
+        ((MockAsyncContext) request.getAsyncContext()).complete();
+        assertEquals(0, inflight());
+        assertEquals(200, send("/app/api/orders").getStatus());
+    }
+    @Test
+    void testAsyncRequestReleasesItsSlotOnceOnTimeoutOrError() throws Exception {
+        MockHttpServletRequest request = request("/app/api/orders");
+        filter.doFilter(request, new MockHttpServletResponse(), startingAsync());
+        List<AsyncListener> listeners = ((MockAsyncContext) request.getAsyncContext()).getListeners();
+        AsyncEvent event = new AsyncEvent(request.getAsyncContext());
+        for (AsyncListener listener : listeners) {
+            listener.onTimeout(event);
+            listener.onError(event);
+            listener.onComplete(event);
+        }
+        assertEquals(0, inflight());
+        assertEquals(200, send("/app/api/orders").getStatus());
+        assertEquals(0, inflight());
+    }
+    @Test
+    void testFailingRequestReleasesItsSlot() {
+        FilterChain failing = (req, res) -> {
+            throw new ServletException("downstream failed");
+        };
+        assertThrows(ServletException.class, () -> filter.doFilter(request("/app/api/orders"), new MockHttpServletResponse(), failing));
+        assertEquals(0, inflight());
+    }
+    @Test
+    void testOnlyMatchingRoutesCountAgainstTheLimit() throws Exception {
+        filter.doFilter(request("/app/api/orders"), new MockHttpServletResponse(), startingAsync());
+        assertEquals(200, send("/app/api/products/1").getStatus());
+        assertEquals(200, send("/app/api/ordersummary").getStatus());
+        assertEquals(503, send("/app/api/carts/1/items").getStatus());
+        assertEquals(3, forwarded.get());
+        assertEquals(1.0, meterRegistry.get("proxy.concurrency.requests")
+                .tag("group", "orders").tag("outcome", "rejected").counter().count());
+    }
+    @Test
+    void testRejectionCarriesRetryAfterAndAnErrorBody() throws Exception {
+        filter.doFilter(request("/app/api/orders"), new MockHttpServletResponse(), startingAsync());
+        MockHttpServletResponse response = send("/app/api/orders");
+        assertEquals(503, response.getStatus());
+        assertEquals("3", response.getHeader("Retry-After"));
+        assertTrue(response.getContentType().startsWith("application/json"));
+        JsonNode body = objectMapper.readTree(response.getContentAsString());
+        assertEquals("Proxy is overloaded, please retry later", body.get("msg").asText());
+        assertEquals("SERVICE_UNAVAILABLE", body.get("httpStatus").asText());
+        assertEquals(1, forwarded.get());
+    }
+
+    private MockHttpServletResponse send(String uri) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request(uri), response, (req, res) -> forwarded.incrementAndGet());
+        return response;
+    }
+
+    private FilterChain startingAsync() {
+        return (req, res) -> {
+            forwarded.incrementAndGet();
+            req.startAsync();
+        };
+    }
+
+    private double inflight() {
+        return meterRegistry.get("proxy.concurrency.inflight").tag("group", "orders").gauge().value();
+    }
+
+    private static MockHttpServletRequest request(String uri) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", uri);
+        request.setContextPath("/app");
+        request.setAsyncSupported(true);
+        return request;
+    }
+}
@@ -0,0 +1,92 @@
+package com.selimhorri.app.unit;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.selimhorri.app.config.client.FeignTransportProperties;
+import com.selimhorri.app.config.client.ResilientFeignCapability;
+import feign.Client;
+import feign.Request;
+import feign.Response;
+import feign.RetryableException;
+import feign.Util;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import static org.junit.jupiter.api.Assertions.*;
+
+class ResilientFeignCapabilityUnitTest {
+    private static final String PRODUCT_URL = "http://PRODUCT-SERVICE/product-service/api/products/1";
+    private static final String CREDENTIAL_URL = "http://USER-SERVICE/user-service/api/credentials/username/admin";
+    private static final String USER_URL = "http://USER-SERVICE/user-service/api/users/1";
+    private final AtomicBoolean failing = new AtomicBoolean();
+    private final AtomicInteger calls = new AtomicInteger();
+    private CircuitBreakerRegistry circuitBreakerRegistry;
+    private Client client;
+
+    @BeforeEach
+    void setUp() {
+        circuitBreakerRegistry = CircuitBreakerRegistry.of(CircuitBreakerConfig.custom()
+                .slidingWindowSize(2)
+                .minimumNumberOfCalls(2)
+                .build());
+        ResilientFeignCapability capability = new ResilientFeignCapability(circuitBreakerRegistry, BulkheadRegistry.ofDefaults(),
+                Caffeine.newBuilder().<String, Response>build(), new FeignTransportProperties().getStaleResponses().getExcludedPaths());
+        Client service = (request, options) -> {
+            calls.incrementAndGet();
+            return Response.builder()
+                    .status(failing.get() ? 503 : 200)
+                    .request(request)
+                    .headers(Map.of())
+                    .body(failing.get() ? "down" : "body of " + request.url(), StandardCharsets.UTF_8)
+                    .build();
+        };
+        client = capability.enrich(service);
+    }
+
+    @Test
+    void testFailingGetIsAnsweredWithLastKnownResponse() throws Exception {
+        assertEquals(200, execute(Request.HttpMethod.GET, PRODUCT_URL).status());
+        failing.set(true);
+        Response response = execute(Request.HttpMethod.GET, PRODUCT_URL);
+        assertEquals(200, response.status());
+        assertEquals("body of " + PRODUCT_URL, Util.toString(response.body().asReader(StandardCharsets.UTF_8)));
+    }
+    @Test
+    void testExcludedPathsAreNeverServedStale() throws Exception {
+        assertEquals(200, execute(Request.HttpMethod.GET, CREDENTIAL_URL).status());
+        failing.set(true);
+        assertEquals(503, execute(Request.HttpMethod.GET, CREDENTIAL_URL).status());
+    }
+    @Test
+    void testUserResponsesCarryingPasswordsAreNeverServedStale() throws Exception {
+        assertEquals(200, execute(Request.HttpMethod.GET, USER_URL).status());
+        failing.set(true);
+        assertEquals(503, execute(Request.HttpMethod.GET, USER_URL).status());
+    }
+    @Test
+    void testOpenBreakerFailsGetsFastWithoutCallingTheService() throws Exception {
+        failing.set(true);
+        execute(Request.HttpMethod.GET, PRODUCT_URL + "/view");
+        execute(Request.HttpMethod.GET, PRODUCT_URL + "/view");
+        assertEquals(2, calls.get());
+        assertThrows(RetryableException.class, () -> execute(Request.HttpMethod.GET, PRODUCT_URL + "/view"));
+        assertEquals(2, calls.get());
+    }
+    @Test
+    void testWritesBypassTheBreaker() throws Exception {
+        circuitBreakerRegistry.circuitBreaker("productService").transitionToForcedOpenState();
+        assertEquals(200, execute(Request.HttpMethod.POST, PRODUCT_URL).status());
+        failing.set(true);
+        assertEquals(503, execute(Request.HttpMethod.POST, PRODUCT_URL).status());
+        assertEquals(2, calls.get());
+    }
+
+    private Response execute(Request.HttpMethod method, String url) throws Exception {
+        return client.execute(Request.create(method, url, Map.of(), null, StandardCharsets.UTF_8, null), new Request.Options());
+    }
+}
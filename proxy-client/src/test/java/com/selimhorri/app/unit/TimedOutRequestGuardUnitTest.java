@@ -0,0 +1,61 @@
+package com.selimhorri.app.unit;
+
+import com.selimhorri.app.config.async.TimedOutRequestGuard;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.async.DeferredResult;
+import java.util.concurrent.atomic.AtomicInteger;
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimedOutRequestGuardUnitTest {
+    private final TimedOutRequestGuard guard = new TimedOutRequestGuard();
+    private final AtomicInteger calls = new AtomicInteger();
+    private MockHttpServletRequest request;
+
+    @BeforeEach
+    void setUp() {
+        request = new MockHttpServletRequest("POST", "/api/orders");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void testQueuedTaskOfATimedOutRequestIsSkipped() {
+        Runnable first = guard.decorate(calls::incrementAndGet);
+        Runnable second = guard.decorate(calls::incrementAndGet);
+        assertTrue(guard.handleTimeout(new ServletWebRequest(request), new DeferredResult<>()));
+        first.run();
+        second.run();
+        assertEquals(0, calls.get());
+    }
+    @Test
+    void testTaskRunsWhenItsRequestHasNotTimedOut() {
+        guard.decorate(calls::incrementAndGet).run();
+        assertEquals(1, calls.get());
+    }
+    @Test
+    void testTimeoutOfAnotherRequestDoesNotSkipTheTask() {
+        Runnable task = guard.decorate(calls::incrementAndGet);
+        MockHttpServletRequest other = new MockHttpServletRequest("POST", "/api/orders");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(other));
+        guard.decorate(() -> { });
+        guard.handleTimeout(new ServletWebRequest(other), new DeferredResult<>());
+        task.run();
+        assertEquals(1, calls.get());
+    }
+    @Test
+    void testTaskSubmittedOutsideARequestAlwaysRuns() {
+        RequestContextHolder.resetRequestAttributes();
+        guard.decorate(calls::incrementAndGet).run();
+        assertEquals(1, calls.get());
+    }
+}
@@ -0,0 +1,105 @@
+package com.selimhorri.app.unit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.selimhorri.app.business.auth.service.impl.UserDetailsServiceImpl;
+import com.selimhorri.app.business.user.model.CredentialDto;
+import com.selimhorri.app.business.user.model.UserDto;
+import com.selimhorri.app.config.cache.CacheConfig;
+import com.selimhorri.app.config.cache.CredentialIndex;
+import com.selimhorri.app.config.cache.JwtCacheProperties;
+import com.selimhorri.app.config.cache.UserDetailsCacheProperties;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.RestTemplate;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import static org.junit.jupiter.api.Assertions.*;
+
+class UserDetailsServiceUnitTest {
+    private static final Map<String, CredentialDto> CREDENTIALS = Map.of(
+            "alice", credential(1, "alice", 11),
+            "bob", credential(2, "bob", 12),
+            "carol", credential(3, "carol", 13));
+    private final Map<String, AtomicInteger> loads = new ConcurrentHashMap<>();
+    private CredentialIndex credentialIndex;
+    private Cache<String, CredentialDto> credentialDtoCache;
+    private UserDetailsServiceImpl userDetailsService;
+
+    private void setUp(long maximumSize) {
+        UserDetailsCacheProperties properties = new UserDetailsCacheProperties();
+        properties.setMaximumSize(maximumSize);
+        CacheConfig cacheConfig = new CacheConfig(new JwtCacheProperties(), properties, new SimpleMeterRegistry());
+        credentialIndex = cacheConfig.credentialIndex();
+        credentialDtoCache = cacheConfig.credentialDtoCache(credentialIndex);
+        RestTemplate userService = new RestTemplate() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <T> T getForObject(String url, Class<T> responseType, Object... uriVariables) {
+                loads.computeIfAbsent((String) uriVariables[0], u -> new AtomicInteger()).incrementAndGet();
+                return (T) CREDENTIALS.get((String) uriVariables[0]);
+            }
+        };
+        userDetailsService = new UserDetailsServiceImpl(userService, credentialDtoCache,
+                CircuitBreakerRegistry.ofDefaults(), BulkheadRegistry.ofDefaults(), credentialIndex);
+    }
+
+    @Test
+    void testEvictByCredentialIdDropsOnlyThatCredential() {
+        setUp(100);
+        loadAll("alice", "bob");
+        userDetailsService.evictByCredentialId("1");
+        loadAll("alice", "bob");
+        assertEquals(2, loads.get("alice").get());
+        assertEquals(1, loads.get("bob").get());
+    }
+    @Test
+    void testEvictByUserIdDropsOnlyThatUsersCredential() {
+        setUp(100);
+        loadAll("alice", "bob");
+        userDetailsService.evictByUserId("12");
+        loadAll("alice", "bob");
+        assertEquals(1, loads.get("alice").get());
+        assertEquals(2, loads.get("bob").get());
+        assertEquals(Set.of("bob"), credentialIndex.findByUserId("12"));
+    }
+    @Test
+    void testEvictingUnknownIdsIsANoOp() {
+        setUp(100);
+        loadAll("alice");
+        userDetailsService.evictByCredentialId("99");
+        userDetailsService.evictByUserId("99");
+        loadAll("alice");
+        assertEquals(1, loads.get("alice").get());
+    }
+    @Test
+    void testIndexFollowsTheCacheWhenItEvictsBySize() {
+        setUp(1);
+        loadAll("alice", "bob", "carol");
+        credentialDtoCache.cleanUp();
+        Set<String> indexed = new HashSet<>();
+        for (String id : new String[] { "1", "2", "3" }) {
+            indexed.addAll(credentialIndex.findByCredentialId(id));
+        }
+        assertEquals(credentialDtoCache.asMap().keySet(), indexed);
+        assertEquals(1, indexed.size());
+    }
+
+    private void loadAll(String... usernames) {
+        for (String username : usernames) {
+            assertEquals(username, userDetailsService.loadUserByUsername(username).getUsername());
+        }
+    }
+
+    private static CredentialDto credential(int credentialId, String username, int userId) {
+        return CredentialDto.builder()
+                .credentialId(credentialId)
+                .username(username)
+                .userDto(UserDto.builder().userId(userId).build())
+                .build();
+    }
+}
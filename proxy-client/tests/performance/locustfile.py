@@ -0,0 +1,60 @@
+"""
+Load test for proxy-client. Feign calls still block a thread each, so asynchronous controllers
+are not expected to raise throughput over synchronous ones; run the same command against both
+builds to check that requests/s does not drop and that overload shows up as 503s rather than
+timeouts:
+
+    locust -f locustfile.py --host http://localhost:8900 --headless -u 2000 -r 200 -t 5m
+
+Credentials of an existing user are read from LOCUST_USERNAME and LOCUST_PASSWORD.
+"""
+import os
+import random
+from locust import HttpUser, task, between
+
+class ProxyClientUser(HttpUser):
+    wait_time = between(0.1, 0.5)
+
+    def on_start(self):
+        """Authenticate once and reuse the token for every secured call"""
+        self.base_url = "/app/api"
+        self.product_ids = [1, 2, 3, 4]
+        self.user_ids = [1, 2, 3, 4]
+        self.headers = {}
+        response = self.client.post(f"{self.base_url}/authenticate", json={
+            "username": os.getenv("LOCUST_USERNAME", "admin"),
+            "password": os.getenv("LOCUST_PASSWORD", "admin")
+        }, name="/api/authenticate")
+        if response.status_code == 200:
+            self.headers = {"Authorization": f"Bearer {response.json().get('jwtToken')}"}
+
+    @task(4)
+    def list_products(self):
+        self.client.get(f"{self.base_url}/products?limit=20", name="/api/products")
+
+    @task(4)
+    def get_product(self):
+        product_id = random.choice(self.product_ids)
+        self.client.get(f"{self.base_url}/products/{product_id}", name="/api/products/[id]")
+
+    @task(2)
+    def get_product_view(self):
+        product_id = random.choice(self.product_ids)
+        self.client.get(f"{self.base_url}/products/{product_id}/view", name="/api/products/[id]/view")
+
+    @task(2)
+    def list_categories(self):
+        self.client.get(f"{self.base_url}/categories", name="/api/categories")
+
+    @task(2)
+    def get_user(self):
+        user_id = random.choice(self.user_ids)
+        self.client.get(f"{self.base_url}/users/{user_id}", headers=self.headers, name="/api/users/[id]")
+
+    @task(1)
+    def list_orders(self):
+        self.client.get(f"{self.base_url}/orders?limit=20", headers=self.headers, name="/api/orders")
+
+    @task(1)
+    def list_favourites(self):
+        self.client.get(f"{self.base_url}/favourites", headers=self.headers, name="/api/favourites")
@@ -0,0 +1,100 @@
+package com.selimhorri.app.config.cache;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.client.RestTemplate;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.selimhorri.app.constant.AppConstant;
+import com.selimhorri.app.dto.OrderDto;
+import com.selimhorri.app.dto.ProductDto;
+
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.RequiredArgsConstructor;
+
+@Configuration
+@EnableConfigurationProperties(NearCacheProperties.class)
+@RequiredArgsConstructor
+public class CacheConfig {
+	
+	private final NearCacheProperties nearCacheProperties;
+	private final MeterRegistry meterRegistry;
+	
+	/**
+	 * Runs refreshAfterWrite reloads, which would otherwise take slots and queue space from the
+	 * enrichment executors and delay the lookups a request is waiting for.
+	 */
+	@Bean
+	public ThreadPoolTaskExecutor nearCacheRefreshExecutor() {
+		final var executor = new ThreadPoolTaskExecutor();
+		executor.setCorePoolSize(this.nearCacheProperties.getRefreshConcurrency());
+		executor.setMaxPoolSize(this.nearCacheProperties.getRefreshConcurrency());
+		executor.setQueueCapacity(this.nearCacheProperties.getRefreshQueueCapacity());
+		executor.setThreadNamePrefix("near-cache-refresh-");
+		executor.setAllowCoreThreadTimeOut(true);
+		return executor;
+	}
+	
+	@Bean
+	public LoadingCache<Integer, ProductDto> productDtoCache(final RestTemplate restTemplate, final ThreadPoolTaskExecutor nearCacheRefreshExecutor, 
+			final CircuitBreakerRegistry circuitBreakerRegistry, final BulkheadRegistry bulkheadRegistry) {
+		return this.monitor("productDtoCache", this.newBuilder()
+				.executor(nearCacheRefreshExecutor)
+				.build(new ResilientCacheLoader<>(circuitBreakerRegistry, bulkheadRegistry, "productService", 
+						this.monitor("staleProductDtoCache", this.newStaleCache()), 
+						(Integer id) -> restTemplate.getForObject(AppConstant.DiscoveredDomainsApi
+								.PRODUCT_SERVICE_API_URL + "/{id}", ProductDto.class, id))));
+	}
+	
+	@Bean
+	public LoadingCache<Integer, OrderDto> orderDtoCache(final RestTemplate restTemplate, final ThreadPoolTaskExecutor nearCacheRefreshExecutor, 
+			final CircuitBreakerRegistry circuitBreakerRegistry, final BulkheadRegistry bulkheadRegistry) {
+		return this.monitor("orderDtoCache", this.newBuilder()
+				.executor(nearCacheRefreshExecutor)
+				.build(new ResilientCacheLoader<>(circuitBreakerRegistry, bulkheadRegistry, "orderService", 
+						this.monitor("staleOrderDtoCache", this.newStaleCache()), 
+						(Integer id) -> restTemplate.getForObject(AppConstant.DiscoveredDomainsApi
+								.ORDER_SERVICE_API_URL + "/{id}", OrderDto.class, id))));
+	}
+	
+	private Caffeine<Object, Object> newBuilder() {
+		return Caffeine.newBuilder()
+				.maximumSize(this.nearCacheProperties.getMaximumSize())
+				.expireAfterWrite(this.nearCacheProperties.getExpireAfterWrite())
+				.refreshAfterWrite(this.nearCacheProperties.getRefreshAfterWrite())
+				.recordStats();
+	}
+	
+	private <K, V> Cache<K, V> newStaleCache() {
+		return Caffeine.newBuilder()
+				.maximumSize(this.nearCacheProperties.getMaximumSize())
+				.expireAfterWrite(this.nearCacheProperties.getStaleExpireAfterWrite())
+				.recordStats()
+				.build();
+	}
+	
+	private <C extends Cache<?, ?>> C monitor(final String cacheName, final C cache) {
+		return CaffeineCacheMetrics.monitor(this.meterRegistry, cache, cacheName);
+	}
+	
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,43 @@
+package com.selimhorri.app.config.cache;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+@ConfigurationProperties(prefix = "app.near-cache")
+@Data
+public class NearCacheProperties {
+	
+	/**
+	 * Maximum number of entries kept per cached lookup.
+	 */
+	private long maximumSize = 10_000;
+	
+	/**
+	 * Time after which an entry is dropped and the next read goes over the wire.
+	 */
+	private Duration expireAfterWrite = Duration.ofMinutes(10);
+	
+	/**
+	 * Time after which a read triggers a background reload while still serving the cached entry.
+	 */
+	private Duration refreshAfterWrite = Duration.ofMinutes(1);
+	
+	/**
+	 * Time a loaded entry is still served when its service fails, times out or has an open circuit breaker.
+	 */
+	private Duration staleExpireAfterWrite = Duration.ofHours(1);
+	
+	/**
+	 * Number of background reloads running at once, kept apart from the threads serving enrichment lookups.
+	 */
+	private int refreshConcurrency = 2;
+	
+	/**
+	 * Number of background reloads allowed to wait; beyond it an entry keeps its cached value until read again.
+	 */
+	private int refreshQueueCapacity = 1_000;
+	
+}
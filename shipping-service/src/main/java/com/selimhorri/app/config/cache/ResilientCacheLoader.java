@@ -0,0 +1,102 @@
+package com.selimhorri.app.config.cache;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.CacheLoader;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Guards lookups of the near-caches with a circuit breaker and a semaphore bulkhead, run on the
+ * calling thread, and falls back to the last value that loaded.
+ */
+@Slf4j
+public class ResilientCacheLoader<K, V> implements CacheLoader<K, V> {
+	
+	private final String circuitBreakerId;
+	private final CircuitBreaker circuitBreaker;
+	private final Bulkhead bulkhead;
+	private final Cache<K, V> staleCache;
+	private final Function<K, V> loader;
+	private final Function<Iterable<? extends K>, Map<K, V>> bulkLoader;
+	
+	public ResilientCacheLoader(final CircuitBreakerRegistry circuitBreakerRegistry, final BulkheadRegistry bulkheadRegistry, 
+			final String circuitBreakerId, final Cache<K, V> staleCache, final Function<K, V> loader) {
+		this(circuitBreakerRegistry, bulkheadRegistry, circuitBreakerId, staleCache, loader, null);
+	}
+	
+	public ResilientCacheLoader(final CircuitBreakerRegistry circuitBreakerRegistry, final BulkheadRegistry bulkheadRegistry, 
+			final String circuitBreakerId, final Cache<K, V> staleCache, final Function<K, V> loader,
+			final Function<Iterable<? extends K>, Map<K, V>> bulkLoader) {
+		this.circuitBreakerId = circuitBreakerId;
+		this.circuitBreaker = circuitBreakerRegistry.circuitBreaker(circuitBreakerId);
+		this.bulkhead = bulkheadRegistry.bulkhead(circuitBreakerId);
+		this.staleCache = staleCache;
+		this.loader = loader;
+		this.bulkLoader = bulkLoader;
+	}
+	
+	@Override
+	public V load(final K key) {
+		try {
+			final var value = this.guard(() -> this.loader.apply(key));
+			if (value != null) {
+				this.staleCache.put(key, value);
+			}
+			return value;
+		}
+		catch (RuntimeException e) {
+			log.warn("*** {} lookup of {} failed, serving last known value: {} *", this.circuitBreakerId, key, e.toString());
+			return this.staleCache.getIfPresent(key);
+		}
+	}
+	
+	/**
+	 * Caffeine calls this whenever it is overridden, so without a bulk loader the keys are loaded one by one.
+	 */
+	@Override
+	public Map<K, V> loadAll(final Iterable<? extends K> keys) {
+		if (this.bulkLoader == null) {
+			final Map<K, V> values = new HashMap<>();
+			keys.forEach(key -> Optional.ofNullable(this.load(key))
+					.ifPresent(value -> values.put(key, value)));
+			return values;
+		}
+		try {
+			final var values = this.guard(() -> this.bulkLoader.apply(keys));
+			this.staleCache.putAll(values);
+			return values;
+		}
+		catch (RuntimeException e) {
+			log.warn("*** {} bulk lookup failed, serving last known values: {} *", this.circuitBreakerId, e.toString());
+			return this.staleCache.getAllPresent(keys);
+		}
+	}
+	
+	private <T> T guard(final Supplier<T> lookup) {
+		return CircuitBreaker.decorateSupplier(this.circuitBreaker, Bulkhead.decorateSupplier(this.bulkhead, lookup)).get();
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,48 @@
+package com.selimhorri.app.config.client;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * One bounded executor per downstream service, so a slow service cannot take the threads and
+ * queue space of lookups to the other.
+ */
+@Configuration
+@EnableConfigurationProperties(EnrichmentProperties.class)
+public class EnrichmentConfig {
+	
+	@Bean
+	public ThreadPoolTaskExecutor productServiceExecutor(final EnrichmentProperties enrichmentProperties) {
+		return this.boundedExecutor("product-service-", enrichmentProperties);
+	}
+	
+	@Bean
+	public ThreadPoolTaskExecutor orderServiceExecutor(final EnrichmentProperties enrichmentProperties) {
+		return this.boundedExecutor("order-service-", enrichmentProperties);
+	}
+	
+	private ThreadPoolTaskExecutor boundedExecutor(final String threadNamePrefix, final EnrichmentProperties enrichmentProperties) {
+		final var executor = new ThreadPoolTaskExecutor();
+		executor.setCorePoolSize(enrichmentProperties.getMaxConcurrentRequests());
+		executor.setMaxPoolSize(enrichmentProperties.getMaxConcurrentRequests());
+		executor.setQueueCapacity(enrichmentProperties.getQueueCapacity());
+		executor.setThreadNamePrefix(threadNamePrefix);
+		executor.setAllowCoreThreadTimeOut(true);
+		return executor;
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
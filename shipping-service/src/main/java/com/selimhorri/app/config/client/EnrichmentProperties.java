@@ -0,0 +1,21 @@
+package com.selimhorri.app.config.client;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+@ConfigurationProperties(prefix = "app.enrichment")
+@Data
+public class EnrichmentProperties {
+	
+	/**
+	 * Maximum number of in-flight lookups per downstream service.
+	 */
+	private int maxConcurrentRequests = 16;
+	
+	/**
+	 * Number of lookups allowed to wait for a free slot before being rejected.
+	 */
+	private int queueCapacity = 10_000;
+	
+}
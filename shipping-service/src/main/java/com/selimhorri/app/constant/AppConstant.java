@@ -10,6 +10,10 @@ public abstract class AppConstant {
 	public static final String LOCAL_DATE_TIME_FORMAT = "dd-MM-yyyy__HH:mm:ss:SSSSSS";
 	public static final String ZONED_DATE_TIME_FORMAT = "dd-MM-yyyy__HH:mm:ss:SSSSSS";
 	public static final String INSTANT_FORMAT = "dd-MM-yyyy__HH:mm:ss:SSSSSS";
+	public static final int MAX_PAGE_SIZE = 1000;
+	public static final int BULK_WRITE_CHUNK_SIZE = 500;
+	public static final int MAX_BULK_SIZE = 1000;
+	public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
 	
 	@NoArgsConstructor(access = AccessLevel.PRIVATE)
 	public abstract class DiscoveredDomainsApi {
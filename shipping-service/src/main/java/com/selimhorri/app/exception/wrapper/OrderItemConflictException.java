@@ -0,0 +1,35 @@
+package com.selimhorri.app.exception.wrapper;
+
+public class OrderItemConflictException extends RuntimeException {
+	
+	private static final long serialVersionUID = 1L;
+	
+	public OrderItemConflictException() {
+		super();
+	}
+	
+	public OrderItemConflictException(String message, Throwable cause) {
+		super(message, cause);
+	}
+	
+	public OrderItemConflictException(String message) {
+		super(message);
+	}
+	
+	public OrderItemConflictException(Throwable cause) {
+		super(cause);
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -8,27 +8,28 @@ import com.selimhorri.app.dto.ProductDto;
 public interface OrderItemMappingHelper {
 	
 	public static OrderItemDto map(final OrderItem orderItem) {
-		return OrderItemDto.builder()
-				.productId(orderItem.getProductId())
-				.orderId(orderItem.getOrderId())
-				.orderedQuantity(orderItem.getOrderedQuantity())
-				.productDto(
-						ProductDto.builder()
-							.productId(orderItem.getProductId())
-							.build())
-				.orderDto(
-						OrderDto.builder()
-							.orderId(orderItem.getOrderId())
-							.build())
-				.build();
+		return map(orderItem, new OrderItemDto());
+	}
+	
+	public static OrderItemDto map(final OrderItem orderItem, final OrderItemDto orderItemDto) {
+		orderItemDto.setProductId(orderItem.getProductId());
+		orderItemDto.setOrderId(orderItem.getOrderId());
+		orderItemDto.setOrderedQuantity(orderItem.getOrderedQuantity());
+		final var productDto = orderItemDto.getProductDto() != null ? orderItemDto.getProductDto() : new ProductDto();
+		productDto.setProductId(orderItem.getProductId());
+		orderItemDto.setProductDto(productDto);
+		final var orderDto = orderItemDto.getOrderDto() != null ? orderItemDto.getOrderDto() : new OrderDto();
+		orderDto.setOrderId(orderItem.getOrderId());
+		orderItemDto.setOrderDto(orderDto);
+		return orderItemDto;
 	}
 	
 	public static OrderItem map(final OrderItemDto orderItemDto) {
-		return OrderItem.builder()
-				.productId(orderItemDto.getProductId())
-				.orderId(orderItemDto.getOrderId())
-				.orderedQuantity(orderItemDto.getOrderedQuantity())
-				.build();
+		final var orderItem = new OrderItem();
+		orderItem.setProductId(orderItemDto.getProductId());
+		orderItem.setOrderId(orderItemDto.getOrderId());
+		orderItem.setOrderedQuantity(orderItemDto.getOrderedQuantity());
+		return orderItem;
 	}
 	
 	
@@ -1,6 +1,7 @@
 package com.selimhorri.app.resource;
 
 import javax.validation.Valid;
+import javax.validation.constraints.NotBlank;
 import javax.validation.constraints.NotNull;
 
 import org.springframework.http.ResponseEntity;
@@ -10,9 +11,12 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.selimhorri.app.constant.AppConstant;
 import com.selimhorri.app.domain.id.OrderItemId;
 import com.selimhorri.app.dto.OrderItemDto;
 import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
@@ -30,9 +34,14 @@ public class OrderItemResource {
 	private final OrderItemService orderItemService;
 	
 	@GetMapping
-	public ResponseEntity<DtoCollectionResponse<OrderItemDto>> findAll() {
+	public ResponseEntity<DtoCollectionResponse<OrderItemDto>> findAll(
+			@RequestParam(name = "after", required = false) final String after, 
+			@RequestParam(name = "limit", required = false) final Integer limit) {
 		log.info("*** OrderItemDto List, controller; fetch all orderItems *");
-		return ResponseEntity.ok(new DtoCollectionResponse<>(this.orderItemService.findAll()));
+		if (limit == null) {
+			return ResponseEntity.ok(new DtoCollectionResponse<>(this.orderItemService.findAll()));
+		}
+		return ResponseEntity.ok(this.orderItemService.findAll(after, limit));
 	}
 	
 	@GetMapping("/{orderId}/{productId}")
@@ -41,7 +50,23 @@ public class OrderItemResource {
 			@PathVariable("productId") final String productId) {
 		log.info("*** OrderItemDto, resource; fetch orderItem by id *");
 		return ResponseEntity.ok(this.orderItemService.findById(
-				new OrderItemId(Integer.parseInt(orderId), Integer.parseInt(productId))));
+				new OrderItemId(Integer.parseInt(productId), Integer.parseInt(orderId))));
+	}
+	
+	@GetMapping("/order/{orderId}")
+	public ResponseEntity<DtoCollectionResponse<OrderItemDto>> findAllByOrderId(
+			@PathVariable("orderId") final String orderId) {
+		log.info("*** OrderItemDto List, resource; fetch orderItems by order id *");
+		return ResponseEntity.ok(new DtoCollectionResponse<>(
+				this.orderItemService.findAllByOrderId(Integer.parseInt(orderId))));
+	}
+	
+	@GetMapping("/product/{productId}")
+	public ResponseEntity<DtoCollectionResponse<OrderItemDto>> findAllByProductId(
+			@PathVariable("productId") final String productId) {
+		log.info("*** OrderItemDto List, resource; fetch orderItems by product id *");
+		return ResponseEntity.ok(new DtoCollectionResponse<>(
+				this.orderItemService.findAllByProductId(Integer.parseInt(productId))));
 	}
 	
 	@GetMapping("/find")
@@ -62,6 +87,30 @@ public class OrderItemResource {
 		return ResponseEntity.ok(this.orderItemService.save(orderItemDto));
 	}
 	
+	@PostMapping("/bulk")
+	public ResponseEntity<DtoCollectionResponse<OrderItemDto>> saveAll(
+			@RequestBody 
+			@NotNull(message = "Input must not be NULL") 
+			@Valid final DtoCollectionResponse<OrderItemDto> orderItemDtos, 
+			@RequestHeader(name = AppConstant.IDEMPOTENCY_KEY_HEADER, required = false) final String idempotencyKey) {
+		log.info("*** OrderItemDto List, resource; save orderItems in bulk *");
+		if (idempotencyKey == null) {
+			return ResponseEntity.ok(new DtoCollectionResponse<>(this.orderItemService.saveAll(orderItemDtos.getCollection())));
+		}
+		return ResponseEntity.ok(new DtoCollectionResponse<>(this.orderItemService.saveAll(idempotencyKey, 
+				orderItemDtos.getCollection())));
+	}
+	
+	@DeleteMapping("/idempotency-keys/{idempotencyKey}")
+	public ResponseEntity<Boolean> cancel(
+			@PathVariable("idempotencyKey") 
+			@NotBlank(message = "Input must not be blank") 
+			@Valid final String idempotencyKey) {
+		log.info("*** Boolean, resource; cancel orderItems created under idempotency key *");
+		this.orderItemService.cancel(idempotencyKey);
+		return ResponseEntity.ok(true);
+	}
+	
 	@PutMapping
 	public ResponseEntity<OrderItemDto> update(
 			@RequestBody 
@@ -76,7 +125,7 @@ public class OrderItemResource {
 			@PathVariable("orderId") final String orderId, 
 			@PathVariable("productId") final String productId) {
 		log.info("*** Boolean, resource; delete orderItem by id *");
-		this.orderItemService.deleteById(new OrderItemId(Integer.parseInt(orderId), Integer.parseInt(productId)));
+		this.orderItemService.deleteById(new OrderItemId(Integer.parseInt(productId), Integer.parseInt(orderId)));
 		return ResponseEntity.ok(true);
 	}
 	
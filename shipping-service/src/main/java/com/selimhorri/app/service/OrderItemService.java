@@ -1,15 +1,23 @@
 package com.selimhorri.app.service;
 
+import java.util.Collection;
 import java.util.List;
 
 import com.selimhorri.app.domain.id.OrderItemId;
 import com.selimhorri.app.dto.OrderItemDto;
+import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
 
 public interface OrderItemService {
 	
 	List<OrderItemDto> findAll();
+	DtoCollectionResponse<OrderItemDto> findAll(final String after, final int limit);
 	OrderItemDto findById(final OrderItemId orderItemId);
+	List<OrderItemDto> findAllByOrderId(final Integer orderId);
+	List<OrderItemDto> findAllByProductId(final Integer productId);
 	OrderItemDto save(final OrderItemDto orderItemDto);
+	List<OrderItemDto> saveAll(final Collection<OrderItemDto> orderItemDtos);
+	List<OrderItemDto> saveAll(final String idempotencyKey, final Collection<OrderItemDto> orderItemDtos);
+	void cancel(final String idempotencyKey);
 	OrderItemDto update(final OrderItemDto orderItemDto);
 	void deleteById(final OrderItemId orderItemId);
 	
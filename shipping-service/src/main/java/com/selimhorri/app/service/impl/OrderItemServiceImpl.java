@@ -1,23 +1,47 @@
 package com.selimhorri.app.service.impl;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceException;
 import javax.transaction.Transactional;
 
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
+import org.springframework.util.Assert;
 
+import com.github.benmanes.caffeine.cache.LoadingCache;
 import com.selimhorri.app.constant.AppConstant;
+import com.selimhorri.app.domain.OrderItem;
 import com.selimhorri.app.domain.id.OrderItemId;
 import com.selimhorri.app.dto.OrderDto;
 import com.selimhorri.app.dto.OrderItemDto;
 import com.selimhorri.app.dto.ProductDto;
+import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
+import com.selimhorri.app.exception.wrapper.IdempotencyKeyConflictException;
+import com.selimhorri.app.exception.wrapper.OrderItemConflictException;
 import com.selimhorri.app.exception.wrapper.OrderItemNotFoundException;
 import com.selimhorri.app.helper.OrderItemMappingHelper;
+import com.selimhorri.app.repository.IdempotencyKeyRepository;
 import com.selimhorri.app.repository.OrderItemRepository;
 import com.selimhorri.app.service.OrderItemService;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
@@ -28,40 +52,61 @@ import lombok.extern.slf4j.Slf4j;
 public class OrderItemServiceImpl implements OrderItemService {
 	
 	private final OrderItemRepository orderItemRepository;
-	private final RestTemplate restTemplate;
+	private final EntityManager entityManager;
+	private final LoadingCache<Integer, ProductDto> productDtoCache;
+	private final LoadingCache<Integer, OrderDto> orderDtoCache;
+	private final ThreadPoolTaskExecutor productServiceExecutor;
+	private final ThreadPoolTaskExecutor orderServiceExecutor;
+	private final MeterRegistry meterRegistry;
+	private final IdempotencyKeyRepository idempotencyKeyRepository;
 	
 	@Override
 	public List<OrderItemDto> findAll() {
 		log.info("*** OrderItemDto List, service; fetch all orderItems *");
-		return this.orderItemRepository.findAll()
+		return this.enrich(this.orderItemRepository.findAll()
 				.stream()
 					.map(OrderItemMappingHelper::map)
-					.map(o -> {
-						o.setProductDto(this.restTemplate.getForObject(AppConstant.DiscoveredDomainsApi
-								.PRODUCT_SERVICE_API_URL + "/" + o.getProductDto().getProductId(), ProductDto.class));
-						o.setOrderDto(this.restTemplate.getForObject(AppConstant.DiscoveredDomainsApi
-								.ORDER_SERVICE_API_URL + "/" + o.getOrderDto().getOrderId(), OrderDto.class));
-						return o;
-					})
-					.distinct()
-					.collect(Collectors.toUnmodifiableList());
+					.collect(Collectors.toUnmodifiableList()));
+	}
+	
+	@Override
+	public DtoCollectionResponse<OrderItemDto> findAll(final String after, final int limit) {
+		log.info("*** OrderItemDto List, service; fetch page of orderItems *");
+		final int pageSize = Math.max(1, Math.min(limit, AppConstant.MAX_PAGE_SIZE));
+		return DtoCollectionResponse.page(this.enrich(this.findPageAfter(after, PageRequest.of(0, pageSize))
+					.stream()
+						.map(OrderItemMappingHelper::map)
+						.collect(Collectors.toUnmodifiableList())), 
+				pageSize, o -> o.getProductId() + "," + o.getOrderId());
 	}
 	
 	@Override
 	public OrderItemDto findById(final OrderItemId orderItemId) {
 		log.info("*** OrderItemDto, service; fetch orderItem by id *");
-		return this.orderItemRepository.findById(null)
+		return this.orderItemRepository.findById(orderItemId)
 				.map(OrderItemMappingHelper::map)
-				.map(o -> {
-					o.setProductDto(this.restTemplate.getForObject(AppConstant.DiscoveredDomainsApi
-							.PRODUCT_SERVICE_API_URL + "/" + o.getProductDto().getProductId(), ProductDto.class));
-					o.setOrderDto(this.restTemplate.getForObject(AppConstant.DiscoveredDomainsApi
-							.ORDER_SERVICE_API_URL + "/" + o.getOrderDto().getOrderId(), OrderDto.class));
-					return o;
-				})
+				.map(o -> this.enrich(List.of(o)).get(0))
 				.orElseThrow(() -> new OrderItemNotFoundException(String.format("OrderItem with id: %s not found", orderItemId)));
 	}
 	
+	@Override
+	public List<OrderItemDto> findAllByOrderId(final Integer orderId) {
+		log.info("*** OrderItemDto List, service; fetch orderItems by order id *");
+		return this.enrich(this.orderItemRepository.findAllByOrderIdOrderByProductIdAsc(orderId)
+				.stream()
+					.map(OrderItemMappingHelper::map)
+					.collect(Collectors.toUnmodifiableList()));
+	}
+	
+	@Override
+	public List<OrderItemDto> findAllByProductId(final Integer productId) {
+		log.info("*** OrderItemDto List, service; fetch orderItems by product id *");
+		return this.enrich(this.orderItemRepository.findAllByProductIdOrderByOrderIdAsc(productId)
+				.stream()
+					.map(OrderItemMappingHelper::map)
+					.collect(Collectors.toUnmodifiableList()));
+	}
+	
 	@Override
 	public OrderItemDto save(final OrderItemDto orderItemDto) {
 		log.info("*** OrderItemDto, service; save orderItem *");
@@ -69,6 +114,102 @@ public class OrderItemServiceImpl implements OrderItemService {
 				.save(OrderItemMappingHelper.map(orderItemDto)));
 	}
 	
+	/**
+	 * Order items have assigned ids, so a batch repeating an id is rejected as a bad request and one
+	 * colliding with stored items as a conflict before anything is written. A colliding insert that
+	 * commits in between still fails the flush, and is reported as a conflict as well.
+	 */
+	@Override
+	public List<OrderItemDto> saveAll(final Collection<OrderItemDto> orderItemDtos) {
+		log.info("*** OrderItemDto List, service; save orderItems in bulk *");
+		Assert.state(orderItemDtos.size() <= AppConstant.MAX_BULK_SIZE, 
+				() -> String.format("At most %d orderItems can be saved in bulk", AppConstant.MAX_BULK_SIZE));
+		final Set<OrderItemId> ids = new HashSet<>();
+		orderItemDtos.forEach(o -> Assert.state(ids.add(new OrderItemId(o.getProductId(), o.getOrderId())), 
+				() -> String.format("OrderItem with id: [%d, %d] is repeated in the batch", o.getProductId(), o.getOrderId())));
+		final var existing = this.orderItemRepository.findAllByOrderIdIn(ids.stream()
+					.map(OrderItemId::getOrderId)
+					.collect(Collectors.toSet()))
+				.stream()
+					.map(o -> new OrderItemId(o.getProductId(), o.getOrderId()))
+					.filter(ids::contains)
+					.collect(Collectors.toList());
+		if (!existing.isEmpty()) {
+			throw new OrderItemConflictException(String
+					.format("OrderItems with ids: %s already exist", existing));
+		}
+		final var saved = new ArrayList<OrderItemDto>(orderItemDtos.size());
+		try {
+			for (final var orderItemDto : orderItemDtos) {
+				final var orderItem = OrderItemMappingHelper.map(orderItemDto);
+				this.entityManager.persist(orderItem);
+				saved.add(OrderItemMappingHelper.map(orderItem));
+				if (saved.size() % AppConstant.BULK_WRITE_CHUNK_SIZE == 0) {
+					this.entityManager.flush();
+					this.entityManager.clear();
+				}
+			}
+			this.entityManager.flush();
+		}
+		catch (PersistenceException e) {
+			if (e.getCause() instanceof ConstraintViolationException) {
+				throw new OrderItemConflictException("OrderItems of the batch have been saved concurrently", e);
+			}
+			throw e;
+		}
+		return saved;
+	}
+	
+	/**
+	 * A keyed batch belongs to a single order, which is what the key remembers: a retry returns
+	 * that order's items and a cancellation deletes them.
+	 */
+	@Override
+	public List<OrderItemDto> saveAll(final String idempotencyKey, final Collection<OrderItemDto> orderItemDtos) {
+		log.info("*** OrderItemDto List, service; save orderItems in bulk under idempotency key *");
+		final var orderIds = orderItemDtos.stream()
+				.map(OrderItemDto::getOrderId)
+				.distinct()
+				.collect(Collectors.toList());
+		Assert.state(orderIds.size() == 1 && orderIds.get(0) != null, "Items saved under an idempotency key must share one order");
+		final var existing = this.idempotencyKeyRepository.lock(idempotencyKey);
+		if (existing.isPresent()) {
+			if (existing.get().isCancelled()) {
+				throw new IdempotencyKeyConflictException(String
+						.format("Idempotency key: %s has been cancelled", idempotencyKey));
+			}
+			return this.orderItemRepository.findAllByOrderIdOrderByProductIdAsc(Integer.parseInt(existing.get().getResourceId()))
+					.stream()
+						.map(OrderItemMappingHelper::map)
+						.collect(Collectors.toUnmodifiableList());
+		}
+		final var saved = this.saveAll(orderItemDtos);
+		try {
+			this.idempotencyKeyRepository.save(idempotencyKey, String.valueOf(orderIds.get(0)), false);
+		}
+		catch (DuplicateKeyException e) {
+			throw new IdempotencyKeyConflictException(String
+					.format("Idempotency key: %s is being used concurrently", idempotencyKey), e);
+		}
+		return saved;
+	}
+	
+	@Override
+	public void cancel(final String idempotencyKey) {
+		log.info("*** Void, service; cancel orderItems created under idempotency key *");
+		final var existing = this.idempotencyKeyRepository.lock(idempotencyKey);
+		if (existing.isEmpty()) {
+			this.idempotencyKeyRepository.save(idempotencyKey, null, true);
+			return;
+		}
+		if (existing.get().isCancelled()) {
+			return;
+		}
+		this.orderItemRepository.deleteAll(this.orderItemRepository
+				.findAllByOrderIdOrderByProductIdAsc(Integer.parseInt(existing.get().getResourceId())));
+		this.idempotencyKeyRepository.cancel(idempotencyKey);
+	}
+	
 	@Override
 	public OrderItemDto update(final OrderItemDto orderItemDto) {
 		log.info("*** OrderItemDto, service; update orderItem *");
@@ -82,6 +223,84 @@ public class OrderItemServiceImpl implements OrderItemService {
 		this.orderItemRepository.deleteById(orderItemId);
 	}
 	
+	private List<OrderItem> findPageAfter(final String after, final Pageable pageable) {
+		if (after == null) {
+			return this.orderItemRepository.findAllByOrderByProductIdAscOrderIdAsc(pageable);
+		}
+		final var parts = after.split(",", -1);
+		if (parts.length != 2) {
+			throw new IllegalArgumentException(String.format("Malformed cursor: [%s]", after));
+		}
+		try {
+			return this.orderItemRepository.findPageAfter(Integer.parseInt(parts[0]), Integer.parseInt(parts[1]), pageable);
+		}
+		catch (NumberFormatException e) {
+			throw new IllegalArgumentException(String.format("Malformed cursor: [%s]", after), e);
+		}
+	}
+	
+	private List<OrderItemDto> enrich(final List<OrderItemDto> orderItemDtos) {
+		return this.meterRegistry.timer("orderitem.enrichment")
+				.record(() -> {
+					final var productDtos = this.fetchAll(orderItemDtos, OrderItemDto::getProductId, 
+							this.productDtoCache, 
+							this.productServiceExecutor);
+					final var orderDtos = this.fetchAll(orderItemDtos, OrderItemDto::getOrderId, 
+							this.orderDtoCache, 
+							this.orderServiceExecutor);
+					orderItemDtos.forEach(o -> {
+						o.setProductDto(this.await(productDtos.get(o.getProductId()), o.getProductDto()));
+						o.setOrderDto(this.await(orderDtos.get(o.getOrderId()), o.getOrderDto()));
+					});
+					return orderItemDtos;
+				});
+	}
+	
+	private <T> Map<Integer, CompletableFuture<T>> fetchAll(final List<OrderItemDto> orderItemDtos, 
+			final Function<OrderItemDto, Integer> idExtractor, 
+			final LoadingCache<Integer, T> cache, 
+			final Executor executor) {
+		return orderItemDtos.stream()
+				.map(idExtractor)
+				.filter(Objects::nonNull)
+				.distinct()
+				.collect(Collectors.toMap(Function.identity(), id -> this.fetch(id, cache, executor)));
+	}
+	
+	/**
+	 * Values already in the near-cache are used as they are; only misses go to the executor. Not
+	 * bounded here: a deadline set on the future would also count the time spent queued and leave
+	 * the lookup running once it fired. The near-cache loader calls the service on the executor
+	 * thread, so each lookup is bounded by the RestTemplate timeouts from the moment it actually
+	 * runs, and fails on that thread when they expire.
+	 */
+	private <T> CompletableFuture<T> fetch(final Integer id, final LoadingCache<Integer, T> cache, final Executor executor) {
+		final var cached = cache.getIfPresent(id);
+		if (cached != null) {
+			return CompletableFuture.completedFuture(cached);
+		}
+		try {
+			return CompletableFuture.supplyAsync(() -> cache.get(id), executor);
+		}
+		catch (RejectedExecutionException e) {
+			return CompletableFuture.failedFuture(e);
+		}
+	}
+	
+	private <T> T await(final CompletableFuture<T> future, final T fallback) {
+		if (future == null) {
+			return fallback;
+		}
+		try {
+			final var result = future.join();
+			return result == null ? fallback : result;
+		}
+		catch (RuntimeException e) {
+			log.warn("*** Enrichment lookup failed, keeping reference only: {} *", e.getMessage());
+			return fallback;
+		}
+	}
+	
 	
 	
 }
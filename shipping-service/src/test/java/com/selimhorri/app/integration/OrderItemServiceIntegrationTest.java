@@ -0,0 +1,170 @@
+package com.selimhorri.app.integration;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.selimhorri.app.dto.OrderDto;
+import com.selimhorri.app.dto.OrderItemDto;
+import com.selimhorri.app.dto.ProductDto;
+import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
+import com.selimhorri.app.constant.AppConstant;
+import com.selimhorri.app.domain.OrderItem;
+import com.selimhorri.app.repository.OrderItemRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.hamcrest.Matchers.*;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class OrderItemServiceIntegrationTest {
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private OrderItemRepository orderItemRepository;
+    @MockBean(name = "productDtoCache")
+    private LoadingCache<Integer, ProductDto> productDtoCache;
+    @MockBean(name = "orderDtoCache")
+    private LoadingCache<Integer, OrderDto> orderDtoCache;
+
+    @Test
+    void testKeysetPagesCoverEveryOrderItemOnceInKeyOrder() throws Exception {
+        List<String> seen = new ArrayList<>();
+        String cursor = null;
+        do {
+            DtoCollectionResponse<OrderItemDto> page = fetch(cursor);
+            assertTrue(page.getCollection().size() <= 3);
+            seen.addAll(page.getCollection().stream()
+                    .map(o -> o.getProductId() + "," + o.getOrderId())
+                    .collect(Collectors.toList()));
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+        List<String> expected = orderItemRepository.findAll().stream()
+                .sorted((a, b) -> a.getProductId().equals(b.getProductId())
+                        ? a.getOrderId().compareTo(b.getOrderId())
+                        : a.getProductId().compareTo(b.getProductId()))
+                .map(o -> o.getProductId() + "," + o.getOrderId())
+                .collect(Collectors.toList());
+        assertEquals(expected, seen);
+    }
+    @Test
+    void testMalformedCursorIsRejectedWithBadRequest() throws Exception {
+        for (String cursor : List.of("1", "1,x", "1,2,3", ",")) {
+            mockMvc.perform(get("/api/shippings").param("limit", "3").param("after", cursor))
+                .andExpect(status().isBadRequest());
+        }
+    }
+    @Test
+    void testBulkCreateSavesEveryItem() throws Exception {
+        bulk(List.of(item(901, 1), item(902, 1)))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.collection.length()").value(2));
+        assertEquals(2, orderItemRepository.findAllByOrderIdOrderByProductIdAsc(901).size()
+                + orderItemRepository.findAllByOrderIdOrderByProductIdAsc(902).size());
+    }
+    @Test
+    void testBulkCreateRepeatingAnIdIsRejected() throws Exception {
+        bulk(List.of(item(911, 1), item(911, 2), item(911, 1)))
+            .andExpect(status().isBadRequest());
+        assertTrue(orderItemRepository.findAllByOrderIdOrderByProductIdAsc(911).isEmpty());
+    }
+    @Test
+    void testBulkCreateCollidingWithStoredItemsIsAConflict() throws Exception {
+        orderItemRepository.save(OrderItem.builder().orderId(921).productId(1).orderedQuantity(1).build());
+        bulk(List.of(item(921, 2), item(921, 1)))
+            .andExpect(status().isConflict());
+        assertEquals(1, orderItemRepository.findAllByOrderIdOrderByProductIdAsc(921).size());
+    }
+    @Test
+    void testBulkCreateOverTheCapIsRejected() throws Exception {
+        List<OrderItemDto> items = new ArrayList<>();
+        for (int i = 0; i <= AppConstant.MAX_BULK_SIZE; i++) {
+            items.add(item(931, i));
+        }
+        bulk(items).andExpect(status().isBadRequest());
+        assertTrue(orderItemRepository.findAllByOrderIdOrderByProductIdAsc(931).isEmpty());
+    }
+    @Test
+    void testFindByOrderReturnsThatOrdersItemsByProduct() throws Exception {
+        orderItemRepository.saveAll(List.of(stored(941, 3), stored(941, 1), stored(941, 2), stored(942, 1)));
+        when(productDtoCache.get(1)).thenReturn(ProductDto.builder().productId(1).productTitle("asus").build());
+        mockMvc.perform(get("/api/shippings/order/941"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.collection[*].productId").value(contains(1, 2, 3)))
+            .andExpect(jsonPath("$.collection[*].orderId").value(everyItem(is(941))))
+            .andExpect(jsonPath("$.collection[0].product.productTitle").value("asus"));
+    }
+    @Test
+    void testCachedReferencesAreUsedWithoutAnotherLookup() throws Exception {
+        orderItemRepository.save(stored(981, 982));
+        when(productDtoCache.getIfPresent(982)).thenReturn(ProductDto.builder().productId(982).productTitle("cached").build());
+        mockMvc.perform(get("/api/shippings/order/981"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.collection[0].product.productTitle").value("cached"));
+        verify(productDtoCache, never()).get(982);
+        verify(orderDtoCache).get(981);
+    }
+    @Test
+    void testFindByProductReturnsItsItemsByOrder() throws Exception {
+        orderItemRepository.saveAll(List.of(stored(962, 951), stored(961, 951), stored(961, 952)));
+        mockMvc.perform(get("/api/shippings/product/951"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.collection[*].orderId").value(contains(961, 962)))
+            .andExpect(jsonPath("$.collection[*].productId").value(everyItem(is(951))));
+        mockMvc.perform(get("/api/shippings/product/953"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.collection").isEmpty());
+    }
+    @Test
+    void testFindByIdTakesOrderIdThenProductId() throws Exception {
+        orderItemRepository.save(OrderItem.builder().orderId(971).productId(972).orderedQuantity(5).build());
+        mockMvc.perform(get("/api/shippings/971/972"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.orderId").value(971))
+            .andExpect(jsonPath("$.productId").value(972))
+            .andExpect(jsonPath("$.orderedQuantity").value(5));
+        mockMvc.perform(get("/api/shippings/972/971"))
+            .andExpect(status().isBadRequest());
+    }
+
+    private OrderItem stored(int orderId, int productId) {
+        return OrderItem.builder().orderId(orderId).productId(productId).orderedQuantity(1).build();
+    }
+
+    private OrderItemDto item(int orderId, int productId) {
+        return OrderItemDto.builder().orderId(orderId).productId(productId).orderedQuantity(1).build();
+    }
+
+    private ResultActions bulk(List<OrderItemDto> items) throws Exception {
+        return mockMvc.perform(post("/api/shippings/bulk")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(objectMapper.writeValueAsString(new DtoCollectionResponse<>(items))));
+    }
+
+    private DtoCollectionResponse<OrderItemDto> fetch(String cursor) throws Exception {
+        var request = get("/api/shippings").param("limit", "3");
+        if (cursor != null) {
+            request.param("after", cursor);
+        }
+        String body = mockMvc.perform(request)
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getContentAsString();
+        return objectMapper.readValue(body, new TypeReference<DtoCollectionResponse<OrderItemDto>>() {});
+    }
+}
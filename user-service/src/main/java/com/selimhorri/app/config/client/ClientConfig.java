@@ -1,17 +1,106 @@
 package com.selimhorri.app.config.client;
 
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.http.HttpClientConnection;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.conn.ConnectionPoolTimeoutException;
+import org.apache.http.conn.ConnectionRequest;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.cloud.client.loadbalancer.LoadBalanced;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.httpcomponents.PoolingHttpClientConnectionManagerMetricsBinder;
+
 @Configuration
+@EnableConfigurationProperties(HttpClientProperties.class)
 public class ClientConfig {
 	
+	@Bean(destroyMethod = "close")
+	public CloseableHttpClient restTemplateHttpClient(final HttpClientProperties httpClientProperties, 
+			final MeterRegistry meterRegistry) {
+		final var leaseWait = Timer.builder("http.client.pool.lease.wait")
+				.description("Time spent waiting for a pooled connection")
+				.tag("httpclient", "restTemplate")
+				.publishPercentileHistogram()
+				.register(meterRegistry);
+		final var connectionManager = new PoolingHttpClientConnectionManager() {
+			
+			@Override
+			public ConnectionRequest requestConnection(final HttpRoute route, final Object state) {
+				return timed(super.requestConnection(route, state), leaseWait);
+			}
+			
+		};
+		connectionManager.setMaxTotal(httpClientProperties.getMaxTotalConnections());
+		connectionManager.setDefaultMaxPerRoute(httpClientProperties.getMaxConnectionsPerRoute());
+		connectionManager.setValidateAfterInactivity((int) httpClientProperties.getValidateAfterInactivity().toMillis());
+		new PoolingHttpClientConnectionManagerMetricsBinder(connectionManager, "restTemplate").bindTo(meterRegistry);
+		
+		final long keepAlive = httpClientProperties.getKeepAlive().toMillis();
+		return HttpClients.custom()
+				.setConnectionManager(connectionManager)
+				.setDefaultRequestConfig(RequestConfig.custom()
+						.setConnectTimeout((int) httpClientProperties.getConnectTimeout().toMillis())
+						.setSocketTimeout((int) httpClientProperties.getReadTimeout().toMillis())
+						.setConnectionRequestTimeout((int) httpClientProperties.getConnectionRequestTimeout().toMillis())
+						.build())
+				.setKeepAliveStrategy((response, context) -> {
+					final long announced = DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(response, context);
+					return announced > 0 ? Math.min(announced, keepAlive) : keepAlive;
+				})
+				.evictExpiredConnections()
+				.evictIdleConnections(keepAlive, TimeUnit.MILLISECONDS)
+				.build();
+	}
+	
+	/**
+	 * Keeps RestTemplate's own lenient Jackson converter instead of the application ObjectMapper,
+	 * which rejects fields that other services add to their payloads.
+	 */
 	@LoadBalanced
 	@Bean
-	public RestTemplate restTemplateBean() {
-		return new RestTemplate();
+	public RestTemplate restTemplateBean(final RestTemplateBuilder restTemplateBuilder, 
+			final CloseableHttpClient restTemplateHttpClient) {
+		return restTemplateBuilder
+				.requestFactory(() -> new HttpComponentsClientHttpRequestFactory(restTemplateHttpClient))
+				.messageConverters(new RestTemplate().getMessageConverters())
+				.build();
+	}
+	
+	private static ConnectionRequest timed(final ConnectionRequest connectionRequest, final Timer leaseWait) {
+		return new ConnectionRequest() {
+			
+			@Override
+			public HttpClientConnection get(final long timeout, final TimeUnit timeUnit) 
+					throws InterruptedException, ExecutionException, ConnectionPoolTimeoutException {
+				final long start = System.nanoTime();
+				try {
+					return connectionRequest.get(timeout, timeUnit);
+				}
+				finally {
+					leaseWait.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+				}
+			}
+			
+			@Override
+			public boolean cancel() {
+				return connectionRequest.cancel();
+			}
+			
+		};
 	}
 	
 	
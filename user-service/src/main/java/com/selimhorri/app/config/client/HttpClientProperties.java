@@ -0,0 +1,48 @@
+package com.selimhorri.app.config.client;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+@ConfigurationProperties(prefix = "app.http-client")
+@Data
+public class HttpClientProperties {
+	
+	/**
+	 * Maximum number of pooled connections across all downstream services.
+	 */
+	private int maxTotalConnections = 200;
+	
+	/**
+	 * Maximum number of pooled connections to a single downstream instance.
+	 */
+	private int maxConnectionsPerRoute = 50;
+	
+	/**
+	 * Time allowed to establish a TCP connection.
+	 */
+	private Duration connectTimeout = Duration.ofSeconds(2);
+	
+	/**
+	 * Maximum silence on an open connection while waiting for response data.
+	 */
+	private Duration readTimeout = Duration.ofSeconds(5);
+	
+	/**
+	 * Time a request may wait for a free pooled connection before failing.
+	 */
+	private Duration connectionRequestTimeout = Duration.ofSeconds(1);
+	
+	/**
+	 * Idle time after which a pooled connection is closed, unless the server announces a shorter keep-alive.
+	 */
+	private Duration keepAlive = Duration.ofSeconds(30);
+	
+	/**
+	 * Idle time after which a pooled connection is checked before being reused.
+	 */
+	private Duration validateAfterInactivity = Duration.ofSeconds(2);
+	
+}
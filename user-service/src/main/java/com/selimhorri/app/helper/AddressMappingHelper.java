@@ -8,39 +8,48 @@ import com.selimhorri.app.dto.UserDto;
 public interface AddressMappingHelper {
 	
 	public static AddressDto map(final Address address) {
-		return AddressDto.builder()
-				.addressId(address.getAddressId())
-				.fullAddress(address.getFullAddress())
-				.postalCode(address.getPostalCode())
-				.city(address.getCity())
-				.userDto(
-					UserDto.builder()
-						.userId(address.getUser().getUserId())
-						.firstName(address.getUser().getFirstName())
-						.lastName(address.getUser().getLastName())
-						.imageUrl(address.getUser().getImageUrl())
-						.email(address.getUser().getEmail())
-						.phone(address.getUser().getPhone())
-						.build())
-				.build();
+		return map(address, new AddressDto());
+	}
+	
+	public static AddressDto map(final Address address, final AddressDto addressDto) {
+		addressDto.setAddressId(address.getAddressId());
+		addressDto.setFullAddress(address.getFullAddress());
+		addressDto.setPostalCode(address.getPostalCode());
+		addressDto.setCity(address.getCity());
+		addressDto.setUserDto(mapUser(address.getUser(), addressDto.getUserDto()));
+		return addressDto;
 	}
 	
 	public static Address map(final AddressDto addressDto) {
-		return Address.builder()
-				.addressId(addressDto.getAddressId())
-				.fullAddress(addressDto.getFullAddress())
-				.postalCode(addressDto.getPostalCode())
-				.city(addressDto.getCity())
-				.user(
-					User.builder()
-						.userId(addressDto.getUserDto().getUserId())
-						.firstName(addressDto.getUserDto().getFirstName())
-						.lastName(addressDto.getUserDto().getLastName())
-						.imageUrl(addressDto.getUserDto().getImageUrl())
-						.email(addressDto.getUserDto().getEmail())
-						.phone(addressDto.getUserDto().getPhone())
-						.build())
-				.build();
+		final var address = new Address();
+		address.setAddressId(addressDto.getAddressId());
+		address.setFullAddress(addressDto.getFullAddress());
+		address.setPostalCode(addressDto.getPostalCode());
+		address.setCity(addressDto.getCity());
+		address.setUser(mapUser(addressDto.getUserDto(), new User()));
+		return address;
+	}
+	
+	private static UserDto mapUser(final User user, final UserDto target) {
+		final var userDto = target != null ? target : new UserDto();
+		userDto.setUserId(user.getUserId());
+		userDto.setFirstName(user.getFirstName());
+		userDto.setLastName(user.getLastName());
+		userDto.setImageUrl(user.getImageUrl());
+		userDto.setEmail(user.getEmail());
+		userDto.setPhone(user.getPhone());
+		return userDto;
+	}
+	
+	private static User mapUser(final UserDto userDto, final User target) {
+		final var user = target != null ? target : new User();
+		user.setUserId(userDto.getUserId());
+		user.setFirstName(userDto.getFirstName());
+		user.setLastName(userDto.getLastName());
+		user.setImageUrl(userDto.getImageUrl());
+		user.setEmail(userDto.getEmail());
+		user.setPhone(userDto.getPhone());
+		return user;
 	}
 	
 	
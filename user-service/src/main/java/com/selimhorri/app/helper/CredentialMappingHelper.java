@@ -8,47 +8,56 @@ import com.selimhorri.app.dto.UserDto;
 public interface CredentialMappingHelper {
 	
 	public static CredentialDto map(final Credential credential) {
-		return CredentialDto.builder()
-				.credentialId(credential.getCredentialId())
-				.username(credential.getUsername())
-				.password(credential.getPassword())
-				.roleBasedAuthority(credential.getRoleBasedAuthority())
-				.isEnabled(credential.getIsEnabled())
-				.isAccountNonExpired(credential.getIsAccountNonExpired())
-				.isAccountNonLocked(credential.getIsAccountNonLocked())
-				.isCredentialsNonExpired(credential.getIsCredentialsNonExpired())
-				.userDto(
-						UserDto.builder()
-							.userId(credential.getUser().getUserId())
-							.firstName(credential.getUser().getFirstName())
-							.lastName(credential.getUser().getLastName())
-							.imageUrl(credential.getUser().getImageUrl())
-							.email(credential.getUser().getEmail())
-							.phone(credential.getUser().getPhone())
-							.build())
-				.build();
+		return map(credential, new CredentialDto());
+	}
+	
+	public static CredentialDto map(final Credential credential, final CredentialDto credentialDto) {
+		credentialDto.setCredentialId(credential.getCredentialId());
+		credentialDto.setUsername(credential.getUsername());
+		credentialDto.setPassword(credential.getPassword());
+		credentialDto.setRoleBasedAuthority(credential.getRoleBasedAuthority());
+		credentialDto.setIsEnabled(credential.getIsEnabled());
+		credentialDto.setIsAccountNonExpired(credential.getIsAccountNonExpired());
+		credentialDto.setIsAccountNonLocked(credential.getIsAccountNonLocked());
+		credentialDto.setIsCredentialsNonExpired(credential.getIsCredentialsNonExpired());
+		credentialDto.setUserDto(mapUser(credential.getUser(), credentialDto.getUserDto()));
+		return credentialDto;
 	}
 	
 	public static Credential map(final CredentialDto credentialDto) {
-		return Credential.builder()
-				.credentialId(credentialDto.getCredentialId())
-				.username(credentialDto.getUsername())
-				.password(credentialDto.getPassword())
-				.roleBasedAuthority(credentialDto.getRoleBasedAuthority())
-				.isEnabled(credentialDto.getIsEnabled())
-				.isAccountNonExpired(credentialDto.getIsAccountNonExpired())
-				.isAccountNonLocked(credentialDto.getIsAccountNonLocked())
-				.isCredentialsNonExpired(credentialDto.getIsCredentialsNonExpired())
-				.user(
-						User.builder()
-							.userId(credentialDto.getUserDto().getUserId())
-							.firstName(credentialDto.getUserDto().getFirstName())
-							.lastName(credentialDto.getUserDto().getLastName())
-							.imageUrl(credentialDto.getUserDto().getImageUrl())
-							.email(credentialDto.getUserDto().getEmail())
-							.phone(credentialDto.getUserDto().getPhone())
-							.build())
-				.build();
+		final var credential = new Credential();
+		credential.setCredentialId(credentialDto.getCredentialId());
+		credential.setUsername(credentialDto.getUsername());
+		credential.setPassword(credentialDto.getPassword());
+		credential.setRoleBasedAuthority(credentialDto.getRoleBasedAuthority());
+		credential.setIsEnabled(credentialDto.getIsEnabled());
+		credential.setIsAccountNonExpired(credentialDto.getIsAccountNonExpired());
+		credential.setIsAccountNonLocked(credentialDto.getIsAccountNonLocked());
+		credential.setIsCredentialsNonExpired(credentialDto.getIsCredentialsNonExpired());
+		credential.setUser(mapUser(credentialDto.getUserDto(), new User()));
+		return credential;
+	}
+	
+	private static UserDto mapUser(final User user, final UserDto target) {
+		final var userDto = target != null ? target : new UserDto();
+		userDto.setUserId(user.getUserId());
+		userDto.setFirstName(user.getFirstName());
+		userDto.setLastName(user.getLastName());
+		userDto.setImageUrl(user.getImageUrl());
+		userDto.setEmail(user.getEmail());
+		userDto.setPhone(user.getPhone());
+		return userDto;
+	}
+	
+	private static User mapUser(final UserDto userDto, final User target) {
+		final var user = target != null ? target : new User();
+		user.setUserId(userDto.getUserId());
+		user.setFirstName(userDto.getFirstName());
+		user.setLastName(userDto.getLastName());
+		user.setImageUrl(userDto.getImageUrl());
+		user.setEmail(userDto.getEmail());
+		user.setPhone(userDto.getPhone());
+		return user;
 	}
 	
 	
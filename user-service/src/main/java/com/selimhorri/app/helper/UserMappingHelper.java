@@ -8,50 +8,58 @@ import com.selimhorri.app.dto.UserDto;
 public interface UserMappingHelper {
 	
 	public static UserDto map(final User user) {
-		return UserDto.builder()
-				.userId(user.getUserId())
-				.firstName(user.getFirstName())
-				.lastName(user.getLastName())
-				.imageUrl(user.getImageUrl())
-				.email(user.getEmail())
-				.phone(user.getPhone())
-				.credentialDto(
-						user.getCredential() == null ? null :
-							CredentialDto.builder()
-								.credentialId(user.getCredential().getCredentialId())
-								.username(user.getCredential().getUsername())
-								.password(user.getCredential().getPassword())
-								.roleBasedAuthority(user.getCredential().getRoleBasedAuthority())
-								.isEnabled(user.getCredential().getIsEnabled())
-								.isAccountNonExpired(user.getCredential().getIsAccountNonExpired())
-								.isAccountNonLocked(user.getCredential().getIsAccountNonLocked())
-								.isCredentialsNonExpired(user.getCredential().getIsCredentialsNonExpired())
-								.build())
-				.build();
+		return map(user, new UserDto());
+	}
+	
+	public static UserDto map(final User user, final UserDto userDto) {
+		userDto.setUserId(user.getUserId());
+		userDto.setFirstName(user.getFirstName());
+		userDto.setLastName(user.getLastName());
+		userDto.setImageUrl(user.getImageUrl());
+		userDto.setEmail(user.getEmail());
+		userDto.setPhone(user.getPhone());
+		userDto.setCredentialDto(user.getCredential() == null ? null :
+				mapCredential(user.getCredential(), userDto.getCredentialDto()));
+		return userDto;
 	}
 	
 	public static User map(final UserDto userDto) {
-		return User.builder()
-				.userId(userDto.getUserId())
-				.firstName(userDto.getFirstName())
-				.lastName(userDto.getLastName())
-				.imageUrl(userDto.getImageUrl())
-				.email(userDto.getEmail())
-				.phone(userDto.getPhone())
-				.credential(
-						userDto.getCredentialDto() == null ? null :
-							Credential.builder()
-								.credentialId(userDto.getCredentialDto().getCredentialId())
-								.username(userDto.getCredentialDto().getUsername())
-								.password(userDto.getCredentialDto().getPassword())
-								.roleBasedAuthority(userDto.getCredentialDto().getRoleBasedAuthority())
-								.isEnabled(userDto.getCredentialDto().getIsEnabled())
-								.isAccountNonExpired(userDto.getCredentialDto().getIsAccountNonExpired())
-								.isAccountNonLocked(userDto.getCredentialDto().getIsAccountNonLocked())
-								.isCredentialsNonExpired(userDto.getCredentialDto().getIsCredentialsNonExpired())
-								.build()
-				)
-				.build();
+		final var user = new User();
+		user.setUserId(userDto.getUserId());
+		user.setFirstName(userDto.getFirstName());
+		user.setLastName(userDto.getLastName());
+		user.setImageUrl(userDto.getImageUrl());
+		user.setEmail(userDto.getEmail());
+		user.setPhone(userDto.getPhone());
+		user.setCredential(userDto.getCredentialDto() == null ? null :
+				mapCredential(userDto.getCredentialDto(), new Credential()));
+		return user;
+	}
+	
+	private static CredentialDto mapCredential(final Credential credential, final CredentialDto target) {
+		final var credentialDto = target != null ? target : new CredentialDto();
+		credentialDto.setCredentialId(credential.getCredentialId());
+		credentialDto.setUsername(credential.getUsername());
+		credentialDto.setPassword(credential.getPassword());
+		credentialDto.setRoleBasedAuthority(credential.getRoleBasedAuthority());
+		credentialDto.setIsEnabled(credential.getIsEnabled());
+		credentialDto.setIsAccountNonExpired(credential.getIsAccountNonExpired());
+		credentialDto.setIsAccountNonLocked(credential.getIsAccountNonLocked());
+		credentialDto.setIsCredentialsNonExpired(credential.getIsCredentialsNonExpired());
+		return credentialDto;
+	}
+	
+	private static Credential mapCredential(final CredentialDto credentialDto, final Credential target) {
+		final var credential = target != null ? target : new Credential();
+		credential.setCredentialId(credentialDto.getCredentialId());
+		credential.setUsername(credentialDto.getUsername());
+		credential.setPassword(credentialDto.getPassword());
+		credential.setRoleBasedAuthority(credentialDto.getRoleBasedAuthority());
+		credential.setIsEnabled(credentialDto.getIsEnabled());
+		credential.setIsAccountNonExpired(credentialDto.getIsAccountNonExpired());
+		credential.setIsAccountNonLocked(credentialDto.getIsAccountNonLocked());
+		credential.setIsCredentialsNonExpired(credentialDto.getIsCredentialsNonExpired());
+		return credential;
 	}
 	
 	
@@ -8,41 +8,50 @@ import com.selimhorri.app.dto.VerificationTokenDto;
 public interface VerificationTokenMappingHelper {
 	
 	public static VerificationTokenDto map(final VerificationToken verificationToken) {
-		return VerificationTokenDto.builder()
-				.verificationTokenId(verificationToken.getVerificationTokenId())
-				.token(verificationToken.getToken())
-				.expireDate(verificationToken.getExpireDate())
-				.credentialDto(
-						CredentialDto.builder()
-							.credentialId(verificationToken.getCredential().getCredentialId())
-							.username(verificationToken.getCredential().getUsername())
-							.password(verificationToken.getCredential().getPassword())
-							.roleBasedAuthority(verificationToken.getCredential().getRoleBasedAuthority())
-							.isEnabled(verificationToken.getCredential().getIsEnabled())
-							.isAccountNonExpired(verificationToken.getCredential().getIsAccountNonExpired())
-							.isAccountNonLocked(verificationToken.getCredential().getIsAccountNonLocked())
-							.isCredentialsNonExpired(verificationToken.getCredential().getIsCredentialsNonExpired())
-							.build())
-				.build();
+		return map(verificationToken, new VerificationTokenDto());
+	}
+	
+	public static VerificationTokenDto map(final VerificationToken verificationToken, final VerificationTokenDto verificationTokenDto) {
+		verificationTokenDto.setVerificationTokenId(verificationToken.getVerificationTokenId());
+		verificationTokenDto.setToken(verificationToken.getToken());
+		verificationTokenDto.setExpireDate(verificationToken.getExpireDate());
+		verificationTokenDto.setCredentialDto(mapCredential(verificationToken.getCredential(), verificationTokenDto.getCredentialDto()));
+		return verificationTokenDto;
 	}
 	
 	public static VerificationToken map(final VerificationTokenDto verificationTokenDto) {
-		return VerificationToken.builder()
-				.verificationTokenId(verificationTokenDto.getVerificationTokenId())
-				.token(verificationTokenDto.getToken())
-				.expireDate(verificationTokenDto.getExpireDate())
-				.credential(
-						Credential.builder()
-							.credentialId(verificationTokenDto.getCredentialDto().getCredentialId())
-							.username(verificationTokenDto.getCredentialDto().getUsername())
-							.password(verificationTokenDto.getCredentialDto().getPassword())
-							.roleBasedAuthority(verificationTokenDto.getCredentialDto().getRoleBasedAuthority())
-							.isEnabled(verificationTokenDto.getCredentialDto().getIsEnabled())
-							.isAccountNonExpired(verificationTokenDto.getCredentialDto().getIsAccountNonExpired())
-							.isAccountNonLocked(verificationTokenDto.getCredentialDto().getIsAccountNonLocked())
-							.isCredentialsNonExpired(verificationTokenDto.getCredentialDto().getIsCredentialsNonExpired())
-							.build())
-				.build();
+		final var verificationToken = new VerificationToken();
+		verificationToken.setVerificationTokenId(verificationTokenDto.getVerificationTokenId());
+		verificationToken.setToken(verificationTokenDto.getToken());
+		verificationToken.setExpireDate(verificationTokenDto.getExpireDate());
+		verificationToken.setCredential(mapCredential(verificationTokenDto.getCredentialDto(), new Credential()));
+		return verificationToken;
+	}
+	
+	private static CredentialDto mapCredential(final Credential credential, final CredentialDto target) {
+		final var credentialDto = target != null ? target : new CredentialDto();
+		credentialDto.setCredentialId(credential.getCredentialId());
+		credentialDto.setUsername(credential.getUsername());
+		credentialDto.setPassword(credential.getPassword());
+		credentialDto.setRoleBasedAuthority(credential.getRoleBasedAuthority());
+		credentialDto.setIsEnabled(credential.getIsEnabled());
+		credentialDto.setIsAccountNonExpired(credential.getIsAccountNonExpired());
+		credentialDto.setIsAccountNonLocked(credential.getIsAccountNonLocked());
+		credentialDto.setIsCredentialsNonExpired(credential.getIsCredentialsNonExpired());
+		return credentialDto;
+	}
+	
+	private static Credential mapCredential(final CredentialDto credentialDto, final Credential target) {
+		final var credential = target != null ? target : new Credential();
+		credential.setCredentialId(credentialDto.getCredentialId());
+		credential.setUsername(credentialDto.getUsername());
+		credential.setPassword(credentialDto.getPassword());
+		credential.setRoleBasedAuthority(credentialDto.getRoleBasedAuthority());
+		credential.setIsEnabled(credentialDto.getIsEnabled());
+		credential.setIsAccountNonExpired(credentialDto.getIsAccountNonExpired());
+		credential.setIsAccountNonLocked(credentialDto.getIsAccountNonLocked());
+		credential.setIsCredentialsNonExpired(credentialDto.getIsCredentialsNonExpired());
+		return credential;
 	}
 	
 	
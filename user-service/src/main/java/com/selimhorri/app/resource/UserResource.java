@@ -1,5 +1,7 @@
 package com.selimhorri.app.resource;
 
+import java.util.Set;
+
 import javax.validation.Valid;
 import javax.validation.constraints.NotBlank;
 import javax.validation.constraints.NotNull;
@@ -12,6 +14,7 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.selimhorri.app.dto.UserDto;
@@ -30,9 +33,22 @@ public class UserResource {
 	private final UserService userService;
 	
 	@GetMapping
-	public ResponseEntity<DtoCollectionResponse<UserDto>> findAll() {
+	public ResponseEntity<DtoCollectionResponse<UserDto>> findAll(
+			@RequestParam(name = "after", required = false) final Integer after, 
+			@RequestParam(name = "limit", required = false) final Integer limit) {
 		log.info("*** UserDto List, controller; fetch all users *");
-		return ResponseEntity.ok(new DtoCollectionResponse<>(this.userService.findAll()));
+		if (limit == null) {
+			return ResponseEntity.ok(new DtoCollectionResponse<>(this.userService.findAll()));
+		}
+		return ResponseEntity.ok(this.userService.findAll(after, limit));
+	}
+	
+	@GetMapping(params = "ids")
+	public ResponseEntity<DtoCollectionResponse<UserDto>> findAllByIds(
+			@RequestParam("ids") 
+			@NotNull(message = "Input must not NULL") final Set<Integer> userIds) {
+		log.info("*** UserDto List, controller; fetch users by ids *");
+		return ResponseEntity.ok(new DtoCollectionResponse<>(this.userService.findAllByIds(userIds)));
 	}
 	
 	@GetMapping("/{userId}")
@@ -1,18 +1,22 @@
 package com.selimhorri.app.service;
 
+import java.util.Collection;
 import java.util.List;
 
 import com.selimhorri.app.dto.UserDto;
+import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
 
 public interface UserService {
 	
 	List<UserDto> findAll();
+	DtoCollectionResponse<UserDto> findAll(final Integer after, final int limit);
 	UserDto findById(final Integer userId);
 	UserDto save(final UserDto userDto);
 	UserDto update(final UserDto userDto);
 	UserDto update(final Integer userId, final UserDto userDto);
 	void deleteById(final Integer userId);
 	UserDto findByUsername(final String username);
+	List<UserDto> findAllByIds(final Collection<Integer> userIds);
 	
 }
 
@@ -30,7 +30,6 @@ public class AddressServiceImpl implements AddressService {
 		return this.addressRepository.findAll()
 				.stream()
 					.map(AddressMappingHelper::map)
-					.distinct()
 					.collect(Collectors.toUnmodifiableList());
 	}
 	
@@ -31,7 +31,6 @@ public class CredentialServiceImpl implements CredentialService {
 		return this.credentialRepository.findAll()
 				.stream()
 					.map(CredentialMappingHelper::map)
-					.distinct()
 					.collect(Collectors.toUnmodifiableList());
 	}
 	
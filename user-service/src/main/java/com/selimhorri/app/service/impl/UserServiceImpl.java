@@ -1,13 +1,17 @@
 package com.selimhorri.app.service.impl;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.stream.Collectors;
 
 import javax.transaction.Transactional;
 
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
+import com.selimhorri.app.constant.AppConstant;
 import com.selimhorri.app.dto.UserDto;
+import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
 import com.selimhorri.app.exception.wrapper.UserObjectNotFoundException;
 import com.selimhorri.app.helper.UserMappingHelper;
 import com.selimhorri.app.repository.UserRepository;
@@ -30,10 +34,21 @@ public class UserServiceImpl implements UserService {
 		return this.userRepository.findAll()
 				.stream()
 					.map(UserMappingHelper::map)
-					.distinct()
 					.collect(Collectors.toUnmodifiableList());
 	}
 	
+	@Override
+	public DtoCollectionResponse<UserDto> findAll(final Integer after, final int limit) {
+		log.info("*** UserDto List, service; fetch page of users *");
+		final int pageSize = Math.max(1, Math.min(limit, AppConstant.MAX_PAGE_SIZE));
+		return DtoCollectionResponse.page(this.userRepository
+				.findPageAfter(after == null ? 0 : after, PageRequest.of(0, pageSize))
+				.stream()
+					.map(UserMappingHelper::map)
+					.collect(Collectors.toUnmodifiableList()), 
+				pageSize, u -> String.valueOf(u.getUserId()));
+	}
+	
 	@Override
 	public UserDto findById(final Integer userId) {
 		log.info("*** UserDto, service; fetch user by id *");
@@ -82,6 +97,18 @@ public class UserServiceImpl implements UserService {
 				.orElseThrow(() -> new UserObjectNotFoundException(String.format("User with username: %s not found", username))));
 	}
 	
+	@Override
+	public List<UserDto> findAllByIds(final Collection<Integer> userIds) {
+		log.info("*** UserDto List, service; fetch users by ids *");
+		if (userIds == null || userIds.isEmpty()) {
+			return List.of();
+		}
+		return this.userRepository.findAllByUserIdIn(userIds)
+				.stream()
+					.map(UserMappingHelper::map)
+					.collect(Collectors.toUnmodifiableList());
+	}
+	
 	
 	
 }
@@ -72,6 +72,14 @@ class UserServiceIntegrationTest {
                 .andExpect(jsonPath("$.collection").exists());
     }
     @Test
+    void testListUsersByIds() throws Exception {
+        User first = userRepository.save(new User());
+        User second = userRepository.save(new User());
+        mockMvc.perform(get("/api/users").param("ids", first.getUserId() + "," + second.getUserId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.collection.length()").value(2));
+    }
+    @Test
     void testUpdateUser() throws Exception {
         User user = userRepository.save(new User());
         UserDto userDto = buildValidUser("updated@mail.com");
@@ -10,7 +10,9 @@ import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.Collections;
 import static org.mockito.Mockito.*;
 import static org.junit.jupiter.api.Assertions.*;
@@ -70,6 +72,19 @@ class UserServiceUnitTest {
         assertDoesNotThrow(() -> userService.deleteById(1));
     }
     @Test
+    void testFindUsersByIds() {
+        when(userRepository.findAllByUserIdIn(Set.of(1, 2))).thenReturn(List.of(
+                UserMappingHelper.map(buildValidUser("first@mail.com")),
+                UserMappingHelper.map(buildValidUser("second@mail.com"))));
+        assertEquals(2, userService.findAllByIds(Set.of(1, 2)).size());
+        verify(userRepository, times(1)).findAllByUserIdIn(Set.of(1, 2));
+    }
+    @Test
+    void testFindUsersByEmptyIds() {
+        assertTrue(userService.findAllByIds(Set.of()).isEmpty());
+        verifyNoInteractions(userRepository);
+    }
+    @Test
     void testListUsers() {
         when(userRepository.findAll()).thenReturn(Collections.singletonList(UserMappingHelper.map(buildValidUser("list@mail.com"))));
         assertFalse(userService.findAll().isEmpty());